@@ -0,0 +1,124 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>JMH benchmark comparing the {@code valueOf(int)} lookup tables of {@link OOUniformDataType} and
+ * {@link OOTextureImageTarget} with the linear scan over {@code values()} they replaced. Every invocation decodes the
+ * GL constants of all the values, a cycle of {@link #OPERATIONS} decodings in total.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OOEnumDecodingBenchmark {
+    
+    /**
+     * <p>Number of decodings in an invocation.</p>
+     */
+    private static final int OPERATIONS = 1024;
+    
+    private int[] uniformDataTypes;
+    private int[] textureImageTargets;
+    
+    @Setup
+    public void setUp() {
+        OOUniformDataType[] uniformValues = OOUniformDataType.values();
+        OOTextureImageTarget[] targetValues = OOTextureImageTarget.values();
+        this.uniformDataTypes = new int[OOEnumDecodingBenchmark.OPERATIONS];
+        this.textureImageTargets = new int[OOEnumDecodingBenchmark.OPERATIONS];
+        for (int i = 0; i < OOEnumDecodingBenchmark.OPERATIONS; ++i) {
+            this.uniformDataTypes[i] = uniformValues[i % uniformValues.length].getGLConstant();
+            this.textureImageTargets[i] = targetValues[i % targetValues.length].getGLConstant();
+        }
+    }
+    
+    private static OOUniformDataType scanUniformDataType(int value) {
+        for (OOUniformDataType someValue : OOUniformDataType.values()) {
+            if (someValue.getGLConstant() == value) {
+                return someValue;
+            }
+        }
+        return null;
+    }
+    
+    private static OOTextureImageTarget scanTextureImageTarget(int value) {
+        for (OOTextureImageTarget someValue : OOTextureImageTarget.values()) {
+            if (someValue.getGLConstant() == value) {
+                return someValue;
+            }
+        }
+        return null;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOEnumDecodingBenchmark.OPERATIONS)
+    public int uniformDataTypeTable() {
+        int sum = 0;
+        for (int value : this.uniformDataTypes) {
+            sum += OOUniformDataType.valueOf(value).ordinal();
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOEnumDecodingBenchmark.OPERATIONS)
+    public int uniformDataTypeScan() {
+        int sum = 0;
+        for (int value : this.uniformDataTypes) {
+            sum += OOEnumDecodingBenchmark.scanUniformDataType(value).ordinal();
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOEnumDecodingBenchmark.OPERATIONS)
+    public int textureImageTargetTable() {
+        int sum = 0;
+        for (int value : this.textureImageTargets) {
+            sum += OOTextureImageTarget.valueOf(value).ordinal();
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOEnumDecodingBenchmark.OPERATIONS)
+    public int textureImageTargetScan() {
+        int sum = 0;
+        for (int value : this.textureImageTargets) {
+            sum += OOEnumDecodingBenchmark.scanTextureImageTarget(value).ordinal();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,123 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ro.spatarel.android.oogles20.backends.AndroidGLES20CallCounter;
+import ro.spatarel.android.oogles20.backends.NullGLES20;
+
+/**
+ * <p>JMH benchmark of a typical texture setup sequence, counting the {@link OpenGLES20#glActiveTexture} calls that
+ * reach the back end. Every texture of a material is bound, specified, configured (filters and wrap modes) and
+ * mipmapped on its own texture unit, the diffuse textures on unit {@code 0} and the normal maps on unit {@code 1}.</p>
+ * 
+ * <p>The back end is an {@link AndroidGLES20CallCounter} over a {@link NullGLES20}. The {@link Calls} auxiliary
+ * counters report the texture operations issued, every one of which used to call {@link OpenGLES20#glActiveTexture},
+ * and the {@link OpenGLES20#glActiveTexture} calls that were actually sent.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OOGLES20TextureBenchmark {
+    
+    /**
+     * <p>Auxiliary counters summing, over an iteration, the texture operations issued and the
+     * {@link OpenGLES20#glActiveTexture} calls sent to the back end.</p>
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+        public long textureOperations;
+        public long activeTextureCalls;
+        
+        @Setup(Level.Iteration)
+        public void clear() {
+            this.textureOperations = 0;
+            this.activeTextureCalls = 0;
+        }
+    }
+    
+    /**
+     * <p>Number of materials set up by an invocation.</p>
+     */
+    @Param({"100"})
+    public int materials;
+    
+    /**
+     * <p>Number of texture operations issued for every texture by {@link #setUp(OOGLES20Texture2D, OOTexture)}.</p>
+     */
+    private static final int OPERATIONS_PER_TEXTURE = 7;
+    
+    private AndroidGLES20CallCounter counter;
+    private OOTexture[] diffuseTextures;
+    private OOTexture[] normalTextures;
+    
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.counter = new AndroidGLES20CallCounter(new NullGLES20(blackhole));
+        OOGLES20.setBackEnd(this.counter);
+        this.diffuseTextures = new OOTexture[this.materials];
+        this.normalTextures = new OOTexture[this.materials];
+        for (int i = 0; i < this.materials; ++i) {
+            this.diffuseTextures[i] = new OOTexture();
+            this.normalTextures[i] = new OOTexture();
+        }
+    }
+    
+    private static void setUp(OOGLES20Texture2D target, OOTexture texture) {
+        target.bind(texture);
+        target.tex2D.setImage2D(0, OOTexelFormat.RGBA, 64, 64, OOPixelDataType.UNSIGNED_BYTE, null);
+        target.setMinificationFilter(OOTextureMinificationFilter.LINEAR_MIPMAP_LINEAR);
+        target.setMagnificationFilter(OOTextureMagnificationFilter.LINEAR);
+        target.setWrapS(OOTextureWrapMode.REPEAT);
+        target.setWrapT(OOTextureWrapMode.CLAMP_TO_EDGE);
+        target.generateMipmaps();
+    }
+    
+    @Benchmark
+    public void setUpMaterials(Calls calls) {
+        this.counter.reset();
+        OOGLES20Texture2D diffuse = OOGLES20.textureUnit(0).tex2D;
+        OOGLES20Texture2D normal = OOGLES20.textureUnit(1).tex2D;
+        for (int i = 0; i < this.materials; ++i) {
+            OOGLES20TextureBenchmark.setUp(diffuse, this.diffuseTextures[i]);
+            OOGLES20TextureBenchmark.setUp(normal, this.normalTextures[i]);
+        }
+        calls.textureOperations += 2 * this.materials * OOGLES20TextureBenchmark.OPERATIONS_PER_TEXTURE;
+        calls.activeTextureCalls += this.counter.getCallsCount("glActiveTexture");
+    }
+}
@@ -0,0 +1,156 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>JMH benchmark comparing {@link OOIntObjectMap} with the {@code TreeMap<Integer, V>} it replaced in the handle
+ * registries, and with a {@code HashMap<Integer, V>}. The keys are the handles {@code 1} to {@link #handles}, as
+ * generated by the driver; they are looked up, and deleted and created again, in a random order.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OOIntObjectMapBenchmark {
+    /**
+     * <p>Number of live handles.</p>
+     */
+    @Param({"10000", "100000"})
+    public int handles;
+    
+    /**
+     * <p>Number of operations in an invocation.</p>
+     */
+    private static final int OPERATIONS = 4096;
+    
+    private OOIntObjectMap<Object> intObjectMap;
+    private HashMap<Integer, Object> hashMap;
+    private TreeMap<Integer, Object> treeMap;
+    
+    /**
+     * <p>Handles operated on, in a random order.</p>
+     */
+    private int[] keys;
+    
+    @Setup
+    public void setUp() {
+        this.intObjectMap = new OOIntObjectMap<Object>();
+        this.hashMap = new HashMap<Integer, Object>();
+        this.treeMap = new TreeMap<Integer, Object>();
+        for (int handle = 1; handle <= this.handles; ++handle) {
+            Object value = new Object();
+            this.intObjectMap.put(handle, value);
+            this.hashMap.put(handle, value);
+            this.treeMap.put(handle, value);
+        }
+        Random random = new Random(1);
+        this.keys = new int[OOIntObjectMapBenchmark.OPERATIONS];
+        for (int i = 0; i < this.keys.length; ++i) {
+            this.keys[i] = 1 + random.nextInt(this.handles);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOIntObjectMapBenchmark.OPERATIONS)
+    public int getIntObjectMap() {
+        int found = 0;
+        for (int key : this.keys) {
+            if (this.intObjectMap.get(key) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOIntObjectMapBenchmark.OPERATIONS)
+    public int getHashMap() {
+        int found = 0;
+        for (int key : this.keys) {
+            if (this.hashMap.get(key) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOIntObjectMapBenchmark.OPERATIONS)
+    public int getTreeMap() {
+        int found = 0;
+        for (int key : this.keys) {
+            if (this.treeMap.get(key) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOIntObjectMapBenchmark.OPERATIONS)
+    public int removeAndPutIntObjectMap() {
+        int size = 0;
+        for (int key : this.keys) {
+            this.intObjectMap.put(key, this.intObjectMap.remove(key));
+            size += this.intObjectMap.size();
+        }
+        return size;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOIntObjectMapBenchmark.OPERATIONS)
+    public int removeAndPutHashMap() {
+        int size = 0;
+        for (int key : this.keys) {
+            this.hashMap.put(key, this.hashMap.remove(key));
+            size += this.hashMap.size();
+        }
+        return size;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(OOIntObjectMapBenchmark.OPERATIONS)
+    public int removeAndPutTreeMap() {
+        int size = 0;
+        for (int key : this.keys) {
+            this.treeMap.put(key, this.treeMap.remove(key));
+            size += this.treeMap.size();
+        }
+        return size;
+    }
+}
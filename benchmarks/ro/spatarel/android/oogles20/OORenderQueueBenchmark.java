@@ -0,0 +1,170 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ro.spatarel.android.oogles20.backends.NullGLES20;
+
+/**
+ * <p>JMH benchmark comparing a frame drawn through {@link OORenderQueue} with the same frame drawn in scene order,
+ * setting the state of every packet. The back end is a {@link NullGLES20}, so the benchmark measures the cost of the
+ * sorting and of the wrapper calls, not the cost of the state changes in the driver. The state changes emitted and
+ * avoided by the queue are reported as the {@link StateChanges} auxiliary counters.</p>
+ * 
+ * <p>The scene is made of {@link #packets} packets spread over 16 layers, 32 programs, 256 textures and 1024
+ * renderables; a fifth of the packets are translucent.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OORenderQueueBenchmark {
+    
+    /**
+     * <p>{@link OORenderable} without vertex data and uniforms.</p>
+     */
+    private static class Renderable implements OORenderable {
+        @Override
+        public void bindVertices(OOProgram program) {
+        }
+        
+        @Override
+        public void setUniforms(OOProgram program) {
+        }
+    }
+    
+    /**
+     * <p>Auxiliary counters summing, over an iteration, the program, texture, blending and vertex data changes emitted
+     * and avoided by {@link OORenderQueue#submit}.</p>
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StateChanges {
+        public long emitted;
+        public long avoided;
+        
+        @Setup(Level.Iteration)
+        public void clear() {
+            this.emitted = 0;
+            this.avoided = 0;
+        }
+    }
+    
+    /**
+     * <p>Number of packets in a frame.</p>
+     */
+    @Param({"50000"})
+    public int packets;
+    
+    private OORenderQueue queue;
+    private long[] keys;
+    private OOProgram[] programs;
+    private OOTexture[] textures;
+    private OORenderable[] renderables;
+    private boolean[] translucent;
+    
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        OOGLES20.setBackEnd(new NullGLES20(blackhole));
+        OOGLES20.enableBindingCache();
+        OOGLES20.enableStateShadowing();
+        OOProgram[] allPrograms = new OOProgram[32];
+        for (int i = 0; i < allPrograms.length; ++i) {
+            allPrograms[i] = new OOProgram();
+        }
+        OOTexture[] allTextures = new OOTexture[256];
+        for (int i = 0; i < allTextures.length; ++i) {
+            allTextures[i] = new OOTexture();
+        }
+        OORenderable[] allRenderables = new OORenderable[1024];
+        for (int i = 0; i < allRenderables.length; ++i) {
+            allRenderables[i] = new Renderable();
+        }
+        
+        Random random = new Random(50000);
+        this.queue = new OORenderQueue();
+        this.keys = new long[this.packets];
+        this.programs = new OOProgram[this.packets];
+        this.textures = new OOTexture[this.packets];
+        this.renderables = new OORenderable[this.packets];
+        this.translucent = new boolean[this.packets];
+        for (int i = 0; i < this.packets; ++i) {
+            this.programs[i] = allPrograms[random.nextInt(allPrograms.length)];
+            this.textures[i] = allTextures[random.nextInt(allTextures.length)];
+            this.renderables[i] = allRenderables[random.nextInt(allRenderables.length)];
+            this.translucent[i] = random.nextInt(5) == 0;
+            this.keys[i] = OORenderQueue.createKey(random.nextInt(16), this.translucent[i], this.programs[i],
+                    this.textures[i], random.nextFloat());
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        OOGLES20.disableStateShadowing();
+        OOGLES20.disableBindingCache();
+    }
+    
+    @Benchmark
+    public void sorted(StateChanges stateChanges) {
+        for (int i = 0; i < this.packets; ++i) {
+            this.queue.add(this.keys[i], this.programs[i], this.textures[i], this.renderables[i],
+                    OODrawPrimitive.TRIANGLES, 36, OOBufferDataType.UNSIGNED_SHORT, 0);
+        }
+        this.queue.submit();
+        stateChanges.emitted += this.queue.getProgramChangesCount() + this.queue.getTextureChangesCount()
+                + this.queue.getBlendingChangesCount() + this.queue.getVertexChangesCount();
+        stateChanges.avoided += this.queue.getAvoidedStateChangesCount();
+    }
+    
+    @Benchmark
+    public void sceneOrder() {
+        OOGLES20Texture2D texture2D = OOGLES20.textureUnit(0).tex2D;
+        for (int i = 0; i < this.packets; ++i) {
+            OOGLES20.useProgram(this.programs[i]);
+            texture2D.bind(this.textures[i]);
+            if (this.translucent[i]) {
+                OOGLES20.pixelProcessing.enableBlending();
+            } else {
+                OOGLES20.pixelProcessing.disableBlending();
+            }
+            this.renderables[i].bindVertices(this.programs[i]);
+            this.renderables[i].setUniforms(this.programs[i]);
+            OOGLES20.framebuffer.drawElements(OODrawPrimitive.TRIANGLES, 36, OOBufferDataType.UNSIGNED_SHORT, 0);
+        }
+    }
+}
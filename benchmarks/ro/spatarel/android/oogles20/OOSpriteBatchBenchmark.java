@@ -0,0 +1,115 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ro.spatarel.android.oogles20.backends.NullGLES20;
+
+/**
+ * <p>JMH benchmark drawing a frame of {@link #sprites} sprites through an {@link OOSpriteBatch} of {@code 16384}
+ * sprites, on a {@link NullGLES20} back end, so that it measures the CPU cost of the batch. The sprites are drawn
+ * either from one texture, or from {@link #textures} textures switched every {@code 256} sprites.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OOSpriteBatchBenchmark {
+    
+    /**
+     * <p>Number of sprites in a frame.</p>
+     */
+    @Param({"100000"})
+    public int sprites;
+    
+    /**
+     * <p>Number of textures used by {@link #switchingTextures}.</p>
+     */
+    @Param({"8"})
+    public int textures;
+    
+    private OOSpriteBatch batch;
+    private OOProgram program;
+    private OOAttribute position;
+    private OOAttribute textureCoordinates;
+    private OOAttribute color;
+    private OOTexture[] allTextures;
+    private float[] positions;
+    
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        OOGLES20.setBackEnd(new NullGLES20(blackhole));
+        this.batch = new OOSpriteBatch(16384);
+        this.program = new OOProgram();
+        this.position = new OOAttribute(0);
+        this.textureCoordinates = new OOAttribute(1);
+        this.color = new OOAttribute(2);
+        this.allTextures = new OOTexture[this.textures];
+        for (int i = 0; i < this.textures; ++i) {
+            this.allTextures[i] = new OOTexture();
+        }
+        Random random = new Random(100000);
+        this.positions = new float[2 * this.sprites];
+        for (int i = 0; i < this.positions.length; ++i) {
+            this.positions[i] = 1024.0f * random.nextFloat();
+        }
+    }
+    
+    @Benchmark
+    public int oneTexture() {
+        this.batch.resetCounters();
+        this.batch.begin(this.program, this.position, this.textureCoordinates, this.color);
+        this.batch.setTexture(this.allTextures[0]);
+        for (int i = 0; i < this.sprites; ++i) {
+            this.batch.draw(this.positions[2 * i], this.positions[2 * i + 1], 16.0f, 16.0f, 0.0f, 0.0f, 1.0f, 1.0f,
+                    0xFFFFFFFF);
+        }
+        this.batch.end();
+        return this.batch.getFlushesCount();
+    }
+    
+    @Benchmark
+    public int switchingTextures() {
+        this.batch.resetCounters();
+        this.batch.begin(this.program, this.position, this.textureCoordinates, this.color);
+        for (int i = 0; i < this.sprites; ++i) {
+            this.batch.setTexture(this.allTextures[(i >> 8) % this.textures]);
+            this.batch.draw(this.positions[2 * i], this.positions[2 * i + 1], 16.0f, 16.0f, 0.0f, 0.0f, 1.0f, 1.0f,
+                    0xFFFFFFFF);
+        }
+        this.batch.end();
+        return this.batch.getFlushesCount();
+    }
+}
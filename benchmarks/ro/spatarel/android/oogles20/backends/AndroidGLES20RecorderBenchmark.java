@@ -0,0 +1,133 @@
+package ro.spatarel.android.oogles20.backends;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ro.spatarel.android.oogles20.OpenGLES20;
+
+/**
+ * <p>JMH benchmark comparing the recording of a frame in an {@link AndroidGLES20Recorder} with issuing the same calls
+ * directly. The target of the direct calls and of the replays is a {@link NullGLES20}, so the driver time is left
+ * out.</p>
+ * 
+ * <p>The frame is made of {@link #draws} draws; every draw binds a program and a texture, sets a {@code vec4} and a
+ * {@code mat4} uniform and issues an indexed draw.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AndroidGLES20RecorderBenchmark {
+    /**
+     * <p>Number of draws in a frame.</p>
+     */
+    @Param({"100", "1000", "10000"})
+    public int draws;
+
+    /**
+     * <p>Target of the direct calls and of the replays.</p>
+     */
+    private NullGLES20 target;
+
+    /**
+     * <p>Recorder reused by {@link #record}.</p>
+     */
+    private AndroidGLES20Recorder recorder;
+
+    /**
+     * <p>Recorder holding a frame, replayed by {@link #replay}.</p>
+     */
+    private AndroidGLES20Recorder recorded;
+
+    /**
+     * <p>Matrix uploaded by every draw.</p>
+     */
+    private FloatBuffer matrix;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.target = new NullGLES20(blackhole);
+        this.recorder = new AndroidGLES20Recorder();
+        this.recorded = new AndroidGLES20Recorder();
+        this.matrix = ByteBuffer.allocateDirect(16 * 4).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for (int i = 0; i < 16; ++i) {
+            this.matrix.put(i, i % 5 == 0 ? 1.0f : 0.0f);
+        }
+        // warms up the recorders, so that the measured recordings do not grow their arrays
+        this.frame(this.recorder);
+        this.frame(this.recorded);
+    }
+
+    /**
+     * <p>Issues the calls of a frame on a specified {@link OpenGLES20}.</p>
+     * 
+     * @param gl the {@link OpenGLES20} on which to issue the calls
+     */
+    private void frame(OpenGLES20 gl) {
+        for (int i = 0; i < this.draws; ++i) {
+            gl.glUseProgram(1 + (i & 3));
+            gl.glBindTexture(OpenGLES20.GL_TEXTURE_2D, 1 + (i & 15));
+            gl.glUniform4f(0, i, 0.5f, 0.25f, 1.0f);
+            gl.glUniformMatrix4fv(1, 1, false, this.matrix);
+            gl.glDrawElements(OpenGLES20.GL_TRIANGLES, 36, OpenGLES20.GL_UNSIGNED_SHORT, i * 72);
+        }
+    }
+
+    @Benchmark
+    public void direct() {
+        this.frame(this.target);
+    }
+
+    @Benchmark
+    public int record() {
+        this.recorder.reset();
+        this.frame(this.recorder);
+        return this.recorder.getCallsCount();
+    }
+
+    @Benchmark
+    public void replay() {
+        this.recorded.replay(this.target);
+    }
+
+    @Benchmark
+    public void recordAndReplay() {
+        this.recorder.reset();
+        this.frame(this.recorder);
+        this.recorder.replay(this.target);
+    }
+}
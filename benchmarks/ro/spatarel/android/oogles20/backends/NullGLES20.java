@@ -0,0 +1,1058 @@
+package ro.spatarel.android.oogles20.backends;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import ro.spatarel.android.oogles20.OpenGLES20;
+
+/**
+ * <p>{@link OpenGLES20} implementation that hands the arguments of every call to a {@link Blackhole}; it stands in for
+ * the driver in the benchmarks, so that they measure the cost of issuing the calls and not the cost of executing them.
+ * The only calls with an effect are {@code glCreateProgram}, {@code glCreateShader} and {@code glGen*}, which return
+ * consecutive names, so that the wrapper objects can be created.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class NullGLES20 implements OpenGLES20 {
+    /**
+     * <p>{@link Blackhole} consuming the arguments of the calls.</p>
+     */
+    private final Blackhole blackhole;
+    
+    /**
+     * <p>Number of names generated.</p>
+     */
+    private int namesCount = 0;
+    
+    /**
+     * <p>Creates a {@link NullGLES20}.</p>
+     * 
+     * @param blackhole the {@link Blackhole} consuming the arguments of the calls
+     */
+    public NullGLES20(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+    
+    private void generate(int n, IntBuffer names) {
+        for (int i = 0; i < n; ++i) {
+            names.put(names.position() + i, ++this.namesCount);
+        }
+    }
+    
+    @Override
+    public void glActiveTexture(int texture) {
+        this.blackhole.consume(texture);
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(shader);
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(index);
+        this.blackhole.consume(name);
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(buffer);
+    }
+
+    @Override
+    public void glBindFramebuffer(int target, int framebuffer) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(framebuffer);
+    }
+
+    @Override
+    public void glBindRenderbuffer(int target, int renderbuffer) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(renderbuffer);
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(texture);
+    }
+
+    @Override
+    public void glBlendColor(float red, float green, float blue, float alpha) {
+        this.blackhole.consume(red);
+        this.blackhole.consume(green);
+        this.blackhole.consume(blue);
+        this.blackhole.consume(alpha);
+    }
+
+    @Override
+    public void glBlendEquation(int mode) {
+        this.blackhole.consume(mode);
+    }
+
+    @Override
+    public void glBlendEquationSeparate(int modeRGB, int modeAlpha) {
+        this.blackhole.consume(modeRGB);
+        this.blackhole.consume(modeAlpha);
+    }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) {
+        this.blackhole.consume(sfactor);
+        this.blackhole.consume(dfactor);
+    }
+
+    @Override
+    public void glBlendFuncSeparate(int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+        this.blackhole.consume(srcRGB);
+        this.blackhole.consume(dstRGB);
+        this.blackhole.consume(srcAlpha);
+        this.blackhole.consume(dstAlpha);
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(size);
+        this.blackhole.consume(data);
+        this.blackhole.consume(usage);
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(offset);
+        this.blackhole.consume(size);
+        this.blackhole.consume(data);
+    }
+
+    @Override
+    public int glCheckFramebufferStatus(int target) {
+        this.blackhole.consume(target);
+        return 0;
+    }
+
+    @Override
+    public void glClear(int mask) {
+        this.blackhole.consume(mask);
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha) {
+        this.blackhole.consume(red);
+        this.blackhole.consume(green);
+        this.blackhole.consume(blue);
+        this.blackhole.consume(alpha);
+    }
+
+    @Override
+    public void glClearDepthf(float depth) {
+        this.blackhole.consume(depth);
+    }
+
+    @Override
+    public void glClearStencil(int s) {
+        this.blackhole.consume(s);
+    }
+
+    @Override
+    public void glColorMask(boolean red, boolean green, boolean blue, boolean alpha) {
+        this.blackhole.consume(red);
+        this.blackhole.consume(green);
+        this.blackhole.consume(blue);
+        this.blackhole.consume(alpha);
+    }
+
+    @Override
+    public void glCompileShader(int shader) {
+        this.blackhole.consume(shader);
+    }
+
+    @Override
+    public void glCompressedTexImage2D(int target, int level, int internalformat, int width, int height, int border,
+            int imageSize, Buffer data) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(level);
+        this.blackhole.consume(internalformat);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+        this.blackhole.consume(border);
+        this.blackhole.consume(imageSize);
+        this.blackhole.consume(data);
+    }
+
+    @Override
+    public void glCompressedTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height,
+            int format, int imageSize, Buffer data) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(level);
+        this.blackhole.consume(xoffset);
+        this.blackhole.consume(yoffset);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+        this.blackhole.consume(format);
+        this.blackhole.consume(imageSize);
+        this.blackhole.consume(data);
+    }
+
+    @Override
+    public void glCopyTexImage2D(int target, int level, int internalformat, int x, int y, int width, int height,
+            int border) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(level);
+        this.blackhole.consume(internalformat);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+        this.blackhole.consume(border);
+    }
+
+    @Override
+    public void glCopyTexSubImage2D(int target, int level, int xoffset, int yoffset, int x, int y, int width,
+            int height) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(level);
+        this.blackhole.consume(xoffset);
+        this.blackhole.consume(yoffset);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+    }
+
+    @Override
+    public int glCreateProgram() {
+        return ++this.namesCount;
+    }
+
+    @Override
+    public int glCreateShader(int type) {
+        this.blackhole.consume(type);
+        return ++this.namesCount;
+    }
+
+    @Override
+    public void glCullFace(int mode) {
+        this.blackhole.consume(mode);
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, IntBuffer buffers) {
+        this.blackhole.consume(n);
+        this.blackhole.consume(buffers);
+    }
+
+    @Override
+    public void glDeleteFramebuffers(int n, IntBuffer framebuffers) {
+        this.blackhole.consume(n);
+        this.blackhole.consume(framebuffers);
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        this.blackhole.consume(program);
+    }
+
+    @Override
+    public void glDeleteRenderbuffers(int n, IntBuffer renderbuffers) {
+        this.blackhole.consume(n);
+        this.blackhole.consume(renderbuffers);
+    }
+
+    @Override
+    public void glDeleteShader(int shader) {
+        this.blackhole.consume(shader);
+    }
+
+    @Override
+    public void glDeleteTextures(int n, IntBuffer textures) {
+        this.blackhole.consume(n);
+        this.blackhole.consume(textures);
+    }
+
+    @Override
+    public void glDepthFunc(int func) {
+        this.blackhole.consume(func);
+    }
+
+    @Override
+    public void glDepthMask(boolean flag) {
+        this.blackhole.consume(flag);
+    }
+
+    @Override
+    public void glDepthRangef(float zNear, float zFar) {
+        this.blackhole.consume(zNear);
+        this.blackhole.consume(zFar);
+    }
+
+    @Override
+    public void glDetachShader(int program, int shader) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(shader);
+    }
+
+    @Override
+    public void glDisable(int cap) {
+        this.blackhole.consume(cap);
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index) {
+        this.blackhole.consume(index);
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) {
+        this.blackhole.consume(mode);
+        this.blackhole.consume(first);
+        this.blackhole.consume(count);
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int offset) {
+        this.blackhole.consume(mode);
+        this.blackhole.consume(count);
+        this.blackhole.consume(type);
+        this.blackhole.consume(offset);
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, Buffer indices) {
+        this.blackhole.consume(mode);
+        this.blackhole.consume(count);
+        this.blackhole.consume(type);
+        this.blackhole.consume(indices);
+    }
+
+    @Override
+    public void glEnable(int cap) {
+        this.blackhole.consume(cap);
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) {
+        this.blackhole.consume(index);
+    }
+
+    @Override
+    public void glFinish() {
+    }
+
+    @Override
+    public void glFlush() {
+    }
+
+    @Override
+    public void glFramebufferRenderbuffer(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(attachment);
+        this.blackhole.consume(renderbuffertarget);
+        this.blackhole.consume(renderbuffer);
+    }
+
+    @Override
+    public void glFramebufferTexture2D(int target, int attachment, int textarget, int texture, int level) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(attachment);
+        this.blackhole.consume(textarget);
+        this.blackhole.consume(texture);
+        this.blackhole.consume(level);
+    }
+
+    @Override
+    public void glFrontFace(int mode) {
+        this.blackhole.consume(mode);
+    }
+
+    @Override
+    public void glGenBuffers(int n, IntBuffer buffers) {
+        this.generate(n, buffers);
+    }
+
+    @Override
+    public void glGenerateMipmap(int target) {
+        this.blackhole.consume(target);
+    }
+
+    @Override
+    public void glGenFramebuffers(int n, IntBuffer framebuffers) {
+        this.generate(n, framebuffers);
+    }
+
+    @Override
+    public void glGenRenderbuffers(int n, IntBuffer renderbuffers) {
+        this.generate(n, renderbuffers);
+    }
+
+    @Override
+    public void glGenTextures(int n, IntBuffer textures) {
+        this.generate(n, textures);
+    }
+
+    @Override
+    public void glGetActiveAttrib(int program, int index, int bufsize, int[] length, int lengthOffset, int[] size,
+            int sizeOffset, int[] type, int typeOffset, byte[] name, int nameOffset) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(index);
+        this.blackhole.consume(bufsize);
+        this.blackhole.consume(length);
+        this.blackhole.consume(lengthOffset);
+        this.blackhole.consume(size);
+        this.blackhole.consume(sizeOffset);
+        this.blackhole.consume(type);
+        this.blackhole.consume(typeOffset);
+        this.blackhole.consume(name);
+        this.blackhole.consume(nameOffset);
+    }
+
+    @Override
+    public void glGetActiveUniform(int program, int index, int bufsize, int[] length, int lengthOffset, int[] size,
+            int sizeOffset, int[] type, int typeOffset, byte[] name, int nameOffset) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(index);
+        this.blackhole.consume(bufsize);
+        this.blackhole.consume(length);
+        this.blackhole.consume(lengthOffset);
+        this.blackhole.consume(size);
+        this.blackhole.consume(sizeOffset);
+        this.blackhole.consume(type);
+        this.blackhole.consume(typeOffset);
+        this.blackhole.consume(name);
+        this.blackhole.consume(nameOffset);
+    }
+
+    @Override
+    public void glGetAttachedShaders(int program, int maxcount, IntBuffer count, IntBuffer shaders) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(maxcount);
+        this.blackhole.consume(count);
+        this.blackhole.consume(shaders);
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(name);
+        return 0;
+    }
+
+    @Override
+    public void glGetBooleanv(int pname, IntBuffer params) {
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetBufferParameteriv(int target, int pname, IntBuffer params) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public int glGetError() {
+        return 0;
+    }
+
+    @Override
+    public void glGetFloatv(int pname, FloatBuffer params) {
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetFramebufferAttachmentParameteriv(int target, int attachment, int pname, IntBuffer params) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(attachment);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, IntBuffer params) {
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, IntBuffer params) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program) {
+        this.blackhole.consume(program);
+        return null;
+    }
+
+    @Override
+    public void glGetRenderbufferParameteriv(int target, int pname, IntBuffer params) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, IntBuffer params) {
+        this.blackhole.consume(shader);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) {
+        this.blackhole.consume(shader);
+        return null;
+    }
+
+    @Override
+    public void glGetShaderPrecisionFormat(int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+        this.blackhole.consume(shadertype);
+        this.blackhole.consume(precisiontype);
+        this.blackhole.consume(range);
+        this.blackhole.consume(precision);
+    }
+
+    @Override
+    public void glGetShaderSource(int shader, int bufsize, int[] length, int lengthOffset, byte[] source,
+            int sourceOffset) {
+        this.blackhole.consume(shader);
+        this.blackhole.consume(bufsize);
+        this.blackhole.consume(length);
+        this.blackhole.consume(lengthOffset);
+        this.blackhole.consume(source);
+        this.blackhole.consume(sourceOffset);
+    }
+
+    @Override
+    public String glGetString(int name) {
+        this.blackhole.consume(name);
+        return null;
+    }
+
+    @Override
+    public void glGetTexParameterfv(int target, int pname, FloatBuffer params) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetTexParameteriv(int target, int pname, IntBuffer params) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetUniformfv(int program, int location, FloatBuffer params) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(location);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetUniformiv(int program, int location, IntBuffer params) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(location);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name) {
+        this.blackhole.consume(program);
+        this.blackhole.consume(name);
+        return 0;
+    }
+
+    @Override
+    public void glGetVertexAttribfv(int index, int pname, FloatBuffer params) {
+        this.blackhole.consume(index);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glGetVertexAttribiv(int index, int pname, IntBuffer params) {
+        this.blackhole.consume(index);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glHint(int target, int mode) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(mode);
+    }
+
+    @Override
+    public boolean glIsBuffer(int buffer) {
+        this.blackhole.consume(buffer);
+        return false;
+    }
+
+    @Override
+    public boolean glIsEnabled(int cap) {
+        this.blackhole.consume(cap);
+        return false;
+    }
+
+    @Override
+    public boolean glIsFramebuffer(int framebuffer) {
+        this.blackhole.consume(framebuffer);
+        return false;
+    }
+
+    @Override
+    public boolean glIsProgram(int program) {
+        this.blackhole.consume(program);
+        return false;
+    }
+
+    @Override
+    public boolean glIsRenderbuffer(int renderbuffer) {
+        this.blackhole.consume(renderbuffer);
+        return false;
+    }
+
+    @Override
+    public boolean glIsShader(int shader) {
+        this.blackhole.consume(shader);
+        return false;
+    }
+
+    @Override
+    public boolean glIsTexture(int texture) {
+        this.blackhole.consume(texture);
+        return false;
+    }
+
+    @Override
+    public void glLineWidth(float width) {
+        this.blackhole.consume(width);
+    }
+
+    @Override
+    public void glLinkProgram(int program) {
+        this.blackhole.consume(program);
+    }
+
+    @Override
+    public void glPixelStorei(int pname, int param) {
+        this.blackhole.consume(pname);
+        this.blackhole.consume(param);
+    }
+
+    @Override
+    public void glPolygonOffset(float factor, float units) {
+        this.blackhole.consume(factor);
+        this.blackhole.consume(units);
+    }
+
+    @Override
+    public void glReadPixels(int x, int y, int width, int height, int format, int type, Buffer pixels) {
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+        this.blackhole.consume(format);
+        this.blackhole.consume(type);
+        this.blackhole.consume(pixels);
+    }
+
+    @Override
+    public void glReleaseShaderCompiler() {
+    }
+
+    @Override
+    public void glRenderbufferStorage(int target, int internalformat, int width, int height) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(internalformat);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+    }
+
+    @Override
+    public void glSampleCoverage(float value, boolean invert) {
+        this.blackhole.consume(value);
+        this.blackhole.consume(invert);
+    }
+
+    @Override
+    public void glScissor(int x, int y, int width, int height) {
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+    }
+
+    @Override
+    public void glShaderBinary(int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+        this.blackhole.consume(n);
+        this.blackhole.consume(shaders);
+        this.blackhole.consume(binaryformat);
+        this.blackhole.consume(binary);
+        this.blackhole.consume(length);
+    }
+
+    @Override
+    public void glShaderSource(int shader, String string) {
+        this.blackhole.consume(shader);
+        this.blackhole.consume(string);
+    }
+
+    @Override
+    public void glStencilFunc(int func, int ref, int mask) {
+        this.blackhole.consume(func);
+        this.blackhole.consume(ref);
+        this.blackhole.consume(mask);
+    }
+
+    @Override
+    public void glStencilFuncSeparate(int face, int func, int ref, int mask) {
+        this.blackhole.consume(face);
+        this.blackhole.consume(func);
+        this.blackhole.consume(ref);
+        this.blackhole.consume(mask);
+    }
+
+    @Override
+    public void glStencilMask(int mask) {
+        this.blackhole.consume(mask);
+    }
+
+    @Override
+    public void glStencilMaskSeparate(int face, int mask) {
+        this.blackhole.consume(face);
+        this.blackhole.consume(mask);
+    }
+
+    @Override
+    public void glStencilOp(int fail, int zfail, int zpass) {
+        this.blackhole.consume(fail);
+        this.blackhole.consume(zfail);
+        this.blackhole.consume(zpass);
+    }
+
+    @Override
+    public void glStencilOpSeparate(int face, int fail, int zfail, int zpass) {
+        this.blackhole.consume(face);
+        this.blackhole.consume(fail);
+        this.blackhole.consume(zfail);
+        this.blackhole.consume(zpass);
+    }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format,
+            int type, Buffer pixels) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(level);
+        this.blackhole.consume(internalformat);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+        this.blackhole.consume(border);
+        this.blackhole.consume(format);
+        this.blackhole.consume(type);
+        this.blackhole.consume(pixels);
+    }
+
+    @Override
+    public void glTexParameterf(int target, int pname, float param) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(param);
+    }
+
+    @Override
+    public void glTexParameterfv(int target, int pname, FloatBuffer params) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(param);
+    }
+
+    @Override
+    public void glTexParameteriv(int target, int pname, IntBuffer params) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(pname);
+        this.blackhole.consume(params);
+    }
+
+    @Override
+    public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format,
+            int type, Buffer pixels) {
+        this.blackhole.consume(target);
+        this.blackhole.consume(level);
+        this.blackhole.consume(xoffset);
+        this.blackhole.consume(yoffset);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+        this.blackhole.consume(format);
+        this.blackhole.consume(type);
+        this.blackhole.consume(pixels);
+    }
+
+    @Override
+    public void glUniform1f(int location, float x) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+    }
+
+    @Override
+    public void glUniform1fv(int location, int count, FloatBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniform1i(int location, int x) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+    }
+
+    @Override
+    public void glUniform1iv(int location, int count, IntBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniform2f(int location, float x, float y) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+    }
+
+    @Override
+    public void glUniform2fv(int location, int count, FloatBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniform2i(int location, int x, int y) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+    }
+
+    @Override
+    public void glUniform2iv(int location, int count, IntBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(z);
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, FloatBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniform3i(int location, int x, int y, int z) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(z);
+    }
+
+    @Override
+    public void glUniform3iv(int location, int count, IntBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniform4f(int location, float x, float y, float z, float w) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(z);
+        this.blackhole.consume(w);
+    }
+
+    @Override
+    public void glUniform4fv(int location, int count, FloatBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniform4i(int location, int x, int y, int z, int w) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(z);
+        this.blackhole.consume(w);
+    }
+
+    @Override
+    public void glUniform4iv(int location, int count, IntBuffer v) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(v);
+    }
+
+    @Override
+    public void glUniformMatrix2fv(int location, int count, boolean transpose, FloatBuffer value) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(transpose);
+        this.blackhole.consume(value);
+    }
+
+    @Override
+    public void glUniformMatrix3fv(int location, int count, boolean transpose, FloatBuffer value) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(transpose);
+        this.blackhole.consume(value);
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, FloatBuffer value) {
+        this.blackhole.consume(location);
+        this.blackhole.consume(count);
+        this.blackhole.consume(transpose);
+        this.blackhole.consume(value);
+    }
+
+    @Override
+    public void glUseProgram(int program) {
+        this.blackhole.consume(program);
+    }
+
+    @Override
+    public void glValidateProgram(int program) {
+        this.blackhole.consume(program);
+    }
+
+    @Override
+    public void glVertexAttrib1f(int indx, float x) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(x);
+    }
+
+    @Override
+    public void glVertexAttrib1fv(int indx, FloatBuffer values) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(values);
+    }
+
+    @Override
+    public void glVertexAttrib2f(int indx, float x, float y) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+    }
+
+    @Override
+    public void glVertexAttrib2fv(int indx, FloatBuffer values) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(values);
+    }
+
+    @Override
+    public void glVertexAttrib3f(int indx, float x, float y, float z) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(z);
+    }
+
+    @Override
+    public void glVertexAttrib3fv(int indx, FloatBuffer values) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(values);
+    }
+
+    @Override
+    public void glVertexAttrib4f(int indx, float x, float y, float z, float w) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(z);
+        this.blackhole.consume(w);
+    }
+
+    @Override
+    public void glVertexAttrib4fv(int indx, FloatBuffer values) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(values);
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, int offset) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(size);
+        this.blackhole.consume(type);
+        this.blackhole.consume(normalized);
+        this.blackhole.consume(stride);
+        this.blackhole.consume(offset);
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, Buffer ptr) {
+        this.blackhole.consume(indx);
+        this.blackhole.consume(size);
+        this.blackhole.consume(type);
+        this.blackhole.consume(normalized);
+        this.blackhole.consume(stride);
+        this.blackhole.consume(ptr);
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height) {
+        this.blackhole.consume(x);
+        this.blackhole.consume(y);
+        this.blackhole.consume(width);
+        this.blackhole.consume(height);
+    }
+}
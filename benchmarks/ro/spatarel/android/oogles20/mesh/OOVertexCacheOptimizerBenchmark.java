@@ -0,0 +1,127 @@
+package ro.spatarel.android.oogles20.mesh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>JMH benchmark of {@link OOVertexCacheOptimizer} on a million indices. Unsigned short indices address at most
+ * 65536 vertices, so the million indices are split in {@link #MESHES_COUNT} shuffled grids of {@link #GRID_SIZE} by
+ * {@link #GRID_SIZE} vertices, 998784 indices in all; every operation optimizes all of them, which must take less than
+ * a second on one core.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OOVertexCacheOptimizerBenchmark {
+    
+    private static final int MESHES_COUNT = 4;
+    private static final int GRID_SIZE = 205;
+    
+    /**
+     * <p>Shuffled grids, left untouched.</p>
+     */
+    private short[][] shuffled;
+    
+    /**
+     * <p>Copies of {@link #shuffled} optimized by every operation.</p>
+     */
+    private short[][] meshes;
+    
+    /**
+     * <p>Vertex positions of a grid, two floats each.</p>
+     */
+    private float[] positions;
+    
+    private OOVertexCacheOptimizer optimizer;
+    
+    @Setup
+    public void setUp() {
+        int size = OOVertexCacheOptimizerBenchmark.GRID_SIZE;
+        Random random = new Random(1);
+        this.shuffled = new short[OOVertexCacheOptimizerBenchmark.MESHES_COUNT][];
+        this.meshes = new short[OOVertexCacheOptimizerBenchmark.MESHES_COUNT][];
+        for (int mesh = 0; mesh < OOVertexCacheOptimizerBenchmark.MESHES_COUNT; ++mesh) {
+            short[] indices = new short[6 * (size - 1) * (size - 1)];
+            int index = 0;
+            for (int y = 0; y < size - 1; ++y) {
+                for (int x = 0; x < size - 1; ++x) {
+                    int vertex = y * size + x;
+                    indices[index++] = (short) vertex;
+                    indices[index++] = (short) (vertex + 1);
+                    indices[index++] = (short) (vertex + size);
+                    indices[index++] = (short) (vertex + 1);
+                    indices[index++] = (short) (vertex + size + 1);
+                    indices[index++] = (short) (vertex + size);
+                }
+            }
+            for (int i = indices.length / 3 - 1; i > 0; --i) {
+                int j = random.nextInt(i + 1);
+                for (int k = 0; k < 3; ++k) {
+                    short swap = indices[3 * i + k];
+                    indices[3 * i + k] = indices[3 * j + k];
+                    indices[3 * j + k] = swap;
+                }
+            }
+            this.shuffled[mesh] = indices;
+            this.meshes[mesh] = new short[indices.length];
+        }
+        this.positions = new float[2 * size * size];
+        this.optimizer = new OOVertexCacheOptimizer();
+    }
+    
+    @Benchmark
+    public float optimizeTriangles() {
+        float acmr = 0.0f;
+        for (int mesh = 0; mesh < OOVertexCacheOptimizerBenchmark.MESHES_COUNT; ++mesh) {
+            short[] indices = this.meshes[mesh];
+            System.arraycopy(this.shuffled[mesh], 0, indices, 0, indices.length);
+            this.optimizer.optimizeTriangles(indices, 0, indices.length, this.positions.length / 2);
+            acmr += this.optimizer.getACMRAfter();
+        }
+        return acmr;
+    }
+    
+    @Benchmark
+    public float[] optimizeTrianglesAndVertices() {
+        for (int mesh = 0; mesh < OOVertexCacheOptimizerBenchmark.MESHES_COUNT; ++mesh) {
+            short[] indices = this.meshes[mesh];
+            System.arraycopy(this.shuffled[mesh], 0, indices, 0, indices.length);
+            this.optimizer.optimizeTriangles(indices, 0, indices.length, this.positions.length / 2);
+            int[] remap = OOVertexCacheOptimizer.optimizeVertices(indices, 0, indices.length,
+                    this.positions.length / 2);
+            OOVertexCacheOptimizer.remapVertices(this.positions, 2, remap);
+        }
+        return this.positions;
+    }
+}
@@ -28,14 +28,61 @@ public class OOAttribute {
     
     private int handle;
     
+    private final String name;
+    private final OOAttributeDataType type;
+    private final int size;
+    
+    int slot = -1;
+    
     OOAttribute(int handle) {
+        this(handle, null, null, 0);
+    }
+    
+    OOAttribute(int handle, String name, OOAttributeDataType type, int size) {
         this.handle = handle;
+        this.name = name;
+        this.type = type;
+        this.size = size;
     }
     
     int getHandle() {
         return this.handle;
     }
     
+    /**
+     * <p>Returns the name of the attribute, as reported by the program reflection after a successful link.</p>
+     * 
+     * @return The name of the attribute, or {@code null} if the attribute was not found by the program reflection.
+     * 
+     * @see OOProgram#link
+     */
+    public String getName() {
+        return this.name;
+    }
+    
+    /**
+     * <p>Returns the data type of the attribute, as reported by the program reflection after a successful link.</p>
+     * 
+     * @return The data type of the attribute, or {@code null} if the attribute was not found by the program reflection.
+     * 
+     * @see OOProgram#link
+     */
+    public OOAttributeDataType getType() {
+        return this.type;
+    }
+    
+    /**
+     * <p>Returns the size of the attribute, as reported by the program reflection after a successful link. The size is
+     * {@code 1} for attributes that are not arrays.</p>
+     * 
+     * @return The size of the attribute, or {@code 0} if the attribute was not found by the program reflection.
+     * 
+     * @see OOProgram#link
+     */
+    public int getSize() {
+        return this.size;
+    }
+    
     /**
      * <p>Enable a generic vertex attribute array.</p>
      * 
@@ -70,6 +117,9 @@ public class OOAttribute {
      * @see OOAttribute#setBuffer4fv
      */
     public void enableArray() {
+        if (OOGLES20.vertexAttributes.isArrayCached(this.handle, true)) {
+            return;
+        }
         OOGLES20.backEnd.glEnableVertexAttribArray(this.handle);
     }
     
@@ -107,6 +157,9 @@ public class OOAttribute {
      * @see OOAttribute#setBuffer4fv
      */
     public void disableArray() {
+        if (OOGLES20.vertexAttributes.isArrayCached(this.handle, false)) {
+            return;
+        }
         OOGLES20.backEnd.glDisableVertexAttribArray(this.handle);
     }
     
@@ -165,7 +218,7 @@ public class OOAttribute {
      * @see #setForAll1fv
      */
     public void setForAll1fv(float[] values, int offset) {
-        this.setForAll1fv(OOGLES20.createFloatBuffer(values, offset));
+        this.setForAll1fv(OOGLES20.scratchFloatBuffer(values, offset, 1));
     }
     
     /**
@@ -224,7 +277,7 @@ public class OOAttribute {
      * @see #setForAll2fv
      */
     public void setForAll2fv(float[] values, int offset) {
-        this.setForAll2fv(OOGLES20.createFloatBuffer(values, offset));
+        this.setForAll2fv(OOGLES20.scratchFloatBuffer(values, offset, 2));
     }
     
     /**
@@ -284,7 +337,7 @@ public class OOAttribute {
      * @see #setForAll3fv
      */
     public void setForAll3fv(float[] values, int offset) {
-        this.setForAll3fv(OOGLES20.createFloatBuffer(values, offset));
+        this.setForAll3fv(OOGLES20.scratchFloatBuffer(values, offset, 3));
     }
     
     /**
@@ -343,7 +396,7 @@ public class OOAttribute {
      * @see #setForAll4fv
      */
     public void setForAll4fv(float[] values, int offset) {
-        this.setForAll4fv(OOGLES20.createFloatBuffer(values, offset));
+        this.setForAll4fv(OOGLES20.scratchFloatBuffer(values, offset, 4));
     }
     
     /**
@@ -425,6 +478,7 @@ public class OOAttribute {
      */
     public void setBuffer(int size, OOAttributeClientDataType type, boolean normalized, int stride,
             Buffer buffer) {
+        OOGLES20.vertexAttributes.pointerChanged(this.handle);
         OOGLES20.backEnd.glVertexAttribPointer(this.handle, size, type.getGLConstant(), normalized, stride, buffer);
     }
     
@@ -513,6 +567,10 @@ public class OOAttribute {
      * @see OOAttribute#setForAll4f
      */
     public void setBuffer(int size, OOAttributeClientDataType type, boolean normalized, int stride, int offset) {
+        if (OOGLES20.vertexAttributes.isPointerCached(this.handle, size, type.getGLConstant(), normalized, stride,
+                offset)) {
+            return;
+        }
         OOGLES20.backEnd.glVertexAttribPointer(this.handle, size, type.getGLConstant(), normalized, stride, offset);
     }
     
@@ -101,13 +101,19 @@ public enum OOAttributeClientDataType {
     
     private final int glConstant;
     
-    static OOAttributeClientDataType valueOf(int value) {
+    private static final OOIntObjectMap<OOAttributeClientDataType> glConstants =
+            new OOIntObjectMap<OOAttributeClientDataType>();
+    
+    static {
         for (OOAttributeClientDataType someValue : OOAttributeClientDataType.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOAttributeClientDataType.glConstants.containsKey(someValue.getGLConstant())) {
+                OOAttributeClientDataType.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOAttributeClientDataType valueOf(int value) {
+        return OOAttributeClientDataType.glConstants.get(value);
     }
     
     OOAttributeClientDataType(int value) {
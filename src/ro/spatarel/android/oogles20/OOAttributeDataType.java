@@ -115,13 +115,18 @@ public enum OOAttributeDataType {
     private final int glConstant;
     private final int size;
     
-    static OOAttributeDataType valueOf(int value) {
+    private static final OOIntObjectMap<OOAttributeDataType> glConstants = new OOIntObjectMap<OOAttributeDataType>();
+    
+    static {
         for (OOAttributeDataType someValue : OOAttributeDataType.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOAttributeDataType.glConstants.containsKey(someValue.getGLConstant())) {
+                OOAttributeDataType.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOAttributeDataType valueOf(int value) {
+        return OOAttributeDataType.glConstants.get(value);
     }
     
     /**
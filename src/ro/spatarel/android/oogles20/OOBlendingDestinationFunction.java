@@ -395,13 +395,19 @@ public enum OOBlendingDestinationFunction {
     
     private final int glConstant;
     
-    static OOBlendingDestinationFunction valueOf(int value) {
+    private static final OOIntObjectMap<OOBlendingDestinationFunction> glConstants =
+            new OOIntObjectMap<OOBlendingDestinationFunction>();
+    
+    static {
         for (OOBlendingDestinationFunction someValue : OOBlendingDestinationFunction.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOBlendingDestinationFunction.glConstants.containsKey(someValue.getGLConstant())) {
+                OOBlendingDestinationFunction.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOBlendingDestinationFunction valueOf(int value) {
+        return OOBlendingDestinationFunction.glConstants.get(value);
     }
     
     OOBlendingDestinationFunction(int value) {
@@ -95,13 +95,18 @@ public enum OOBlendingEquation {
     
     private final int glConstant;
     
-    static OOBlendingEquation valueOf(int value) {
+    private static final OOIntObjectMap<OOBlendingEquation> glConstants = new OOIntObjectMap<OOBlendingEquation>();
+    
+    static {
         for (OOBlendingEquation someValue : OOBlendingEquation.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOBlendingEquation.glConstants.containsKey(someValue.getGLConstant())) {
+                OOBlendingEquation.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOBlendingEquation valueOf(int value) {
+        return OOBlendingEquation.glConstants.get(value);
     }
     
     OOBlendingEquation(int value) {
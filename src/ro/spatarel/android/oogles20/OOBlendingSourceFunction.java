@@ -420,13 +420,19 @@ public enum OOBlendingSourceFunction {
     
     private final int glConstant;
     
-    static OOBlendingSourceFunction valueOf(int value) {
+    private static final OOIntObjectMap<OOBlendingSourceFunction> glConstants =
+            new OOIntObjectMap<OOBlendingSourceFunction>();
+    
+    static {
         for (OOBlendingSourceFunction someValue : OOBlendingSourceFunction.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOBlendingSourceFunction.glConstants.containsKey(someValue.getGLConstant())) {
+                OOBlendingSourceFunction.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOBlendingSourceFunction valueOf(int value) {
+        return OOBlendingSourceFunction.glConstants.get(value);
     }
     
     OOBlendingSourceFunction(int value) {
@@ -6,13 +6,18 @@ enum OOBoolean {
     
     private final int glConstant;
     
-    static OOBoolean valueOf(int value) {
+    private static final OOIntObjectMap<OOBoolean> glConstants = new OOIntObjectMap<OOBoolean>();
+    
+    static {
         for (OOBoolean someValue : OOBoolean.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOBoolean.glConstants.containsKey(someValue.getGLConstant())) {
+                OOBoolean.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOBoolean valueOf(int value) {
+        return OOBoolean.glConstants.get(value);
     }
     
     static boolean getBool(int value) {
@@ -1,9 +1,5 @@
 package ro.spatarel.android.oogles20;
 
-import java.nio.IntBuffer;
-import java.util.Map;
-import java.util.TreeMap;
-
 /**
  * <p>Class modeling the buffer object names.</p>
  * 
@@ -26,9 +22,15 @@ import java.util.TreeMap;
  */
 public class OOBuffer {
     
-    private static final Map<Integer, OOBuffer> buffers = new TreeMap<Integer, OOBuffer>();
+    private static final OOIntObjectMap<OOObjectReference<OOBuffer>> buffers =
+            new OOIntObjectMap<OOObjectReference<OOBuffer>>();
     
     static OOBuffer getBuffer(int handle) {
+        OOObjectReference<OOBuffer> reference = OOBuffer.buffers.get(handle);
+        return reference == null ? null : reference.get();
+    }
+    
+    static OOObjectReference<OOBuffer> getReference(int handle) {
         return OOBuffer.buffers.get(handle);
     }
     
@@ -55,16 +57,15 @@ public class OOBuffer {
      * 
      * @see OOGLES20Buffer#bind
      * @see OOGLES20Buffer#unbind
-     * @see #finalize
+     * @see #delete
+     * @see OOGLES20#bufferNames
      */
     public OOBuffer() {
-        IntBuffer handles = OOGLES20.createIntBuffer(1);
-        OOGLES20.backEnd.glGenBuffers(1, handles);
-        if (handles.get(0) == 0) {
+        this.handle = OOGLES20.bufferNames.obtain();
+        if (this.handle == 0) {
             throw new OOErrorOccuredCreatingObjectException();
         }
-        this.handle = handles.get(0);
-        OOBuffer.buffers.put(this.handle, this);
+        OOBuffer.buffers.put(this.handle, new OOObjectReference<OOBuffer>(this, OOObjectReference.BUFFER, this.handle));
     }
     
     /**
@@ -91,16 +92,25 @@ public class OOBuffer {
      */
     public void delete() {
         if (this.handle != 0) {
-            IntBuffer handles = OOGLES20.createIntBuffer(new int[] { this.handle });
-            OOGLES20.backEnd.glDeleteBuffers(1, handles);
-            OOBuffer.buffers.remove(this.handle);
+            OOBuffer.deleteHandles(new int[] { this.handle }, 1);
             this.handle = 0;
         }
     }
     
-    @Override
-    protected void finalize() throws Throwable {
-        this.delete();
-        super.finalize();
+    static int deletionsCount = 0;
+    
+    static void deleteHandles(int[] handles, int count) {
+        ++OOBuffer.deletionsCount;
+        for (int i = 0; i < count; ++i) {
+            OOObjectReference<OOBuffer> reference = OOBuffer.buffers.remove(handles[i]);
+            if (reference != null) {
+                reference.deleted = true;
+                reference.clear();
+            }
+            OOGLES20.arrayBuffer.objectDeleted(handles[i]);
+            OOGLES20.elementArrayBuffer.objectDeleted(handles[i]);
+            OOGLES20.vertexAttributes.bufferDeleted(handles[i]);
+        }
+        OOGLES20.backEnd.glDeleteBuffers(count, OOGLES20.scratchIntBuffer(handles, 0, count));
     }
 }
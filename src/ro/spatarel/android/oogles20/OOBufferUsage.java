@@ -71,13 +71,18 @@ public enum OOBufferUsage {
     
     private final int glConstant;
     
-    static OOBufferUsage valueOf(int value) {
+    private static final OOIntObjectMap<OOBufferUsage> glConstants = new OOIntObjectMap<OOBufferUsage>();
+    
+    static {
         for (OOBufferUsage someValue : OOBufferUsage.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOBufferUsage.glConstants.containsKey(someValue.getGLConstant())) {
+                OOBufferUsage.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOBufferUsage valueOf(int value) {
+        return OOBufferUsage.glConstants.get(value);
     }
     
     OOBufferUsage(int value) {
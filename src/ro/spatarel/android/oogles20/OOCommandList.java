@@ -0,0 +1,271 @@
+package ro.spatarel.android.oogles20;
+
+import ro.spatarel.android.oogles20.backends.AndroidGLES20Recorder;
+
+/**
+ * <p>Class modeling a sequence of library calls recorded once and replayed any number of times.</p>
+ * 
+ * <p>Between {@link #begin} and {@link #end}, all the calls made through the library are recorded into the list
+ * instead of being executed. {@link #replay} then executes the recorded OpenGL ES calls directly on the back end,
+ * without walking the wrapper objects again. It is meant for long sequences that are issued unchanged every frame (for
+ * example a HUD or a static environment).</p>
+ * 
+ * <p>The recording starts with the client-side state of the library (state shadowing, binding cache and uniform
+ * value caches) invalidated, so the recorded sequence does not depend on the state left by earlier calls. The state
+ * reached at the end of the recording is kept and becomes the client-side state after every replay, while the state
+ * from before {@link #begin} is restored by {@link #end}. Calls that need an answer from the OpenGL ES implementation
+ * (queries and object creation) cannot be recorded; the objects used by the list must be created beforehand.</p>
+ * 
+ * <p>The values the library queries lazily are taken care of: {@link #begin} queries the number of texture units
+ * before recording, so {@link OOGLES20#textureUnit} may be called for any unit while recording, and a texture upload
+ * that needs to know the pixel unpack alignment sets it instead of querying it, so the list does not depend on the
+ * alignment at replay time. The other queries of the library (for example the {@code get*} methods of the wrappers)
+ * throw an {@link UnsupportedOperationException} while recording.</p>
+ * 
+ * <p>Uniform values that change between replays are recorded as patch points, with the {@code setUniform*} methods
+ * of this class, and changed with {@link #patchFloat} and {@link #patchInt}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOCommandList {
+    
+    private final AndroidGLES20Recorder recorder = new AndroidGLES20Recorder();
+    
+    private OpenGLES20 recordedBackEnd = null;
+    
+    private final OOGLES20State stateBefore = new OOGLES20State();
+    private final OOGLES20State stateAfter = new OOGLES20State();
+    
+    /**
+     * <p>Starts recording the list. Any previous content of the list is discarded.</p>
+     * 
+     * <p>Must be called on the thread owning the OpenGL ES context. Until {@link #end} is called, all the calls made
+     * through the library are recorded instead of being executed.</p>
+     * 
+     * @see #end
+     */
+    public void begin() {
+        if (this.recordedBackEnd != null) {
+            throw new IllegalStateException("The command list is already recording.");
+        }
+        this.recorder.reset();
+        // The recorder cannot answer queries, so the lazily queried values must be known beforehand.
+        OOGLES20.getMaximumTextureUnits();
+        this.recordedBackEnd = OOGLES20.backEnd;
+        OOGLES20.saveState(this.stateBefore);
+        OOGLES20.backEnd = this.recorder;
+        OOGLES20.invalidateState();
+    }
+    
+    /**
+     * <p>Stops recording the list and restores the back end used before {@link #begin}, together with the client-side
+     * state of the library; the state reached at the end of the list is kept for {@link #replay}.</p>
+     * 
+     * @see #begin
+     */
+    public void end() {
+        if (this.recordedBackEnd == null) {
+            throw new IllegalStateException("The command list is not recording.");
+        }
+        OOGLES20.saveState(this.stateAfter);
+        OOGLES20.backEnd = this.recordedBackEnd;
+        this.recordedBackEnd = null;
+        OOGLES20.loadState(this.stateBefore);
+    }
+    
+    /**
+     * <p>Returns whether the list is being recorded.</p>
+     * 
+     * @return {@code true} between {@link #begin} and {@link #end}; {@code false} otherwise.
+     */
+    public boolean isRecording() {
+        return this.recordedBackEnd != null;
+    }
+    
+    /**
+     * <p>Returns the number of OpenGL ES calls recorded in the list.</p>
+     * 
+     * @return The number of OpenGL ES calls recorded in the list.
+     */
+    public int getCallsCount() {
+        return this.recorder.getCallsCount();
+    }
+    
+    /**
+     * <p>Executes the recorded calls on the current back end.</p>
+     * 
+     * <p>Since the list is recorded from an unknown state, every state it relies on is set by the list itself.
+     * Afterwards the client-side state of the library is the one reached at the end of the recording; only the
+     * uniform value caches are forgotten, since patch points may have changed the recorded values.</p>
+     */
+    public void replay() {
+        if (this.recordedBackEnd != null) {
+            throw new IllegalStateException("The command list is recording.");
+        }
+        this.recorder.replay(OOGLES20.backEnd);
+        OOGLES20.loadState(this.stateAfter);
+    }
+    
+    private int beginPatchPoint(OOUniform uniform) {
+        if (this.recordedBackEnd == null) {
+            throw new IllegalStateException("The command list is not recording.");
+        }
+        uniform.invalidateValueCache();
+        return this.recorder.getSize();
+    }
+    
+    /**
+     * <p>Records the specification of the value of a {@code float} uniform variable as a patch point, whose value
+     * may be changed later with {@link #patchFloat} without recording the list again.</p>
+     * 
+     * @param uniform The uniform variable.
+     * @param x The value.
+     * @return The patch point; component {@code i} of the value is patched with {@code patchFloat(patchPoint, i, ...)}.
+     * 
+     * @see OOUniform#set1f
+     */
+    public int setUniform1f(OOUniform uniform, float x) {
+        int patchPoint = this.beginPatchPoint(uniform) + AndroidGLES20Recorder.UNIFORM_VALUE_OFFSET;
+        this.recorder.glUniform1f(uniform.getHandle(), x);
+        return patchPoint;
+    }
+    
+    /**
+     * <p>Records the specification of the value of a {@code float} vector uniform variable as a patch point, whose
+     * value may be changed later with {@link #patchFloat} without recording the list again.</p>
+     * 
+     * @param uniform The uniform variable.
+     * @param x The first value.
+     * @param y The second value.
+     * @return The patch point; component {@code i} of the value is patched with {@code patchFloat(patchPoint, i, ...)}.
+     * 
+     * @see OOUniform#set2f
+     */
+    public int setUniform2f(OOUniform uniform, float x, float y) {
+        int patchPoint = this.beginPatchPoint(uniform) + AndroidGLES20Recorder.UNIFORM_VALUE_OFFSET;
+        this.recorder.glUniform2f(uniform.getHandle(), x, y);
+        return patchPoint;
+    }
+    
+    /**
+     * <p>Records the specification of the value of a {@code float} vector uniform variable as a patch point, whose
+     * value may be changed later with {@link #patchFloat} without recording the list again.</p>
+     * 
+     * @param uniform The uniform variable.
+     * @param x The first value.
+     * @param y The second value.
+     * @param z The third value.
+     * @return The patch point; component {@code i} of the value is patched with {@code patchFloat(patchPoint, i, ...)}.
+     * 
+     * @see OOUniform#set3f
+     */
+    public int setUniform3f(OOUniform uniform, float x, float y, float z) {
+        int patchPoint = this.beginPatchPoint(uniform) + AndroidGLES20Recorder.UNIFORM_VALUE_OFFSET;
+        this.recorder.glUniform3f(uniform.getHandle(), x, y, z);
+        return patchPoint;
+    }
+    
+    /**
+     * <p>Records the specification of the value of a {@code float} vector uniform variable as a patch point, whose
+     * value may be changed later with {@link #patchFloat} without recording the list again.</p>
+     * 
+     * @param uniform The uniform variable.
+     * @param x The first value.
+     * @param y The second value.
+     * @param z The third value.
+     * @param w The fourth value.
+     * @return The patch point; component {@code i} of the value is patched with {@code patchFloat(patchPoint, i, ...)}.
+     * 
+     * @see OOUniform#set4f
+     */
+    public int setUniform4f(OOUniform uniform, float x, float y, float z, float w) {
+        int patchPoint = this.beginPatchPoint(uniform) + AndroidGLES20Recorder.UNIFORM_VALUE_OFFSET;
+        this.recorder.glUniform4f(uniform.getHandle(), x, y, z, w);
+        return patchPoint;
+    }
+    
+    /**
+     * <p>Records the specification of the value of an {@code int} or sampler uniform variable as a patch point, whose
+     * value may be changed later with {@link #patchInt} without recording the list again.</p>
+     * 
+     * @param uniform The uniform variable.
+     * @param x The value.
+     * @return The patch point; the value is patched with {@code patchInt(patchPoint, 0, ...)}.
+     * 
+     * @see OOUniform#set1i
+     */
+    public int setUniform1i(OOUniform uniform, int x) {
+        int patchPoint = this.beginPatchPoint(uniform) + AndroidGLES20Recorder.UNIFORM_VALUE_OFFSET;
+        this.recorder.glUniform1i(uniform.getHandle(), x);
+        return patchPoint;
+    }
+    
+    /**
+     * <p>Records the specification of the value of a {@code mat4} uniform variable as a patch point, whose value may be
+     * changed later with {@link #patchFloat} or {@link #patchFloats} without recording the list again.</p>
+     * 
+     * @param uniform The uniform variable.
+     * @param values The array containing the 16 values of the matrix, in column major order.
+     * @param offset The index of the first value in {@code values}.
+     * @return The patch point; element {@code i} of the matrix is patched with {@code patchFloat(patchPoint, i, ...)}.
+     * 
+     * @see OOUniform#setMatrix4fv
+     */
+    public int setUniformMatrix4f(OOUniform uniform, float[] values, int offset) {
+        int patchPoint = this.beginPatchPoint(uniform) + AndroidGLES20Recorder.UNIFORM_MATRIX_VALUE_OFFSET;
+        this.recorder.glUniformMatrix4fv(uniform.getHandle(), 1, false,
+                OOGLES20.scratchFloatBuffer(values, offset, 16));
+        return patchPoint;
+    }
+    
+    /**
+     * <p>Changes one component of the value recorded at a {@code float} patch point.</p>
+     * 
+     * @param patchPoint The patch point, as returned by a {@code setUniform*f} method of this list.
+     * @param component The index of the component.
+     * @param value The new value of the component.
+     */
+    public void patchFloat(int patchPoint, int component, float value) {
+        this.recorder.setFloat(patchPoint + component, value);
+    }
+    
+    /**
+     * <p>Changes consecutive components of the value recorded at a {@code float} patch point.</p>
+     * 
+     * @param patchPoint The patch point, as returned by a {@code setUniform*f} method of this list.
+     * @param values The array containing the new values.
+     * @param offset The index of the first new value in {@code values}.
+     * @param length The number of components to change, starting with component {@code 0}.
+     */
+    public void patchFloats(int patchPoint, float[] values, int offset, int length) {
+        for (int i = 0; i < length; ++i) {
+            this.recorder.setFloat(patchPoint + i, values[offset + i]);
+        }
+    }
+    
+    /**
+     * <p>Changes one component of the value recorded at an {@code int} patch point.</p>
+     * 
+     * @param patchPoint The patch point, as returned by {@link #setUniform1i}.
+     * @param component The index of the component.
+     * @param value The new value of the component.
+     */
+    public void patchInt(int patchPoint, int component, int value) {
+        this.recorder.setInt(patchPoint + component, value);
+    }
+}
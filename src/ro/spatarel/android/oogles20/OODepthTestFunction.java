@@ -127,13 +127,18 @@ public enum OODepthTestFunction {
     
     private final int glConstant;
     
-    static OODepthTestFunction valueOf(int value) {
+    private static final OOIntObjectMap<OODepthTestFunction> glConstants = new OOIntObjectMap<OODepthTestFunction>();
+    
+    static {
         for (OODepthTestFunction someValue : OODepthTestFunction.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OODepthTestFunction.glConstants.containsKey(someValue.getGLConstant())) {
+                OODepthTestFunction.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OODepthTestFunction valueOf(int value) {
+        return OODepthTestFunction.glConstants.get(value);
     }
     
     OODepthTestFunction(int value) {
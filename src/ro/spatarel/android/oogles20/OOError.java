@@ -108,13 +108,18 @@ public enum OOError {
     
     private final int glConstant;
     
-    static OOError valueOf(int value) {
+    private static final OOIntObjectMap<OOError> glConstants = new OOIntObjectMap<OOError>();
+    
+    static {
         for (OOError someValue : OOError.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOError.glConstants.containsKey(someValue.getGLConstant())) {
+                OOError.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOError valueOf(int value) {
+        return OOError.glConstants.get(value);
     }
     
     OOError(int value) {
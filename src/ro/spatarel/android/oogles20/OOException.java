@@ -23,4 +23,12 @@ package ro.spatarel.android.oogles20;
 public class OOException extends RuntimeException {
 
     private static final long serialVersionUID = 5743329491937528822L;
+    
+    public OOException() {
+        super();
+    }
+    
+    public OOException(String message) {
+        super(message);
+    }
 }
@@ -1,9 +1,5 @@
 package ro.spatarel.android.oogles20;
 
-import java.nio.IntBuffer;
-import java.util.Map;
-import java.util.TreeMap;
-
 /**
  * <p>Class modeling the framebuffer object names.</p>
  * 
@@ -26,10 +22,12 @@ import java.util.TreeMap;
  */
 public class OOFramebuffer {
     
-    private static final Map<Integer, OOFramebuffer> framebuffers = new TreeMap<Integer, OOFramebuffer>();
+    private static final OOIntObjectMap<OOObjectReference<OOFramebuffer>> framebuffers =
+            new OOIntObjectMap<OOObjectReference<OOFramebuffer>>();
     
     static OOFramebuffer getFramebuffer(int handle) {
-        return OOFramebuffer.framebuffers.get(handle);
+        OOObjectReference<OOFramebuffer> reference = OOFramebuffer.framebuffers.get(handle);
+        return reference == null ? null : reference.get();
     }
     
     private int handle;
@@ -47,28 +45,22 @@ public class OOFramebuffer {
      * 
      * @see OOGLES20Framebuffer#bind
      * @see OOGLES20Framebuffer#bindDefault
-     * @see #finalize
+     * @see #delete
+     * @see OOGLES20#framebufferNames
      */
     public OOFramebuffer() {
-        IntBuffer handles = OOGLES20.createIntBuffer(1);
-        OOGLES20.backEnd.glGenFramebuffers(1, handles);
-        if (handles.get(0) == 0) {
+        this.handle = OOGLES20.framebufferNames.obtain();
+        if (this.handle == 0) {
             throw new OOErrorOccuredCreatingObjectException();
         }
-        this.handle = handles.get(0);
-        OOFramebuffer.framebuffers.put(this.handle, this);
+        OOFramebuffer.framebuffers.put(this.handle,
+                new OOObjectReference<OOFramebuffer>(this, OOObjectReference.FRAMEBUFFER, this.handle));
     }
     
     int getHandle() {
         return this.handle;
     }
     
-    @Override
-    protected void finalize() throws Throwable {
-        this.delete();
-        super.finalize();
-    }
-    
     /**
      * <p>Delete the framebuffer object.</p>
      * 
@@ -89,10 +81,20 @@ public class OOFramebuffer {
      */
     public void delete() {
         if (this.handle != 0) {
-            IntBuffer handles = OOGLES20.createIntBuffer(new int[] { this.handle });
-            OOGLES20.backEnd.glDeleteFramebuffers(1, handles);
-            OOFramebuffer.framebuffers.remove(this.handle);
+            OOFramebuffer.deleteHandles(new int[] { this.handle }, 1);
             this.handle = 0;
         }
     }
+    
+    static void deleteHandles(int[] handles, int count) {
+        for (int i = 0; i < count; ++i) {
+            OOObjectReference<OOFramebuffer> reference = OOFramebuffer.framebuffers.remove(handles[i]);
+            if (reference != null) {
+                reference.deleted = true;
+                reference.clear();
+            }
+            OOGLES20.framebuffer.objectDeleted(handles[i]);
+        }
+        OOGLES20.backEnd.glDeleteFramebuffers(count, OOGLES20.scratchIntBuffer(handles, 0, count));
+    }
 }
@@ -62,13 +62,19 @@ public enum OOFramebufferAttachmentObjectType {
     
     private final int glConstant;
     
-    static OOFramebufferAttachmentObjectType valueOf(int value) {
+    private static final OOIntObjectMap<OOFramebufferAttachmentObjectType> glConstants =
+            new OOIntObjectMap<OOFramebufferAttachmentObjectType>();
+    
+    static {
         for (OOFramebufferAttachmentObjectType someValue : OOFramebufferAttachmentObjectType.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOFramebufferAttachmentObjectType.glConstants.containsKey(someValue.getGLConstant())) {
+                OOFramebufferAttachmentObjectType.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOFramebufferAttachmentObjectType valueOf(int value) {
+        return OOFramebufferAttachmentObjectType.glConstants.get(value);
     }
     
     OOFramebufferAttachmentObjectType(int value) {
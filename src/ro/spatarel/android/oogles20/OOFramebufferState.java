@@ -97,13 +97,18 @@ public enum OOFramebufferState {
     
     private final int glConstant;
     
-    static OOFramebufferState valueOf(int value) {
+    private static final OOIntObjectMap<OOFramebufferState> glConstants = new OOIntObjectMap<OOFramebufferState>();
+    
+    static {
         for (OOFramebufferState someValue : OOFramebufferState.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOFramebufferState.glConstants.containsKey(someValue.getGLConstant())) {
+                OOFramebufferState.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOFramebufferState valueOf(int value) {
+        return OOFramebufferState.glConstants.get(value);
     }
     
     OOFramebufferState(int value) {
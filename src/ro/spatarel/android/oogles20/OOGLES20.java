@@ -1,5 +1,7 @@
 package ro.spatarel.android.oogles20;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -9,10 +11,11 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Arrays;
 import java.util.UnknownFormatConversionException;
 
+import ro.spatarel.android.oogles20.backends.AndroidGLES20Recorder;
+
 /**
  * <p>Class grouping together methods for:</p>
  * 
@@ -54,7 +57,16 @@ public class OOGLES20 {
     static final int LONG_SIZE = Long.SIZE / 8;
     static final int SHORT_SIZE = Short.SIZE / 8;
     
-    private static final Map<Integer, OOGLES20TextureUnit> textureUnits = new TreeMap<Integer, OOGLES20TextureUnit>();
+    private static final int MINIMUM_TEXTURE_UNITS = 8;
+    
+    private static OOGLES20TextureUnit[] textureUnits = new OOGLES20TextureUnit[0];
+    
+    private static int maximumTextureUnits = -1;
+    
+    static final ReferenceQueue<Object> leakedObjects = new ReferenceQueue<Object>();
+    
+    private static int[][] leakedHandles = new int[OOObjectReference.KINDS_COUNT][16];
+    private static int[] leakedHandlesCounts = new int[OOObjectReference.KINDS_COUNT];
     
     /**
      * <p>Wrapper for the {@link OpenGLES20#GL_ARRAY_BUFFER} target.</p>
@@ -101,8 +113,45 @@ public class OOGLES20 {
      */
     public static final OOGLES20Implementation implementation = new OOGLES20Implementation();
     
+    /**
+     * <p>Pool of pre-generated names used by {@link OOBuffer#OOBuffer}.</p>
+     */
+    public static final OOGLES20NamePool bufferNames = new OOGLES20NamePool(OOObjectReference.BUFFER);
+    
+    /**
+     * <p>Pool of pre-generated names used by {@link OOTexture#OOTexture}.</p>
+     */
+    public static final OOGLES20NamePool textureNames = new OOGLES20NamePool(OOObjectReference.TEXTURE);
+    
+    /**
+     * <p>Pool of pre-generated names used by {@link OOFramebuffer#OOFramebuffer}.</p>
+     */
+    public static final OOGLES20NamePool framebufferNames = new OOGLES20NamePool(OOObjectReference.FRAMEBUFFER);
+    
+    /**
+     * <p>Pool of pre-generated names used by {@link OORenderbuffer#OORenderbuffer}.</p>
+     */
+    public static final OOGLES20NamePool renderbufferNames = new OOGLES20NamePool(OOObjectReference.RENDERBUFFER);
+    
     static OpenGLES20 backEnd = null;
     
+    static final int UNKNOWN_HANDLE = -1;
+    
+    static final OOVertexAttributeCache vertexAttributes = new OOVertexAttributeCache();
+    
+    private static boolean bindingCache = false;
+    private static int bindingCacheHitsCount = 0;
+    private static int bindingCacheMissesCount = 0;
+    
+    private static int activeTextureUnit = OOGLES20.UNKNOWN_HANDLE;
+    
+    private static int currentProgramHandle = OOGLES20.UNKNOWN_HANDLE;
+    private static OOProgram currentProgram = null;
+    
+    static int uniformValuesGeneration = 0;
+    
+    private static int unpackAlignment = OOGLES20.UNKNOWN_HANDLE;
+    
     /**
      * <p>Defines the back end to be used by the library.</p>
      * 
@@ -110,6 +159,370 @@ public class OOGLES20 {
      */
     public static void setBackEnd(OpenGLES20 backEnd) {
         OOGLES20.backEnd = backEnd;
+        OOGLES20.maximumTextureUnits = -1;
+        OOGLES20.bufferNames.discard();
+        OOGLES20.textureNames.discard();
+        OOGLES20.framebufferNames.discard();
+        OOGLES20.renderbufferNames.discard();
+        OOVertexArray.backEndChanged();
+        OOSpriteBatch.backEndChanged();
+        OOGLES20.invalidateState();
+    }
+    
+    /**
+     * <p>Enables the client-side state shadowing of {@link #rasterization}, {@link #fragmentProcessing} and
+     * {@link #pixelProcessing}.</p>
+     * 
+     * <p>While shadowing is enabled, every state set through these objects is remembered and calls that would not
+     * change the remembered value are dropped instead of being forwarded to the back end. The shadow starts out
+     * empty, so the first call setting each state always reaches the back end. Code changing the state without going
+     * through the library must call {@link #invalidateState} afterwards, otherwise later calls may be wrongly
+     * dropped.</p>
+     * 
+     * @see OOGLES20Rasterization#enableStateShadowing
+     * @see OOGLES20FragmentProcessing#enableStateShadowing
+     * @see OOGLES20PixelProcessing#enableStateShadowing
+     */
+    public static void enableStateShadowing() {
+        OOGLES20.rasterization.enableStateShadowing();
+        OOGLES20.fragmentProcessing.enableStateShadowing();
+        OOGLES20.pixelProcessing.enableStateShadowing();
+    }
+    
+    /**
+     * <p>Disables the client-side state shadowing of {@link #rasterization}, {@link #fragmentProcessing} and
+     * {@link #pixelProcessing}.</p>
+     * 
+     * @see OOGLES20Rasterization#disableStateShadowing
+     * @see OOGLES20FragmentProcessing#disableStateShadowing
+     * @see OOGLES20PixelProcessing#disableStateShadowing
+     */
+    public static void disableStateShadowing() {
+        OOGLES20.rasterization.disableStateShadowing();
+        OOGLES20.fragmentProcessing.disableStateShadowing();
+        OOGLES20.pixelProcessing.disableStateShadowing();
+    }
+    
+    /**
+     * <p>Forgets all the state remembered on the client side by the library.</p>
+     * 
+     * <p>Must be called whenever the OpenGL ES state is changed without going through the library (for example by
+     * code calling the back end directly).</p>
+     * 
+     * @see OOGLES20Rasterization#invalidate
+     * @see OOGLES20FragmentProcessing#invalidate
+     * @see OOGLES20PixelProcessing#invalidate
+     * @see #invalidateBindingCache
+     * @see OOUniform#invalidateValueCache
+     */
+    public static void invalidateState() {
+        OOGLES20.rasterization.invalidate();
+        OOGLES20.fragmentProcessing.invalidate();
+        OOGLES20.pixelProcessing.invalidate();
+        OOGLES20.invalidateBindingCache();
+        OOGLES20.invalidateUniformValues();
+        OOGLES20.unpackAlignment = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    /**
+     * <p>Deletes the OpenGL ES objects whose wrappers have been garbage collected without being deleted.</p>
+     * 
+     * <p>The wrappers of buffers, textures, framebuffers, renderbuffers, programs and shaders are tracked through weak
+     * references. When a wrapper becomes unreachable before its {@code delete} method is called, the name of its
+     * object is queued by the garbage collector, but the object itself is not deleted, since the garbage collector
+     * threads have no current OpenGL ES context. This method must be called on the thread owning the context, at a
+     * convenient point such as the end of a frame. The queued names are deleted with one {@code glDelete*} call per
+     * kind of object where OpenGL ES allows it. A queued name that was already deleted, for example because its object
+     * was deleted explicitly while the garbage collector was queuing it, is skipped, so that a name reused in the
+     * meantime by another object is not deleted again.</p>
+     * 
+     * @return The number of objects deleted.
+     * 
+     * @see OOBuffer#delete
+     * @see OOTexture#delete
+     * @see OOFramebuffer#delete
+     * @see OORenderbuffer#delete
+     * @see OOProgram#delete
+     * @see OOShader#delete
+     */
+    public static int deleteLeakedObjects() {
+        int count = 0;
+        Reference<?> reference = OOGLES20.leakedObjects.poll();
+        while (reference != null) {
+            OOObjectReference<?> objectReference = (OOObjectReference<?>) reference;
+            int kind = objectReference.kind;
+            if (!objectReference.deleted) {
+                objectReference.deleted = true;
+                if (OOGLES20.leakedHandlesCounts[kind] == OOGLES20.leakedHandles[kind].length) {
+                    OOGLES20.leakedHandles[kind] = Arrays.copyOf(OOGLES20.leakedHandles[kind],
+                            2 * OOGLES20.leakedHandles[kind].length);
+                }
+                OOGLES20.leakedHandles[kind][OOGLES20.leakedHandlesCounts[kind]++] = objectReference.handle;
+                ++count;
+            }
+            reference = OOGLES20.leakedObjects.poll();
+        }
+        if (count == 0) {
+            return 0;
+        }
+        OOGLES20.deleteLeakedHandles(OOObjectReference.BUFFER);
+        OOGLES20.deleteLeakedHandles(OOObjectReference.TEXTURE);
+        OOGLES20.deleteLeakedHandles(OOObjectReference.FRAMEBUFFER);
+        OOGLES20.deleteLeakedHandles(OOObjectReference.RENDERBUFFER);
+        OOGLES20.deleteLeakedHandles(OOObjectReference.PROGRAM);
+        OOGLES20.deleteLeakedHandles(OOObjectReference.SHADER);
+        return count;
+    }
+    
+    private static void deleteLeakedHandles(int kind) {
+        int[] handles = OOGLES20.leakedHandles[kind];
+        int count = OOGLES20.leakedHandlesCounts[kind];
+        if (count == 0) {
+            return;
+        }
+        OOGLES20.leakedHandlesCounts[kind] = 0;
+        switch (kind) {
+        case OOObjectReference.BUFFER:
+            OOBuffer.deleteHandles(handles, count);
+            break;
+        case OOObjectReference.TEXTURE:
+            OOTexture.deleteHandles(handles, count);
+            break;
+        case OOObjectReference.FRAMEBUFFER:
+            OOFramebuffer.deleteHandles(handles, count);
+            break;
+        case OOObjectReference.RENDERBUFFER:
+            OORenderbuffer.deleteHandles(handles, count);
+            break;
+        case OOObjectReference.PROGRAM:
+            OOProgram.deleteHandles(handles, count);
+            break;
+        case OOObjectReference.SHADER:
+            OOShader.deleteHandles(handles, count);
+            break;
+        }
+    }
+    
+    /**
+     * <p>Enables the binding cache.</p>
+     * 
+     * <p>While the binding cache is enabled, the object currently bound to each buffer, framebuffer and renderbuffer
+     * target and to each texture target of each texture unit is remembered, and binding an object that is already
+     * bound does not reach the back end.</p>
+     * 
+     * <p>The active texture unit and the current program are remembered whether the binding cache is enabled or not:
+     * texture operations on the texture unit that is already active never call {@link OpenGLES20#glActiveTexture},
+     * {@link #useProgram} does not reach the back end when the program is already in use and
+     * {@link #getCurrentProgram} does not need to query the back end. After calling
+     * {@link OpenGLES20#glActiveTexture} or {@link OpenGLES20#glUseProgram} without going through the library,
+     * {@link #invalidateBindingCache} must be called.</p>
+     * 
+     * @see #disableBindingCache
+     * @see #invalidateBindingCache
+     */
+    public static void enableBindingCache() {
+        OOGLES20.invalidateBindingCache();
+        OOGLES20.bindingCache = true;
+    }
+    
+    /**
+     * <p>Disables the binding cache. All binding calls are forwarded to the back end.</p>
+     * 
+     * @see #enableBindingCache
+     */
+    public static void disableBindingCache() {
+        OOGLES20.bindingCache = false;
+        OOGLES20.invalidateBindingCache();
+    }
+    
+    /**
+     * <p>Returns whether the binding cache is enabled.</p>
+     * 
+     * @return {@code true} if the binding cache is enabled, {@code false} otherwise.
+     * 
+     * @see #enableBindingCache
+     */
+    public static boolean isBindingCacheEnabled() {
+        return OOGLES20.bindingCache;
+    }
+    
+    /**
+     * <p>Forgets all the bindings remembered by the binding cache.</p>
+     * 
+     * <p>Must be called whenever objects are bound, or the active texture unit or the current program is changed,
+     * without going through the library.</p>
+     * 
+     * @see #enableBindingCache
+     */
+    public static void invalidateBindingCache() {
+        OOGLES20.activeTextureUnit = OOGLES20.UNKNOWN_HANDLE;
+        OOGLES20.currentProgramHandle = OOGLES20.UNKNOWN_HANDLE;
+        OOGLES20.currentProgram = null;
+        OOGLES20.arrayBuffer.invalidateBinding();
+        OOGLES20.elementArrayBuffer.invalidateBinding();
+        OOGLES20.framebuffer.invalidateBinding();
+        OOGLES20.renderbuffer.invalidateBinding();
+        OOGLES20.vertexAttributes.invalidate();
+        OOVertexArray.invalidateBinding();
+        for (OOGLES20TextureUnit textureUnit : OOGLES20.textureUnits) {
+            if (textureUnit != null) {
+                textureUnit.tex2D.invalidateBinding();
+                textureUnit.texCubeMap.invalidateBinding();
+            }
+        }
+    }
+    
+    /**
+     * <p>Returns the number of binding calls answered by the binding cache since the last call to
+     * {@link #resetBindingCacheCounters}.</p>
+     * 
+     * @return The number of cache hits.
+     */
+    public static int getBindingCacheHitsCount() {
+        return OOGLES20.bindingCacheHitsCount;
+    }
+    
+    /**
+     * <p>Returns the number of binding calls forwarded to the back end while the binding cache was enabled, since the
+     * last call to {@link #resetBindingCacheCounters}.</p>
+     * 
+     * @return The number of cache misses.
+     */
+    public static int getBindingCacheMissesCount() {
+        return OOGLES20.bindingCacheMissesCount;
+    }
+    
+    /**
+     * <p>Resets the counters returned by {@link #getBindingCacheHitsCount} and {@link #getBindingCacheMissesCount} to
+     * zero.</p>
+     */
+    public static void resetBindingCacheCounters() {
+        OOGLES20.bindingCacheHitsCount = 0;
+        OOGLES20.bindingCacheMissesCount = 0;
+    }
+    
+    static boolean isBindingCached(int bindedHandle, int handle) {
+        return OOGLES20.isBindingCached(bindedHandle == handle);
+    }
+    
+    static boolean isBindingCached(boolean unchanged) {
+        if (!OOGLES20.bindingCache) {
+            return false;
+        }
+        if (unchanged) {
+            ++OOGLES20.bindingCacheHitsCount;
+            return true;
+        }
+        ++OOGLES20.bindingCacheMissesCount;
+        return false;
+    }
+    
+    static boolean isBindingKnown(int bindedHandle) {
+        return OOGLES20.bindingCache && bindedHandle != OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    static boolean isStateTracked(int trackedHandle, int handle) {
+        if (trackedHandle == handle) {
+            if (OOGLES20.bindingCache) {
+                ++OOGLES20.bindingCacheHitsCount;
+            }
+            return true;
+        }
+        if (OOGLES20.bindingCache) {
+            ++OOGLES20.bindingCacheMissesCount;
+        }
+        return false;
+    }
+    
+    static void activateTextureUnit(int textureUnit) {
+        if (OOGLES20.isStateTracked(OOGLES20.activeTextureUnit, textureUnit)) {
+            return;
+        }
+        OOGLES20.activeTextureUnit = textureUnit;
+        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + textureUnit);
+    }
+    
+    static void invalidateUniformValues() {
+        ++OOGLES20.uniformValuesGeneration;
+    }
+    
+    static void saveState(OOGLES20State state) {
+        state.activeTextureUnit = OOGLES20.activeTextureUnit;
+        state.currentProgramHandle = OOGLES20.currentProgramHandle;
+        state.currentProgram = OOGLES20.currentProgram;
+        state.arrayBufferHandle = OOGLES20.arrayBuffer.getBindedHandle();
+        state.elementArrayBufferHandle = OOGLES20.elementArrayBuffer.getBindedHandle();
+        state.framebufferHandle = OOGLES20.framebuffer.getBindedHandle();
+        state.renderbufferHandle = OOGLES20.renderbuffer.getBindedHandle();
+        int textureUnitsCount = OOGLES20.textureUnits.length;
+        if (state.texture2DHandles.length != textureUnitsCount) {
+            state.texture2DHandles = new int[textureUnitsCount];
+            state.textureCubeMapHandles = new int[textureUnitsCount];
+        }
+        for (int i = 0; i < textureUnitsCount; ++i) {
+            OOGLES20TextureUnit textureUnit = OOGLES20.textureUnits[i];
+            state.texture2DHandles[i] = textureUnit == null ? OOGLES20.UNKNOWN_HANDLE
+                    : textureUnit.tex2D.getBindedHandle();
+            state.textureCubeMapHandles[i] = textureUnit == null ? OOGLES20.UNKNOWN_HANDLE
+                    : textureUnit.texCubeMap.getBindedHandle();
+        }
+        state.vertexAttributes.copyFrom(OOGLES20.vertexAttributes);
+        state.rasterization.copyFrom(OOGLES20.rasterization);
+        state.fragmentProcessing.copyFrom(OOGLES20.fragmentProcessing);
+        state.pixelProcessing.copyFrom(OOGLES20.pixelProcessing);
+    }
+    
+    static void loadState(OOGLES20State state) {
+        OOGLES20.activeTextureUnit = state.activeTextureUnit;
+        if (state.currentProgram != null && state.currentProgram.getHandle() != state.currentProgramHandle) {
+            // The program was deleted since the snapshot.
+            OOGLES20.currentProgramHandle = OOGLES20.UNKNOWN_HANDLE;
+            OOGLES20.currentProgram = null;
+        } else {
+            OOGLES20.currentProgramHandle = state.currentProgramHandle;
+            OOGLES20.currentProgram = state.currentProgram;
+        }
+        OOGLES20.arrayBuffer.setBindedHandle(state.arrayBufferHandle);
+        OOGLES20.elementArrayBuffer.setBindedHandle(state.elementArrayBufferHandle);
+        OOGLES20.framebuffer.setBindedHandle(state.framebufferHandle);
+        OOGLES20.renderbuffer.setBindedHandle(state.renderbufferHandle);
+        for (int i = 0; i < OOGLES20.textureUnits.length; ++i) {
+            OOGLES20TextureUnit textureUnit = OOGLES20.textureUnits[i];
+            if (textureUnit == null) {
+                continue;
+            }
+            if (i < state.texture2DHandles.length) {
+                textureUnit.tex2D.setBindedHandle(state.texture2DHandles[i]);
+                textureUnit.texCubeMap.setBindedHandle(state.textureCubeMapHandles[i]);
+            } else {
+                textureUnit.tex2D.invalidateBinding();
+                textureUnit.texCubeMap.invalidateBinding();
+            }
+        }
+        OOGLES20.vertexAttributes.copyFrom(state.vertexAttributes);
+        OOVertexArray.invalidateBinding();
+        OOGLES20.rasterization.copyFrom(state.rasterization);
+        OOGLES20.fragmentProcessing.copyFrom(state.fragmentProcessing);
+        OOGLES20.pixelProcessing.copyFrom(state.pixelProcessing);
+        // The uniform values uploaded since the snapshot was taken are not part of it.
+        OOGLES20.invalidateUniformValues();
+        OOGLES20.unpackAlignment = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    static void programDeleted(int handle) {
+        if (OOGLES20.currentProgramHandle == handle) {
+            OOGLES20.currentProgramHandle = OOGLES20.UNKNOWN_HANDLE;
+            OOGLES20.currentProgram = null;
+        }
+    }
+    
+    static void textureDeleted(int handle) {
+        for (OOGLES20TextureUnit textureUnit : OOGLES20.textureUnits) {
+            if (textureUnit != null) {
+                textureUnit.tex2D.objectDeleted(handle);
+                textureUnit.texCubeMap.objectDeleted(handle);
+            }
+        }
     }
     
     /**
@@ -155,6 +568,38 @@ public class OOGLES20 {
         return OOGLES20.createByteBuffer(buffer, 0);
     }
     
+    /**
+     * <p>Create and return a new {@link ByteBuffer} containing only the {@code length} elements of {@code buffer}
+     * starting at {@code offset}, with the position set to {@code 0}.</p>
+     * 
+     * @param buffer The data be stored in the new {@link ByteBuffer}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return A new {@link ByteBuffer} containing the elements {@code [offset, offset + length)} of {@code buffer}.
+     */
+    public static ByteBuffer createByteBuffer(byte[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.createByteBuffer(length), buffer, offset, length);
+    }
+    
+    /**
+     * <p>Fill an existing {@link ByteBuffer} with the {@code length} elements of {@code buffer} starting at
+     * {@code offset}. The position of {@code destination} is set to {@code 0} and its limit to {@code length}.</p>
+     * 
+     * @param destination The {@link ByteBuffer} to be filled; its capacity must be at least {@code length}.
+     * @param buffer The data be stored in {@code destination}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static ByteBuffer fill(ByteBuffer destination, byte[] buffer, int offset, int length) {
+        destination.clear();
+        destination.put(buffer, offset, length);
+        destination.flip();
+        return destination;
+    }
+    
     /**
      * <p>Create and return a new empty {@link CharBuffer} with {@code size} elements.</p>
      * 
@@ -199,6 +644,38 @@ public class OOGLES20 {
         return OOGLES20.createCharBuffer(buffer, 0);
     }
     
+    /**
+     * <p>Create and return a new {@link CharBuffer} containing only the {@code length} elements of {@code buffer}
+     * starting at {@code offset}, with the position set to {@code 0}.</p>
+     * 
+     * @param buffer The data be stored in the new {@link CharBuffer}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return A new {@link CharBuffer} containing the elements {@code [offset, offset + length)} of {@code buffer}.
+     */
+    public static CharBuffer createCharBuffer(char[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.createCharBuffer(length), buffer, offset, length);
+    }
+    
+    /**
+     * <p>Fill an existing {@link CharBuffer} with the {@code length} elements of {@code buffer} starting at
+     * {@code offset}. The position of {@code destination} is set to {@code 0} and its limit to {@code length}.</p>
+     * 
+     * @param destination The {@link CharBuffer} to be filled; its capacity must be at least {@code length}.
+     * @param buffer The data be stored in {@code destination}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static CharBuffer fill(CharBuffer destination, char[] buffer, int offset, int length) {
+        destination.clear();
+        destination.put(buffer, offset, length);
+        destination.flip();
+        return destination;
+    }
+    
     /**
      * <p>Create and return a new empty {@link DoubleBuffer} with {@code size} elements.</p>
      * 
@@ -243,6 +720,38 @@ public class OOGLES20 {
         return OOGLES20.createDoubleBuffer(buffer, 0);
     }
     
+    /**
+     * <p>Create and return a new {@link DoubleBuffer} containing only the {@code length} elements of {@code buffer}
+     * starting at {@code offset}, with the position set to {@code 0}.</p>
+     * 
+     * @param buffer The data be stored in the new {@link DoubleBuffer}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return A new {@link DoubleBuffer} containing the elements {@code [offset, offset + length)} of {@code buffer}.
+     */
+    public static DoubleBuffer createDoubleBuffer(double[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.createDoubleBuffer(length), buffer, offset, length);
+    }
+    
+    /**
+     * <p>Fill an existing {@link DoubleBuffer} with the {@code length} elements of {@code buffer} starting at
+     * {@code offset}. The position of {@code destination} is set to {@code 0} and its limit to {@code length}.</p>
+     * 
+     * @param destination The {@link DoubleBuffer} to be filled; its capacity must be at least {@code length}.
+     * @param buffer The data be stored in {@code destination}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static DoubleBuffer fill(DoubleBuffer destination, double[] buffer, int offset, int length) {
+        destination.clear();
+        destination.put(buffer, offset, length);
+        destination.flip();
+        return destination;
+    }
+    
     /**
      * <p>Create and return a new empty {@link FloatBuffer} with {@code size} elements.</p>
      * 
@@ -287,6 +796,38 @@ public class OOGLES20 {
         return OOGLES20.createFloatBuffer(buffer, 0);
     }
     
+    /**
+     * <p>Create and return a new {@link FloatBuffer} containing only the {@code length} elements of {@code buffer}
+     * starting at {@code offset}, with the position set to {@code 0}.</p>
+     * 
+     * @param buffer The data be stored in the new {@link FloatBuffer}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return A new {@link FloatBuffer} containing the elements {@code [offset, offset + length)} of {@code buffer}.
+     */
+    public static FloatBuffer createFloatBuffer(float[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.createFloatBuffer(length), buffer, offset, length);
+    }
+    
+    /**
+     * <p>Fill an existing {@link FloatBuffer} with the {@code length} elements of {@code buffer} starting at
+     * {@code offset}. The position of {@code destination} is set to {@code 0} and its limit to {@code length}.</p>
+     * 
+     * @param destination The {@link FloatBuffer} to be filled; its capacity must be at least {@code length}.
+     * @param buffer The data be stored in {@code destination}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static FloatBuffer fill(FloatBuffer destination, float[] buffer, int offset, int length) {
+        destination.clear();
+        destination.put(buffer, offset, length);
+        destination.flip();
+        return destination;
+    }
+    
     /**
      * <p>Create and return a new empty {@link IntBuffer} with {@code size} elements.</p>
      * 
@@ -331,6 +872,38 @@ public class OOGLES20 {
         return OOGLES20.createIntBuffer(buffer, 0);
     }
     
+    /**
+     * <p>Create and return a new {@link IntBuffer} containing only the {@code length} elements of {@code buffer}
+     * starting at {@code offset}, with the position set to {@code 0}.</p>
+     * 
+     * @param buffer The data be stored in the new {@link IntBuffer}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return A new {@link IntBuffer} containing the elements {@code [offset, offset + length)} of {@code buffer}.
+     */
+    public static IntBuffer createIntBuffer(int[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.createIntBuffer(length), buffer, offset, length);
+    }
+    
+    /**
+     * <p>Fill an existing {@link IntBuffer} with the {@code length} elements of {@code buffer} starting at
+     * {@code offset}. The position of {@code destination} is set to {@code 0} and its limit to {@code length}.</p>
+     * 
+     * @param destination The {@link IntBuffer} to be filled; its capacity must be at least {@code length}.
+     * @param buffer The data be stored in {@code destination}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static IntBuffer fill(IntBuffer destination, int[] buffer, int offset, int length) {
+        destination.clear();
+        destination.put(buffer, offset, length);
+        destination.flip();
+        return destination;
+    }
+    
     /**
      * <p>Create and return a new empty {@link LongBuffer} with {@code size} elements.</p>
      * 
@@ -375,6 +948,38 @@ public class OOGLES20 {
         return OOGLES20.createLongBuffer(buffer, 0);
     }
     
+    /**
+     * <p>Create and return a new {@link LongBuffer} containing only the {@code length} elements of {@code buffer}
+     * starting at {@code offset}, with the position set to {@code 0}.</p>
+     * 
+     * @param buffer The data be stored in the new {@link LongBuffer}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return A new {@link LongBuffer} containing the elements {@code [offset, offset + length)} of {@code buffer}.
+     */
+    public static LongBuffer createLongBuffer(long[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.createLongBuffer(length), buffer, offset, length);
+    }
+    
+    /**
+     * <p>Fill an existing {@link LongBuffer} with the {@code length} elements of {@code buffer} starting at
+     * {@code offset}. The position of {@code destination} is set to {@code 0} and its limit to {@code length}.</p>
+     * 
+     * @param destination The {@link LongBuffer} to be filled; its capacity must be at least {@code length}.
+     * @param buffer The data be stored in {@code destination}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static LongBuffer fill(LongBuffer destination, long[] buffer, int offset, int length) {
+        destination.clear();
+        destination.put(buffer, offset, length);
+        destination.flip();
+        return destination;
+    }
+    
     /**
      * <p>Create and return a new empty {@link ShortBuffer} with {@code size} elements.</p>
      * 
@@ -419,6 +1024,38 @@ public class OOGLES20 {
         return OOGLES20.createShortBuffer(buffer, 0);
     }
     
+    /**
+     * <p>Create and return a new {@link ShortBuffer} containing only the {@code length} elements of {@code buffer}
+     * starting at {@code offset}, with the position set to {@code 0}.</p>
+     * 
+     * @param buffer The data be stored in the new {@link ShortBuffer}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return A new {@link ShortBuffer} containing the elements {@code [offset, offset + length)} of {@code buffer}.
+     */
+    public static ShortBuffer createShortBuffer(short[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.createShortBuffer(length), buffer, offset, length);
+    }
+    
+    /**
+     * <p>Fill an existing {@link ShortBuffer} with the {@code length} elements of {@code buffer} starting at
+     * {@code offset}. The position of {@code destination} is set to {@code 0} and its limit to {@code length}.</p>
+     * 
+     * @param destination The {@link ShortBuffer} to be filled; its capacity must be at least {@code length}.
+     * @param buffer The data be stored in {@code destination}.
+     * @param offset The index of the first element of {@code buffer} to be stored.
+     * @param length The number of elements of {@code buffer} to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static ShortBuffer fill(ShortBuffer destination, short[] buffer, int offset, int length) {
+        destination.clear();
+        destination.put(buffer, offset, length);
+        destination.flip();
+        return destination;
+    }
+    
     /**
      * <p>Create and return a new {@code byte[]} containing the data from {@code buffer}.</p>
      * 
@@ -427,12 +1064,25 @@ public class OOGLES20 {
      * @return A new {@code byte[]} containing the data from {@code buffer}.
      */
     public static byte[] extract(ByteBuffer buffer) {
-        int size = buffer.limit();
-        byte[] answer = new byte[size];
-        for (int i = 0; i < size; ++i) {
-            answer[i] = buffer.get(i);
-        }
-        return answer;
+        return OOGLES20.extract(buffer, new byte[buffer.limit()], 0);
+    }
+    
+    /**
+     * <p>Copy the data from {@code buffer}, from index {@code 0} up to its limit, into an existing {@code byte[]}
+     * starting at {@code offset}. The position of {@code buffer} is left unchanged.</p>
+     * 
+     * @param buffer The data to be copied.
+     * @param destination The {@code byte[]} to be filled.
+     * @param offset The index of {@code destination} where the first element is to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static byte[] extract(ByteBuffer buffer, byte[] destination, int offset) {
+        int position = buffer.position();
+        buffer.position(0);
+        buffer.get(destination, offset, buffer.limit());
+        buffer.position(position);
+        return destination;
     }
     
     /**
@@ -443,12 +1093,25 @@ public class OOGLES20 {
      * @return A new {@code char[]} containing the data from {@code buffer}.
      */
     public static char[] extract(CharBuffer buffer) {
-        int size = buffer.limit();
-        char[] answer = new char[size];
-        for (int i = 0; i < size; ++i) {
-            answer[i] = buffer.get(i);
-        }
-        return answer;
+        return OOGLES20.extract(buffer, new char[buffer.limit()], 0);
+    }
+    
+    /**
+     * <p>Copy the data from {@code buffer}, from index {@code 0} up to its limit, into an existing {@code char[]}
+     * starting at {@code offset}. The position of {@code buffer} is left unchanged.</p>
+     * 
+     * @param buffer The data to be copied.
+     * @param destination The {@code char[]} to be filled.
+     * @param offset The index of {@code destination} where the first element is to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static char[] extract(CharBuffer buffer, char[] destination, int offset) {
+        int position = buffer.position();
+        buffer.position(0);
+        buffer.get(destination, offset, buffer.limit());
+        buffer.position(position);
+        return destination;
     }
     
     /**
@@ -459,12 +1122,25 @@ public class OOGLES20 {
      * @return A new {@code double[]} containing the data from {@code buffer}.
      */
     public static double[] extract(DoubleBuffer buffer) {
-        int size = buffer.limit();
-        double[] answer = new double[size];
-        for (int i = 0; i < size; ++i) {
-            answer[i] = buffer.get(i);
-        }
-        return answer;
+        return OOGLES20.extract(buffer, new double[buffer.limit()], 0);
+    }
+    
+    /**
+     * <p>Copy the data from {@code buffer}, from index {@code 0} up to its limit, into an existing {@code double[]}
+     * starting at {@code offset}. The position of {@code buffer} is left unchanged.</p>
+     * 
+     * @param buffer The data to be copied.
+     * @param destination The {@code double[]} to be filled.
+     * @param offset The index of {@code destination} where the first element is to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static double[] extract(DoubleBuffer buffer, double[] destination, int offset) {
+        int position = buffer.position();
+        buffer.position(0);
+        buffer.get(destination, offset, buffer.limit());
+        buffer.position(position);
+        return destination;
     }
     
     /**
@@ -475,12 +1151,25 @@ public class OOGLES20 {
      * @return A new {@code float[]} containing the data from {@code buffer}.
      */
     public static float[] extract(FloatBuffer buffer) {
-        int size = buffer.limit();
-        float[] answer = new float[size];
-        for (int i = 0; i < size; ++i) {
-            answer[i] = buffer.get(i);
-        }
-        return answer;
+        return OOGLES20.extract(buffer, new float[buffer.limit()], 0);
+    }
+    
+    /**
+     * <p>Copy the data from {@code buffer}, from index {@code 0} up to its limit, into an existing {@code float[]}
+     * starting at {@code offset}. The position of {@code buffer} is left unchanged.</p>
+     * 
+     * @param buffer The data to be copied.
+     * @param destination The {@code float[]} to be filled.
+     * @param offset The index of {@code destination} where the first element is to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static float[] extract(FloatBuffer buffer, float[] destination, int offset) {
+        int position = buffer.position();
+        buffer.position(0);
+        buffer.get(destination, offset, buffer.limit());
+        buffer.position(position);
+        return destination;
     }
     
     /**
@@ -491,12 +1180,25 @@ public class OOGLES20 {
      * @return A new {@code int[]} containing the data from {@code buffer}.
      */
     public static int[] extract(IntBuffer buffer) {
-        int size = buffer.limit();
-        int[] answer = new int[size];
-        for (int i = 0; i < size; ++i) {
-            answer[i] = buffer.get(i);
-        }
-        return answer;
+        return OOGLES20.extract(buffer, new int[buffer.limit()], 0);
+    }
+    
+    /**
+     * <p>Copy the data from {@code buffer}, from index {@code 0} up to its limit, into an existing {@code int[]}
+     * starting at {@code offset}. The position of {@code buffer} is left unchanged.</p>
+     * 
+     * @param buffer The data to be copied.
+     * @param destination The {@code int[]} to be filled.
+     * @param offset The index of {@code destination} where the first element is to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static int[] extract(IntBuffer buffer, int[] destination, int offset) {
+        int position = buffer.position();
+        buffer.position(0);
+        buffer.get(destination, offset, buffer.limit());
+        buffer.position(position);
+        return destination;
     }
     
     /**
@@ -507,12 +1209,25 @@ public class OOGLES20 {
      * @return A new {@code long[]} containing the data from {@code buffer}.
      */
     public static long[] extract(LongBuffer buffer) {
-        int size = buffer.limit();
-        long[] answer = new long[size];
-        for (int i = 0; i < size; ++i) {
-            answer[i] = buffer.get(i);
-        }
-        return answer;
+        return OOGLES20.extract(buffer, new long[buffer.limit()], 0);
+    }
+    
+    /**
+     * <p>Copy the data from {@code buffer}, from index {@code 0} up to its limit, into an existing {@code long[]}
+     * starting at {@code offset}. The position of {@code buffer} is left unchanged.</p>
+     * 
+     * @param buffer The data to be copied.
+     * @param destination The {@code long[]} to be filled.
+     * @param offset The index of {@code destination} where the first element is to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static long[] extract(LongBuffer buffer, long[] destination, int offset) {
+        int position = buffer.position();
+        buffer.position(0);
+        buffer.get(destination, offset, buffer.limit());
+        buffer.position(position);
+        return destination;
     }
     
     /**
@@ -523,12 +1238,103 @@ public class OOGLES20 {
      * @return A new {@code short[]} containing the data from {@code buffer}.
      */
     public static short[] extract(ShortBuffer buffer) {
-        int size = buffer.limit();
-        short[] answer = new short[size];
-        for (int i = 0; i < size; ++i) {
-            answer[i] = buffer.get(i);
+        return OOGLES20.extract(buffer, new short[buffer.limit()], 0);
+    }
+    
+    /**
+     * <p>Copy the data from {@code buffer}, from index {@code 0} up to its limit, into an existing {@code short[]}
+     * starting at {@code offset}. The position of {@code buffer} is left unchanged.</p>
+     * 
+     * @param buffer The data to be copied.
+     * @param destination The {@code short[]} to be filled.
+     * @param offset The index of {@code destination} where the first element is to be stored.
+     * 
+     * @return {@code destination}.
+     */
+    public static short[] extract(ShortBuffer buffer, short[] destination, int offset) {
+        int position = buffer.position();
+        buffer.position(0);
+        buffer.get(destination, offset, buffer.limit());
+        buffer.position(position);
+        return destination;
+    }
+    
+    private static ByteBuffer scratchByteBuffer = null;
+    private static FloatBuffer scratchFloatBuffer = null;
+    private static IntBuffer scratchIntBuffer = null;
+    private static ShortBuffer scratchShortBuffer = null;
+    
+    /**
+     * <p>Number of direct buffers allocated by the scratch buffers since the class was loaded; a steady state of the
+     * {@code xxx[]} overloads does not change it.</p>
+     */
+    static int scratchAllocationsCount = 0;
+    
+    private static int getScratchCapacity(Buffer scratchBuffer, int length) {
+        if (scratchBuffer == null) {
+            return length;
+        }
+        return Math.max(length, 2 * scratchBuffer.capacity());
+    }
+    
+    static ByteBuffer scratchByteBuffer(int length) {
+        if (OOGLES20.scratchByteBuffer == null || OOGLES20.scratchByteBuffer.capacity() < length) {
+            OOGLES20.scratchByteBuffer = OOGLES20.createByteBuffer(
+                    OOGLES20.getScratchCapacity(OOGLES20.scratchByteBuffer, length));
+            ++OOGLES20.scratchAllocationsCount;
+        }
+        OOGLES20.scratchByteBuffer.clear();
+        OOGLES20.scratchByteBuffer.limit(length);
+        return OOGLES20.scratchByteBuffer;
+    }
+    
+    static ByteBuffer scratchByteBuffer(byte[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.scratchByteBuffer(length), buffer, offset, length);
+    }
+    
+    static FloatBuffer scratchFloatBuffer(int length) {
+        if (OOGLES20.scratchFloatBuffer == null || OOGLES20.scratchFloatBuffer.capacity() < length) {
+            OOGLES20.scratchFloatBuffer = OOGLES20.createFloatBuffer(
+                    OOGLES20.getScratchCapacity(OOGLES20.scratchFloatBuffer, length));
+            ++OOGLES20.scratchAllocationsCount;
         }
-        return answer;
+        OOGLES20.scratchFloatBuffer.clear();
+        OOGLES20.scratchFloatBuffer.limit(length);
+        return OOGLES20.scratchFloatBuffer;
+    }
+    
+    static FloatBuffer scratchFloatBuffer(float[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.scratchFloatBuffer(length), buffer, offset, length);
+    }
+    
+    static IntBuffer scratchIntBuffer(int length) {
+        if (OOGLES20.scratchIntBuffer == null || OOGLES20.scratchIntBuffer.capacity() < length) {
+            OOGLES20.scratchIntBuffer = OOGLES20.createIntBuffer(
+                    OOGLES20.getScratchCapacity(OOGLES20.scratchIntBuffer, length));
+            ++OOGLES20.scratchAllocationsCount;
+        }
+        OOGLES20.scratchIntBuffer.clear();
+        OOGLES20.scratchIntBuffer.limit(length);
+        return OOGLES20.scratchIntBuffer;
+    }
+    
+    static IntBuffer scratchIntBuffer(int[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.scratchIntBuffer(length), buffer, offset, length);
+    }
+    
+    static ShortBuffer scratchShortBuffer(int length) {
+        if (OOGLES20.scratchShortBuffer == null || OOGLES20.scratchShortBuffer.capacity() < length) {
+            OOGLES20.scratchShortBuffer = OOGLES20.createShortBuffer(
+                    OOGLES20.getScratchCapacity(OOGLES20.scratchShortBuffer, length));
+            ++OOGLES20.scratchAllocationsCount;
+        }
+        OOGLES20.scratchShortBuffer.clear();
+        OOGLES20.scratchShortBuffer.limit(length);
+        return OOGLES20.scratchShortBuffer;
+    }
+    
+    static ShortBuffer scratchShortBuffer(short[] buffer, int offset, int length) {
+        return OOGLES20.fill(OOGLES20.scratchShortBuffer(length), buffer, offset, length);
     }
     
     static int getBufferElementarySize(Buffer sampleBuffer) {
@@ -668,12 +1474,35 @@ public class OOGLES20 {
      * 
      * @param texture The index of the requested texture unit.
      * @return A {@link OOGLES20TextureUnit} object managing a specified texture unit.
+     * @throws OOInvalidTextureUnitException If {@code texture} is negative or not less than
+     * {@link OOGLES20Implementation#getMaximumTextureUnits}.
      */
     public static OOGLES20TextureUnit textureUnit(int texture) {
-        if (!OOGLES20.textureUnits.containsKey(texture)) {
-            OOGLES20.textureUnits.put(texture, new OOGLES20TextureUnit(texture));
+        if (texture >= 0 && texture < OOGLES20.textureUnits.length && OOGLES20.textureUnits[texture] != null) {
+            return OOGLES20.textureUnits[texture];
         }
-        return OOGLES20.textureUnits.get(texture);
+        return OOGLES20.createTextureUnit(texture);
+    }
+    
+    // Queried once per back end.
+    static int getMaximumTextureUnits() {
+        if (OOGLES20.maximumTextureUnits < 0) {
+            OOGLES20.maximumTextureUnits = Math.max(OOGLES20.implementation.getMaximumTextureUnits(),
+                    OOGLES20.MINIMUM_TEXTURE_UNITS);
+        }
+        return OOGLES20.maximumTextureUnits;
+    }
+    
+    private static OOGLES20TextureUnit createTextureUnit(int texture) {
+        int maximumTextureUnits = OOGLES20.getMaximumTextureUnits();
+        if (texture < 0 || texture >= maximumTextureUnits) {
+            throw new OOInvalidTextureUnitException(texture, maximumTextureUnits);
+        }
+        if (texture >= OOGLES20.textureUnits.length) {
+            OOGLES20.textureUnits = Arrays.copyOf(OOGLES20.textureUnits, maximumTextureUnits);
+        }
+        OOGLES20.textureUnits[texture] = new OOGLES20TextureUnit(texture);
+        return OOGLES20.textureUnits[texture];
     }
     
     /**
@@ -737,7 +1566,7 @@ public class OOGLES20 {
      * @see OOProgram#attachShader
      * @see OOShader#compile
      * @see OOProgram#OOProgram
-     * @see OOProgram#finalize
+     * @see OOProgram#delete
      * @see OOProgram#detachShader
      * @see OOProgram#link
      * @see OOProgram#validate
@@ -746,11 +1575,13 @@ public class OOGLES20 {
      * rendering state.
      */
     public static void useProgram(OOProgram program) {
-        if (program == null) {
-            OOGLES20.backEnd.glUseProgram(0);
-        } else {
-            OOGLES20.backEnd.glUseProgram(program.getHandle());
+        int handle = program == null ? 0 : program.getHandle();
+        if (OOGLES20.isStateTracked(OOGLES20.currentProgramHandle, handle)) {
+            return;
         }
+        OOGLES20.currentProgramHandle = handle;
+        OOGLES20.currentProgram = program;
+        OOGLES20.backEnd.glUseProgram(handle);
     }
     
     /**
@@ -876,6 +1707,34 @@ public class OOGLES20 {
      */
     public static void setPixelAlignment(OOPixelStorage storage, int alignment) {
         OOGLES20.backEnd.glPixelStorei(storage.getGLConstant(), alignment);
+        if (storage == OOPixelStorage.UNPACK_ALIGNMENT) {
+            OOGLES20.unpackAlignment = alignment;
+        }
+    }
+    
+    // Sets the unpack alignment to 1 if the current one does not divide the row size, and returns the alignment to
+    // restore afterwards; the current value is queried only when it is not known. A recorder cannot answer the query,
+    // so while recording an unknown alignment is set instead, which also makes the recording independent of the
+    // alignment at replay time.
+    static int alignUnpackRows(int rowBytes) {
+        if (OOGLES20.unpackAlignment == OOGLES20.UNKNOWN_HANDLE) {
+            if (OOGLES20.backEnd instanceof AndroidGLES20Recorder) {
+                OOGLES20.setPixelAlignment(OOPixelStorage.UNPACK_ALIGNMENT, rowBytes % 4 == 0 ? 4 : 1);
+                return OOGLES20.unpackAlignment;
+            }
+            OOGLES20.unpackAlignment = OOGLES20.getPixelUnpackAlignment();
+        }
+        int alignment = OOGLES20.unpackAlignment;
+        if (alignment <= 0 || rowBytes % alignment != 0) {
+            OOGLES20.setPixelAlignment(OOPixelStorage.UNPACK_ALIGNMENT, 1);
+        }
+        return alignment;
+    }
+    
+    static void restoreUnpackAlignment(int alignment) {
+        if (alignment > 0 && OOGLES20.unpackAlignment != alignment) {
+            OOGLES20.setPixelAlignment(OOPixelStorage.UNPACK_ALIGNMENT, alignment);
+        }
     }
     
     /**
@@ -930,6 +1789,9 @@ public class OOGLES20 {
      * 
      * <p>Returns the program object that is currently active or {@code null} if no program object is active.</p>
      * 
+     * <p>The back end is only queried when the current program is not known, that is before the first call to
+     * {@link #useProgram} and after {@link #invalidateBindingCache}.</p>
+     * 
      * <h5>Copyright</h5>
      * 
      * <p>Copyright &copy; 1991-2006 Silicon Graphics, Inc. This document is licensed under the SGI Free Software B
@@ -941,8 +1803,13 @@ public class OOGLES20 {
      * @see #useProgram
      */
     public static OOProgram getCurrentProgram() {
+        if (OOGLES20.currentProgramHandle != OOGLES20.UNKNOWN_HANDLE) {
+            return OOGLES20.currentProgram;
+        }
         OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_CURRENT_PROGRAM, OOGLES20.intBuffer);
-        return OOProgram.getProgram(OOGLES20.intBuffer.get(0));
+        OOGLES20.currentProgramHandle = OOGLES20.intBuffer.get(0);
+        OOGLES20.currentProgram = OOProgram.getProgram(OOGLES20.currentProgramHandle);
+        return OOGLES20.currentProgram;
     }
     
     /**
@@ -964,7 +1831,7 @@ public class OOGLES20 {
      * 
      * @see #setPixelAlignment
      */
-    public int getPixelPackAlignment() {
+    public static int getPixelPackAlignment() {
         OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_PACK_ALIGNMENT, OOGLES20.intBuffer);
         return OOGLES20.intBuffer.get(0);
     }
@@ -988,9 +1855,10 @@ public class OOGLES20 {
      * 
      * @see #setPixelAlignment
      */
-    public int getPixelUnpackAlignment() {
+    public static int getPixelUnpackAlignment() {
         OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_UNPACK_ALIGNMENT, OOGLES20.intBuffer);
-        return OOGLES20.intBuffer.get(0);
+        OOGLES20.unpackAlignment = OOGLES20.intBuffer.get(0);
+        return OOGLES20.unpackAlignment;
     }
     
     /**
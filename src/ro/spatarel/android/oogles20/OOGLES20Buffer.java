@@ -28,10 +28,30 @@ public class OOGLES20Buffer {
     
     private final OOBufferType type;
     
+    private int bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    
     OOGLES20Buffer(OOBufferType type) {
         this.type = type;
     }
     
+    int getBindedHandle() {
+        return this.bindedHandle;
+    }
+    
+    void setBindedHandle(int handle) {
+        this.bindedHandle = handle;
+    }
+    
+    void invalidateBinding() {
+        this.bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    void objectDeleted(int handle) {
+        if (this.bindedHandle == handle) {
+            this.bindedHandle = 0;
+        }
+    }
+    
     /**
      * <p>Bind a named buffer object.</p>
      * 
@@ -70,7 +90,7 @@ public class OOGLES20Buffer {
      * to {@link OOGLES20Framebuffer#drawElements} should be issued.</p>
      * 
      * <p>A buffer object binding created with {@link #bind} remains active until a different buffer object name is
-     * bound to the same target or until the bound buffer object is deleted with {@link OOBuffer#finalize}.</p>
+     * bound to the same target or until the bound buffer object is deleted with {@link OOBuffer#delete}.</p>
      * 
      * <p>Once created, a named buffer object may be re-bound to any target as often as needed. However, the GL
      * implementation may make choices about how to optimize the storage of a buffer object based on its initial binding
@@ -85,11 +105,15 @@ public class OOGLES20Buffer {
      * @param buffer Specifies the name of a buffer object.
      */
     public void bind(OOBuffer buffer) {
-        if (buffer == null) {
-            OOGLES20.backEnd.glBindBuffer(this.type.getGLConstant(), 0);
-        } else {
-            OOGLES20.backEnd.glBindBuffer(this.type.getGLConstant(), buffer.getHandle());
+        this.bind(buffer == null ? 0 : buffer.getHandle());
+    }
+    
+    void bind(int handle) {
+        if (OOGLES20.isBindingCached(this.bindedHandle, handle)) {
+            return;
         }
+        this.bindedHandle = handle;
+        OOGLES20.backEnd.glBindBuffer(this.type.getGLConstant(), handle);
     }
     
     /**
@@ -127,6 +151,9 @@ public class OOGLES20Buffer {
      * @see #bind
      */
     public OOBuffer getBindedBuffer() {
+        if (OOGLES20.isBindingKnown(this.bindedHandle)) {
+            return OOBuffer.getBuffer(this.bindedHandle);
+        }
         if (this.type == OOBufferType.ARRAY_BUFFER) {
             OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_ARRAY_BUFFER_BINDING, OOGLES20Buffer.intBuffer);
         } else { // this.type == OOBufferType.ELEMENT_ARRAY_BUFFER
@@ -30,6 +30,88 @@ public class OOGLES20FragmentProcessing {
         // There is nothing here.
     }
     
+    private static final int SCISSOR_TEST = 0;
+    // four slots: x, y, width and height
+    private static final int SCISSOR_BOX = 1;
+    private static final int SAMPLE_ALPHA_TO_COVERAGE = 5;
+    private static final int SAMPLE_COVERAGE = 6;
+    // two slots: value and inverted
+    private static final int SAMPLE_COVERAGE_VALUE = 7;
+    private static final int STENCIL_TEST = 9;
+    // three slots each: function, reference value and mask
+    private static final int FRONT_STENCIL_FUNC = 10;
+    private static final int BACK_STENCIL_FUNC = 13;
+    private static final int DEPTH_TEST = 16;
+    private static final int DEPTH_FUNC = 17;
+    // three slots each: stencil test fails, depth test fails and both tests pass
+    private static final int FRONT_STENCIL_OP = 18;
+    private static final int BACK_STENCIL_OP = 21;
+    private static final int SLOTS_COUNT = 24;
+    
+    private final OOStateShadow shadow = new OOStateShadow(OOGLES20FragmentProcessing.SLOTS_COUNT);
+    
+    /**
+     * <p>Enables the client-side shadowing of the fragment processing state.</p>
+     * 
+     * @see OOGLES20#enableStateShadowing
+     * @see #disableStateShadowing
+     * @see #invalidate
+     */
+    public void enableStateShadowing() {
+        this.shadow.enable();
+    }
+    
+    /**
+     * <p>Disables the client-side shadowing of the fragment processing state. All calls are forwarded to the back
+     * end.</p>
+     * 
+     * @see #enableStateShadowing
+     */
+    public void disableStateShadowing() {
+        this.shadow.disable();
+    }
+    
+    /**
+     * <p>Returns whether the client-side shadowing of the fragment processing state is enabled.</p>
+     * 
+     * @return {@code true} if the shadowing is enabled, {@code false} otherwise.
+     * 
+     * @see #enableStateShadowing
+     */
+    public boolean isStateShadowingEnabled() {
+        return this.shadow.isEnabled();
+    }
+    
+    /**
+     * <p>Forgets all shadowed fragment processing state values.</p>
+     * 
+     * @see OOGLES20#invalidateState
+     */
+    public void invalidate() {
+        this.shadow.invalidate();
+    }
+    
+    void copyFrom(OOGLES20FragmentProcessing other) {
+        this.shadow.copyFrom(other.shadow);
+    }
+    
+    /**
+     * <p>Returns the number of calls dropped by the state shadowing since the last call to
+     * {@link #resetDroppedCallsCount}.</p>
+     * 
+     * @return The number of dropped calls.
+     */
+    public int getDroppedCallsCount() {
+        return this.shadow.getDroppedCallsCount();
+    }
+    
+    /**
+     * <p>Resets the counter returned by {@link #getDroppedCallsCount} to zero.</p>
+     */
+    public void resetDroppedCallsCount() {
+        this.shadow.resetDroppedCallsCount();
+    }
+    
     /**
      * <p>If enabled, discard fragments that are outside the scissor rectangle.</p>
      * 
@@ -48,6 +130,9 @@ public class OOGLES20FragmentProcessing {
      * @see #setScissorBox
      */
     public void enableScissorTest() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SCISSOR_TEST, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_SCISSOR_TEST);
     }
     
@@ -95,6 +180,9 @@ public class OOGLES20FragmentProcessing {
      * @see OOGLES20PrimitiveProcessing#setViewport
      */
     public void setScissorBox(int x, int y, int width, int height) {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SCISSOR_BOX, x, y, width, height)) {
+            return;
+        }
         OOGLES20.backEnd.glScissor(x, y, width, height);
     }
     
@@ -129,6 +217,9 @@ public class OOGLES20FragmentProcessing {
      * @see #setScissorBox
      */
     public void disableScissorTest() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SCISSOR_TEST, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_SCISSOR_TEST);
     }
     
@@ -150,6 +241,9 @@ public class OOGLES20FragmentProcessing {
      * </p>
      */
     public void enableSampleAlphaToCoverage() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SAMPLE_ALPHA_TO_COVERAGE, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_SAMPLE_ALPHA_TO_COVERAGE);
     }
     
@@ -171,6 +265,9 @@ public class OOGLES20FragmentProcessing {
      * </p>
      */
     public void disableSampleAlphaToCoverage() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SAMPLE_ALPHA_TO_COVERAGE, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_SAMPLE_ALPHA_TO_COVERAGE);
     }
     
@@ -193,6 +290,9 @@ public class OOGLES20FragmentProcessing {
      * @see #setSampleCoverage
      */
     public void enableSampleCoverage() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SAMPLE_COVERAGE, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_SAMPLE_COVERAGE);
     }
     
@@ -238,6 +338,10 @@ public class OOGLES20FragmentProcessing {
      * @see #enableSampleCoverage
      */
     public void setSampleCoverage(float value, boolean inverted) {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SAMPLE_COVERAGE_VALUE, OOStateShadow.encode(value),
+                OOStateShadow.encode(inverted))) {
+            return;
+        }
         OOGLES20.backEnd.glSampleCoverage(value, inverted);
     }
     
@@ -260,6 +364,9 @@ public class OOGLES20FragmentProcessing {
      * @see #setSampleCoverage
      */
     public void disableSampleCoverage() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.SAMPLE_COVERAGE, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_SAMPLE_COVERAGE);
     }
     
@@ -282,6 +389,9 @@ public class OOGLES20FragmentProcessing {
      * @see #setStencilAction
      */
     public void enableStencilTest() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.STENCIL_TEST, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_STENCIL_TEST);
     }
     
@@ -379,6 +489,11 @@ public class OOGLES20FragmentProcessing {
      * @see #setStencilActionSeparately
      */
     public void setStencilFunction(OOStencilTestFunction function, int referenceValue, int mask) {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.FRONT_STENCIL_FUNC,
+                OOGLES20FragmentProcessing.BACK_STENCIL_FUNC, OOPrimitiveOrientation.FRONT_AND_BACK,
+                function.getGLConstant(), referenceValue, mask)) {
+            return;
+        }
         OOGLES20.backEnd.glStencilFunc(function.getGLConstant(), referenceValue, mask);
     }
     
@@ -475,6 +590,10 @@ public class OOGLES20FragmentProcessing {
      */
     public void setStencilFunctionSeparately(OOPrimitiveOrientation face, OOStencilTestFunction function,
             int referenceValue, int mask) {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.FRONT_STENCIL_FUNC,
+                OOGLES20FragmentProcessing.BACK_STENCIL_FUNC, face, function.getGLConstant(), referenceValue, mask)) {
+            return;
+        }
         OOGLES20.backEnd.glStencilFuncSeparate(face.getGLConstant(), function.getGLConstant(), referenceValue, mask);
     }
     
@@ -497,6 +616,9 @@ public class OOGLES20FragmentProcessing {
      * @see #setStencilAction
      */
     public void disableStencilTest() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.STENCIL_TEST, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_STENCIL_TEST);
     }
     
@@ -520,6 +642,9 @@ public class OOGLES20FragmentProcessing {
      * @see OOGLES20PrimitiveProcessing#setDepthRange
      */
     public void enableDepthTest() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.DEPTH_TEST, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_DEPTH_TEST);
     }
     
@@ -579,6 +704,9 @@ public class OOGLES20FragmentProcessing {
      * @see OOGLES20Rasterization#setPolygonOffset
      */
     public void setDepthTestFunction(OODepthTestFunction function) {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.DEPTH_FUNC, function.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glDepthFunc(function.getGLConstant());
     }
     
@@ -602,6 +730,9 @@ public class OOGLES20FragmentProcessing {
      * @see OOGLES20PrimitiveProcessing#setDepthRange
      */
     public void disableDepthTest() {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.DEPTH_TEST, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_DEPTH_TEST);
     }
     
@@ -705,6 +836,11 @@ public class OOGLES20FragmentProcessing {
      */
     public void setStencilAction(OOStencilAction stencilTestFails, OOStencilAction depthTestFails,
             OOStencilAction bothTestsPass) {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.FRONT_STENCIL_OP,
+                OOGLES20FragmentProcessing.BACK_STENCIL_OP, OOPrimitiveOrientation.FRONT_AND_BACK,
+                stencilTestFails.getGLConstant(), depthTestFails.getGLConstant(), bothTestsPass.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glStencilOp(stencilTestFails.getGLConstant(), depthTestFails.getGLConstant(),
                 bothTestsPass.getGLConstant());
     }
@@ -812,6 +948,11 @@ public class OOGLES20FragmentProcessing {
      */
     public void setStencilActionSeparately(OOPrimitiveOrientation face, OOStencilAction stencilTestFails,
             OOStencilAction depthTestFails, OOStencilAction bothTestsPass) {
+        if (this.shadow.isRedundant(OOGLES20FragmentProcessing.FRONT_STENCIL_OP,
+                OOGLES20FragmentProcessing.BACK_STENCIL_OP, face, stencilTestFails.getGLConstant(),
+                depthTestFails.getGLConstant(), bothTestsPass.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glStencilOpSeparate(face.getGLConstant(), stencilTestFails.getGLConstant(),
                 depthTestFails.getGLConstant(), bothTestsPass.getGLConstant());
     }
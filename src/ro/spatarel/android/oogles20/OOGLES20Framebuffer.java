@@ -28,10 +28,30 @@ import java.nio.ShortBuffer;
  */
 public class OOGLES20Framebuffer {
     
+    private int bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    
     OOGLES20Framebuffer() {
         // There is nothing here.
     }
     
+    int getBindedHandle() {
+        return this.bindedHandle;
+    }
+    
+    void setBindedHandle(int handle) {
+        this.bindedHandle = handle;
+    }
+    
+    void invalidateBinding() {
+        this.bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    void objectDeleted(int handle) {
+        if (this.bindedHandle == handle) {
+            this.bindedHandle = 0;
+        }
+    }
+    
     /**
      * <p>Wrapper for the {@link OpenGLES20#GL_COLOR_ATTACHMENT0} target.</p>
      */
@@ -94,7 +114,7 @@ public class OOGLES20Framebuffer {
      * objects.</p>
      * 
      * A framebuffer object binding created with {@link #bind} remains active until a different framebuffer object name
-     * is bound or until the bound framebuffer object is deleted with {@link OOFramebuffer#finalize}.
+     * is bound or until the bound framebuffer object is deleted with {@link OOFramebuffer#delete}.
      * 
      * <h5>Notes</h5>
      * 
@@ -116,18 +136,19 @@ public class OOGLES20Framebuffer {
      * @param framebuffer Specifies the name of a framebuffer object.
      * 
      * @see #getBindedFramebuffer
-     * @see OOFramebuffer#finalize
+     * @see OOFramebuffer#delete
      * @see OOGLES20FramebufferAttachment#attachRenderbuffer
      * @see OOGLES20FramebufferAttachment#attachTextureImage2D
      * @see OOFramebuffer#OOFramebuffer
      * 
      */
     public void bind(OOFramebuffer framebuffer) {
-        if (framebuffer == null) {
-            OOGLES20.backEnd.glBindFramebuffer(OpenGLES20.GL_FRAMEBUFFER, 0);
-        } else {
-            OOGLES20.backEnd.glBindFramebuffer(OpenGLES20.GL_FRAMEBUFFER, framebuffer.getHandle());
+        int handle = framebuffer == null ? 0 : framebuffer.getHandle();
+        if (OOGLES20.isBindingCached(this.bindedHandle, handle)) {
+            return;
         }
+        this.bindedHandle = handle;
+        OOGLES20.backEnd.glBindFramebuffer(OpenGLES20.GL_FRAMEBUFFER, handle);
     }
     
     /**
@@ -635,7 +656,7 @@ public class OOGLES20Framebuffer {
      * @see #drawElements
      */
     public void drawElements(OODrawPrimitive mode, int count, byte[] buffer, int offset) {
-        this.drawElements(mode, count, OOGLES20.createByteBuffer(buffer, offset));
+        this.drawElements(mode, count, OOGLES20.scratchByteBuffer(buffer, offset, count));
     }
     
     /**
@@ -651,7 +672,7 @@ public class OOGLES20Framebuffer {
      * @see #drawElements
      */
     public void drawElements(OODrawPrimitive mode, int count, short[] buffer, int offset) {
-        this.drawElements(mode, count, OOGLES20.createShortBuffer(buffer, offset));
+        this.drawElements(mode, count, OOGLES20.scratchShortBuffer(buffer, offset, count));
     }
     
     /**
@@ -852,7 +873,7 @@ public class OOGLES20Framebuffer {
      */
     public void copyToTextureImage2D(OOGLES20TextureImage textureImage, int level, OOTexelFormat format, int x, int y,
             int width, int height) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + textureImage.getTextureUnit());
+        OOGLES20.activateTextureUnit(textureImage.getTextureUnit());
         OOGLES20.backEnd.glCopyTexImage2D(textureImage.getTarget().getGLConstant(), level, format.getGLConstant(), x, y,
                 width, height, 0);
     }
@@ -943,7 +964,7 @@ public class OOGLES20Framebuffer {
      */
     public void copyToTextureSubImage2D(OOGLES20TextureImage textureImage, int level, int xOffset, int yOffset, int x,
             int y, int width, int height) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + textureImage.getTextureUnit());
+        OOGLES20.activateTextureUnit(textureImage.getTextureUnit());
         OOGLES20.backEnd.glCopyTexSubImage2D(textureImage.getTarget().getGLConstant(), level, xOffset, yOffset, x, y,
                 width, height);
     }
@@ -972,6 +993,9 @@ public class OOGLES20Framebuffer {
      * @see #bind
      */
     public OOFramebuffer getBindedFramebuffer() {
+        if (OOGLES20.isBindingKnown(this.bindedHandle)) {
+            return OOFramebuffer.getFramebuffer(this.bindedHandle);
+        }
         OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_FRAMEBUFFER_BINDING, OOGLES20Framebuffer.intBuffer);
         return OOFramebuffer.getFramebuffer(OOGLES20Framebuffer.intBuffer.get(0));
     }
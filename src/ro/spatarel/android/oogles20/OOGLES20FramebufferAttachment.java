@@ -85,8 +85,8 @@ public class OOGLES20FramebufferAttachment {
      * @see OOGLES20Framebuffer#bind
      * @see OOGLES20Renderbuffer#bind
      * @see OOGLES20Framebuffer#checkStatus
-     * @see OOFramebuffer#finalize
-     * @see OORenderbuffer#finalize
+     * @see OOFramebuffer#delete
+     * @see OORenderbuffer#delete
      * @see #attachTextureImage2D
      * @see OOGLES20Renderbuffer#setStorage
      */
@@ -168,8 +168,8 @@ public class OOGLES20FramebufferAttachment {
      * @see OOGLES20Framebuffer#bind
      * @see OOGLES20Texture#bind
      * @see OOGLES20Framebuffer#checkStatus
-     * @see OOFramebuffer#finalize
-     * @see OOTexture#finalize
+     * @see OOFramebuffer#delete
+     * @see OOTexture#delete
      * @see #attachRenderbuffer
      * @see OOGLES20Texture#generateMipmaps
      * @see OOGLES20TextureImage#setImage2D
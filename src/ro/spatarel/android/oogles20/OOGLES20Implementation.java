@@ -248,7 +248,7 @@ public class OOGLES20Implementation {
      * @see OOGLES20TextureImage#setCompressedImage2D
      */
     public int[] getCompressedTextureFormats() {
-        IntBuffer intBuffer = OOGLES20.createIntBuffer(this.getCompressedTextureFormatsCount());
+        IntBuffer intBuffer = OOGLES20.scratchIntBuffer(this.getCompressedTextureFormatsCount());
         OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_COMPRESSED_TEXTURE_FORMATS, intBuffer);
         return OOGLES20.extract(intBuffer);
     }
@@ -534,7 +534,7 @@ public class OOGLES20Implementation {
      * @see OOShader#setBinary
      */
     public int[] getShaderBinaryFormats() {
-        IntBuffer intBuffer = OOGLES20.createIntBuffer(this.getShaderBinaryFormatsCount());
+        IntBuffer intBuffer = OOGLES20.scratchIntBuffer(this.getShaderBinaryFormatsCount());
         OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_SHADER_BINARY_FORMATS, intBuffer);
         return OOGLES20.extract(intBuffer);
     }
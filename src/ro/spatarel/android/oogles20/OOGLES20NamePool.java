@@ -0,0 +1,189 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>Class managing a pool of pre-generated names for one kind of OpenGL ES objects.</p>
+ * 
+ * <p>Names are generated in blocks of {@link #getBlockSize} names with a single {@code glGen*} call and are handed
+ * out, one at a time, to the newly created objects. The default block size is {@link #DEFAULT_BLOCK_SIZE}; a block
+ * size of {@code 1} makes every new object generate its own name, exactly as if there were no pool.</p>
+ * 
+ * <p>The names left in the pool belong to the context of the back end; they are forgotten, without being deleted, when
+ * {@link OOGLES20#setBackEnd} changes the back end.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOGLES20NamePool {
+    
+    /**
+     * <p>The default number of names generated at once when the pool is refilled.</p>
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 16;
+    
+    private final int kind;
+    private int blockSize = OOGLES20NamePool.DEFAULT_BLOCK_SIZE;
+    private int[] names = new int[OOGLES20NamePool.DEFAULT_BLOCK_SIZE];
+    private int namesCount = 0;
+    private int hitsCount = 0;
+    private int missesCount = 0;
+    
+    OOGLES20NamePool(int kind) {
+        this.kind = kind;
+    }
+    
+    /**
+     * <p>Returns the number of names generated at once when the pool is refilled.</p>
+     * 
+     * @return The number of names generated at once when the pool is refilled.
+     * 
+     * @see #setBlockSize
+     */
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+    
+    /**
+     * <p>Sets the number of names generated at once when the pool is refilled.</p>
+     * 
+     * <p>A larger block size amortizes the cost of the {@code glGen*} calls when many objects are created in a short
+     * time (for example while loading a level), at the price of keeping some unused names around.</p>
+     * 
+     * @param blockSize The number of names generated at once; must be at least {@code 1}.
+     * 
+     * @see #refill
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize < 1");
+        }
+        this.blockSize = blockSize;
+        if (this.names.length < blockSize) {
+            this.names = Arrays.copyOf(this.names, blockSize);
+        }
+    }
+    
+    /**
+     * <p>Returns the number of names currently available in the pool.</p>
+     * 
+     * @return The number of names currently available in the pool.
+     */
+    public int getAvailableCount() {
+        return this.namesCount;
+    }
+    
+    /**
+     * <p>Fills the pool up to {@link #getBlockSize} names with a single {@code glGen*} call.</p>
+     * 
+     * <p>The pool is refilled automatically when it runs out of names. Calling this method at a convenient point on the
+     * OpenGL ES thread (for example at the end of a frame) moves that cost out of the code creating objects.</p>
+     */
+    public void refill() {
+        int count = this.blockSize - this.namesCount;
+        if (count <= 0) {
+            return;
+        }
+        IntBuffer handles = OOGLES20.scratchIntBuffer(count);
+        switch (this.kind) {
+        case OOObjectReference.BUFFER:
+            OOGLES20.backEnd.glGenBuffers(count, handles);
+            break;
+        case OOObjectReference.TEXTURE:
+            OOGLES20.backEnd.glGenTextures(count, handles);
+            break;
+        case OOObjectReference.FRAMEBUFFER:
+            OOGLES20.backEnd.glGenFramebuffers(count, handles);
+            break;
+        case OOObjectReference.RENDERBUFFER:
+            OOGLES20.backEnd.glGenRenderbuffers(count, handles);
+            break;
+        }
+        OOGLES20.extract(handles, this.names, this.namesCount);
+        this.namesCount += count;
+    }
+    
+    /**
+     * <p>Deletes all the names currently available in the pool.</p>
+     */
+    public void trim() {
+        if (this.namesCount == 0) {
+            return;
+        }
+        IntBuffer handles = OOGLES20.scratchIntBuffer(this.names, 0, this.namesCount);
+        switch (this.kind) {
+        case OOObjectReference.BUFFER:
+            OOGLES20.backEnd.glDeleteBuffers(this.namesCount, handles);
+            break;
+        case OOObjectReference.TEXTURE:
+            OOGLES20.backEnd.glDeleteTextures(this.namesCount, handles);
+            break;
+        case OOObjectReference.FRAMEBUFFER:
+            OOGLES20.backEnd.glDeleteFramebuffers(this.namesCount, handles);
+            break;
+        case OOObjectReference.RENDERBUFFER:
+            OOGLES20.backEnd.glDeleteRenderbuffers(this.namesCount, handles);
+            break;
+        }
+        this.namesCount = 0;
+    }
+    
+    void discard() {
+        this.namesCount = 0;
+    }
+    
+    int obtain() {
+        if (this.namesCount > 0) {
+            ++this.hitsCount;
+        } else {
+            ++this.missesCount;
+            this.refill();
+        }
+        return this.names[--this.namesCount];
+    }
+    
+    /**
+     * <p>Returns the number of names handed out from the pool without generating new names.</p>
+     * 
+     * @return The number of names handed out from the pool without generating new names.
+     * 
+     * @see #resetCounters
+     */
+    public int getHitsCount() {
+        return this.hitsCount;
+    }
+    
+    /**
+     * <p>Returns the number of times the pool was empty when a name was requested and had to be refilled.</p>
+     * 
+     * @return The number of times the pool was empty when a name was requested.
+     * 
+     * @see #resetCounters
+     */
+    public int getMissesCount() {
+        return this.missesCount;
+    }
+    
+    /**
+     * <p>Resets the hits and misses counters to {@code 0}.</p>
+     */
+    public void resetCounters() {
+        this.hitsCount = 0;
+        this.missesCount = 0;
+    }
+}
@@ -30,6 +30,84 @@ public class OOGLES20PixelProcessing {
         // There is nothing here.
     }
     
+    private static final int BLEND = 0;
+    // two slots: RGB and alpha
+    private static final int BLEND_EQUATION = 1;
+    // four slots: source RGB, destination RGB, source alpha and destination alpha
+    private static final int BLEND_FUNC = 3;
+    // four slots: red, green, blue and alpha
+    private static final int BLEND_COLOR = 7;
+    private static final int DITHER = 11;
+    // four slots: red, green, blue and alpha
+    private static final int COLOR_WRITEMASK = 12;
+    private static final int DEPTH_WRITEMASK = 16;
+    private static final int FRONT_STENCIL_WRITEMASK = 17;
+    private static final int BACK_STENCIL_WRITEMASK = 18;
+    private static final int SLOTS_COUNT = 19;
+    
+    private final OOStateShadow shadow = new OOStateShadow(OOGLES20PixelProcessing.SLOTS_COUNT);
+    
+    /**
+     * <p>Enables the client-side shadowing of the pixel processing state.</p>
+     * 
+     * @see OOGLES20#enableStateShadowing
+     * @see #disableStateShadowing
+     * @see #invalidate
+     */
+    public void enableStateShadowing() {
+        this.shadow.enable();
+    }
+    
+    /**
+     * <p>Disables the client-side shadowing of the pixel processing state. All calls are forwarded to the back end.</p>
+     * 
+     * @see #enableStateShadowing
+     */
+    public void disableStateShadowing() {
+        this.shadow.disable();
+    }
+    
+    /**
+     * <p>Returns whether the client-side shadowing of the pixel processing state is enabled.</p>
+     * 
+     * @return {@code true} if the shadowing is enabled, {@code false} otherwise.
+     * 
+     * @see #enableStateShadowing
+     */
+    public boolean isStateShadowingEnabled() {
+        return this.shadow.isEnabled();
+    }
+    
+    /**
+     * <p>Forgets all shadowed pixel processing state values.</p>
+     * 
+     * @see OOGLES20#invalidateState
+     */
+    public void invalidate() {
+        this.shadow.invalidate();
+    }
+    
+    void copyFrom(OOGLES20PixelProcessing other) {
+        this.shadow.copyFrom(other.shadow);
+    }
+    
+    /**
+     * <p>Returns the number of calls dropped by the state shadowing since the last call to
+     * {@link #resetDroppedCallsCount}.</p>
+     * 
+     * @return The number of dropped calls.
+     */
+    public int getDroppedCallsCount() {
+        return this.shadow.getDroppedCallsCount();
+    }
+    
+    /**
+     * <p>Resets the counter returned by {@link #getDroppedCallsCount} to zero.</p>
+     */
+    public void resetDroppedCallsCount() {
+        this.shadow.resetDroppedCallsCount();
+    }
+    
     /**
      * <p>If enabled, blend the computed fragment color values with the values in the color buffers.</p>
      * 
@@ -48,6 +126,9 @@ public class OOGLES20PixelProcessing {
      * @see #setBlendingFunction
      */
     public void enableBlending() {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.BLEND, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_BLEND);
     }
     
@@ -139,6 +220,10 @@ public class OOGLES20PixelProcessing {
      * @see #setBlendingFunctionSeparately
      */
     public void setBlendingEquation(OOBlendingEquation equation) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.BLEND_EQUATION, equation.getGLConstant(),
+                equation.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glBlendEquation(equation.getGLConstant());
     }
     
@@ -233,6 +318,10 @@ public class OOGLES20PixelProcessing {
      * @see #setBlendingFunctionSeparately
      */
     public void setBlendingEquationSeparately(OOBlendingEquation RGBEquation, OOBlendingEquation alphaEquation) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.BLEND_EQUATION, RGBEquation.getGLConstant(),
+                alphaEquation.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glBlendEquationSeparate(RGBEquation.getGLConstant(), alphaEquation.getGLConstant());
     }
     
@@ -474,6 +563,10 @@ public class OOGLES20PixelProcessing {
      * @see OOGLES20FragmentProcessing#setStencilFunction
      */
     public void setBlendingFunction(OOBlendingSourceFunction source, OOBlendingDestinationFunction destination) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.BLEND_FUNC, source.getGLConstant(),
+                destination.getGLConstant(), source.getGLConstant(), destination.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glBlendFunc(source.getGLConstant(), destination.getGLConstant());
     }
     
@@ -757,6 +850,10 @@ public class OOGLES20PixelProcessing {
     public void setBlendingFunctionSeparately(OOBlendingSourceFunction sourceRGB,
             OOBlendingDestinationFunction destinationRGB, OOBlendingSourceFunction sourceAlpha,
             OOBlendingDestinationFunction destinationAlpha) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.BLEND_FUNC, sourceRGB.getGLConstant(),
+                destinationRGB.getGLConstant(), sourceAlpha.getGLConstant(), destinationAlpha.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glBlendFuncSeparate(sourceRGB.getGLConstant(), destinationRGB.getGLConstant(),
                 sourceAlpha.getGLConstant(), destinationAlpha.getGLConstant());
     }
@@ -789,6 +886,10 @@ public class OOGLES20PixelProcessing {
      * @see #setBlendingFunction
      */
     public void setBlendingColor(float red, float green, float blue, float alpha) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.BLEND_COLOR, OOStateShadow.encode(red),
+                OOStateShadow.encode(green), OOStateShadow.encode(blue), OOStateShadow.encode(alpha))) {
+            return;
+        }
         OOGLES20.backEnd.glBlendColor(red, green, blue, alpha);
     }
     
@@ -810,6 +911,9 @@ public class OOGLES20PixelProcessing {
      * @see #setBlendingFunction
      */
     public void disableBlending() {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.BLEND, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_BLEND);
     }
     
@@ -829,6 +933,9 @@ public class OOGLES20PixelProcessing {
      * </p>
      */
     public void enableDithering() {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.DITHER, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_DITHER);
     }
     
@@ -848,6 +955,9 @@ public class OOGLES20PixelProcessing {
      * </p>
      */
     public void disableDithering() {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.DITHER, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_DITHER);
     }
     
@@ -886,6 +996,10 @@ public class OOGLES20PixelProcessing {
      * @see #setStencilBufferWriteMask
      */
     public void setColorBufferWriteMask(boolean red, boolean green, boolean blue, boolean alpha) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.COLOR_WRITEMASK, OOStateShadow.encode(red),
+                OOStateShadow.encode(green), OOStateShadow.encode(blue), OOStateShadow.encode(alpha))) {
+            return;
+        }
         OOGLES20.backEnd.glColorMask(red, green, blue, alpha);
     }
     
@@ -930,6 +1044,9 @@ public class OOGLES20PixelProcessing {
      * @see #setStencilBufferWriteMask
      */
     public void setDepthBufferWriteMask(boolean enabled) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.DEPTH_WRITEMASK, OOStateShadow.encode(enabled))) {
+            return;
+        }
         OOGLES20.backEnd.glDepthMask(enabled);
     }
     
@@ -977,6 +1094,10 @@ public class OOGLES20PixelProcessing {
      * @see OOGLES20FragmentProcessing#setStencilActionSeparately
      */
     public void setStencilBufferWriteMask(int writeMask) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.FRONT_STENCIL_WRITEMASK,
+                OOGLES20PixelProcessing.BACK_STENCIL_WRITEMASK, OOPrimitiveOrientation.FRONT_AND_BACK, writeMask)) {
+            return;
+        }
         OOGLES20.backEnd.glStencilMask(writeMask);
     }
     
@@ -1013,6 +1134,10 @@ public class OOGLES20PixelProcessing {
      * @see OOGLES20Implementation#getStencilBits
      */
     public void setStencilBufferWriteMaskSeparately(OOPrimitiveOrientation face, int writeMask) {
+        if (this.shadow.isRedundant(OOGLES20PixelProcessing.FRONT_STENCIL_WRITEMASK,
+                OOGLES20PixelProcessing.BACK_STENCIL_WRITEMASK, face, writeMask)) {
+            return;
+        }
         OOGLES20.backEnd.glStencilMaskSeparate(face.getGLConstant(), writeMask);
     }
     
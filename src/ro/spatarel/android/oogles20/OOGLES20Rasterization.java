@@ -29,6 +29,78 @@ public class OOGLES20Rasterization {
         // There is nothing here.
     }
     
+    private static final int LINE_WIDTH = 0;
+    private static final int FRONT_FACE = 1;
+    private static final int CULL_FACE = 2;
+    private static final int CULL_FACE_MODE = 3;
+    private static final int POLYGON_OFFSET_FILL = 4;
+    // two slots: factor and units
+    private static final int POLYGON_OFFSET = 5;
+    private static final int SLOTS_COUNT = 7;
+    
+    private final OOStateShadow shadow = new OOStateShadow(OOGLES20Rasterization.SLOTS_COUNT);
+    
+    /**
+     * <p>Enables the client-side shadowing of the rasterization state.</p>
+     * 
+     * @see OOGLES20#enableStateShadowing
+     * @see #disableStateShadowing
+     * @see #invalidate
+     */
+    public void enableStateShadowing() {
+        this.shadow.enable();
+    }
+    
+    /**
+     * <p>Disables the client-side shadowing of the rasterization state. All calls are forwarded to the back end.</p>
+     * 
+     * @see #enableStateShadowing
+     */
+    public void disableStateShadowing() {
+        this.shadow.disable();
+    }
+    
+    /**
+     * <p>Returns whether the client-side shadowing of the rasterization state is enabled.</p>
+     * 
+     * @return {@code true} if the shadowing is enabled, {@code false} otherwise.
+     * 
+     * @see #enableStateShadowing
+     */
+    public boolean isStateShadowingEnabled() {
+        return this.shadow.isEnabled();
+    }
+    
+    /**
+     * <p>Forgets all shadowed rasterization state values.</p>
+     * 
+     * @see OOGLES20#invalidateState
+     */
+    public void invalidate() {
+        this.shadow.invalidate();
+    }
+    
+    void copyFrom(OOGLES20Rasterization other) {
+        this.shadow.copyFrom(other.shadow);
+    }
+    
+    /**
+     * <p>Returns the number of calls dropped by the state shadowing since the last call to
+     * {@link #resetDroppedCallsCount}.</p>
+     * 
+     * @return The number of dropped calls.
+     */
+    public int getDroppedCallsCount() {
+        return this.shadow.getDroppedCallsCount();
+    }
+    
+    /**
+     * <p>Resets the counter returned by {@link #getDroppedCallsCount} to zero.</p>
+     */
+    public void resetDroppedCallsCount() {
+        this.shadow.resetDroppedCallsCount();
+    }
+    
     /**
      * <p>Specify the width of rasterized lines.</p>
      * 
@@ -73,6 +145,9 @@ public class OOGLES20Rasterization {
      * @see OOGLES20Implementation#getAliasedLineWidthsRange
      */
     public void setLineWidth(float width) {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.LINE_WIDTH, OOStateShadow.encode(width))) {
+            return;
+        }
         OOGLES20.backEnd.glLineWidth(width);
     }
     
@@ -110,6 +185,9 @@ public class OOGLES20Rasterization {
      * @see #setCullFaceOrientation
      */
     public void setFrontFaceWinding(OOWinding winding) {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.FRONT_FACE, winding.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glFrontFace(winding.getGLConstant());
     }
     
@@ -131,6 +209,9 @@ public class OOGLES20Rasterization {
      * @see #setCullFaceOrientation
      */
     public void enableCullFace() {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.CULL_FACE, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_CULL_FACE);
     }
     
@@ -169,6 +250,9 @@ public class OOGLES20Rasterization {
      * @see #setFrontFaceWinding
      */
     public void setCullFaceOrientation(OOPrimitiveOrientation orientation) {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.CULL_FACE_MODE, orientation.getGLConstant())) {
+            return;
+        }
         OOGLES20.backEnd.glCullFace(orientation.getGLConstant());
     }
     
@@ -190,6 +274,9 @@ public class OOGLES20Rasterization {
      * @see #setCullFaceOrientation
      */
     public void disableCullFace() {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.CULL_FACE, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_CULL_FACE);
     }
     
@@ -211,6 +298,9 @@ public class OOGLES20Rasterization {
      * @see #setPolygonOffset
      */
     public void enablePolygonOffset() {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.POLYGON_OFFSET_FILL, 1)) {
+            return;
+        }
         OOGLES20.backEnd.glEnable(OpenGLES20.GL_POLYGON_OFFSET_FILL);
     }
     
@@ -249,6 +339,10 @@ public class OOGLES20Rasterization {
      * @see OOGLES20Rasterization#enablePolygonOffset
      */
     public void setPolygonOffset(float factor, float units) {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.POLYGON_OFFSET, OOStateShadow.encode(factor),
+                OOStateShadow.encode(units))) {
+            return;
+        }
         OOGLES20.backEnd.glPolygonOffset(factor, units);
     }
     
@@ -270,6 +364,9 @@ public class OOGLES20Rasterization {
      * @see #setPolygonOffset
      */
     public void disablePolygonOffset() {
+        if (this.shadow.isRedundant(OOGLES20Rasterization.POLYGON_OFFSET_FILL, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glDisable(OpenGLES20.GL_POLYGON_OFFSET_FILL);
     }
     
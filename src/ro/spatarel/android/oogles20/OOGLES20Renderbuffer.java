@@ -24,10 +24,30 @@ import java.nio.IntBuffer;
  */
 public class OOGLES20Renderbuffer {
     
+    private int bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    
     OOGLES20Renderbuffer() {
         // There is nothing here.
     }
     
+    int getBindedHandle() {
+        return this.bindedHandle;
+    }
+    
+    void setBindedHandle(int handle) {
+        this.bindedHandle = handle;
+    }
+    
+    void invalidateBinding() {
+        this.bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    void objectDeleted(int handle) {
+        if (this.bindedHandle == handle) {
+            this.bindedHandle = 0;
+        }
+    }
+    
     /**
      * <p>Bind a named renderbuffer object.</p>
      * 
@@ -60,7 +80,7 @@ public class OOGLES20Renderbuffer {
      * OOError#INVALID_OPERATION} error.</p>
      * 
      * <p>A renderbuffer object binding created with {@link #bind} remains active until a different renderbuffer object
-     * name is bound or until the bound renderbuffer object is deleted with {@link OORenderbuffer#finalize}.</p>
+     * name is bound or until the bound renderbuffer object is deleted with {@link OORenderbuffer#delete}.</p>
      * 
      * <h5>Copyright</h5>
      * 
@@ -71,17 +91,18 @@ public class OOGLES20Renderbuffer {
      * @param renderbuffer Specifies the name of a renderbuffer object.
      * 
      * @see #getBindedRenderbuffer
-     * @see OORenderbuffer#finalize
+     * @see OORenderbuffer#delete
      * @see OOGLES20FramebufferAttachment#attachRenderbuffer
      * @see OORenderbuffer#OORenderbuffer
      * @see #setStorage
      */
     public void bind(OORenderbuffer renderbuffer) {
-        if (renderbuffer == null) {
-            OOGLES20.backEnd.glBindRenderbuffer(OpenGLES20.GL_RENDERBUFFER, 0);
-        } else {
-            OOGLES20.backEnd.glBindRenderbuffer(OpenGLES20.GL_RENDERBUFFER, renderbuffer.getHandle());
+        int handle = renderbuffer == null ? 0 : renderbuffer.getHandle();
+        if (OOGLES20.isBindingCached(this.bindedHandle, handle)) {
+            return;
         }
+        this.bindedHandle = handle;
+        OOGLES20.backEnd.glBindRenderbuffer(OpenGLES20.GL_RENDERBUFFER, handle);
     }
     
     /**
@@ -136,7 +157,7 @@ public class OOGLES20Renderbuffer {
      * @param height Specifies the height of the renderbuffer in pixels.
      * 
      * @see #bind
-     * @see OORenderbuffer#finalize
+     * @see OORenderbuffer#delete
      * @see OOGLES20FramebufferAttachment#attachRenderbuffer
      * @see OORenderbuffer#OORenderbuffer
      */
@@ -168,6 +189,9 @@ public class OOGLES20Renderbuffer {
      * @see #bind
      */
     public OORenderbuffer getBindedRenderbuffer() {
+        if (OOGLES20.isBindingKnown(this.bindedHandle)) {
+            return OORenderbuffer.getRenderbuffer(this.bindedHandle);
+        }
         OOGLES20.backEnd.glGetIntegerv(OpenGLES20.GL_RENDERBUFFER_BINDING, OOGLES20Renderbuffer.intBuffer);
         return OORenderbuffer.getRenderbuffer(OOGLES20Renderbuffer.intBuffer.get(0));
     }
@@ -0,0 +1,43 @@
+package ro.spatarel.android.oogles20;
+
+/**
+ * <p>Snapshot of the client-side state remembered by the library: the binding cache, the vertex attribute shadow and
+ * the rasterization, fragment processing and pixel processing shadows. Values unknown when the snapshot was taken stay
+ * unknown when it is loaded.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+final class OOGLES20State {
+    
+    int activeTextureUnit = OOGLES20.UNKNOWN_HANDLE;
+    int currentProgramHandle = OOGLES20.UNKNOWN_HANDLE;
+    OOProgram currentProgram = null;
+    
+    int arrayBufferHandle = OOGLES20.UNKNOWN_HANDLE;
+    int elementArrayBufferHandle = OOGLES20.UNKNOWN_HANDLE;
+    int framebufferHandle = OOGLES20.UNKNOWN_HANDLE;
+    int renderbufferHandle = OOGLES20.UNKNOWN_HANDLE;
+    int[] texture2DHandles = new int[0];
+    int[] textureCubeMapHandles = new int[0];
+    
+    final OOVertexAttributeCache vertexAttributes = new OOVertexAttributeCache();
+    
+    final OOGLES20Rasterization rasterization = new OOGLES20Rasterization();
+    final OOGLES20FragmentProcessing fragmentProcessing = new OOGLES20FragmentProcessing();
+    final OOGLES20PixelProcessing pixelProcessing = new OOGLES20PixelProcessing();
+}
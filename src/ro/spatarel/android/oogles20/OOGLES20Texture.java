@@ -27,11 +27,31 @@ public class OOGLES20Texture {
     private final int textureUnit;
     private final OOTextureTarget target;
     
+    private int bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    
     OOGLES20Texture(int textureUnit, OOTextureTarget target) {
         this.textureUnit = textureUnit;
         this.target = target;
     }
     
+    int getBindedHandle() {
+        return this.bindedHandle;
+    }
+    
+    void setBindedHandle(int handle) {
+        this.bindedHandle = handle;
+    }
+    
+    void invalidateBinding() {
+        this.bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    void objectDeleted(int handle) {
+        if (this.bindedHandle == handle) {
+            this.bindedHandle = 0;
+        }
+    }
+    
     /**
      * <p>Bind a named texture to a texturing target.</p>
      * 
@@ -60,7 +80,7 @@ public class OOGLES20Texture {
      * textures that were bound to them at initialization.</p>
      * 
      * <p>A texture binding created with {@link #bind} remains active until a different texture is bound to the same
-     * target or until the bound texture is deleted with {@link OOTexture#finalize}.</p>
+     * target or until the bound texture is deleted with {@link OOTexture#delete}.</p>
      * 
      * <p>Once created, a named texture may be re-bound to its same original target as often as needed. It is usually
      * much faster to use {@link #bind} to bind an existing named texture to one of the texture targets than it is to
@@ -84,17 +104,18 @@ public class OOGLES20Texture {
      * 
      * @see OOGLES20Texture2D#getBindedTexture
      * @see OOGLES20TextureCubeMap#getBindedTexture
-     * @see OOTexture#finalize
+     * @see OOTexture#delete
      * @see OOTexture#OOTexture
      * @see OOGLES20TextureImage#setImage2D
      */
     public void bind(OOTexture texture) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
-        if (texture == null) {
-            OOGLES20.backEnd.glBindTexture(this.target.getGLConstant(), 0);
-        } else {
-            OOGLES20.backEnd.glBindTexture(this.target.getGLConstant(), texture.getHandle());
+        int handle = texture == null ? 0 : texture.getHandle();
+        if (OOGLES20.isBindingCached(this.bindedHandle, handle)) {
+            return;
         }
+        this.bindedHandle = handle;
+        OOGLES20.activateTextureUnit(this.textureUnit);
+        OOGLES20.backEnd.glBindTexture(this.target.getGLConstant(), handle);
     }
     
     /**
@@ -152,7 +173,7 @@ public class OOGLES20Texture {
      * @see OOGLES20TextureImage#setImage2D
      */
     public void generateMipmaps() {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glGenerateMipmap(this.target.getGLConstant());
     }
     
@@ -243,7 +264,7 @@ public class OOGLES20Texture {
      * @param minificationFilter Supplies the texture minifying function.
      */
     public void setMinificationFilter(OOTextureMinificationFilter minificationFilter) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glTexParameteri(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_MIN_FILTER,
                 minificationFilter.getGLConstant());
     }
@@ -300,7 +321,7 @@ public class OOGLES20Texture {
      * @param magnificationFilter Supplies the texture magnification function.
      */
     public void setMagnificationFilter(OOTextureMagnificationFilter magnificationFilter) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glTexParameteri(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_MAG_FILTER,
                 magnificationFilter.getGLConstant());
     }
@@ -352,7 +373,7 @@ public class OOGLES20Texture {
      * @param wrapS Supplies the wrap parameter for texture coordinate <i>s</i>
      */
     public void setWrapS(OOTextureWrapMode wrapS) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glTexParameteri(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_WRAP_S,
                 wrapS.getGLConstant());
     }
@@ -404,7 +425,7 @@ public class OOGLES20Texture {
      * @param wrapT Supplies the wrap parameter for texture coordinate <i>t</i>
      */
     public void setWrapT(OOTextureWrapMode wrapT) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glTexParameteri(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_WRAP_T,
                 wrapT.getGLConstant());
     }
@@ -430,7 +451,7 @@ public class OOGLES20Texture {
      * @return The texture minification filter, an enum constant.
      */
     public OOTextureMinificationFilter getMinificationFilter() {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glGetTexParameteriv(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_MIN_FILTER,
                 OOGLES20Texture.intBuffer);
         return OOTextureMinificationFilter.valueOf(OOGLES20Texture.intBuffer.get(0));
@@ -455,7 +476,7 @@ public class OOGLES20Texture {
      * @return The texture magnification filter, an enum constant.
      */
     public OOTextureMagnificationFilter getMagnificationFilter() {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glGetTexParameteriv(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_MAG_FILTER,
                 OOGLES20Texture.intBuffer);
         return OOTextureMagnificationFilter.valueOf(OOGLES20Texture.intBuffer.get(0));
@@ -480,7 +501,7 @@ public class OOGLES20Texture {
      * @return The wrapping function for texture coordinate <i>s</i>, an enum constant.
      */
     public OOTextureWrapMode getWrapS() {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glGetTexParameteriv(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_WRAP_S,
                 OOGLES20Texture.intBuffer);
         return OOTextureWrapMode.valueOf(OOGLES20Texture.intBuffer.get(0));
@@ -505,7 +526,7 @@ public class OOGLES20Texture {
      * @return The wrapping function for texture coordinate <i>t</i>, an enum constant.
      */
     public OOTextureWrapMode getWrapT() {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glGetTexParameteriv(this.target.getGLConstant(), OpenGLES20.GL_TEXTURE_WRAP_T,
                 OOGLES20Texture.intBuffer);
         return OOTextureWrapMode.valueOf(OOGLES20Texture.intBuffer.get(0));
@@ -174,7 +174,7 @@ public class OOGLES20TextureImage {
      */
     public void setImage2D(int level, OOTexelFormat format, int width, int height, OOPixelDataType type,
             Buffer data) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glTexImage2D(this.target.getGLConstant(), level, format.getGLConstant(), width, height, 0,
                 format.getGLConstant(), type.getGLConstant(), data);
     }
@@ -189,7 +189,7 @@ public class OOGLES20TextureImage {
      * @param bitmap Specifies the bitmap image
      */
     public void setImage2D(int level, Bitmap bitmap) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         GLUtils.texImage2D(this.target.getGLConstant(), level, bitmap, 0);
     }
     
@@ -205,7 +205,7 @@ public class OOGLES20TextureImage {
      * @param type Specifies the data type of the pixel data.
      */
     public void setImage2D(int level, OOTexelFormat format, Bitmap bitmap, OOPixelDataType type) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         GLUtils.texImage2D(this.target.getGLConstant(), level, format.getGLConstant(), bitmap,
                 type.getGLConstant(), 0);
     }
@@ -221,7 +221,7 @@ public class OOGLES20TextureImage {
      * @param bitmap Specifies the bitmap image
      */
     public void setImage2D(int level, OOTexelFormat format, Bitmap bitmap) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         GLUtils.texImage2D(this.target.getGLConstant(), level, format.getGLConstant(), bitmap, 0);
     }
     
@@ -301,7 +301,7 @@ public class OOGLES20TextureImage {
      */
     public void setSubImage2D(int level, int xOffset, int yOffset, int width, int height, OOTexelFormat format,
             OOPixelDataType type, Buffer data) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glTexSubImage2D(this.target.getGLConstant(), level, xOffset, yOffset, width, height,
                 format.getGLConstant(), type.getGLConstant(), data);
     }
@@ -318,7 +318,7 @@ public class OOGLES20TextureImage {
      * @param bitmap Specifies the bitmap image
      */
     public void setSubImage2D(int level, int xOffset, int yOffset, Bitmap bitmap) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         GLUtils.texSubImage2D(this.target.getGLConstant(), level, xOffset, yOffset, bitmap);
     }
     
@@ -337,7 +337,7 @@ public class OOGLES20TextureImage {
      */
     public void setSubImage2D(int level, int xOffset, int yOffset, Bitmap bitmap, OOTexelFormat format,
             OOPixelDataType type) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         GLUtils.texSubImage2D(this.target.getGLConstant(), level, xOffset, yOffset, bitmap,
                 format.getGLConstant(), type.getGLConstant());
     }
@@ -420,7 +420,7 @@ public class OOGLES20TextureImage {
      * @see #setSubImage2D
      */
     public void setCompressedImage2D(int level, int format, int width, int height, int imageSize, Buffer data) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glCompressedTexImage2D(this.target.getGLConstant(), level, format, width, height, 0,
                 imageSize, data);
     }
@@ -506,7 +506,7 @@ public class OOGLES20TextureImage {
      */
     public void setCompressedSubImage2D(int level, int xOffset, int yOffset, int width, int height, int format,
             int imageSize, Buffer data) {
-        OOGLES20.backEnd.glActiveTexture(OpenGLES20.GL_TEXTURE0 + this.textureUnit);
+        OOGLES20.activateTextureUnit(this.textureUnit);
         OOGLES20.backEnd.glCompressedTexSubImage2D(this.target.getGLConstant(), level, xOffset, yOffset, width, height,
                 format, imageSize, data);
     }
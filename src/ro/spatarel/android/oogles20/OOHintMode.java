@@ -62,13 +62,18 @@ public enum OOHintMode {
     
     private final int glConstant;
     
-    static OOHintMode valueOf(int value) {
+    private static final OOIntObjectMap<OOHintMode> glConstants = new OOIntObjectMap<OOHintMode>();
+    
+    static {
         for (OOHintMode someValue : OOHintMode.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOHintMode.glConstants.containsKey(someValue.getGLConstant())) {
+                OOHintMode.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOHintMode valueOf(int value) {
+        return OOHintMode.glConstants.get(value);
     }
     
     OOHintMode(int value) {
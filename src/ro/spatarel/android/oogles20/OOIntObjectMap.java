@@ -0,0 +1,143 @@
+package ro.spatarel.android.oogles20;
+
+/**
+ * <p>Map from {@code int} keys to non-{@code null} object values, using open addressing with linear probing. Unlike a
+ * {@code Map<Integer, V>}, lookups, insertions and removals do not box the key and do not allocate, except when the
+ * table grows.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ * 
+ * @param <V> The type of the values.
+ */
+final class OOIntObjectMap<V> {
+    
+    private static final int MINIMUM_CAPACITY = 8;
+    
+    private int[] keys;
+    private Object[] values;
+    private int size = 0;
+    private int mask;
+    
+    OOIntObjectMap() {
+        this(OOIntObjectMap.MINIMUM_CAPACITY);
+    }
+    
+    OOIntObjectMap(int expectedSize) {
+        int capacity = OOIntObjectMap.MINIMUM_CAPACITY;
+        while (capacity < 2 * expectedSize) {
+            capacity *= 2;
+        }
+        this.allocate(capacity);
+    }
+    
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+    
+    static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    private int indexOf(int key) {
+        int index = OOIntObjectMap.hash(key) & this.mask;
+        while (this.values[index] != null && this.keys[index] != key) {
+            index = (index + 1) & this.mask;
+        }
+        return index;
+    }
+    
+    int size() {
+        return this.size;
+    }
+    
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        return (V) this.values[this.indexOf(key)];
+    }
+    
+    boolean containsKey(int key) {
+        return this.values[this.indexOf(key)] != null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int index = this.indexOf(key);
+        V previous = (V) this.values[index];
+        this.keys[index] = key;
+        this.values[index] = value;
+        if (previous == null) {
+            ++this.size;
+            if (2 * this.size > this.values.length) {
+                this.rehash(2 * this.values.length);
+            }
+        }
+        return previous;
+    }
+    
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        int index = this.indexOf(key);
+        V previous = (V) this.values[index];
+        if (previous == null) {
+            return null;
+        }
+        this.values[index] = null;
+        --this.size;
+        
+        // Shifts back the entries of the same probe sequence, so that no lookup stops early at the freed slot.
+        int free = index;
+        index = (index + 1) & this.mask;
+        while (this.values[index] != null) {
+            int home = OOIntObjectMap.hash(this.keys[index]) & this.mask;
+            if (((index - home) & this.mask) >= ((index - free) & this.mask)) {
+                this.keys[free] = this.keys[index];
+                this.values[free] = this.values[index];
+                this.values[index] = null;
+                free = index;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return previous;
+    }
+    
+    void clear() {
+        for (int i = 0; i < this.values.length; ++i) {
+            this.values[i] = null;
+        }
+        this.size = 0;
+    }
+    
+    private void rehash(int capacity) {
+        int[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.allocate(capacity);
+        for (int i = 0; i < oldValues.length; ++i) {
+            if (oldValues[i] != null) {
+                int index = this.indexOf(oldKeys[i]);
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+}
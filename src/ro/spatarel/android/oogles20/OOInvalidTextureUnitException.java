@@ -0,0 +1,30 @@
+package ro.spatarel.android.oogles20;
+
+/**
+ * <p>Exception generated if a texture unit outside the range supported by the implementation is requested.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOInvalidTextureUnitException extends OOException {
+
+    private static final long serialVersionUID = 2950126813702316894L;
+    
+    OOInvalidTextureUnitException(int textureUnit, int maximumTextureUnits) {
+        super("Texture unit " + textureUnit + " is outside the range [0, " + maximumTextureUnits + ").");
+    }
+}
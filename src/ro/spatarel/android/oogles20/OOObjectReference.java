@@ -0,0 +1,53 @@
+package ro.spatarel.android.oogles20;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * <p>Weak reference to a wrapped OpenGL ES object, remembering the kind and the name of the object. When the wrapper
+ * becomes unreachable without having been deleted, the reference is enqueued and the name is deleted by the next call
+ * to {@link OOGLES20#deleteLeakedObjects} on the OpenGL ES thread.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ * 
+ * @param <T> The type of the wrapper.
+ */
+final class OOObjectReference<T> extends WeakReference<T> {
+    
+    static final int BUFFER = 0;
+    static final int TEXTURE = 1;
+    static final int FRAMEBUFFER = 2;
+    static final int RENDERBUFFER = 3;
+    static final int PROGRAM = 4;
+    static final int SHADER = 5;
+    static final int KINDS_COUNT = 6;
+    
+    final int kind;
+    final int handle;
+    
+    /**
+     * <p>Whether the handle was already deleted, so that a reference enqueued afterwards is ignored instead of deleting
+     * the handle again, possibly after it was reused by another object.</p>
+     */
+    boolean deleted = false;
+    
+    OOObjectReference(T referent, int kind, int handle) {
+        super(referent, OOGLES20.leakedObjects);
+        this.kind = kind;
+        this.handle = handle;
+    }
+}
@@ -93,13 +93,18 @@ public enum OOPixelDataType {
     
     private final int glConstant;
     
-    static OOPixelDataType valueOf(int value) {
+    private static final OOIntObjectMap<OOPixelDataType> glConstants = new OOIntObjectMap<OOPixelDataType>();
+    
+    static {
         for (OOPixelDataType someValue : OOPixelDataType.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOPixelDataType.glConstants.containsKey(someValue.getGLConstant())) {
+                OOPixelDataType.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOPixelDataType valueOf(int value) {
+        return OOPixelDataType.glConstants.get(value);
     }
     
     OOPixelDataType(int value) {
@@ -62,13 +62,18 @@ public enum OOPixelFormat {
     
     private final int glConstant;
     
-    static OOPixelFormat valueOf(int value) {
+    private static final OOIntObjectMap<OOPixelFormat> glConstants = new OOIntObjectMap<OOPixelFormat>();
+    
+    static {
         for (OOPixelFormat someValue : OOPixelFormat.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOPixelFormat.glConstants.containsKey(someValue.getGLConstant())) {
+                OOPixelFormat.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOPixelFormat valueOf(int value) {
+        return OOPixelFormat.glConstants.get(value);
     }
     
     OOPixelFormat(int value) {
@@ -62,13 +62,19 @@ public enum OOPrimitiveOrientation {
     
     private final int glConstant;
     
-    static OOPrimitiveOrientation valueOf(int value) {
+    private static final OOIntObjectMap<OOPrimitiveOrientation> glConstants =
+            new OOIntObjectMap<OOPrimitiveOrientation>();
+    
+    static {
         for (OOPrimitiveOrientation someValue : OOPrimitiveOrientation.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOPrimitiveOrientation.glConstants.containsKey(someValue.getGLConstant())) {
+                OOPrimitiveOrientation.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOPrimitiveOrientation valueOf(int value) {
+        return OOPrimitiveOrientation.glConstants.get(value);
     }
     
     OOPrimitiveOrientation(int value) {
@@ -30,10 +30,12 @@ import java.util.TreeMap;
  */
 public class OOProgram {
     
-    private static final Map<Integer, OOProgram> programs = new TreeMap<Integer, OOProgram>();
+    private static final OOIntObjectMap<OOObjectReference<OOProgram>> programs =
+            new OOIntObjectMap<OOObjectReference<OOProgram>>();
     
     static OOProgram getProgram(int handle) {
-        return OOProgram.programs.get(handle);
+        OOObjectReference<OOProgram> reference = OOProgram.programs.get(handle);
+        return reference == null ? null : reference.get();
     }
     
     private int handle;
@@ -44,6 +46,16 @@ public class OOProgram {
     
     private Map<String, OOAttribute> attributes = new TreeMap<String, OOAttribute>();
     
+    private OOUniform[] uniformSlots = new OOUniform[0];
+    
+    private OOAttribute[] attributeSlots = new OOAttribute[0];
+    
+    private boolean uniformValueCache = false;
+    
+    private static int linkGenerationsCount = 0;
+    
+    int linkGeneration = 0;
+    
     int getHandle() {
         return this.handle;
     }
@@ -65,7 +77,7 @@ public class OOProgram {
      * <p>One or more executables are created in a program object by successfully attaching shader objects to it with
      * {@link #attachShader}, successfully compiling the shader objects with {@link OOShader#compile} and successfully
      * linking the program object with {@link #link}. These executables are made part of current state when {@link
-     * OOGLES20#useProgram} is called. Program objects can be deleted by calling {@link #finalize}. The memory
+     * OOGLES20#useProgram} is called. Program objects can be deleted by calling {@link #delete}. The memory
      * associated with the program object will be deleted when it is no longer part of current rendering state for any
      * context.</p>
      * 
@@ -97,7 +109,7 @@ public class OOProgram {
      * @see #getUniform
      * @see #attachShader
      * @see OOShader#OOShader
-     * @see #finalize
+     * @see #delete
      * @see #detachShader
      * @see #link
      * @see OOGLES20#useProgram
@@ -109,7 +121,8 @@ public class OOProgram {
         if (this.handle == 0) {
             throw new OOErrorOccuredCreatingObjectException();
         }
-        OOProgram.programs.put(this.handle, this);
+        OOProgram.programs.put(this.handle,
+                new OOObjectReference<OOProgram>(this, OOObjectReference.PROGRAM, this.handle));
     }
     
     /**
@@ -143,16 +156,24 @@ public class OOProgram {
      */
     public void delete() {
         if (this.handle != 0) {
-            OOGLES20.backEnd.glDeleteProgram(this.handle);
-            OOProgram.programs.remove(this.handle);
+            OOProgram.deleteHandles(new int[] { this.handle }, 1);
             this.handle = 0;
         }
     }
     
-    @Override
-    protected void finalize() throws Throwable {
-        this.delete();
-        super.finalize();
+    static int deletionsCount = 0;
+    
+    static void deleteHandles(int[] handles, int count) {
+        ++OOProgram.deletionsCount;
+        for (int i = 0; i < count; ++i) {
+            OOObjectReference<OOProgram> reference = OOProgram.programs.remove(handles[i]);
+            if (reference != null) {
+                reference.deleted = true;
+                reference.clear();
+            }
+            OOGLES20.backEnd.glDeleteProgram(handles[i]);
+            OOGLES20.programDeleted(handles[i]);
+        }
     }
     
     /**
@@ -216,7 +237,7 @@ public class OOProgram {
      * <p>{@link #detachShader} detaches the shader object specified by {@code shader} from the program object. This
      * command can be used to undo the effect of the command {@link #attachShader}.</p>
      * 
-     * <p>If {@code shader} has already been flagged for deletion by a call to {@link OOShader#finalize} and it is not
+     * <p>If {@code shader} has already been flagged for deletion by a call to {@link OOShader#delete} and it is not
      * attached to any other program object, it will be deleted after it has been detached.</p>
      * 
      * <h5>Errors</h5>
@@ -328,7 +349,7 @@ public class OOProgram {
      * @see OOShader#compile
      * @see OOShader#setBinary
      * @see #OOProgram
-     * @see #finalize
+     * @see #delete
      * @see #detachShader
      * @see OOGLES20#useProgram
      * @see #validate
@@ -336,7 +357,153 @@ public class OOProgram {
     public void link() {
         this.uniforms.clear();
         this.attributes.clear();
+        this.uniformSlots = new OOUniform[0];
+        this.attributeSlots = new OOAttribute[0];
         OOGLES20.backEnd.glLinkProgram(this.handle);
+        OOGLES20.invalidateUniformValues();
+        this.linkGeneration = ++OOProgram.linkGenerationsCount;
+        if (this.getLinkStatus()) {
+            this.reflectUniforms();
+            this.reflectAttributes();
+        }
+    }
+    
+    private static String decodeName(byte[] name, int length) {
+        try {
+            return new String(name, 0, length, "US-ASCII");
+        } catch (UnsupportedEncodingException e) {
+            return null;
+        }
+    }
+    
+    private void reflectUniforms() {
+        int count = this.getUniformsCount();
+        int bufsize = this.getUniformMaximumLength();
+        byte[] name = new byte[Math.max(bufsize, 1)];
+        List<OOUniform> slots = new ArrayList<OOUniform>(count);
+        for (int i = 0; i < count; ++i) {
+            OOGLES20.backEnd.glGetActiveUniform(this.handle, i, bufsize, OOProgram.length, 0, OOProgram.size, 0,
+                    OOProgram.type, 0, name, 0);
+            String uniformName = OOProgram.decodeName(name, OOProgram.length[0]);
+            int location = OOGLES20.backEnd.glGetUniformLocation(this.handle, uniformName);
+            if (uniformName == null || location == -1) {
+                continue;
+            }
+            OOUniform uniform = new OOUniform(location, uniformName, OOUniformDataType.valueOf(OOProgram.type[0]),
+                    OOProgram.size[0]);
+            if (this.uniformValueCache) {
+                uniform.enableValueCache();
+            }
+            uniform.slot = slots.size();
+            slots.add(uniform);
+            this.uniforms.put(uniformName, uniform);
+            if (uniformName.endsWith("[0]")) {
+                this.uniforms.put(uniformName.substring(0, uniformName.length() - 3), uniform);
+            }
+        }
+        this.uniformSlots = slots.toArray(new OOUniform[slots.size()]);
+    }
+    
+    private void reflectAttributes() {
+        int count = this.getAttributesCount();
+        int bufsize = this.getAttributeMaximumLength();
+        byte[] name = new byte[Math.max(bufsize, 1)];
+        List<OOAttribute> slots = new ArrayList<OOAttribute>(count);
+        for (int i = 0; i < count; ++i) {
+            OOGLES20.backEnd.glGetActiveAttrib(this.handle, i, bufsize, OOProgram.length, 0, OOProgram.size, 0,
+                    OOProgram.type, 0, name, 0);
+            String attributeName = OOProgram.decodeName(name, OOProgram.length[0]);
+            int location = OOGLES20.backEnd.glGetAttribLocation(this.handle, attributeName);
+            if (attributeName == null || location == -1) {
+                continue;
+            }
+            OOAttribute attribute = new OOAttribute(location, attributeName,
+                    OOAttributeDataType.valueOf(OOProgram.type[0]), OOProgram.size[0]);
+            attribute.slot = slots.size();
+            slots.add(attribute);
+            this.attributes.put(attributeName, attribute);
+        }
+        this.attributeSlots = slots.toArray(new OOAttribute[slots.size()]);
+    }
+    
+    /**
+     * <p>Returns the number of uniform slots of this program.</p>
+     * 
+     * <p>After a successful {@link #link}, every active uniform of the program is enumerated once and given a stable
+     * slot index in the range {@code [0, getUniformSlotsCount())}. Code on a hot path may resolve the slot of a uniform
+     * once, through {@link #getUniformSlot}, and then access the uniform through {@link #getUniform(int)} without any
+     * string lookup.</p>
+     * 
+     * @return The number of uniform slots; {@code 0} if the program has not been linked successfully.
+     */
+    public int getUniformSlotsCount() {
+        return this.uniformSlots.length;
+    }
+    
+    /**
+     * <p>Returns the slot index of a specified uniform.</p>
+     * 
+     * <p>Array uniforms may be referred to either by their name or by the name of their first element.</p>
+     * 
+     * @param name The name of the uniform.
+     * @return The slot index of the uniform, or {@code -1} if the program has no active uniform with that name.
+     * 
+     * @see #getUniformSlotsCount
+     */
+    public int getUniformSlot(String name) {
+        OOUniform uniform = this.uniforms.get(name);
+        return uniform == null ? -1 : uniform.slot;
+    }
+    
+    /**
+     * <p>Returns the uniform from a specified slot.</p>
+     * 
+     * @param slot The slot index, in the range {@code [0, getUniformSlotsCount())}.
+     * @return The uniform from the slot.
+     * 
+     * @see #getUniformSlot
+     */
+    public OOUniform getUniform(int slot) {
+        return this.uniformSlots[slot];
+    }
+    
+    /**
+     * <p>Returns the number of attribute slots of this program.</p>
+     * 
+     * <p>After a successful {@link #link}, every active attribute of the program is enumerated once and given a stable
+     * slot index in the range {@code [0, getVectorAttributeSlotsCount())}. Code on a hot path may resolve the slot of
+     * an attribute once, through {@link #getVectorAttributeSlot}, and then access the attribute through
+     * {@link #getVectorAttribute(int)} without any string lookup.</p>
+     * 
+     * @return The number of attribute slots; {@code 0} if the program has not been linked successfully.
+     */
+    public int getVectorAttributeSlotsCount() {
+        return this.attributeSlots.length;
+    }
+    
+    /**
+     * <p>Returns the slot index of a specified attribute.</p>
+     * 
+     * @param name The name of the attribute.
+     * @return The slot index of the attribute, or {@code -1} if the program has no active attribute with that name.
+     * 
+     * @see #getVectorAttributeSlotsCount
+     */
+    public int getVectorAttributeSlot(String name) {
+        OOAttribute attribute = this.attributes.get(name);
+        return attribute == null ? -1 : attribute.slot;
+    }
+    
+    /**
+     * <p>Returns the attribute from a specified slot.</p>
+     * 
+     * @param slot The slot index, in the range {@code [0, getVectorAttributeSlotsCount())}.
+     * @return The attribute from the slot.
+     * 
+     * @see #getVectorAttributeSlot
+     */
+    public OOAttribute getVectorAttribute(int slot) {
+        return this.attributeSlots[slot];
     }
     
     /**
@@ -446,11 +613,45 @@ public class OOProgram {
             if (uniformHandle == -1) {
                 return null;
             }
-            this.uniforms.put(name, new OOUniform(uniformHandle));
+            OOUniform uniform = new OOUniform(uniformHandle);
+            if (name.endsWith("]")) {
+                uniform.setArrayElement(this.uniforms.get(name.substring(0, name.lastIndexOf('['))));
+            }
+            if (this.uniformValueCache) {
+                uniform.enableValueCache();
+            }
+            this.uniforms.put(name, uniform);
         }
         return this.uniforms.get(name);
     }
     
+    /**
+     * <p>Enables the value cache of all the uniforms of this program, including the ones retrieved later through
+     * {@link #getUniform}. Uniforms whose values change on every draw may opt out afterwards through
+     * {@link OOUniform#disableValueCache}.</p>
+     * 
+     * @see OOUniform#enableValueCache
+     */
+    public void enableUniformValueCache() {
+        this.uniformValueCache = true;
+        for (OOUniform uniform : this.uniforms.values()) {
+            uniform.enableValueCache();
+        }
+    }
+    
+    /**
+     * <p>Disables the value cache of all the uniforms of this program, including the ones retrieved later through
+     * {@link #getUniform}.</p>
+     * 
+     * @see OOUniform#disableValueCache
+     */
+    public void disableUniformValueCache() {
+        this.uniformValueCache = false;
+        for (OOUniform uniform : this.uniforms.values()) {
+            uniform.disableValueCache();
+        }
+    }
+    
     /**
      * <p>Return the location of an attribute variable.</p>
      * 
@@ -894,7 +1095,7 @@ public class OOProgram {
      */
     public float[] getUniformValuefv(String name) {
         int location = this.getUniform(name).getHandle();
-        FloatBuffer answer = OOGLES20.createFloatBuffer(this.getUniformSize(name));
+        FloatBuffer answer = OOGLES20.scratchFloatBuffer(this.getUniformSize(name));
         OOGLES20.backEnd.glGetUniformfv(this.handle, location, answer);
         return OOGLES20.extract(answer);
     }
@@ -949,7 +1150,7 @@ public class OOProgram {
      */
     public int[] getUniformValueiv(String name) {
         int location = this.getUniform(name).getHandle();
-        IntBuffer answer = OOGLES20.createIntBuffer(this.getUniformSize(name));
+        IntBuffer answer = OOGLES20.scratchIntBuffer(this.getUniformSize(name));
         OOGLES20.backEnd.glGetUniformiv(this.handle, location, answer);
         return OOGLES20.extract(answer);
     }
@@ -0,0 +1,335 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.Arrays;
+
+/**
+ * <p>Class collecting draw packets during a frame and submitting them sorted by state.</p>
+ * 
+ * <p>Every packet carries a 64-bit sort key built by {@link #createKey}. From the most significant bit down, the key
+ * of an opaque packet packs the layer (4 bits), the translucency (1 bit), the program (12 bits), the texture (16 bits)
+ * and the depth (24 bits); the key of a translucent packet packs the inverted depth right after the translucency, and
+ * the program and the texture after it. Sorting by key therefore draws the layers in order and the opaque packets
+ * before the translucent ones; the opaque packets are grouped by program and texture and drawn front to back within a
+ * group, while the translucent packets are drawn strictly back to front, so that blending composites them in the
+ * right order.</p>
+ * 
+ * <p>{@link #submit} sorts the packets with an LSD radix sort and only emits the state changes between consecutive
+ * packets: the program is changed with {@link OOGLES20#useProgram}, the texture is bound to the {@code 2D} target of
+ * texture unit {@code 0}, blending is enabled for the translucent packets and disabled for the opaque ones and the
+ * vertex data is bound through {@link OORenderable#bindVertices}. The blending function itself is left to the
+ * caller.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OORenderQueue {
+    
+    private static final int LAYER_SHIFT = 60;
+    private static final int TRANSLUCENT_SHIFT = 59;
+    private static final int PROGRAM_SHIFT = 47;
+    private static final int TEXTURE_SHIFT = 31;
+    private static final int DEPTH_SHIFT = 7;
+    private static final int TRANSLUCENT_DEPTH_SHIFT = 35;
+    private static final int TRANSLUCENT_PROGRAM_SHIFT = 23;
+    private static final int TRANSLUCENT_TEXTURE_SHIFT = 7;
+    private static final int LAYER_MASK = 0xF;
+    private static final int PROGRAM_MASK = 0xFFF;
+    private static final int TEXTURE_MASK = 0xFFFF;
+    private static final int DEPTH_MASK = 0xFFFFFF;
+    
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << OORenderQueue.RADIX_BITS;
+    
+    private int packetsCount = 0;
+    private long[] keys = new long[64];
+    private OOProgram[] programs = new OOProgram[64];
+    private OOTexture[] textures = new OOTexture[64];
+    private OORenderable[] renderables = new OORenderable[64];
+    private OODrawPrimitive[] modes = new OODrawPrimitive[64];
+    private int[] counts = new int[64];
+    private OOBufferDataType[] types = new OOBufferDataType[64];
+    private int[] offsets = new int[64];
+    
+    private int[] order = new int[64];
+    private int[] temporaryOrder = new int[64];
+    private long[] temporaryKeys = new long[64];
+    private long[] sortedKeys = new long[64];
+    private final int[] histogram = new int[OORenderQueue.RADIX];
+    
+    private int drawsCount = 0;
+    private int programChangesCount = 0;
+    private int textureChangesCount = 0;
+    private int blendingChangesCount = 0;
+    private int renderableChangesCount = 0;
+    
+    /**
+     * <p>Builds the sort key of a draw packet.</p>
+     * 
+     * @param layer The layer of the packet, in the range {@code [0, 16)}; lower layers are drawn first.
+     * @param translucent Whether the packet is drawn with blending enabled.
+     * @param program The program used to draw the packet.
+     * @param texture The texture used to draw the packet, or {@code null}.
+     * @param depth The normalized distance of the packet from the viewer, in the range {@code [0, 1]}.
+     * @return The sort key of the packet.
+     */
+    public static long createKey(int layer, boolean translucent, OOProgram program, OOTexture texture, float depth) {
+        int programId = program == null ? 0 : program.getHandle() & OORenderQueue.PROGRAM_MASK;
+        int textureId = texture == null ? 0 : texture.getHandle() & OORenderQueue.TEXTURE_MASK;
+        float clampedDepth = depth < 0.0f ? 0.0f : (depth > 1.0f ? 1.0f : depth);
+        int depthId = (int) (clampedDepth * OORenderQueue.DEPTH_MASK);
+        long layerBits = (long) (layer & OORenderQueue.LAYER_MASK) << OORenderQueue.LAYER_SHIFT;
+        if (translucent) {
+            return layerBits
+                    | (1L << OORenderQueue.TRANSLUCENT_SHIFT)
+                    | ((long) (OORenderQueue.DEPTH_MASK - depthId) << OORenderQueue.TRANSLUCENT_DEPTH_SHIFT)
+                    | ((long) programId << OORenderQueue.TRANSLUCENT_PROGRAM_SHIFT)
+                    | ((long) textureId << OORenderQueue.TRANSLUCENT_TEXTURE_SHIFT);
+        }
+        return layerBits
+                | ((long) programId << OORenderQueue.PROGRAM_SHIFT)
+                | ((long) textureId << OORenderQueue.TEXTURE_SHIFT)
+                | ((long) depthId << OORenderQueue.DEPTH_SHIFT);
+    }
+    
+    private static boolean isTranslucent(long key) {
+        return ((key >>> OORenderQueue.TRANSLUCENT_SHIFT) & 1L) != 0;
+    }
+    
+    private void reserve(int count) {
+        if (count <= this.keys.length) {
+            return;
+        }
+        int capacity = Math.max(count, 2 * this.keys.length);
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        this.programs = Arrays.copyOf(this.programs, capacity);
+        this.textures = Arrays.copyOf(this.textures, capacity);
+        this.renderables = Arrays.copyOf(this.renderables, capacity);
+        this.modes = Arrays.copyOf(this.modes, capacity);
+        this.counts = Arrays.copyOf(this.counts, capacity);
+        this.types = Arrays.copyOf(this.types, capacity);
+        this.offsets = Arrays.copyOf(this.offsets, capacity);
+        this.order = new int[capacity];
+        this.temporaryOrder = new int[capacity];
+        this.temporaryKeys = new long[capacity];
+        this.sortedKeys = new long[capacity];
+    }
+    
+    /**
+     * <p>Adds a draw packet to the queue. The packet is drawn by {@link #submit} with
+     * {@link OOGLES20Framebuffer#drawElements(OODrawPrimitive, int, OOBufferDataType, int)}, using the element array
+     * buffer bound by {@code renderable}.</p>
+     * 
+     * @param key The sort key of the packet, as returned by {@link #createKey}.
+     * @param program The program used to draw the packet.
+     * @param texture The texture used to draw the packet, or {@code null} to leave the texture binding unchanged.
+     * @param renderable The object drawn.
+     * @param mode The kind of primitives to render.
+     * @param count The number of elements to be rendered.
+     * @param type The type of the values in the element array buffer.
+     * @param offset The offset, in bytes, of the first element in the element array buffer.
+     */
+    public void add(long key, OOProgram program, OOTexture texture, OORenderable renderable, OODrawPrimitive mode,
+            int count, OOBufferDataType type, int offset) {
+        this.reserve(this.packetsCount + 1);
+        int index = this.packetsCount++;
+        this.keys[index] = key;
+        this.programs[index] = program;
+        this.textures[index] = texture;
+        this.renderables[index] = renderable;
+        this.modes[index] = mode;
+        this.counts[index] = count;
+        this.types[index] = type;
+        this.offsets[index] = offset;
+    }
+    
+    /**
+     * <p>Returns the number of packets in the queue.</p>
+     * 
+     * @return The number of packets in the queue.
+     */
+    public int getPacketsCount() {
+        return this.packetsCount;
+    }
+    
+    /**
+     * <p>Removes all the packets from the queue.</p>
+     */
+    public void clear() {
+        Arrays.fill(this.programs, 0, this.packetsCount, null);
+        Arrays.fill(this.textures, 0, this.packetsCount, null);
+        Arrays.fill(this.renderables, 0, this.packetsCount, null);
+        this.packetsCount = 0;
+    }
+    
+    private void sort() {
+        int count = this.packetsCount;
+        int[] source = this.order;
+        int[] destination = this.temporaryOrder;
+        long[] sourceKeys = this.sortedKeys;
+        long[] destinationKeys = this.temporaryKeys;
+        for (int i = 0; i < count; ++i) {
+            source[i] = i;
+            sourceKeys[i] = this.keys[i];
+        }
+        for (int shift = 0; shift < Long.SIZE; shift += OORenderQueue.RADIX_BITS) {
+            Arrays.fill(this.histogram, 0);
+            for (int i = 0; i < count; ++i) {
+                ++this.histogram[(int) (sourceKeys[i] >>> shift) & (OORenderQueue.RADIX - 1)];
+            }
+            if (this.histogram[(int) (sourceKeys[0] >>> shift) & (OORenderQueue.RADIX - 1)] == count) {
+                continue;
+            }
+            int sum = 0;
+            for (int digit = 0; digit < OORenderQueue.RADIX; ++digit) {
+                int digitCount = this.histogram[digit];
+                this.histogram[digit] = sum;
+                sum += digitCount;
+            }
+            for (int i = 0; i < count; ++i) {
+                int position = this.histogram[(int) (sourceKeys[i] >>> shift) & (OORenderQueue.RADIX - 1)]++;
+                destination[position] = source[i];
+                destinationKeys[position] = sourceKeys[i];
+            }
+            int[] swap = source;
+            source = destination;
+            destination = swap;
+            long[] swapKeys = sourceKeys;
+            sourceKeys = destinationKeys;
+            destinationKeys = swapKeys;
+        }
+        this.order = source;
+        this.temporaryOrder = destination;
+        this.sortedKeys = sourceKeys;
+        this.temporaryKeys = destinationKeys;
+    }
+    
+    /**
+     * <p>Sorts the packets by key, draws them emitting only the state changes between consecutive packets and clears
+     * the queue.</p>
+     * 
+     * <p>The state changes counters are reset at the beginning of every submission.</p>
+     */
+    public void submit() {
+        this.drawsCount = 0;
+        this.programChangesCount = 0;
+        this.textureChangesCount = 0;
+        this.blendingChangesCount = 0;
+        this.renderableChangesCount = 0;
+        if (this.packetsCount == 0) {
+            return;
+        }
+        this.sort();
+        OOProgram currentProgram = null;
+        OOTexture currentTexture = null;
+        OORenderable currentRenderable = null;
+        int currentBlending = -1;
+        OOGLES20Texture2D texture2D = OOGLES20.textureUnit(0).tex2D;
+        for (int i = 0; i < this.packetsCount; ++i) {
+            int index = this.order[i];
+            OOProgram program = this.programs[index];
+            OOTexture texture = this.textures[index];
+            OORenderable renderable = this.renderables[index];
+            int blending = OORenderQueue.isTranslucent(this.keys[index]) ? 1 : 0;
+            boolean programChanged = program != currentProgram;
+            if (programChanged) {
+                OOGLES20.useProgram(program);
+                currentProgram = program;
+                ++this.programChangesCount;
+            }
+            if (texture != null && texture != currentTexture) {
+                texture2D.bind(texture);
+                currentTexture = texture;
+                ++this.textureChangesCount;
+            }
+            if (blending != currentBlending) {
+                if (blending == 1) {
+                    OOGLES20.pixelProcessing.enableBlending();
+                } else {
+                    OOGLES20.pixelProcessing.disableBlending();
+                }
+                currentBlending = blending;
+                ++this.blendingChangesCount;
+            }
+            if (programChanged || renderable != currentRenderable) {
+                renderable.bindVertices(program);
+                currentRenderable = renderable;
+                ++this.renderableChangesCount;
+            }
+            renderable.setUniforms(program);
+            OOGLES20.framebuffer.drawElements(this.modes[index], this.counts[index], this.types[index],
+                    this.offsets[index]);
+            ++this.drawsCount;
+        }
+        this.clear();
+    }
+    
+    /**
+     * <p>Returns the number of packets drawn by the last {@link #submit}.</p>
+     * 
+     * @return The number of packets drawn by the last submission.
+     */
+    public int getDrawsCount() {
+        return this.drawsCount;
+    }
+    
+    /**
+     * <p>Returns the number of program changes emitted by the last {@link #submit}.</p>
+     * 
+     * @return The number of program changes emitted by the last submission.
+     */
+    public int getProgramChangesCount() {
+        return this.programChangesCount;
+    }
+    
+    /**
+     * <p>Returns the number of texture changes emitted by the last {@link #submit}.</p>
+     * 
+     * @return The number of texture changes emitted by the last submission.
+     */
+    public int getTextureChangesCount() {
+        return this.textureChangesCount;
+    }
+    
+    /**
+     * <p>Returns the number of blending changes emitted by the last {@link #submit}.</p>
+     * 
+     * @return The number of blending changes emitted by the last submission.
+     */
+    public int getBlendingChangesCount() {
+        return this.blendingChangesCount;
+    }
+    
+    /**
+     * <p>Returns the number of vertex data changes emitted by the last {@link #submit}.</p>
+     * 
+     * @return The number of calls to {@link OORenderable#bindVertices} made by the last submission.
+     */
+    public int getVertexChangesCount() {
+        return this.renderableChangesCount;
+    }
+    
+    /**
+     * <p>Returns the number of program, texture, blending and vertex data changes avoided by the last {@link #submit},
+     * compared to setting the whole state for every packet.</p>
+     * 
+     * @return The number of state changes avoided by the last submission.
+     */
+    public int getAvoidedStateChangesCount() {
+        return 4 * this.drawsCount - this.programChangesCount - this.textureChangesCount - this.blendingChangesCount
+                - this.renderableChangesCount;
+    }
+}
@@ -1,9 +1,5 @@
 package ro.spatarel.android.oogles20;
 
-import java.nio.IntBuffer;
-import java.util.Map;
-import java.util.TreeMap;
-
 /**
  * <p>Class modeling the renderbuffer object names.</p>
  * 
@@ -26,10 +22,12 @@ import java.util.TreeMap;
  */
 public class OORenderbuffer implements OOFramebufferAttachmentObject {
     
-    private static final Map<Integer, OORenderbuffer> renderbuffers = new TreeMap<Integer, OORenderbuffer>();
+    private static final OOIntObjectMap<OOObjectReference<OORenderbuffer>> renderbuffers =
+            new OOIntObjectMap<OOObjectReference<OORenderbuffer>>();
     
     static OORenderbuffer getRenderbuffer(int handle) {
-        return OORenderbuffer.renderbuffers.get(handle);
+        OOObjectReference<OORenderbuffer> reference = OORenderbuffer.renderbuffers.get(handle);
+        return reference == null ? null : reference.get();
     }
     
     private int handle;
@@ -51,28 +49,22 @@ public class OORenderbuffer implements OOFramebufferAttachmentObject {
      * 
      * @see OOGLES20Renderbuffer#bind
      * @see OOGLES20Renderbuffer#unbind
-     * @see #finalize
+     * @see #delete
+     * @see OOGLES20#renderbufferNames
      */
     public OORenderbuffer() {
-        IntBuffer handles = OOGLES20.createIntBuffer(1);
-        OOGLES20.backEnd.glGenRenderbuffers(1, handles);
-        if (handles.get(0) == 0) {
+        this.handle = OOGLES20.renderbufferNames.obtain();
+        if (this.handle == 0) {
             throw new OOErrorOccuredCreatingObjectException();
         }
-        this.handle = handles.get(0);
-        OORenderbuffer.renderbuffers.put(this.handle, this);
+        OORenderbuffer.renderbuffers.put(this.handle,
+                new OOObjectReference<OORenderbuffer>(this, OOObjectReference.RENDERBUFFER, this.handle));
     }
     
     int getHandle() {
         return this.handle;
     }
     
-    @Override
-    protected void finalize() throws Throwable {
-        this.delete();
-        super.finalize();
-    }
-    
     /**
      * <p>Delete the renderbuffer object.</p>
      * 
@@ -100,10 +92,20 @@ public class OORenderbuffer implements OOFramebufferAttachmentObject {
      */
     public void delete() {
         if (this.handle != 0) {
-            IntBuffer handles = OOGLES20.createIntBuffer(new int[] { this.handle });
-            OOGLES20.backEnd.glDeleteRenderbuffers(1, handles);
-            OORenderbuffer.renderbuffers.remove(this.handle);
+            OORenderbuffer.deleteHandles(new int[] { this.handle }, 1);
             this.handle = 0;
         }
     }
+    
+    static void deleteHandles(int[] handles, int count) {
+        for (int i = 0; i < count; ++i) {
+            OOObjectReference<OORenderbuffer> reference = OORenderbuffer.renderbuffers.remove(handles[i]);
+            if (reference != null) {
+                reference.deleted = true;
+                reference.clear();
+            }
+            OOGLES20.renderbuffer.objectDeleted(handles[i]);
+        }
+        OOGLES20.backEnd.glDeleteRenderbuffers(count, OOGLES20.scratchIntBuffer(handles, 0, count));
+    }
 }
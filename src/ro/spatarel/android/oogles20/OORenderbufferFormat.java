@@ -88,13 +88,18 @@ public enum OORenderbufferFormat {
     
     private final int glConstant;
     
-    static OORenderbufferFormat valueOf(int value) {
+    private static final OOIntObjectMap<OORenderbufferFormat> glConstants = new OOIntObjectMap<OORenderbufferFormat>();
+    
+    static {
         for (OORenderbufferFormat someValue : OORenderbufferFormat.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OORenderbufferFormat.glConstants.containsKey(someValue.getGLConstant())) {
+                OORenderbufferFormat.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OORenderbufferFormat valueOf(int value) {
+        return OORenderbufferFormat.glConstants.get(value);
     }
     
     OORenderbufferFormat(int value) {
@@ -3,8 +3,6 @@ package ro.spatarel.android.oogles20;
 import java.io.UnsupportedEncodingException;
 import java.nio.Buffer;
 import java.nio.IntBuffer;
-import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * <p>Class modeling the shader objects.</p>
@@ -28,10 +26,12 @@ import java.util.TreeMap;
  */
 public class OOShader {
     
-    private static Map<Integer, OOShader> shaders = new TreeMap<Integer, OOShader>();
+    private static final OOIntObjectMap<OOObjectReference<OOShader>> shaders =
+            new OOIntObjectMap<OOObjectReference<OOShader>>();
     
     static OOShader getShader(int handle) {
-        return OOShader.shaders.get(handle);
+        OOObjectReference<OOShader> reference = OOShader.shaders.get(handle);
+        return reference == null ? null : reference.get();
     }
     
     private int handle;
@@ -92,7 +92,7 @@ public class OOShader {
      * @see #getSource
      * @see OOProgram#attachShader
      * @see #compile
-     * @see #finalize
+     * @see #delete
      * @see #setSource
      * @see #setBinary
      */
@@ -102,7 +102,7 @@ public class OOShader {
         if (this.handle == 0) {
             throw new OOErrorOccuredCreatingObjectException();
         }
-        OOShader.shaders.put(this.handle, this);
+        OOShader.shaders.put(this.handle, new OOObjectReference<OOShader>(this, OOObjectReference.SHADER, this.handle));
     }
     
     /**
@@ -112,7 +112,7 @@ public class OOShader {
      * 
      * <h5>Description</h5>
      * 
-     * <p>{@link #finalize} frees the memory and invalidates the name associated with the shader object. This command
+     * <p>{@link #delete} frees the memory and invalidates the name associated with the shader object. This command
      * effectively undoes the effects of a call to {@link #OOShader}.</p>
      * 
      * <p>If a shader object to be deleted is attached to a program object, it will be flagged for deletion, but it will
@@ -134,16 +134,20 @@ public class OOShader {
      */
     public void delete() {
         if (this.handle != 0) {
-            OOGLES20.backEnd.glDeleteShader(this.handle);
-            OOShader.shaders.remove(this.handle);
+            OOShader.deleteHandles(new int[] { this.handle }, 1);
             this.handle = 0;
         }
     }
     
-    @Override
-    protected void finalize() throws Throwable {
-        this.delete();
-        super.finalize();
+    static void deleteHandles(int[] handles, int count) {
+        for (int i = 0; i < count; ++i) {
+            OOObjectReference<OOShader> reference = OOShader.shaders.remove(handles[i]);
+            if (reference != null) {
+                reference.deleted = true;
+                reference.clear();
+            }
+            OOGLES20.backEnd.glDeleteShader(handles[i]);
+        }
     }
     
     /**
@@ -194,7 +198,7 @@ public class OOShader {
      * @see #compile
      * @see OOGLES20Implementation#getPrecisionFormat
      * @see #OOShader
-     * @see #finalize
+     * @see #delete
      */
     public void setSource(String sourceCode) {
         OOGLES20.backEnd.glShaderSource(this.handle, sourceCode);
@@ -316,7 +320,7 @@ public class OOShader {
      * @see OOGLES20Implementation#getShaderBinaryFormatsCount
      * @see OOGLES20Implementation#getShaderBinaryFormats
      * @see #OOShader
-     * @see #finalize
+     * @see #delete
      * @see OOProgram#link
      */
     public void setBinary(int binaryFormat, Buffer binary, int length) {
@@ -49,13 +49,18 @@ public enum OOShaderType {
     
     private final int glConstant;
     
-    static OOShaderType valueOf(int value) {
+    private static final OOIntObjectMap<OOShaderType> glConstants = new OOIntObjectMap<OOShaderType>();
+    
+    static {
         for (OOShaderType someValue : OOShaderType.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOShaderType.glConstants.containsKey(someValue.getGLConstant())) {
+                OOShaderType.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOShaderType valueOf(int value) {
+        return OOShaderType.glConstants.get(value);
     }
     
     OOShaderType(int value) {
@@ -0,0 +1,388 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * <p>Class batching many textured and colored 2D quads (sprites) into few draw calls.</p>
+ * 
+ * <p>The vertices of the sprites are written into a reusable client-side array and uploaded, on every flush, with a
+ * single {@link OOGLES20Buffer#setSubData} into the vertex buffer of the batch; all the batches share one static index
+ * buffer describing the quads. Every vertex is made of a position ({@code vec2}), texture coordinates ({@code vec2})
+ * and a color (4 normalized unsigned bytes), 20 bytes in total.</p>
+ * 
+ * <p>The batch is flushed (drawn with one {@link OOGLES20Framebuffer#drawElements} call) only when the program, the
+ * texture or the blending state changes, when it is full, and by {@link #end}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOSpriteBatch {
+    
+    private static final int VERTEX_SIZE = 5;
+    private static final int VERTEX_BYTES = OOSpriteBatch.VERTEX_SIZE * OOGLES20.INT_SIZE;
+    private static final int SPRITE_SIZE = 4 * OOSpriteBatch.VERTEX_SIZE;
+    private static final int MAXIMUM_SPRITES = 65536 / 4;
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    
+    private static OOBuffer quadIndices = null;
+    private static int quadIndicesCapacity = 0;
+    
+    private final int maximumSprites;
+    private final int[] vertices;
+    private final ByteBuffer byteBuffer;
+    private final IntBuffer intBuffer;
+    private OOBuffer vertexBuffer = null;
+    private int spritesCount = 0;
+    
+    private boolean drawing = false;
+    private OOProgram program = null;
+    private OOAttribute positionAttribute = null;
+    private OOAttribute textureCoordinatesAttribute = null;
+    private OOAttribute colorAttribute = null;
+    private OOTexture texture = null;
+    private boolean blending = true;
+    
+    private int flushesCount = 0;
+    private int verticesCount = 0;
+    private int spritesDrawnCount = 0;
+    
+    /**
+     * <p>Creates a sprite batch.</p>
+     * 
+     * @param maximumSprites The maximum number of sprites drawn with one draw call, in the range {@code [1, 16384]}.
+     */
+    public OOSpriteBatch(int maximumSprites) {
+        if (maximumSprites < 1 || maximumSprites > OOSpriteBatch.MAXIMUM_SPRITES) {
+            throw new IllegalArgumentException("maximumSprites must be in the range [1, 16384].");
+        }
+        this.maximumSprites = maximumSprites;
+        this.vertices = new int[maximumSprites * OOSpriteBatch.SPRITE_SIZE];
+        this.byteBuffer = OOGLES20.createByteBuffer(this.vertices.length * OOGLES20.INT_SIZE);
+        this.intBuffer = this.byteBuffer.asIntBuffer();
+    }
+    
+    static void backEndChanged() {
+        // The index buffer belongs to the previous back end; a new one is created by the next flush.
+        OOSpriteBatch.quadIndices = null;
+        OOSpriteBatch.quadIndicesCapacity = 0;
+    }
+    
+    private static void ensureQuadIndices(int sprites) {
+        if (OOSpriteBatch.quadIndices != null && OOSpriteBatch.quadIndices.getHandle() != 0
+                && OOSpriteBatch.quadIndicesCapacity >= sprites) {
+            return;
+        }
+        ShortBuffer indices = OOGLES20.createShortBuffer(6 * sprites);
+        for (int i = 0; i < sprites; ++i) {
+            short first = (short) (4 * i);
+            indices.put(first);
+            indices.put((short) (first + 1));
+            indices.put((short) (first + 2));
+            indices.put((short) (first + 2));
+            indices.put((short) (first + 3));
+            indices.put(first);
+        }
+        indices.flip();
+        if (OOSpriteBatch.quadIndices == null || OOSpriteBatch.quadIndices.getHandle() == 0) {
+            OOSpriteBatch.quadIndices = new OOBuffer();
+        }
+        OOGLES20.elementArrayBuffer.bind(OOSpriteBatch.quadIndices);
+        OOGLES20.elementArrayBuffer.setData(indices.limit() * OOGLES20.SHORT_SIZE, indices, OOBufferUsage.STATIC_DRAW);
+        OOSpriteBatch.quadIndicesCapacity = sprites;
+    }
+    
+    /**
+     * <p>Starts drawing sprites with a specified program.</p>
+     * 
+     * @param program The program used to draw the sprites.
+     * @param positionAttribute The {@code vec2} attribute receiving the positions.
+     * @param textureCoordinatesAttribute The {@code vec2} attribute receiving the texture coordinates, or
+     * {@code null}.
+     * @param colorAttribute The {@code vec4} attribute receiving the colors, or {@code null}.
+     * 
+     * @see #end
+     */
+    public void begin(OOProgram program, OOAttribute positionAttribute, OOAttribute textureCoordinatesAttribute,
+            OOAttribute colorAttribute) {
+        if (this.drawing) {
+            throw new IllegalStateException("The sprite batch is already drawing.");
+        }
+        this.drawing = true;
+        this.program = program;
+        this.positionAttribute = positionAttribute;
+        this.textureCoordinatesAttribute = textureCoordinatesAttribute;
+        this.colorAttribute = colorAttribute;
+    }
+    
+    /**
+     * <p>Flushes the remaining sprites and stops drawing.</p>
+     * 
+     * @see #begin
+     */
+    public void end() {
+        if (!this.drawing) {
+            throw new IllegalStateException("The sprite batch is not drawing.");
+        }
+        this.flush();
+        this.drawing = false;
+        this.program = null;
+        this.texture = null;
+    }
+    
+    /**
+     * <p>Changes the program used to draw the following sprites, flushing the batch if it differs from the current
+     * one.</p>
+     * 
+     * @param program The program used to draw the sprites.
+     * @param positionAttribute The {@code vec2} attribute receiving the positions.
+     * @param textureCoordinatesAttribute The {@code vec2} attribute receiving the texture coordinates, or
+     * {@code null}.
+     * @param colorAttribute The {@code vec4} attribute receiving the colors, or {@code null}.
+     */
+    public void setProgram(OOProgram program, OOAttribute positionAttribute, OOAttribute textureCoordinatesAttribute,
+            OOAttribute colorAttribute) {
+        if (program != this.program || positionAttribute != this.positionAttribute
+                || textureCoordinatesAttribute != this.textureCoordinatesAttribute
+                || colorAttribute != this.colorAttribute) {
+            this.flush();
+            this.program = program;
+            this.positionAttribute = positionAttribute;
+            this.textureCoordinatesAttribute = textureCoordinatesAttribute;
+            this.colorAttribute = colorAttribute;
+        }
+    }
+    
+    /**
+     * <p>Changes the texture used to draw the following sprites, flushing the batch if it differs from the current
+     * one. The texture is bound to the {@code 2D} target of texture unit {@code 0}.</p>
+     * 
+     * @param texture The texture used to draw the sprites.
+     */
+    public void setTexture(OOTexture texture) {
+        if (texture != this.texture) {
+            this.flush();
+            this.texture = texture;
+        }
+    }
+    
+    /**
+     * <p>Changes the blending state used to draw the following sprites, flushing the batch if it differs from the
+     * current one. Blending is enabled by default; the blending function is left to the caller.</p>
+     * 
+     * @param blending Whether blending is enabled.
+     */
+    public void setBlending(boolean blending) {
+        if (blending != this.blending) {
+            this.flush();
+            this.blending = blending;
+        }
+    }
+    
+    private static int toVertexColor(int color) {
+        int alpha = color >>> 24;
+        int red = (color >>> 16) & 0xFF;
+        int green = (color >>> 8) & 0xFF;
+        int blue = color & 0xFF;
+        if (OOSpriteBatch.LITTLE_ENDIAN) {
+            return (alpha << 24) | (blue << 16) | (green << 8) | red;
+        } else {
+            return (red << 24) | (green << 16) | (blue << 8) | alpha;
+        }
+    }
+    
+    /**
+     * <p>Adds an axis aligned sprite to the batch.</p>
+     * 
+     * @param x The abscissa of the lower left corner.
+     * @param y The ordinate of the lower left corner.
+     * @param width The width of the sprite.
+     * @param height The height of the sprite.
+     * @param u0 The first texture coordinate of the lower left corner.
+     * @param v0 The second texture coordinate of the lower left corner.
+     * @param u1 The first texture coordinate of the upper right corner.
+     * @param v1 The second texture coordinate of the upper right corner.
+     * @param color The color of the sprite, packed as {@code 0xAARRGGBB}.
+     */
+    public void draw(float x, float y, float width, float height, float u0, float v0, float u1, float v1, int color) {
+        this.draw(x, y, x + width, y, x + width, y + height, x, y + height, u0, v0, u1, v1, color);
+    }
+    
+    /**
+     * <p>Adds an arbitrary quad to the batch (for example a rotated sprite). The corners are given counterclockwise,
+     * starting with the one mapped to the texture coordinates {@code (u0, v0)}.</p>
+     * 
+     * @param x0 The abscissa of the first corner.
+     * @param y0 The ordinate of the first corner.
+     * @param x1 The abscissa of the second corner.
+     * @param y1 The ordinate of the second corner.
+     * @param x2 The abscissa of the third corner.
+     * @param y2 The ordinate of the third corner.
+     * @param x3 The abscissa of the fourth corner.
+     * @param y3 The ordinate of the fourth corner.
+     * @param u0 The first texture coordinate of the first corner.
+     * @param v0 The second texture coordinate of the first corner.
+     * @param u1 The first texture coordinate of the third corner.
+     * @param v1 The second texture coordinate of the third corner.
+     * @param color The color of the sprite, packed as {@code 0xAARRGGBB}.
+     */
+    public void draw(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3, float u0, float v0,
+            float u1, float v1, int color) {
+        if (!this.drawing) {
+            throw new IllegalStateException("The sprite batch is not drawing.");
+        }
+        if (this.spritesCount == this.maximumSprites) {
+            this.flush();
+        }
+        int vertexColor = OOSpriteBatch.toVertexColor(color);
+        int[] vertices = this.vertices;
+        int index = this.spritesCount * OOSpriteBatch.SPRITE_SIZE;
+        vertices[index] = Float.floatToRawIntBits(x0);
+        vertices[index + 1] = Float.floatToRawIntBits(y0);
+        vertices[index + 2] = Float.floatToRawIntBits(u0);
+        vertices[index + 3] = Float.floatToRawIntBits(v0);
+        vertices[index + 4] = vertexColor;
+        vertices[index + 5] = Float.floatToRawIntBits(x1);
+        vertices[index + 6] = Float.floatToRawIntBits(y1);
+        vertices[index + 7] = Float.floatToRawIntBits(u1);
+        vertices[index + 8] = Float.floatToRawIntBits(v0);
+        vertices[index + 9] = vertexColor;
+        vertices[index + 10] = Float.floatToRawIntBits(x2);
+        vertices[index + 11] = Float.floatToRawIntBits(y2);
+        vertices[index + 12] = Float.floatToRawIntBits(u1);
+        vertices[index + 13] = Float.floatToRawIntBits(v1);
+        vertices[index + 14] = vertexColor;
+        vertices[index + 15] = Float.floatToRawIntBits(x3);
+        vertices[index + 16] = Float.floatToRawIntBits(y3);
+        vertices[index + 17] = Float.floatToRawIntBits(u0);
+        vertices[index + 18] = Float.floatToRawIntBits(v1);
+        vertices[index + 19] = vertexColor;
+        ++this.spritesCount;
+    }
+    
+    /**
+     * <p>Draws the sprites added since the last flush with one draw call.</p>
+     */
+    public void flush() {
+        if (this.spritesCount == 0) {
+            return;
+        }
+        OOSpriteBatch.ensureQuadIndices(this.maximumSprites);
+        if (this.vertexBuffer == null || this.vertexBuffer.getHandle() == 0) {
+            this.vertexBuffer = new OOBuffer();
+            OOGLES20.arrayBuffer.bind(this.vertexBuffer);
+            OOGLES20.arrayBuffer.setData(this.byteBuffer.capacity(), null, OOBufferUsage.DYNAMIC_DRAW);
+        }
+        int size = this.spritesCount * OOSpriteBatch.SPRITE_SIZE;
+        this.intBuffer.clear();
+        this.intBuffer.put(this.vertices, 0, size);
+        this.byteBuffer.clear();
+        this.byteBuffer.limit(size * OOGLES20.INT_SIZE);
+        
+        OOGLES20.useProgram(this.program);
+        if (this.texture != null) {
+            OOGLES20.textureUnit(0).tex2D.bind(this.texture);
+        }
+        if (this.blending) {
+            OOGLES20.pixelProcessing.enableBlending();
+        } else {
+            OOGLES20.pixelProcessing.disableBlending();
+        }
+        OOGLES20.arrayBuffer.bind(this.vertexBuffer);
+        OOGLES20.arrayBuffer.setSubData(0, size * OOGLES20.INT_SIZE, this.byteBuffer);
+        this.positionAttribute.setBuffer(2, OOAttributeClientDataType.FLOAT, false, OOSpriteBatch.VERTEX_BYTES, 0);
+        this.positionAttribute.enableArray();
+        if (this.textureCoordinatesAttribute != null) {
+            this.textureCoordinatesAttribute.setBuffer(2, OOAttributeClientDataType.FLOAT, false,
+                    OOSpriteBatch.VERTEX_BYTES, 2 * OOGLES20.FLOAT_SIZE);
+            this.textureCoordinatesAttribute.enableArray();
+        }
+        if (this.colorAttribute != null) {
+            this.colorAttribute.setBuffer(4, OOAttributeClientDataType.UNSIGNED_BYTE, true, OOSpriteBatch.VERTEX_BYTES,
+                    4 * OOGLES20.FLOAT_SIZE);
+            this.colorAttribute.enableArray();
+        }
+        OOGLES20.elementArrayBuffer.bind(OOSpriteBatch.quadIndices);
+        OOGLES20.framebuffer.drawElements(OODrawPrimitive.TRIANGLES, 6 * this.spritesCount,
+                OOBufferDataType.UNSIGNED_SHORT, 0);
+        
+        ++this.flushesCount;
+        this.verticesCount += 4 * this.spritesCount;
+        this.spritesDrawnCount += this.spritesCount;
+        this.spritesCount = 0;
+    }
+    
+    /**
+     * <p>Returns the number of flushes (draw calls) since the creation of the batch or the last call to
+     * {@link #resetCounters}.</p>
+     * 
+     * @return The number of flushes.
+     */
+    public int getFlushesCount() {
+        return this.flushesCount;
+    }
+    
+    /**
+     * <p>Returns the number of vertices drawn since the creation of the batch or the last call to
+     * {@link #resetCounters}.</p>
+     * 
+     * @return The number of vertices drawn.
+     */
+    public int getVerticesCount() {
+        return this.verticesCount;
+    }
+    
+    /**
+     * <p>Returns the number of sprites drawn since the creation of the batch or the last call to
+     * {@link #resetCounters}.</p>
+     * 
+     * @return The number of sprites drawn.
+     */
+    public int getSpritesCount() {
+        return this.spritesDrawnCount;
+    }
+    
+    /**
+     * <p>Returns the average number of vertices drawn by one flush.</p>
+     * 
+     * @return The average number of vertices per flush, or {@code 0} if there was no flush.
+     */
+    public float getVerticesPerFlush() {
+        return this.flushesCount == 0 ? 0.0f : (float) this.verticesCount / this.flushesCount;
+    }
+    
+    /**
+     * <p>Resets the flushes, vertices and sprites counters to {@code 0}.</p>
+     */
+    public void resetCounters() {
+        this.flushesCount = 0;
+        this.verticesCount = 0;
+        this.spritesDrawnCount = 0;
+    }
+    
+    /**
+     * <p>Deletes the vertex buffer of the batch.</p>
+     */
+    public void delete() {
+        if (this.vertexBuffer != null) {
+            this.vertexBuffer.delete();
+            this.vertexBuffer = null;
+        }
+    }
+}
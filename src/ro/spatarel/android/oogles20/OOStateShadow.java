@@ -0,0 +1,196 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.Arrays;
+
+/**
+ * <p>The client-side shadow of the fixed-function state of a pipeline stage, shared by {@link OOGLES20Rasterization},
+ * {@link OOGLES20FragmentProcessing} and {@link OOGLES20PixelProcessing}.</p>
+ * 
+ * <p>Every state value is kept in a numbered slot, encoded as an {@code int}: booleans as {@code 0} or {@code 1},
+ * enumerations as their OpenGL ES constant and floats as their bits. A slot is either unknown or holds the value last
+ * passed to the back end. While shadowing is enabled, a call whose values all match their known slots is redundant:
+ * it is counted as dropped and must not reach the back end.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+final class OOStateShadow {
+    
+    private final int[] values;
+    private final boolean[] known;
+    
+    private boolean enabled = false;
+    private int droppedCallsCount = 0;
+    
+    OOStateShadow(int slotsCount) {
+        this.values = new int[slotsCount];
+        this.known = new boolean[slotsCount];
+    }
+    
+    void enable() {
+        this.invalidate();
+        this.enabled = true;
+    }
+    
+    void disable() {
+        this.enabled = false;
+        this.invalidate();
+    }
+    
+    boolean isEnabled() {
+        return this.enabled;
+    }
+    
+    void invalidate() {
+        Arrays.fill(this.known, false);
+    }
+    
+    void copyFrom(OOStateShadow other) {
+        System.arraycopy(other.values, 0, this.values, 0, this.values.length);
+        System.arraycopy(other.known, 0, this.known, 0, this.known.length);
+    }
+    
+    int getDroppedCallsCount() {
+        return this.droppedCallsCount;
+    }
+    
+    void resetDroppedCallsCount() {
+        this.droppedCallsCount = 0;
+    }
+    
+    static int encode(boolean value) {
+        return value ? 1 : 0;
+    }
+    
+    static int encode(float value) {
+        return Float.floatToIntBits(value);
+    }
+    
+    private boolean isKnown(int slot, int value) {
+        return this.known[slot] && this.values[slot] == value;
+    }
+    
+    private boolean isKnown(int slot, int value0, int value1, int value2) {
+        return this.isKnown(slot, value0) && this.isKnown(slot + 1, value1) && this.isKnown(slot + 2, value2);
+    }
+    
+    private void set(int slot, int value) {
+        this.known[slot] = true;
+        this.values[slot] = value;
+    }
+    
+    private void set(int slot, int value0, int value1, int value2) {
+        this.set(slot, value0);
+        this.set(slot + 1, value1);
+        this.set(slot + 2, value2);
+    }
+    
+    private boolean isRedundant(boolean unchanged) {
+        if (this.enabled && unchanged) {
+            ++this.droppedCallsCount;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * <p>Returns whether setting a slot is redundant; if it is not, the slot remembers the value.</p>
+     */
+    boolean isRedundant(int slot, int value) {
+        if (this.isRedundant(this.isKnown(slot, value))) {
+            return true;
+        }
+        this.set(slot, value);
+        return false;
+    }
+    
+    /**
+     * <p>Returns whether setting two consecutive slots is redundant; if it is not, the slots remember the values.</p>
+     */
+    boolean isRedundant(int slot, int value0, int value1) {
+        if (this.isRedundant(this.isKnown(slot, value0) && this.isKnown(slot + 1, value1))) {
+            return true;
+        }
+        this.set(slot, value0);
+        this.set(slot + 1, value1);
+        return false;
+    }
+    
+    /**
+     * <p>Returns whether setting three consecutive slots is redundant; if it is not, the slots remember the
+     * values.</p>
+     */
+    boolean isRedundant(int slot, int value0, int value1, int value2) {
+        if (this.isRedundant(this.isKnown(slot, value0, value1, value2))) {
+            return true;
+        }
+        this.set(slot, value0, value1, value2);
+        return false;
+    }
+    
+    /**
+     * <p>Returns whether setting four consecutive slots is redundant; if it is not, the slots remember the values.</p>
+     */
+    boolean isRedundant(int slot, int value0, int value1, int value2, int value3) {
+        if (this.isRedundant(this.isKnown(slot, value0, value1, value2) && this.isKnown(slot + 3, value3))) {
+            return true;
+        }
+        this.set(slot, value0, value1, value2);
+        this.set(slot + 3, value3);
+        return false;
+    }
+    
+    /**
+     * <p>Returns whether setting a slot of the front and/or the back faces is redundant; if it is not, the slots of
+     * the selected faces remember the value.</p>
+     */
+    boolean isRedundant(int frontSlot, int backSlot, OOPrimitiveOrientation face, int value) {
+        boolean front = face != OOPrimitiveOrientation.BACK;
+        boolean back = face != OOPrimitiveOrientation.FRONT;
+        if (this.isRedundant((!front || this.isKnown(frontSlot, value)) && (!back || this.isKnown(backSlot, value)))) {
+            return true;
+        }
+        if (front) {
+            this.set(frontSlot, value);
+        }
+        if (back) {
+            this.set(backSlot, value);
+        }
+        return false;
+    }
+    
+    /**
+     * <p>Returns whether setting three consecutive slots of the front and/or the back faces is redundant; if it is
+     * not, the slots of the selected faces remember the values.</p>
+     */
+    boolean isRedundant(int frontSlot, int backSlot, OOPrimitiveOrientation face, int value0, int value1,
+            int value2) {
+        boolean front = face != OOPrimitiveOrientation.BACK;
+        boolean back = face != OOPrimitiveOrientation.FRONT;
+        if (this.isRedundant((!front || this.isKnown(frontSlot, value0, value1, value2))
+                && (!back || this.isKnown(backSlot, value0, value1, value2)))) {
+            return true;
+        }
+        if (front) {
+            this.set(frontSlot, value0, value1, value2);
+        }
+        if (back) {
+            this.set(backSlot, value0, value1, value2);
+        }
+        return false;
+    }
+}
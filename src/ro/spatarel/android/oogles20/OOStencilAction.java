@@ -130,13 +130,18 @@ public enum OOStencilAction {
     
     private final int glConstant;
     
-    static OOStencilAction valueOf(int value) {
+    private static final OOIntObjectMap<OOStencilAction> glConstants = new OOIntObjectMap<OOStencilAction>();
+    
+    static {
         for (OOStencilAction someValue : OOStencilAction.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOStencilAction.glConstants.containsKey(someValue.getGLConstant())) {
+                OOStencilAction.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOStencilAction valueOf(int value) {
+        return OOStencilAction.glConstants.get(value);
     }
     
     OOStencilAction(int value) {
@@ -127,13 +127,19 @@ public enum OOStencilTestFunction {
     
     private final int glConstant;
     
-    static OOStencilTestFunction valueOf(int value) {
+    private static final OOIntObjectMap<OOStencilTestFunction> glConstants =
+            new OOIntObjectMap<OOStencilTestFunction>();
+    
+    static {
         for (OOStencilTestFunction someValue : OOStencilTestFunction.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOStencilTestFunction.glConstants.containsKey(someValue.getGLConstant())) {
+                OOStencilTestFunction.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOStencilTestFunction valueOf(int value) {
+        return OOStencilTestFunction.glConstants.get(value);
     }
     
     OOStencilTestFunction(int value) {
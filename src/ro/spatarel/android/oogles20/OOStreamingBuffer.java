@@ -0,0 +1,178 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.Buffer;
+
+/**
+ * <p>Class streaming per-frame dynamic geometry into a ring of rotating buffer objects.</p>
+ * 
+ * <p>Every {@link #write} appends the data at the cursor of the current buffer object and returns its offset, to be
+ * used with {@link OOAttribute#setBuffer(int, OOAttributeClientDataType, boolean, int, int)} or
+ * {@link OOGLES20Framebuffer#drawElements(OODrawPrimitive, int, OOBufferDataType, int)}. When the current buffer object
+ * is full, the next one in the ring is used; its data store is orphaned (re-specified with {@code null} data and
+ * {@link OOBufferUsage#STREAM_DRAW}) before any write, so the driver can hand out fresh memory instead of waiting for
+ * the GPU to finish reading the previous contents. When a single write does not fit in a buffer object, the capacity
+ * of the ring grows geometrically.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOStreamingBuffer {
+    
+    private static final int ALIGNMENT = 4;
+    
+    private final OOGLES20Buffer target;
+    private final OOBuffer[] buffers;
+    private final int[] capacities;
+    private int capacity;
+    private int current = 0;
+    private int cursor = 0;
+    
+    private int frameBytesCount = 0;
+    private int lastFrameBytesCount = 0;
+    private int orphansCount = 0;
+    
+    /**
+     * <p>Creates a streaming buffer.</p>
+     * 
+     * @param target The target the buffer objects are bound to ({@link OOGLES20#arrayBuffer} or
+     * {@link OOGLES20#elementArrayBuffer}).
+     * @param buffersCount The number of buffer objects in the ring; at least {@code 1}.
+     * @param capacity The initial capacity, in bytes, of every buffer object.
+     */
+    public OOStreamingBuffer(OOGLES20Buffer target, int buffersCount, int capacity) {
+        if (buffersCount < 1) {
+            throw new IllegalArgumentException("buffersCount < 1");
+        }
+        this.target = target;
+        this.buffers = new OOBuffer[buffersCount];
+        this.capacities = new int[buffersCount];
+        this.capacity = Math.max(capacity, OOStreamingBuffer.ALIGNMENT);
+        this.current = buffersCount - 1;
+        this.cursor = this.capacity;
+    }
+    
+    private void orphanNext(int size) {
+        if (size > this.capacity) {
+            this.capacity = Math.max(size, 2 * this.capacity);
+        }
+        this.current = (this.current + 1) % this.buffers.length;
+        if (this.buffers[this.current] == null || this.buffers[this.current].getHandle() == 0) {
+            this.buffers[this.current] = new OOBuffer();
+        }
+        this.target.bind(this.buffers[this.current]);
+        this.target.setData(this.capacity, null, OOBufferUsage.STREAM_DRAW);
+        this.capacities[this.current] = this.capacity;
+        this.cursor = 0;
+        ++this.orphansCount;
+    }
+    
+    /**
+     * <p>Appends data to the streaming buffer.</p>
+     * 
+     * <p>The buffer object receiving the data is left bound to the target, so the returned offset may be used right
+     * away.</p>
+     * 
+     * @param size The size, in bytes, of the data.
+     * @param data The data, starting at its position.
+     * @return The offset, in bytes, of the data in the buffer object returned by {@link #getBuffer}.
+     */
+    public int write(int size, Buffer data) {
+        int offset = (this.cursor + OOStreamingBuffer.ALIGNMENT - 1) & -OOStreamingBuffer.ALIGNMENT;
+        OOBuffer buffer = this.buffers[this.current];
+        if (buffer == null || buffer.getHandle() == 0 || offset + size > this.capacities[this.current]) {
+            this.orphanNext(size);
+            offset = 0;
+        } else {
+            this.target.bind(buffer);
+        }
+        this.target.setSubData(offset, size, data);
+        this.cursor = offset + size;
+        this.frameBytesCount += size;
+        return offset;
+    }
+    
+    /**
+     * <p>Returns the buffer object that received the last {@link #write}.</p>
+     * 
+     * @return The buffer object that received the last write, or {@code null} if nothing was written yet.
+     */
+    public OOBuffer getBuffer() {
+        return this.buffers[this.current];
+    }
+    
+    /**
+     * <p>Returns the current capacity, in bytes, of every buffer object of the ring.</p>
+     * 
+     * @return The current capacity of every buffer object of the ring.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+    
+    /**
+     * <p>Marks the end of a frame, making the number of bytes streamed during the frame available through
+     * {@link #getLastFrameBytesCount}.</p>
+     */
+    public void endFrame() {
+        this.lastFrameBytesCount = this.frameBytesCount;
+        this.frameBytesCount = 0;
+    }
+    
+    /**
+     * <p>Returns the number of bytes streamed since the last {@link #endFrame}.</p>
+     * 
+     * @return The number of bytes streamed during the current frame.
+     */
+    public int getFrameBytesCount() {
+        return this.frameBytesCount;
+    }
+    
+    /**
+     * <p>Returns the number of bytes streamed during the last complete frame.</p>
+     * 
+     * @return The number of bytes streamed during the last complete frame.
+     * 
+     * @see #endFrame
+     */
+    public int getLastFrameBytesCount() {
+        return this.lastFrameBytesCount;
+    }
+    
+    /**
+     * <p>Returns the number of times a buffer object of the ring was orphaned.</p>
+     * 
+     * @return The number of times a buffer object of the ring was orphaned.
+     */
+    public int getOrphansCount() {
+        return this.orphansCount;
+    }
+    
+    /**
+     * <p>Deletes all the buffer objects of the ring.</p>
+     */
+    public void delete() {
+        for (int i = 0; i < this.buffers.length; ++i) {
+            if (this.buffers[i] != null) {
+                this.buffers[i].delete();
+                this.buffers[i] = null;
+            }
+            this.capacities[i] = 0;
+        }
+        this.current = this.buffers.length - 1;
+        this.cursor = this.capacity;
+    }
+}
@@ -1,9 +1,5 @@
 package ro.spatarel.android.oogles20;
 
-import java.nio.IntBuffer;
-import java.util.Map;
-import java.util.TreeMap;
-
 /**
  * <p>Class modeling the texture names.</p>
  * 
@@ -26,10 +22,12 @@ import java.util.TreeMap;
  */
 public class OOTexture implements OOFramebufferAttachmentObject {
     
-    private static final Map<Integer, OOTexture> textures = new TreeMap<Integer, OOTexture>();
+    private static final OOIntObjectMap<OOObjectReference<OOTexture>> textures =
+            new OOIntObjectMap<OOObjectReference<OOTexture>>();
     
     static OOTexture getTexture(int handle) {
-        return OOTexture.textures.get(handle);
+        OOObjectReference<OOTexture> reference = OOTexture.textures.get(handle);
+        return reference == null ? null : reference.get();
     }
     
     private int handle;
@@ -59,17 +57,17 @@ public class OOTexture implements OOFramebufferAttachmentObject {
      * @see OOGLES20Texture#bind
      * @see OOGLES20Texture#unbind
      * @see OOGLES20Framebuffer#copyToTextureImage2D
-     * @see #finalize
+     * @see #delete
      * @see OOGLES20TextureImage#setImage2D
+     * @see OOGLES20#textureNames
      */
     public OOTexture() {
-        IntBuffer handles = OOGLES20.createIntBuffer(1);
-        OOGLES20.backEnd.glGenTextures(1, handles);
-        if (handles.get(0) == 0) {
+        this.handle = OOGLES20.textureNames.obtain();
+        if (this.handle == 0) {
             throw new OOErrorOccuredCreatingObjectException();
         }
-        this.handle = handles.get(0);
-        OOTexture.textures.put(this.handle, this);
+        OOTexture.textures.put(this.handle,
+                new OOObjectReference<OOTexture>(this, OOObjectReference.TEXTURE, this.handle));
     }
     
     /**
@@ -96,16 +94,20 @@ public class OOTexture implements OOFramebufferAttachmentObject {
      */
     public void delete() {
         if (this.handle != 0) {
-            IntBuffer handles = OOGLES20.createIntBuffer(new int[] { this.handle });
-            OOGLES20.backEnd.glDeleteTextures(1, handles);
-            OOTexture.textures.remove(this.handle);
+            OOTexture.deleteHandles(new int[] { this.handle }, 1);
             this.handle = 0;
         }
     }
     
-    @Override
-    protected void finalize() throws Throwable {
-        this.delete();
-        super.finalize();
+    static void deleteHandles(int[] handles, int count) {
+        for (int i = 0; i < count; ++i) {
+            OOObjectReference<OOTexture> reference = OOTexture.textures.remove(handles[i]);
+            if (reference != null) {
+                reference.deleted = true;
+                reference.clear();
+            }
+            OOGLES20.textureDeleted(handles[i]);
+        }
+        OOGLES20.backEnd.glDeleteTextures(count, OOGLES20.scratchIntBuffer(handles, 0, count));
     }
 }
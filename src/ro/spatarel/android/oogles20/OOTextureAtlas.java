@@ -0,0 +1,426 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.Buffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import android.graphics.Bitmap;
+
+/**
+ * <p>Class packing many small images (glyphs, icons, UI images) into a few shared textures, so that they can be drawn
+ * in the same batch.</p>
+ * 
+ * <p>Every page is a texture of a fixed size. Rectangles are packed online, in the order they are added, with a
+ * bottom-left skyline allocator, and their texels are uploaded with {@link OOGLES20TextureImage#setSubImage2D}. When no
+ * page has room, a new page is created, up to the maximum number of pages; after that, the least recently used page is
+ * evicted: all its regions become invalid and it is packed again from scratch. Pages used during the current frame
+ * (see {@link #touch} and {@link #endFrame}) are never evicted. A skyline cannot free single rectangles, so eviction
+ * works on whole pages.</p>
+ * 
+ * <p>Pages are bound, and texels uploaded, through texture unit {@code 0}. Images given as buffers are read as tightly
+ * packed rows: when the current unpack alignment (see {@link OOGLES20#setPixelAlignment}) does not divide the size of a
+ * row, it is set to {@code 1} for the upload and restored afterwards.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOTextureAtlas {
+    
+    private static class Page {
+        
+        private OOTexture texture;
+        private int[] nodesX = new int[16];
+        private int[] nodesY = new int[16];
+        private int[] nodesWidth = new int[16];
+        private int nodesCount;
+        private long usedArea;
+        private int lastUsedFrame;
+        private final List<OOTextureRegion> regions = new ArrayList<OOTextureRegion>();
+    }
+    
+    private final int pageWidth;
+    private final int pageHeight;
+    private final int maximumPages;
+    private final OOTexelFormat format;
+    private final OOPixelDataType type;
+    private final int padding;
+    private final int texelSize;
+    
+    private final List<Page> pages = new ArrayList<Page>();
+    
+    private int frame = 0;
+    private int frameUploadBytesCount = 0;
+    private int lastFrameUploadBytesCount = 0;
+    private int evictionsCount = 0;
+    
+    private int foundX;
+    private int foundY;
+    private int foundNode;
+    
+    /**
+     * <p>Creates an {@link OOTexelFormat#RGBA}, {@link OOPixelDataType#UNSIGNED_BYTE} atlas with one texel of padding
+     * between regions.</p>
+     * 
+     * @param pageWidth The width of every page, in texels.
+     * @param pageHeight The height of every page, in texels.
+     * @param maximumPages The maximum number of pages; at least {@code 1}.
+     */
+    public OOTextureAtlas(int pageWidth, int pageHeight, int maximumPages) {
+        this(pageWidth, pageHeight, maximumPages, OOTexelFormat.RGBA, OOPixelDataType.UNSIGNED_BYTE, 1);
+    }
+    
+    /**
+     * <p>Creates an atlas. No page is created before the first region is added.</p>
+     * 
+     * @param pageWidth The width of every page, in texels.
+     * @param pageHeight The height of every page, in texels.
+     * @param maximumPages The maximum number of pages; at least {@code 1}.
+     * @param format The format of the pages and of the uploaded texels.
+     * @param type The data type of the uploaded texels.
+     * @param padding The number of texels left empty to the right of and below every region, to avoid bleeding
+     * under filtering.
+     */
+    public OOTextureAtlas(int pageWidth, int pageHeight, int maximumPages, OOTexelFormat format, OOPixelDataType type,
+            int padding) {
+        if (pageWidth < 1 || pageHeight < 1) {
+            throw new IllegalArgumentException("The page size must be positive.");
+        }
+        if (maximumPages < 1) {
+            throw new IllegalArgumentException("maximumPages < 1");
+        }
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        this.maximumPages = maximumPages;
+        this.format = format;
+        this.type = type;
+        this.padding = Math.max(0, padding);
+        this.texelSize = OOTextureAtlas.getTexelSize(format, type);
+    }
+    
+    static int getTexelSize(OOTexelFormat format, OOPixelDataType type) {
+        if (type != OOPixelDataType.UNSIGNED_BYTE) {
+            return 2;
+        }
+        switch (format) {
+            case ALPHA:
+            case LUMINANCE:
+                return 1;
+            case LUMINANCE_ALPHA:
+                return 2;
+            case RGB:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+    
+    /**
+     * <p>Adds an image to the atlas and uploads its texels.</p>
+     * 
+     * @param width The width of the image, in texels.
+     * @param height The height of the image, in texels.
+     * @param data The texels, in the format and data type of the atlas, in tightly packed rows.
+     * @return The region of the image, or {@code null} if every page is full and was used during the current frame.
+     * @throws IllegalArgumentException If the image, with its padding, is larger than a page.
+     */
+    public OOTextureRegion add(int width, int height, Buffer data) {
+        OOTextureRegion region = this.allocate(width, height);
+        if (region != null) {
+            OOGLES20.textureUnit(0).tex2D.bind(region.getTexture());
+            int alignment = OOGLES20.alignUnpackRows(width * this.texelSize);
+            OOGLES20.textureUnit(0).tex2D.tex2D.setSubImage2D(0, region.getX(), region.getY(), width, height,
+                    this.format, this.type, data);
+            OOGLES20.restoreUnpackAlignment(alignment);
+            this.frameUploadBytesCount += width * height * this.texelSize;
+        }
+        return region;
+    }
+    
+    /**
+     * <p>Adds a bitmap to the atlas and uploads its texels.</p>
+     * 
+     * @param bitmap The bitmap; it is converted to the format and data type of the atlas.
+     * @return The region of the bitmap, or {@code null} if every page is full and was used during the current frame.
+     * @throws IllegalArgumentException If the bitmap, with its padding, is larger than a page.
+     */
+    public OOTextureRegion add(Bitmap bitmap) {
+        OOTextureRegion region = this.allocate(bitmap.getWidth(), bitmap.getHeight());
+        if (region != null) {
+            OOGLES20.textureUnit(0).tex2D.bind(region.getTexture());
+            OOGLES20.textureUnit(0).tex2D.tex2D.setSubImage2D(0, region.getX(), region.getY(), bitmap, this.format,
+                    this.type);
+            this.frameUploadBytesCount += bitmap.getWidth() * bitmap.getHeight() * this.texelSize;
+        }
+        return region;
+    }
+    
+    /**
+     * <p>Marks a region as used during the current frame, which keeps its page from being evicted until the next
+     * {@link #endFrame}.</p>
+     * 
+     * @param region A region of this atlas.
+     * @return {@code true} if the region is still valid, {@code false} if it was evicted and has to be added again.
+     */
+    public boolean touch(OOTextureRegion region) {
+        if (!region.valid) {
+            return false;
+        }
+        this.pages.get(region.page).lastUsedFrame = this.frame;
+        return true;
+    }
+    
+    /**
+     * <p>Ends the current frame: the upload counter restarts and pages used so far become candidates for eviction.</p>
+     */
+    public void endFrame() {
+        ++this.frame;
+        this.lastFrameUploadBytesCount = this.frameUploadBytesCount;
+        this.frameUploadBytesCount = 0;
+    }
+    
+    private OOTextureRegion allocate(int width, int height) {
+        int paddedWidth = width + this.padding;
+        int paddedHeight = height + this.padding;
+        if (width < 0 || height < 0 || paddedWidth > this.pageWidth || paddedHeight > this.pageHeight) {
+            throw new IllegalArgumentException("The region does not fit in a page.");
+        }
+        for (int i = 0; i < this.pages.size(); ++i) {
+            if (this.find(this.pages.get(i), paddedWidth, paddedHeight)) {
+                return this.place(i, width, height, paddedWidth, paddedHeight);
+            }
+        }
+        int index;
+        if (this.pages.size() < this.maximumPages) {
+            index = this.pages.size();
+            this.pages.add(this.createPage());
+        } else {
+            index = -1;
+            for (int i = 0; i < this.pages.size(); ++i) {
+                Page page = this.pages.get(i);
+                if (page.lastUsedFrame < this.frame
+                        && (index < 0 || page.lastUsedFrame < this.pages.get(index).lastUsedFrame)) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                return null;
+            }
+            this.reset(this.pages.get(index));
+            ++this.evictionsCount;
+        }
+        this.find(this.pages.get(index), paddedWidth, paddedHeight);
+        return this.place(index, width, height, paddedWidth, paddedHeight);
+    }
+    
+    private Page createPage() {
+        Page page = new Page();
+        page.texture = new OOTexture();
+        OOGLES20Texture2D target = OOGLES20.textureUnit(0).tex2D;
+        target.bind(page.texture);
+        target.setMinificationFilter(OOTextureMinificationFilter.LINEAR);
+        target.setMagnificationFilter(OOTextureMagnificationFilter.LINEAR);
+        target.setWrapS(OOTextureWrapMode.CLAMP_TO_EDGE);
+        target.setWrapT(OOTextureWrapMode.CLAMP_TO_EDGE);
+        target.tex2D.setImage2D(0, this.format, this.pageWidth, this.pageHeight, this.type, null);
+        this.reset(page);
+        return page;
+    }
+    
+    private void reset(Page page) {
+        for (OOTextureRegion region : page.regions) {
+            region.valid = false;
+        }
+        page.regions.clear();
+        page.nodesCount = 1;
+        page.nodesX[0] = 0;
+        page.nodesY[0] = 0;
+        page.nodesWidth[0] = this.pageWidth;
+        page.usedArea = 0;
+    }
+    
+    private boolean find(Page page, int width, int height) {
+        int bestTop = Integer.MAX_VALUE;
+        int bestWidth = Integer.MAX_VALUE;
+        this.foundNode = -1;
+        for (int i = 0; i < page.nodesCount && page.nodesX[i] + width <= this.pageWidth; ++i) {
+            int y = 0;
+            int remaining = width;
+            for (int j = i; remaining > 0; ++j) {
+                y = Math.max(y, page.nodesY[j]);
+                remaining -= page.nodesWidth[j];
+            }
+            if (y + height > this.pageHeight) {
+                continue;
+            }
+            if (y + height < bestTop || (y + height == bestTop && page.nodesWidth[i] < bestWidth)) {
+                bestTop = y + height;
+                bestWidth = page.nodesWidth[i];
+                this.foundNode = i;
+                this.foundX = page.nodesX[i];
+                this.foundY = y;
+            }
+        }
+        return this.foundNode >= 0;
+    }
+    
+    private OOTextureRegion place(int index, int width, int height, int paddedWidth, int paddedHeight) {
+        Page page = this.pages.get(index);
+        int node = this.foundNode;
+        if (page.nodesCount == page.nodesX.length) {
+            page.nodesX = Arrays.copyOf(page.nodesX, 2 * page.nodesCount);
+            page.nodesY = Arrays.copyOf(page.nodesY, 2 * page.nodesCount);
+            page.nodesWidth = Arrays.copyOf(page.nodesWidth, 2 * page.nodesCount);
+        }
+        System.arraycopy(page.nodesX, node, page.nodesX, node + 1, page.nodesCount - node);
+        System.arraycopy(page.nodesY, node, page.nodesY, node + 1, page.nodesCount - node);
+        System.arraycopy(page.nodesWidth, node, page.nodesWidth, node + 1, page.nodesCount - node);
+        ++page.nodesCount;
+        page.nodesX[node] = this.foundX;
+        page.nodesY[node] = this.foundY + paddedHeight;
+        page.nodesWidth[node] = paddedWidth;
+        int end = this.foundX + paddedWidth;
+        int i = node + 1;
+        while (i < page.nodesCount && page.nodesX[i] < end) {
+            int shrink = end - page.nodesX[i];
+            if (page.nodesWidth[i] <= shrink) {
+                this.removeNode(page, i);
+            } else {
+                page.nodesX[i] += shrink;
+                page.nodesWidth[i] -= shrink;
+                break;
+            }
+        }
+        i = 0;
+        while (i < page.nodesCount - 1) {
+            if (page.nodesY[i] == page.nodesY[i + 1]) {
+                page.nodesWidth[i] += page.nodesWidth[i + 1];
+                this.removeNode(page, i + 1);
+            } else {
+                ++i;
+            }
+        }
+        page.usedArea += (long) width * height;
+        page.lastUsedFrame = this.frame;
+        OOTextureRegion region = new OOTextureRegion(index, page.texture, this.foundX, this.foundY, width, height,
+                this.pageWidth, this.pageHeight);
+        page.regions.add(region);
+        return region;
+    }
+    
+    private void removeNode(Page page, int node) {
+        System.arraycopy(page.nodesX, node + 1, page.nodesX, node, page.nodesCount - node - 1);
+        System.arraycopy(page.nodesY, node + 1, page.nodesY, node, page.nodesCount - node - 1);
+        System.arraycopy(page.nodesWidth, node + 1, page.nodesWidth, node, page.nodesCount - node - 1);
+        --page.nodesCount;
+    }
+    
+    /**
+     * <p>Invalidates all the regions; the pages are kept and packed again from scratch.</p>
+     */
+    public void clear() {
+        for (Page page : this.pages) {
+            this.reset(page);
+        }
+    }
+    
+    /**
+     * <p>Invalidates all the regions and deletes the textures of all the pages.</p>
+     */
+    public void delete() {
+        for (Page page : this.pages) {
+            this.reset(page);
+            page.texture.delete();
+        }
+        this.pages.clear();
+    }
+    
+    /**
+     * <p>Returns the number of pages created.</p>
+     * 
+     * @return The number of pages created.
+     */
+    public int getPagesCount() {
+        return this.pages.size();
+    }
+    
+    /**
+     * <p>Returns the texture of a page.</p>
+     * 
+     * @param page The index of the page, in the range {@code [0, getPagesCount())}.
+     * @return The texture of the page.
+     */
+    public OOTexture getTexture(int page) {
+        return this.pages.get(page).texture;
+    }
+    
+    /**
+     * <p>Returns the number of valid regions.</p>
+     * 
+     * @return The number of valid regions.
+     */
+    public int getRegionsCount() {
+        int regionsCount = 0;
+        for (Page page : this.pages) {
+            regionsCount += page.regions.size();
+        }
+        return regionsCount;
+    }
+    
+    /**
+     * <p>Returns the fraction of the texels of all the pages covered by valid regions (padding excluded).</p>
+     * 
+     * @return The packing efficiency, in the range {@code [0, 1]}; {@code 0} when there are no pages.
+     */
+    public float getPackingEfficiency() {
+        if (this.pages.isEmpty()) {
+            return 0.0f;
+        }
+        long usedArea = 0;
+        for (Page page : this.pages) {
+            usedArea += page.usedArea;
+        }
+        return (float) usedArea / ((long) this.pages.size() * this.pageWidth * this.pageHeight);
+    }
+    
+    /**
+     * <p>Returns the number of bytes uploaded since the last {@link #endFrame}.</p>
+     * 
+     * @return The number of bytes uploaded during the current frame.
+     */
+    public int getFrameUploadBytesCount() {
+        return this.frameUploadBytesCount;
+    }
+    
+    /**
+     * <p>Returns the number of bytes uploaded during the last complete frame.</p>
+     * 
+     * @return The number of bytes uploaded during the last complete frame.
+     */
+    public int getLastFrameUploadBytesCount() {
+        return this.lastFrameUploadBytesCount;
+    }
+    
+    /**
+     * <p>Returns the number of pages evicted since the atlas was created.</p>
+     * 
+     * @return The number of pages evicted.
+     */
+    public int getEvictionsCount() {
+        return this.evictionsCount;
+    }
+}
@@ -191,13 +191,18 @@ public enum OOTextureCubeMapFace {
     
     private final int glConstant;
     
-    static OOTextureCubeMapFace valueOf(int value) {
+    private static final OOIntObjectMap<OOTextureCubeMapFace> glConstants = new OOIntObjectMap<OOTextureCubeMapFace>();
+    
+    static {
         for (OOTextureCubeMapFace someValue : OOTextureCubeMapFace.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOTextureCubeMapFace.glConstants.containsKey(someValue.getGLConstant())) {
+                OOTextureCubeMapFace.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOTextureCubeMapFace valueOf(int value) {
+        return OOTextureCubeMapFace.glConstants.get(value);
     }
     
     OOTextureCubeMapFace(int value) {
@@ -204,6 +204,21 @@ public enum OOTextureImageTarget {
     
     private final int glConstant;
     
+    private static final OOIntObjectMap<OOTextureImageTarget> glConstants =
+            new OOIntObjectMap<OOTextureImageTarget>();
+    
+    static {
+        for (OOTextureImageTarget someValue : OOTextureImageTarget.values()) {
+            if (!OOTextureImageTarget.glConstants.containsKey(someValue.getGLConstant())) {
+                OOTextureImageTarget.glConstants.put(someValue.getGLConstant(), someValue);
+            }
+        }
+    }
+    
+    static OOTextureImageTarget valueOf(int value) {
+        return OOTextureImageTarget.glConstants.get(value);
+    }
+    
     OOTextureImageTarget(int value) {
         this.glConstant = value;
     }
@@ -51,13 +51,19 @@ public enum OOTextureMagnificationFilter {
     
     private final int glConstant;
     
-    static OOTextureMagnificationFilter valueOf(int value) {
+    private static final OOIntObjectMap<OOTextureMagnificationFilter> glConstants =
+            new OOIntObjectMap<OOTextureMagnificationFilter>();
+    
+    static {
         for (OOTextureMagnificationFilter someValue : OOTextureMagnificationFilter.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOTextureMagnificationFilter.glConstants.containsKey(someValue.getGLConstant())) {
+                OOTextureMagnificationFilter.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOTextureMagnificationFilter valueOf(int value) {
+        return OOTextureMagnificationFilter.glConstants.get(value);
     }
     
     OOTextureMagnificationFilter(int value) {
@@ -112,13 +112,19 @@ public enum OOTextureMinificationFilter {
     
     private final int glConstant;
     
-    static OOTextureMinificationFilter valueOf(int value) {
+    private static final OOIntObjectMap<OOTextureMinificationFilter> glConstants =
+            new OOIntObjectMap<OOTextureMinificationFilter>();
+    
+    static {
         for (OOTextureMinificationFilter someValue : OOTextureMinificationFilter.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOTextureMinificationFilter.glConstants.containsKey(someValue.getGLConstant())) {
+                OOTextureMinificationFilter.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOTextureMinificationFilter valueOf(int value) {
+        return OOTextureMinificationFilter.glConstants.get(value);
     }
     
     OOTextureMinificationFilter(int value) {
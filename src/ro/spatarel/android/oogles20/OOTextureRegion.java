@@ -0,0 +1,150 @@
+package ro.spatarel.android.oogles20;
+
+/**
+ * <p>A rectangle of texels allocated in a page of an {@link OOTextureAtlas}, with its texture coordinates. A region
+ * stops being valid when its page is evicted.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOTextureRegion {
+    
+    final int page;
+    private final OOTexture texture;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final float u0;
+    private final float v0;
+    private final float u1;
+    private final float v1;
+    boolean valid = true;
+    
+    OOTextureRegion(int page, OOTexture texture, int x, int y, int width, int height, int pageWidth,
+            int pageHeight) {
+        this.page = page;
+        this.texture = texture;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.u0 = (float) x / pageWidth;
+        this.v0 = (float) y / pageHeight;
+        this.u1 = (float) (x + width) / pageWidth;
+        this.v1 = (float) (y + height) / pageHeight;
+    }
+    
+    /**
+     * <p>Returns whether the region still holds its texels.</p>
+     * 
+     * @return {@code false} if the page of the region was evicted or the atlas was cleared, {@code true} otherwise.
+     */
+    public boolean isValid() {
+        return this.valid;
+    }
+    
+    /**
+     * <p>Returns the index of the atlas page holding the region.</p>
+     * 
+     * @return The index of the atlas page.
+     */
+    public int getPage() {
+        return this.page;
+    }
+    
+    /**
+     * <p>Returns the texture of the atlas page holding the region.</p>
+     * 
+     * @return The texture of the atlas page.
+     */
+    public OOTexture getTexture() {
+        return this.texture;
+    }
+    
+    /**
+     * <p>Returns the x coordinate of the region inside the page, in texels.</p>
+     * 
+     * @return The x coordinate of the region.
+     */
+    public int getX() {
+        return this.x;
+    }
+    
+    /**
+     * <p>Returns the y coordinate of the region inside the page, in texels.</p>
+     * 
+     * @return The y coordinate of the region.
+     */
+    public int getY() {
+        return this.y;
+    }
+    
+    /**
+     * <p>Returns the width of the region, in texels.</p>
+     * 
+     * @return The width of the region.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+    
+    /**
+     * <p>Returns the height of the region, in texels.</p>
+     * 
+     * @return The height of the region.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+    
+    /**
+     * <p>Returns the s texture coordinate of the left edge of the region.</p>
+     * 
+     * @return The s texture coordinate of the left edge.
+     */
+    public float getU0() {
+        return this.u0;
+    }
+    
+    /**
+     * <p>Returns the t texture coordinate of the first row of the region.</p>
+     * 
+     * @return The t texture coordinate of the first row.
+     */
+    public float getV0() {
+        return this.v0;
+    }
+    
+    /**
+     * <p>Returns the s texture coordinate of the right edge of the region.</p>
+     * 
+     * @return The s texture coordinate of the right edge.
+     */
+    public float getU1() {
+        return this.u1;
+    }
+    
+    /**
+     * <p>Returns the t texture coordinate past the last row of the region.</p>
+     * 
+     * @return The t texture coordinate past the last row.
+     */
+    public float getV1() {
+        return this.v1;
+    }
+}
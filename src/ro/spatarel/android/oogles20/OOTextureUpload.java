@@ -0,0 +1,157 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>A texture upload queued on an {@link OOTextureUploader}. The upload is a {@link Future} of the texture, which
+ * completes when the texture is fully resident.</p>
+ * 
+ * <p>{@link #get} blocks until the upload completes; it must not be called on the GL thread, which is the one doing
+ * the upload.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOTextureUpload implements Future<OOTexture> {
+    
+    private static final int QUEUED = 0;
+    private static final int COMPLETED = 1;
+    private static final int CANCELLED = 2;
+    
+    final OOTexelFormat format;
+    final OOPixelDataType type;
+    final int width;
+    final int height;
+    final ByteBuffer pixels;
+    final int rowBytes;
+    final OOTextureUploadListener listener;
+    
+    OOTexture texture = null;
+    int uploadedRows = 0;
+    
+    private int state = OOTextureUpload.QUEUED;
+    private final CountDownLatch latch = new CountDownLatch(1);
+    
+    OOTextureUpload(OOTexelFormat format, OOPixelDataType type, int width, int height, ByteBuffer pixels,
+            OOTextureUploadListener listener) {
+        this.format = format;
+        this.type = type;
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+        this.rowBytes = width * OOTextureAtlas.getTexelSize(format, type);
+        this.listener = listener;
+    }
+    
+    synchronized boolean complete() {
+        if (this.state != OOTextureUpload.QUEUED) {
+            return false;
+        }
+        this.state = OOTextureUpload.COMPLETED;
+        this.latch.countDown();
+        return true;
+    }
+    
+    /**
+     * <p>Returns the width of the texture, in texels.</p>
+     * 
+     * @return The width of the texture.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+    
+    /**
+     * <p>Returns the height of the texture, in texels.</p>
+     * 
+     * @return The height of the texture.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+    
+    /**
+     * <p>Returns the number of rows uploaded so far.</p>
+     * 
+     * @return The number of rows uploaded so far.
+     */
+    public int getUploadedRowsCount() {
+        return this.uploadedRows;
+    }
+    
+    /**
+     * <p>Returns the texture, once it is fully resident.</p>
+     * 
+     * @return The texture, or {@code null} if the upload is not completed.
+     */
+    public synchronized OOTexture getTexture() {
+        return this.state == OOTextureUpload.COMPLETED ? this.texture : null;
+    }
+    
+    /**
+     * <p>Cancels the upload, unless it is already completed. A partially uploaded texture is deleted by the next
+     * {@link OOTextureUploader#process}.</p>
+     * 
+     * @param mayInterruptIfRunning Ignored; the upload is never interrupted in the middle of a row band.
+     * @return {@code true} if the upload was cancelled, {@code false} if it was already completed or cancelled.
+     */
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+        if (this.state != OOTextureUpload.QUEUED) {
+            return false;
+        }
+        this.state = OOTextureUpload.CANCELLED;
+        this.latch.countDown();
+        return true;
+    }
+    
+    @Override
+    public synchronized boolean isCancelled() {
+        return this.state == OOTextureUpload.CANCELLED;
+    }
+    
+    @Override
+    public synchronized boolean isDone() {
+        return this.state != OOTextureUpload.QUEUED;
+    }
+    
+    @Override
+    public OOTexture get() throws InterruptedException {
+        this.latch.await();
+        return this.getResult();
+    }
+    
+    @Override
+    public OOTexture get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        if (!this.latch.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return this.getResult();
+    }
+    
+    private synchronized OOTexture getResult() {
+        if (this.state == OOTextureUpload.CANCELLED) {
+            throw new CancellationException();
+        }
+        return this.texture;
+    }
+}
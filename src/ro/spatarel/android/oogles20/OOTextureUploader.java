@@ -0,0 +1,310 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Class spreading texture uploads over several frames, to avoid the hitch of a single large
+ * {@link OOGLES20TextureImage#setImage2D}.</p>
+ * 
+ * <p>Worker threads {@link #submit} decoded pixel buffers; the queue is lock-free. Once per frame, the GL thread calls
+ * {@link #process}, which allocates the textures and uploads their rows in bands with
+ * {@link OOGLES20TextureImage#setSubImage2D}, until the byte budget or the time budget of the frame is used up. At
+ * least one band is uploaded per call, so every upload makes progress. When the last band of a texture is uploaded, its
+ * {@link OOTextureUpload} completes and its listener, if any, is called.</p>
+ * 
+ * <p>The pixel rows must be tightly packed, starting at the position of the buffer; when the current unpack alignment
+ * does not divide the size of a row, {@link #process} sets it to {@code 1} while uploading and restores it afterwards.
+ * Textures are bound through
+ * texture unit {@code 0} and created with {@link OOTextureMinificationFilter#LINEAR},
+ * {@link OOTextureMagnificationFilter#LINEAR} and {@link OOTextureWrapMode#CLAMP_TO_EDGE}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOTextureUploader {
+    
+    private final ConcurrentLinkedQueue<OOTextureUpload> queue = new ConcurrentLinkedQueue<OOTextureUpload>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private OOTextureUpload current = null;
+    
+    private int bytesBudget;
+    private long nanosBudget;
+    private int bandBytes = 64 * 1024;
+    
+    private int maximumQueueDepth = 0;
+    private int lastFrameBytesCount = 0;
+    private long lastFrameNanos = 0;
+    private int budgetOverrunsCount = 0;
+    private long maximumOverrunNanos = 0;
+    private int completedCount = 0;
+    
+    /**
+     * <p>Creates a texture uploader.</p>
+     * 
+     * @param bytesBudget The maximum number of bytes uploaded per frame; positive.
+     * @param nanosBudget The maximum time spent uploading per frame, in nanoseconds; positive.
+     * @throws IllegalArgumentException If a budget is not positive.
+     */
+    public OOTextureUploader(int bytesBudget, long nanosBudget) {
+        this.setBytesBudget(bytesBudget);
+        this.setNanosBudget(nanosBudget);
+    }
+    
+    /**
+     * <p>Queues a texture upload. May be called from any thread.</p>
+     * 
+     * @param format The format of the texture and of the pixels.
+     * @param type The data type of the pixels.
+     * @param width The width of the texture, in texels.
+     * @param height The height of the texture, in texels.
+     * @param pixels A direct buffer with the tightly packed rows, starting at its position; it must not be modified
+     * until the upload completes.
+     * @param listener The listener called on the GL thread when the texture is fully resident, or {@code null}.
+     * @return The upload, which completes when the texture is fully resident.
+     */
+    public OOTextureUpload submit(OOTexelFormat format, OOPixelDataType type, int width, int height,
+            ByteBuffer pixels, OOTextureUploadListener listener) {
+        OOTextureUpload upload = new OOTextureUpload(format, type, width, height, pixels, listener);
+        if (pixels.remaining() < upload.rowBytes * height) {
+            throw new IllegalArgumentException("pixels.remaining() < width * height * texel size");
+        }
+        this.queueDepth.incrementAndGet();
+        this.queue.add(upload);
+        return upload;
+    }
+    
+    /**
+     * <p>Uploads row bands of the queued textures, within the budgets of one frame. Must be called on the GL
+     * thread.</p>
+     */
+    public void process() {
+        long start = System.nanoTime();
+        int depth = this.queueDepth.get();
+        this.maximumQueueDepth = Math.max(this.maximumQueueDepth, depth);
+        int bytesCount = 0;
+        long elapsed = 0;
+        int alignment = OOGLES20.UNKNOWN_HANDLE;
+        while (bytesCount < this.bytesBudget && elapsed < this.nanosBudget) {
+            if (this.current == null) {
+                this.current = this.queue.poll();
+                if (this.current == null) {
+                    break;
+                }
+            }
+            OOTextureUpload upload = this.current;
+            if (upload.isCancelled()) {
+                this.finish(upload);
+                continue;
+            }
+            OOGLES20Texture2D target = OOGLES20.textureUnit(0).tex2D;
+            if (upload.texture == null) {
+                upload.texture = new OOTexture();
+                target.bind(upload.texture);
+                target.setMinificationFilter(OOTextureMinificationFilter.LINEAR);
+                target.setMagnificationFilter(OOTextureMagnificationFilter.LINEAR);
+                target.setWrapS(OOTextureWrapMode.CLAMP_TO_EDGE);
+                target.setWrapT(OOTextureWrapMode.CLAMP_TO_EDGE);
+                target.tex2D.setImage2D(0, upload.format, upload.width, upload.height, upload.type, null);
+            } else {
+                target.bind(upload.texture);
+            }
+            int previousAlignment = OOGLES20.alignUnpackRows(upload.rowBytes);
+            if (alignment == OOGLES20.UNKNOWN_HANDLE) {
+                alignment = previousAlignment;
+            }
+            int bandBytes = Math.max(0, Math.min(this.bandBytes, this.bytesBudget - bytesCount));
+            int rows = Math.max(1, bandBytes / Math.max(1, upload.rowBytes));
+            rows = Math.min(rows, upload.height - upload.uploadedRows);
+            ByteBuffer band = upload.pixels.duplicate();
+            band.position(upload.pixels.position() + upload.uploadedRows * upload.rowBytes);
+            target.tex2D.setSubImage2D(0, 0, upload.uploadedRows, upload.width, rows, upload.format, upload.type,
+                    band);
+            upload.uploadedRows += rows;
+            bytesCount += rows * upload.rowBytes;
+            if (upload.uploadedRows == upload.height) {
+                if (upload.complete()) {
+                    ++this.completedCount;
+                    if (upload.listener != null) {
+                        upload.listener.textureUploaded(upload);
+                    }
+                }
+                this.finish(upload);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        if (alignment != OOGLES20.UNKNOWN_HANDLE) {
+            OOGLES20.restoreUnpackAlignment(alignment);
+        }
+        elapsed = System.nanoTime() - start;
+        this.lastFrameBytesCount = bytesCount;
+        this.lastFrameNanos = elapsed;
+        if (bytesCount > this.bytesBudget || elapsed > this.nanosBudget) {
+            ++this.budgetOverrunsCount;
+            this.maximumOverrunNanos = Math.max(this.maximumOverrunNanos, elapsed - this.nanosBudget);
+        }
+    }
+    
+    private void finish(OOTextureUpload upload) {
+        if (upload.isCancelled() && upload.texture != null) {
+            upload.texture.delete();
+            upload.texture = null;
+        }
+        this.current = null;
+        this.queueDepth.decrementAndGet();
+    }
+    
+    /**
+     * <p>Returns the maximum number of bytes uploaded per frame.</p>
+     * 
+     * @return The byte budget.
+     */
+    public int getBytesBudget() {
+        return this.bytesBudget;
+    }
+    
+    /**
+     * <p>Sets the maximum number of bytes uploaded per frame.</p>
+     * 
+     * @param bytesBudget The byte budget; positive.
+     * @throws IllegalArgumentException If the budget is not positive.
+     */
+    public void setBytesBudget(int bytesBudget) {
+        if (bytesBudget <= 0) {
+            throw new IllegalArgumentException("bytesBudget <= 0");
+        }
+        this.bytesBudget = bytesBudget;
+    }
+    
+    /**
+     * <p>Returns the maximum time spent uploading per frame, in nanoseconds.</p>
+     * 
+     * @return The time budget.
+     */
+    public long getNanosBudget() {
+        return this.nanosBudget;
+    }
+    
+    /**
+     * <p>Sets the maximum time spent uploading per frame, in nanoseconds.</p>
+     * 
+     * @param nanosBudget The time budget; positive.
+     * @throws IllegalArgumentException If the budget is not positive.
+     */
+    public void setNanosBudget(long nanosBudget) {
+        if (nanosBudget <= 0) {
+            throw new IllegalArgumentException("nanosBudget <= 0");
+        }
+        this.nanosBudget = nanosBudget;
+    }
+    
+    /**
+     * <p>Returns the maximum size of a row band, in bytes; the default is {@code 65536}. A band holds at least one
+     * row.</p>
+     * 
+     * @return The maximum size of a row band.
+     */
+    public int getBandBytes() {
+        return this.bandBytes;
+    }
+    
+    /**
+     * <p>Sets the maximum size of a row band, in bytes. Smaller bands follow the time budget more closely, at the
+     * price of more calls.</p>
+     * 
+     * @param bandBytes The maximum size of a row band.
+     */
+    public void setBandBytes(int bandBytes) {
+        this.bandBytes = bandBytes;
+    }
+    
+    /**
+     * <p>Returns the number of uploads submitted and not yet completed or discarded, including the one in
+     * progress.</p>
+     * 
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+    
+    /**
+     * <p>Returns the largest queue depth seen by {@link #process} since the last {@link #resetCounters}.</p>
+     * 
+     * @return The maximum queue depth.
+     */
+    public int getMaximumQueueDepth() {
+        return this.maximumQueueDepth;
+    }
+    
+    /**
+     * <p>Returns the number of bytes uploaded by the last {@link #process}.</p>
+     * 
+     * @return The number of bytes uploaded by the last {@link #process}.
+     */
+    public int getLastFrameBytesCount() {
+        return this.lastFrameBytesCount;
+    }
+    
+    /**
+     * <p>Returns the time spent in the last {@link #process}, in nanoseconds.</p>
+     * 
+     * @return The time spent in the last {@link #process}.
+     */
+    public long getLastFrameNanos() {
+        return this.lastFrameNanos;
+    }
+    
+    /**
+     * <p>Returns the number of {@link #process} calls that exceeded the byte or the time budget since the last
+     * {@link #resetCounters}.</p>
+     * 
+     * @return The number of budget overruns.
+     */
+    public int getBudgetOverrunsCount() {
+        return this.budgetOverrunsCount;
+    }
+    
+    /**
+     * <p>Returns the largest excess over the time budget since the last {@link #resetCounters}, in nanoseconds.</p>
+     * 
+     * @return The largest time budget overrun.
+     */
+    public long getMaximumOverrunNanos() {
+        return this.maximumOverrunNanos;
+    }
+    
+    /**
+     * <p>Returns the number of uploads completed since the last {@link #resetCounters}.</p>
+     * 
+     * @return The number of uploads completed.
+     */
+    public int getCompletedCount() {
+        return this.completedCount;
+    }
+    
+    /**
+     * <p>Resets the maximum queue depth, the overrun counters and the completed uploads counter.</p>
+     */
+    public void resetCounters() {
+        this.maximumQueueDepth = 0;
+        this.budgetOverrunsCount = 0;
+        this.maximumOverrunNanos = 0;
+        this.completedCount = 0;
+    }
+}
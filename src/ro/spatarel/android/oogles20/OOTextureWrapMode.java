@@ -77,13 +77,18 @@ public enum OOTextureWrapMode {
     
     private final int glConstant;
     
-    static OOTextureWrapMode valueOf(int value) {
+    private static final OOIntObjectMap<OOTextureWrapMode> glConstants = new OOIntObjectMap<OOTextureWrapMode>();
+    
+    static {
         for (OOTextureWrapMode someValue : OOTextureWrapMode.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOTextureWrapMode.glConstants.containsKey(someValue.getGLConstant())) {
+                OOTextureWrapMode.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOTextureWrapMode valueOf(int value) {
+        return OOTextureWrapMode.glConstants.get(value);
     }
     
     OOTextureWrapMode(int value) {
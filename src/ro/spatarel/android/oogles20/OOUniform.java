@@ -27,14 +27,271 @@ public class OOUniform {
     
     private int handle;
     
+    private boolean valueCache = false;
+    private int valueCacheGeneration = -1;
+    private float[] cachedFloatValues = null;
+    private int cachedFloatValuesCount = -1;
+    private int[] cachedIntValues = null;
+    private int cachedIntValuesCount = -1;
+    // The setter of the cached value: the components of a vector, or minus the columns of a square matrix.
+    private int cachedKind = 0;
+    private int skippedUploadsCount = 0;
+    
+    // The uniform of the whole array, for array elements retrieved by name; null when the array was not reflected.
+    private OOUniform array = null;
+    private boolean arrayElement = false;
+    
+    private final String name;
+    private final OOUniformDataType type;
+    private final int size;
+    
+    int slot = -1;
+    
     OOUniform(int handle) {
+        this(handle, null, null, 0);
+    }
+    
+    OOUniform(int handle, String name, OOUniformDataType type, int size) {
         this.handle = handle;
+        this.name = name;
+        this.type = type;
+        this.size = size;
     }
     
     int getHandle() {
         return this.handle;
     }
     
+    /**
+     * <p>Returns the name of the uniform, as reported by the program reflection after a successful link.</p>
+     * 
+     * @return The name of the uniform, or {@code null} if the uniform was not found by the program reflection.
+     * 
+     * @see OOProgram#link
+     */
+    public String getName() {
+        return this.name;
+    }
+    
+    /**
+     * <p>Returns the data type of the uniform, as reported by the program reflection after a successful link.</p>
+     * 
+     * @return The data type of the uniform, or {@code null} if the uniform was not found by the program reflection.
+     * 
+     * @see OOProgram#link
+     */
+    public OOUniformDataType getType() {
+        return this.type;
+    }
+    
+    /**
+     * <p>Returns the size of the uniform, as reported by the program reflection after a successful link. The size is
+     * {@code 1} for uniforms that are not arrays.</p>
+     * 
+     * @return The size of the uniform, or {@code 0} if the uniform was not found by the program reflection.
+     * 
+     * @see OOProgram#link
+     */
+    public int getSize() {
+        return this.size;
+    }
+    
+    /**
+     * <p>Enables the value cache of this uniform.</p>
+     * 
+     * <p>While the value cache is enabled, the last value uploaded through this object is remembered and uploading
+     * the same value again does not reach the back end. The cache belongs to this uniform of this program only; it is
+     * forgotten when the program is linked again and when {@link OOGLES20#invalidateState} is called.</p>
+     * 
+     * <p>The cache assumes the values are uploaded while the program owning this uniform is the current program.
+     * Uniforms whose values change on every draw should keep the cache disabled, as the comparison would be wasted.
+     * </p>
+     * 
+     * <p>Array elements retrieved by name, such as {@code "a[1]"}, never use the cache; uploading them forgets the
+     * value remembered for the whole array.</p>
+     * 
+     * @see #disableValueCache
+     * @see OOProgram#enableUniformValueCache
+     */
+    public void enableValueCache() {
+        this.invalidateValueCache();
+        this.valueCache = true;
+    }
+    
+    /**
+     * <p>Disables the value cache of this uniform. All uploads are forwarded to the back end.</p>
+     * 
+     * @see #enableValueCache
+     */
+    public void disableValueCache() {
+        this.valueCache = false;
+        this.invalidateValueCache();
+    }
+    
+    /**
+     * <p>Returns whether the value cache of this uniform is enabled.</p>
+     * 
+     * @return {@code true} if the value cache is enabled, {@code false} otherwise.
+     * 
+     * @see #enableValueCache
+     */
+    public boolean isValueCacheEnabled() {
+        return this.valueCache;
+    }
+    
+    /**
+     * <p>Forgets the value remembered by the value cache of this uniform.</p>
+     */
+    public void invalidateValueCache() {
+        this.cachedFloatValuesCount = -1;
+        this.cachedIntValuesCount = -1;
+    }
+    
+    /**
+     * <p>Returns the number of uploads skipped by the value cache of this uniform.</p>
+     * 
+     * @return The number of skipped uploads.
+     */
+    public int getSkippedUploadsCount() {
+        return this.skippedUploadsCount;
+    }
+    
+    private boolean isValueCacheValid() {
+        if (this.valueCacheGeneration != OOGLES20.uniformValuesGeneration) {
+            this.valueCacheGeneration = OOGLES20.uniformValuesGeneration;
+            this.invalidateValueCache();
+            return false;
+        }
+        return true;
+    }
+    
+    void setArrayElement(OOUniform array) {
+        this.arrayElement = true;
+        this.array = array;
+    }
+    
+    private boolean isValueCacheUsable() {
+        if (this.arrayElement) {
+            // The element aliases part of the array value; neither cache can tell what the other uploaded.
+            if (this.array != null) {
+                this.array.invalidateValueCache();
+            }
+            return false;
+        }
+        return this.valueCache;
+    }
+    
+    private void prepareFloatValues(int kind, int count) {
+        if (this.cachedFloatValues == null || this.cachedFloatValues.length < count) {
+            this.cachedFloatValues = new float[Math.max(count, 4)];
+        }
+        this.cachedKind = kind;
+        this.cachedFloatValuesCount = count;
+        this.cachedIntValuesCount = -1;
+    }
+    
+    private void prepareIntValues(int kind, int count) {
+        if (this.cachedIntValues == null || this.cachedIntValues.length < count) {
+            this.cachedIntValues = new int[Math.max(count, 4)];
+        }
+        this.cachedKind = kind;
+        this.cachedIntValuesCount = count;
+        this.cachedFloatValuesCount = -1;
+    }
+    
+    // Floats are compared by their bits, so that -0.0f differs from 0.0f and a NaN matches itself.
+    private static boolean isSameFloat(float cached, float value) {
+        return Float.floatToRawIntBits(cached) == Float.floatToRawIntBits(value);
+    }
+    
+    private boolean isFloatValueCached(int kind, int count, float x, float y, float z, float w) {
+        if (!this.isValueCacheUsable()) {
+            return false;
+        }
+        float[] cached = this.cachedFloatValues;
+        if (this.isValueCacheValid() && this.cachedFloatValuesCount == count && this.cachedKind == kind
+                && OOUniform.isSameFloat(cached[0], x) && (count < 2 || OOUniform.isSameFloat(cached[1], y))
+                && (count < 3 || OOUniform.isSameFloat(cached[2], z))
+                && (count < 4 || OOUniform.isSameFloat(cached[3], w))) {
+            ++this.skippedUploadsCount;
+            return true;
+        }
+        this.prepareFloatValues(kind, count);
+        cached = this.cachedFloatValues;
+        cached[0] = x;
+        cached[1] = y;
+        cached[2] = z;
+        cached[3] = w;
+        return false;
+    }
+    
+    private boolean isFloatValueCached(int kind, int count, FloatBuffer values) {
+        if (!this.isValueCacheUsable()) {
+            return false;
+        }
+        int position = values.position();
+        if (this.isValueCacheValid() && this.cachedFloatValuesCount == count && this.cachedKind == kind) {
+            float[] cached = this.cachedFloatValues;
+            int i = 0;
+            while (i < count && OOUniform.isSameFloat(cached[i], values.get(position + i))) {
+                ++i;
+            }
+            if (i == count) {
+                ++this.skippedUploadsCount;
+                return true;
+            }
+        }
+        this.prepareFloatValues(kind, count);
+        float[] cached = this.cachedFloatValues;
+        for (int i = 0; i < count; ++i) {
+            cached[i] = values.get(position + i);
+        }
+        return false;
+    }
+    
+    private boolean isIntValueCached(int kind, int count, int x, int y, int z, int w) {
+        if (!this.isValueCacheUsable()) {
+            return false;
+        }
+        int[] cached = this.cachedIntValues;
+        if (this.isValueCacheValid() && this.cachedIntValuesCount == count && this.cachedKind == kind && cached[0] == x
+                && (count < 2 || cached[1] == y) && (count < 3 || cached[2] == z) && (count < 4 || cached[3] == w)) {
+            ++this.skippedUploadsCount;
+            return true;
+        }
+        this.prepareIntValues(kind, count);
+        cached = this.cachedIntValues;
+        cached[0] = x;
+        cached[1] = y;
+        cached[2] = z;
+        cached[3] = w;
+        return false;
+    }
+    
+    private boolean isIntValueCached(int kind, int count, IntBuffer values) {
+        if (!this.isValueCacheUsable()) {
+            return false;
+        }
+        int position = values.position();
+        if (this.isValueCacheValid() && this.cachedIntValuesCount == count && this.cachedKind == kind) {
+            int[] cached = this.cachedIntValues;
+            int i = 0;
+            while (i < count && cached[i] == values.get(position + i)) {
+                ++i;
+            }
+            if (i == count) {
+                ++this.skippedUploadsCount;
+                return true;
+            }
+        }
+        this.prepareIntValues(kind, count);
+        int[] cached = this.cachedIntValues;
+        for (int i = 0; i < count; ++i) {
+            cached[i] = values.get(position + i);
+        }
+        return false;
+    }
+    
     /**
      * <p>Specify the value of the uniform variable for the current program object.</p>
      * 
@@ -85,6 +342,9 @@ public class OOUniform {
      * @param x Specifies the first component of the new value to be used for the uniform variable.
      */
     public void set1f(float x) {
+        if (this.isFloatValueCached(1, 1, x, 0.0f, 0.0f, 0.0f)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform1f(this.handle, x);
     }
     
@@ -140,6 +400,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void set1fv(int count, FloatBuffer values) {
+        if (this.isFloatValueCached(1, 1 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform1fv(this.handle, count, values);
     }
     
@@ -155,7 +418,7 @@ public class OOUniform {
      * @see #set1fv
      */
     public void set1fv(int count, float[] values, int offset) {
-        this.set1fv(count, OOGLES20.createFloatBuffer(values, offset));
+        this.set1fv(count, OOGLES20.scratchFloatBuffer(values, offset, 1 * count));
     }
     
     /**
@@ -209,6 +472,9 @@ public class OOUniform {
      * @param x Specifies the first component of the new value to be used for the uniform variable.
      */
     public void set1i(int x) {
+        if (this.isIntValueCached(1, 1, x, 0, 0, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform1i(this.handle, x);
     }
     
@@ -265,6 +531,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void set1iv(int count, IntBuffer values) {
+        if (this.isIntValueCached(1, 1 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform1iv(this.handle, count, values);
     }
     
@@ -280,7 +549,7 @@ public class OOUniform {
      * @see #set1iv
      */
     public void set1iv(int count, int[] values, int offset) {
-        this.set1iv(count, OOGLES20.createIntBuffer(values, offset));
+        this.set1iv(count, OOGLES20.scratchIntBuffer(values, offset, 1 * count));
     }
     
     /**
@@ -334,6 +603,9 @@ public class OOUniform {
      * @param y Specifies the second component of the new value to be used for the uniform variable.
      */
     public void set2f(float x, float y) {
+        if (this.isFloatValueCached(2, 2, x, y, 0.0f, 0.0f)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform2f(this.handle, x, y);
     }
     
@@ -389,6 +661,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void set2fv(int count, FloatBuffer values) {
+        if (this.isFloatValueCached(2, 2 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform2fv(this.handle, count, values);
     }
     
@@ -404,7 +679,7 @@ public class OOUniform {
      * @see #set2fv
      */
     public void set2fv(int count, float[] values, int offset) {
-        this.set2fv(count, OOGLES20.createFloatBuffer(values, offset));
+        this.set2fv(count, OOGLES20.scratchFloatBuffer(values, offset, 2 * count));
     }
     
     /**
@@ -458,6 +733,9 @@ public class OOUniform {
      * @param y Specifies the second component of the new value to be used for the uniform variable.
      */
     public void set2i(int x, int y) {
+        if (this.isIntValueCached(2, 2, x, y, 0, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform2i(this.handle, x, y);
     }
     
@@ -513,6 +791,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void set2iv(int count, IntBuffer values) {
+        if (this.isIntValueCached(2, 2 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform2iv(this.handle, count, values);
     }
     
@@ -528,7 +809,7 @@ public class OOUniform {
      * @see #set2iv
      */
     public void set2iv(int count, int[] values, int offset) {
-        this.set2iv(count, OOGLES20.createIntBuffer(values, offset));
+        this.set2iv(count, OOGLES20.scratchIntBuffer(values, offset, 2 * count));
     }
     
     /**
@@ -583,6 +864,9 @@ public class OOUniform {
      * @param z Specifies the third component of the new value to be used for the uniform variable.
      */
    public void set3f(float x, float y, float z) {
+        if (this.isFloatValueCached(3, 3, x, y, z, 0.0f)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform3f(this.handle, x, y, z);
     }
     
@@ -638,6 +922,9 @@ public class OOUniform {
     * uniform variable.
     */
     public void set3fv(int count, FloatBuffer values) {
+        if (this.isFloatValueCached(3, 3 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform3fv(this.handle, count, values);
     }
     
@@ -653,7 +940,7 @@ public class OOUniform {
      * @see #set3fv
      */
     public void set3fv(int count, float[] values, int offset) {
-        this.set3fv(count, OOGLES20.createFloatBuffer(values, offset));
+        this.set3fv(count, OOGLES20.scratchFloatBuffer(values, offset, 3 * count));
     }
     
     /**
@@ -708,6 +995,9 @@ public class OOUniform {
      * @param z Specifies the third component of the new value to be used for the uniform variable.
      */
     public void set3i(int x, int y, int z) {
+        if (this.isIntValueCached(3, 3, x, y, z, 0)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform3i(this.handle, x, y, z);
     }
     
@@ -763,6 +1053,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void set3iv(int count, IntBuffer values) {
+        if (this.isIntValueCached(3, 3 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform3iv(this.handle, count, values);
     }
     
@@ -778,7 +1071,7 @@ public class OOUniform {
      * @see #set3iv
      */
     public void set3iv(int count, int[] values, int offset) {
-        this.set3iv(count, OOGLES20.createIntBuffer(values, offset));
+        this.set3iv(count, OOGLES20.scratchIntBuffer(values, offset, 3 * count));
     }
     
     /**
@@ -834,6 +1127,9 @@ public class OOUniform {
      * @param w Specifies the fourth component of the new value to be used for the uniform variable.
      */
     public void set4f(float x, float y, float z, float w) {
+        if (this.isFloatValueCached(4, 4, x, y, z, w)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform4f(this.handle, x, y, z, w);
     }
     
@@ -889,6 +1185,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void set4fv(int count, FloatBuffer values) {
+        if (this.isFloatValueCached(4, 4 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform4fv(this.handle, count, values);
     }
     
@@ -904,7 +1203,7 @@ public class OOUniform {
      * @see #set4fv
      */
     public void set4fv(int count, float[] values, int offset) {
-        this.set4fv(count, OOGLES20.createFloatBuffer(values, offset));
+        this.set4fv(count, OOGLES20.scratchFloatBuffer(values, offset, 4 * count));
     }
     
     /**
@@ -960,6 +1259,9 @@ public class OOUniform {
      * @param w Specifies the fourth component of the new value to be used for the uniform variable.
      */
     public void set4i(int x, int y, int z, int w) {
+        if (this.isIntValueCached(4, 4, x, y, z, w)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform4i(this.handle, x, y, z, w);
     }
     
@@ -1015,6 +1317,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void set4iv(int count, IntBuffer values) {
+        if (this.isIntValueCached(4, 4 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniform4iv(this.handle, count, values);
     }
     
@@ -1030,7 +1335,7 @@ public class OOUniform {
      * @see #set4iv
      */
     public void set4iv(int count, int[] values, int offset) {
-        this.set4iv(count, OOGLES20.createIntBuffer(values, offset));
+        this.set4iv(count, OOGLES20.scratchIntBuffer(values, offset, 4 * count));
     }
     
     /**
@@ -1089,6 +1394,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void setMatrix2fv(int count, FloatBuffer values) {
+        if (this.isFloatValueCached(-2, 4 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniformMatrix2fv(this.handle, count, false, values);
     }
     
@@ -1105,7 +1413,7 @@ public class OOUniform {
      * @see #setMatrix2fv
      */
     public void setMatrix2fv(int count, float[] values, int offset) {
-        this.setMatrix2fv(count, OOGLES20.createFloatBuffer(values, offset));
+        this.setMatrix2fv(count, OOGLES20.scratchFloatBuffer(values, offset, 4 * count));
     }
     
     /**
@@ -1164,6 +1472,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void setMatrix3fv(int count, FloatBuffer values) {
+        if (this.isFloatValueCached(-3, 9 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniformMatrix3fv(this.handle, count, false, values);
     }
     
@@ -1180,7 +1491,7 @@ public class OOUniform {
      * @see #setMatrix3fv
      */
     public void setMatrix3fv(int count, float[] values, int offset) {
-        this.setMatrix3fv(count, OOGLES20.createFloatBuffer(values, offset));
+        this.setMatrix3fv(count, OOGLES20.scratchFloatBuffer(values, offset, 9 * count));
     }
     
     /**
@@ -1239,6 +1550,9 @@ public class OOUniform {
      * uniform variable.
      */
     public void setMatrix4fv(int count, FloatBuffer values) {
+        if (this.isFloatValueCached(-4, 16 * count, values)) {
+            return;
+        }
         OOGLES20.backEnd.glUniformMatrix4fv(this.handle, count, false, values);
     }
     
@@ -1255,6 +1569,6 @@ public class OOUniform {
      * @see #setMatrix4fv
      */
     public void setMatrix4fv(int count, float[] values, int offset) {
-        OOGLES20.backEnd.glUniformMatrix4fv(this.handle, count, false, OOGLES20.createFloatBuffer(values, offset));
+        this.setMatrix4fv(count, OOGLES20.scratchFloatBuffer(values, offset, 16 * count));
     }
 }
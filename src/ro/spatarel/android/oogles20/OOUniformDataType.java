@@ -244,13 +244,18 @@ public enum OOUniformDataType {
     
     private final int glConstant;
     
-    static OOUniformDataType valueOf(int value) {
+    private static final OOIntObjectMap<OOUniformDataType> glConstants = new OOIntObjectMap<OOUniformDataType>();
+    
+    static {
         for (OOUniformDataType someValue : OOUniformDataType.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOUniformDataType.glConstants.containsKey(someValue.getGLConstant())) {
+                OOUniformDataType.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOUniformDataType valueOf(int value) {
+        return OOUniformDataType.glConstants.get(value);
     }
     
     OOUniformDataType(int value) {
@@ -0,0 +1,278 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.IntBuffer;
+
+/**
+ * <p>A vertex array object: the vertex attribute arrays (pointers and enabled flags) and the element array buffer
+ * binding needed to draw a mesh, switched with a single {@link #bind}.</p>
+ * 
+ * <p>When the back end implements {@link OpenGLES20VertexArrayObject} and {@link OOGLES20Implementation#getExtensions}
+ * reports {@code GL_OES_vertex_array_object}, the state is stored in a GL vertex array object. Otherwise a client-side
+ * shadow records the state and {@link #bind} issues only the calls that differ from the current state. Either way,
+ * redundant calls are only skipped while the binding cache is enabled (see {@link OOGLES20#enableBindingCache}).</p>
+ * 
+ * <p>The state is described through {@link #setAttribute}, {@link #disableAttribute}, {@link #setFormat} and
+ * {@link #setElementBuffer}, and takes effect at the next {@link #bind}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOVertexArray {
+    
+    private static final String EXTENSION = "GL_OES_vertex_array_object";
+    
+    private static int extensionSupport = OOGLES20.UNKNOWN_HANDLE;
+    
+    private static int bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+    private static OOVertexArray bindedArray = null;
+    
+    private static final OOVertexAttributeCache defaultAttributes = new OOVertexAttributeCache();
+    private static int defaultElementBufferHandle = OOGLES20.UNKNOWN_HANDLE;
+    private static int defaultDeletionsCount = -1;
+    
+    private int handle;
+    
+    private final OOVertexAttributeCache attributes = new OOVertexAttributeCache();
+    private int elementBufferHandle = 0;
+    
+    private final OOVertexAttributeCache knownAttributes;
+    private int knownElementBufferHandle = 0;
+    private int knownDeletionsCount;
+    
+    /**
+     * <p>Returns whether vertex arrays are backed by GL vertex array objects.</p>
+     * 
+     * @return {@code true} if the back end implements {@link OpenGLES20VertexArrayObject} and the
+     * {@code GL_OES_vertex_array_object} extension is reported, {@code false} otherwise.
+     */
+    public static boolean isExtensionSupported() {
+        if (OOVertexArray.extensionSupport == OOGLES20.UNKNOWN_HANDLE) {
+            boolean supported = false;
+            if (OOGLES20.backEnd instanceof OpenGLES20VertexArrayObject) {
+                String extensions = OOGLES20.implementation.getExtensions();
+                supported = extensions != null
+                        && (" " + extensions + " ").contains(" " + OOVertexArray.EXTENSION + " ");
+            }
+            OOVertexArray.extensionSupport = supported ? 1 : 0;
+        }
+        return OOVertexArray.extensionSupport == 1;
+    }
+    
+    static void backEndChanged() {
+        OOVertexArray.extensionSupport = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    static void invalidateBinding() {
+        OOVertexArray.bindedHandle = OOGLES20.UNKNOWN_HANDLE;
+        OOVertexArray.bindedArray = null;
+    }
+    
+    private static OpenGLES20VertexArrayObject extension() {
+        if (!(OOGLES20.backEnd instanceof OpenGLES20VertexArrayObject)) {
+            throw new UnsupportedOperationException("The back end does not implement OES_vertex_array_object");
+        }
+        return (OpenGLES20VertexArrayObject) OOGLES20.backEnd;
+    }
+    
+    /**
+     * <p>Creates a vertex array with all the attribute arrays disabled and no element array buffer.</p>
+     * 
+     * <p>Wrapper for {@link OpenGLES20VertexArrayObject#glGenVertexArraysOES}, when the extension is supported.</p>
+     * 
+     * @see #isExtensionSupported
+     * @see #delete
+     */
+    public OOVertexArray() {
+        if (OOVertexArray.isExtensionSupported()) {
+            IntBuffer handles = OOGLES20.scratchIntBuffer(1);
+            OOVertexArray.extension().glGenVertexArraysOES(1, handles);
+            this.handle = handles.get(0);
+            if (this.handle == 0) {
+                throw new OOErrorOccuredCreatingObjectException();
+            }
+            this.knownAttributes = new OOVertexAttributeCache();
+            this.knownDeletionsCount = OOBuffer.deletionsCount;
+        } else {
+            this.handle = 0;
+            this.knownAttributes = null;
+        }
+    }
+    
+    /**
+     * <p>Returns whether this vertex array is backed by a GL vertex array object.</p>
+     * 
+     * @return {@code true} if this vertex array is backed by a GL vertex array object, {@code false} if it is a
+     * client-side shadow.
+     */
+    public boolean isHardware() {
+        return this.knownAttributes != null;
+    }
+    
+    /**
+     * <p>Deletes the vertex array. If the vertex array is bound, the default vertex array becomes bound.</p>
+     * 
+     * <p>Wrapper for {@link OpenGLES20VertexArrayObject#glDeleteVertexArraysOES}, when the extension is supported. If
+     * the back end has since been replaced by one that does not implement {@link OpenGLES20VertexArrayObject}, the
+     * handle is dropped without any GL call.</p>
+     */
+    public void delete() {
+        if (this.handle != 0) {
+            if (OOGLES20.backEnd instanceof OpenGLES20VertexArrayObject) {
+                OOVertexArray.extension().glDeleteVertexArraysOES(1,
+                        OOGLES20.scratchIntBuffer(new int[] { this.handle }, 0, 1));
+            }
+            if (OOVertexArray.bindedHandle == this.handle) {
+                OOVertexArray.bindedHandle = 0;
+                OOVertexArray.bindedArray = null;
+                OOVertexArray.load(OOVertexArray.defaultAttributes, OOVertexArray.defaultElementBufferHandle,
+                        OOVertexArray.defaultDeletionsCount);
+            }
+            this.handle = 0;
+        }
+    }
+    
+    /**
+     * <p>Specifies an attribute array sourced from a buffer object.</p>
+     * 
+     * @param attribute The vertex attribute.
+     * @param buffer The buffer object the array is sourced from.
+     * @param size The number of components per attribute; {@code 1}, {@code 2}, {@code 3} or {@code 4}.
+     * @param type The data type of each component.
+     * @param normalized Whether fixed-point component values should be normalized.
+     * @param stride The byte offset between consecutive attributes.
+     * @param offset The offset of the first attribute inside the buffer object, in bytes.
+     * @see OOAttribute#setBuffer(int, OOAttributeClientDataType, boolean, int, int)
+     * @see OOAttribute#enableArray
+     */
+    public void setAttribute(OOAttribute attribute, OOBuffer buffer, int size, OOAttributeClientDataType type,
+            boolean normalized, int stride, int offset) {
+        this.attributes.setArray(attribute.getHandle(), buffer.getHandle(), size, type.getGLConstant(), normalized,
+                stride, offset);
+    }
+    
+    /**
+     * <p>Disables an attribute array.</p>
+     * 
+     * @param attribute The vertex attribute.
+     * @see OOAttribute#disableArray
+     */
+    public void disableAttribute(OOAttribute attribute) {
+        this.attributes.clearArray(attribute.getHandle());
+    }
+    
+    /**
+     * <p>Specifies the attribute arrays of an interleaved vertex layout sourced from a buffer object. Elements that are
+     * not active attributes of the program are ignored; other attribute arrays are left as they are.</p>
+     * 
+     * @param format The vertex layout.
+     * @param program A successfully linked program object.
+     * @param buffer The buffer object the vertices are sourced from.
+     * @param baseOffset The offset of the first vertex inside the buffer object, in bytes.
+     * @see OOVertexFormat#bind
+     */
+    public void setFormat(OOVertexFormat format, OOProgram program, OOBuffer buffer, int baseOffset) {
+        int[] locations = format.resolve(program);
+        for (int i = 0; i < format.getElementsCount(); ++i) {
+            if (locations[i] < 0) {
+                continue;
+            }
+            OOVertexElement element = format.getElement(i);
+            this.attributes.setArray(locations[i], buffer.getHandle(), element.getSize(),
+                    element.getType().getGLConstant(), element.isNormalized(), format.getStride(),
+                    baseOffset + format.getOffset(i));
+        }
+    }
+    
+    /**
+     * <p>Specifies the buffer object bound to {@link OOGLES20#elementArrayBuffer} while the vertex array is bound.</p>
+     * 
+     * @param buffer The buffer object holding the indices, or {@code null} for none.
+     */
+    public void setElementBuffer(OOBuffer buffer) {
+        this.elementBufferHandle = buffer == null ? 0 : buffer.getHandle();
+    }
+    
+    /**
+     * <p>Makes the state of this vertex array current.</p>
+     * 
+     * <p>Wrapper for {@link OpenGLES20VertexArrayObject#glBindVertexArrayOES} when the vertex array is backed by a GL
+     * vertex array object; the calls that bring the vertex array object up to date with its description, if any, are
+     * issued afterwards. Otherwise the wrapper issues the {@link OpenGLES20#glVertexAttribPointer},
+     * {@link OpenGLES20#glEnableVertexAttribArray}, {@link OpenGLES20#glDisableVertexAttribArray} and
+     * {@link OpenGLES20#glBindBuffer} calls that differ from the current state.</p>
+     */
+    public void bind() {
+        if (this.isHardware()) {
+            OOVertexArray.bind(this, this.handle);
+        }
+        OOGLES20.vertexAttributes.apply(this.attributes);
+        OOGLES20.elementArrayBuffer.bind(this.elementBufferHandle);
+    }
+    
+    /**
+     * <p>Binds the default vertex array, when vertex arrays are backed by GL vertex array objects; the attribute state
+     * set afterwards through {@link OOAttribute} is no longer captured by any vertex array. For client-side shadows
+     * the current attribute state is left as it is.</p>
+     * 
+     * <p>Wrapper for {@link OpenGLES20VertexArrayObject#glBindVertexArrayOES} with argument {@code 0}.</p>
+     */
+    public static void unbind() {
+        if (OOVertexArray.isExtensionSupported()) {
+            OOVertexArray.bind(null, 0);
+        }
+    }
+    
+    private static void bind(OOVertexArray array, int handle) {
+        if (OOGLES20.isBindingCached(OOVertexArray.bindedHandle, handle)) {
+            return;
+        }
+        if (OOGLES20.isBindingKnown(OOVertexArray.bindedHandle)) {
+            OOVertexArray.save(OOVertexArray.bindedArray);
+        }
+        OOVertexArray.extension().glBindVertexArrayOES(handle);
+        OOVertexArray.bindedHandle = handle;
+        OOVertexArray.bindedArray = array;
+        if (array == null) {
+            OOVertexArray.load(OOVertexArray.defaultAttributes, OOVertexArray.defaultElementBufferHandle,
+                    OOVertexArray.defaultDeletionsCount);
+        } else {
+            OOVertexArray.load(array.knownAttributes, array.knownElementBufferHandle, array.knownDeletionsCount);
+        }
+    }
+    
+    private static void save(OOVertexArray array) {
+        if (array == null) {
+            OOVertexArray.defaultAttributes.copyFrom(OOGLES20.vertexAttributes);
+            OOVertexArray.defaultElementBufferHandle = OOGLES20.elementArrayBuffer.getBindedHandle();
+            OOVertexArray.defaultDeletionsCount = OOBuffer.deletionsCount;
+        } else {
+            array.knownAttributes.copyFrom(OOGLES20.vertexAttributes);
+            array.knownElementBufferHandle = OOGLES20.elementArrayBuffer.getBindedHandle();
+            array.knownDeletionsCount = OOBuffer.deletionsCount;
+        }
+    }
+    
+    private static void load(OOVertexAttributeCache attributes, int elementBufferHandle, int deletionsCount) {
+        if (deletionsCount == OOBuffer.deletionsCount) {
+            OOGLES20.vertexAttributes.copyFrom(attributes);
+            OOGLES20.elementArrayBuffer.setBindedHandle(elementBufferHandle);
+        } else {
+            OOGLES20.vertexAttributes.invalidate();
+            OOGLES20.elementArrayBuffer.invalidateBinding();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.Arrays;
+
+/**
+ * <p>Client-side shadow of the generic vertex attribute array state (enabled flag and pointer) of every attribute
+ * location. The state is always recorded; redundant calls are only skipped while the binding cache is enabled.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+final class OOVertexAttributeCache {
+    
+    private int[] enabled = new int[0];
+    private int[] buffers = new int[0];
+    private int[] sizes = new int[0];
+    private int[] types = new int[0];
+    private boolean[] normalized = new boolean[0];
+    private int[] strides = new int[0];
+    private int[] offsets = new int[0];
+    
+    // Once invalidated, the locations not tracked yet are unknown rather than disabled.
+    private boolean invalidated = false;
+    
+    private void reserve(int location) {
+        if (location < this.enabled.length) {
+            return;
+        }
+        int oldLength = this.enabled.length;
+        int length = Math.max(location + 1, 2 * oldLength);
+        this.enabled = Arrays.copyOf(this.enabled, length);
+        this.buffers = Arrays.copyOf(this.buffers, length);
+        this.sizes = Arrays.copyOf(this.sizes, length);
+        this.types = Arrays.copyOf(this.types, length);
+        this.normalized = Arrays.copyOf(this.normalized, length);
+        this.strides = Arrays.copyOf(this.strides, length);
+        this.offsets = Arrays.copyOf(this.offsets, length);
+        if (this.invalidated) {
+            Arrays.fill(this.enabled, oldLength, length, OOGLES20.UNKNOWN_HANDLE);
+        }
+        Arrays.fill(this.buffers, oldLength, length, OOGLES20.UNKNOWN_HANDLE);
+    }
+    
+    void invalidate() {
+        Arrays.fill(this.enabled, OOGLES20.UNKNOWN_HANDLE);
+        Arrays.fill(this.buffers, OOGLES20.UNKNOWN_HANDLE);
+        this.invalidated = true;
+    }
+    
+    int getLocationsCount() {
+        return this.enabled.length;
+    }
+    
+    boolean isArrayEnabled(int location) {
+        return location < this.enabled.length && this.enabled[location] == 1;
+    }
+    
+    boolean isArrayCached(int location, boolean enable) {
+        this.reserve(location);
+        int state = enable ? 1 : 0;
+        if (OOGLES20.isBindingCached(this.enabled[location], state)) {
+            return true;
+        }
+        this.enabled[location] = state;
+        return false;
+    }
+    
+    boolean isPointerCached(int location, int size, int type, boolean normalized, int stride, int offset) {
+        return this.isPointerCached(location, OOGLES20.arrayBuffer.getBindedHandle(), size, type, normalized, stride,
+                offset);
+    }
+    
+    boolean isPointerCached(int location, int buffer, int size, int type, boolean normalized, int stride,
+            int offset) {
+        this.reserve(location);
+        boolean unchanged = buffer != OOGLES20.UNKNOWN_HANDLE && this.buffers[location] == buffer
+                && this.sizes[location] == size && this.types[location] == type
+                && this.normalized[location] == normalized && this.strides[location] == stride
+                && this.offsets[location] == offset;
+        if (OOGLES20.isBindingCached(unchanged)) {
+            return true;
+        }
+        this.buffers[location] = buffer;
+        this.sizes[location] = size;
+        this.types[location] = type;
+        this.normalized[location] = normalized;
+        this.strides[location] = stride;
+        this.offsets[location] = offset;
+        return false;
+    }
+    
+    void pointerChanged(int location) {
+        this.reserve(location);
+        this.buffers[location] = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    void setArray(int location, int buffer, int size, int type, boolean normalized, int stride, int offset) {
+        this.reserve(location);
+        this.enabled[location] = 1;
+        this.buffers[location] = buffer;
+        this.sizes[location] = size;
+        this.types[location] = type;
+        this.normalized[location] = normalized;
+        this.strides[location] = stride;
+        this.offsets[location] = offset;
+    }
+    
+    void clearArray(int location) {
+        this.reserve(location);
+        this.enabled[location] = 0;
+        this.buffers[location] = OOGLES20.UNKNOWN_HANDLE;
+    }
+    
+    void copyFrom(OOVertexAttributeCache other) {
+        this.enabled = other.enabled.clone();
+        this.buffers = other.buffers.clone();
+        this.sizes = other.sizes.clone();
+        this.types = other.types.clone();
+        this.normalized = other.normalized.clone();
+        this.strides = other.strides.clone();
+        this.offsets = other.offsets.clone();
+        this.invalidated = other.invalidated;
+    }
+    
+    void apply(OOVertexAttributeCache target) {
+        int locationsCount = Math.max(this.enabled.length, target.enabled.length);
+        if (locationsCount > 0) {
+            this.reserve(locationsCount - 1);
+        }
+        for (int location = 0; location < locationsCount; ++location) {
+            if (target.isArrayEnabled(location)) {
+                if (!this.isPointerCached(location, target.buffers[location], target.sizes[location],
+                        target.types[location], target.normalized[location], target.strides[location],
+                        target.offsets[location])) {
+                    OOGLES20.arrayBuffer.bind(target.buffers[location]);
+                    OOGLES20.backEnd.glVertexAttribPointer(location, target.sizes[location], target.types[location],
+                            target.normalized[location], target.strides[location], target.offsets[location]);
+                }
+                if (!this.isArrayCached(location, true)) {
+                    OOGLES20.backEnd.glEnableVertexAttribArray(location);
+                }
+            } else if (location < this.enabled.length && this.enabled[location] != 0) {
+                if (!this.isArrayCached(location, false)) {
+                    OOGLES20.backEnd.glDisableVertexAttribArray(location);
+                }
+            }
+        }
+    }
+    
+    void bufferDeleted(int handle) {
+        for (int i = 0; i < this.buffers.length; ++i) {
+            if (this.buffers[i] == handle) {
+                this.buffers[i] = OOGLES20.UNKNOWN_HANDLE;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ro.spatarel.android.oogles20;
+
+/**
+ * <p>An immutable element of an {@link OOVertexFormat}: a named vertex attribute with its number of components and
+ * component data type. The offset of the element inside the vertex is computed by the format that contains it.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public final class OOVertexElement {
+    
+    private final String name;
+    private final int size;
+    private final OOAttributeClientDataType type;
+    private final boolean normalized;
+    
+    /**
+     * <p>Creates a vertex element.</p>
+     * 
+     * @param name The name of the vertex attribute variable, as declared in the vertex shader.
+     * @param size The number of components; {@code 1}, {@code 2}, {@code 3} or {@code 4}.
+     * @param type The data type of each component.
+     * @param normalized Whether fixed-point component values should be normalized.
+     */
+    public OOVertexElement(String name, int size, OOAttributeClientDataType type, boolean normalized) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        }
+        if (size < 1 || size > 4) {
+            throw new IllegalArgumentException("size");
+        }
+        if (type == null) {
+            throw new NullPointerException("type");
+        }
+        this.name = name;
+        this.size = size;
+        this.type = type;
+        this.normalized = normalized;
+    }
+    
+    /**
+     * <p>Returns the name of the vertex attribute variable.</p>
+     * 
+     * @return The name of the vertex attribute variable.
+     */
+    public String getName() {
+        return this.name;
+    }
+    
+    /**
+     * <p>Returns the number of components.</p>
+     * 
+     * @return The number of components.
+     */
+    public int getSize() {
+        return this.size;
+    }
+    
+    /**
+     * <p>Returns the data type of each component.</p>
+     * 
+     * @return The data type of each component.
+     */
+    public OOAttributeClientDataType getType() {
+        return this.type;
+    }
+    
+    /**
+     * <p>Returns whether fixed-point component values are normalized.</p>
+     * 
+     * @return Whether fixed-point component values are normalized.
+     */
+    public boolean isNormalized() {
+        return this.normalized;
+    }
+    
+    /**
+     * <p>Returns the size of the element, in bytes.</p>
+     * 
+     * @return The size of the element, in bytes.
+     */
+    public int getBytesCount() {
+        switch (this.type) {
+            case BYTE:
+            case UNSIGNED_BYTE:
+                return this.size;
+            case SHORT:
+            case UNSIGNED_SHORT:
+                return 2 * this.size;
+            default:
+                return 4 * this.size;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package ro.spatarel.android.oogles20;
+
+import java.util.Arrays;
+
+/**
+ * <p>An immutable interleaved vertex layout: a list of {@link OOVertexElement}s with their computed offsets and the
+ * computed stride of a vertex. Every element starts at a multiple of four bytes.</p>
+ * 
+ * <p>{@link #bind} applies the whole layout in one call. The attribute locations of a program are resolved once per
+ * link of that program, and forgotten once the program is deleted. Attributes whose array pointer is unchanged are not
+ * specified again, and only the attribute arrays whose enabled state differs from the previously bound layout are
+ * enabled or disabled; this relies on the binding cache being enabled (see {@link OOGLES20#enableBindingCache}).</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public final class OOVertexFormat {
+    
+    private static final int ALIGNMENT = 4;
+    
+    private final OOVertexElement[] elements;
+    private final int[] offsets;
+    private final int stride;
+    
+    private final OOIntObjectMap<int[]> locations = new OOIntObjectMap<int[]>();
+    private int[] programHandles = new int[0];
+    private int programsCount = 0;
+    private int knownDeletionsCount = 0;
+    
+    /**
+     * <p>Creates a vertex format.</p>
+     * 
+     * @param elements The elements of a vertex, in the order they are laid out in memory.
+     */
+    public OOVertexFormat(OOVertexElement... elements) {
+        this.elements = elements.clone();
+        this.offsets = new int[elements.length];
+        int offset = 0;
+        for (int i = 0; i < elements.length; ++i) {
+            this.offsets[i] = offset;
+            offset += OOVertexFormat.align(elements[i].getBytesCount());
+        }
+        this.stride = offset;
+    }
+    
+    private static int align(int size) {
+        return (size + OOVertexFormat.ALIGNMENT - 1) & -OOVertexFormat.ALIGNMENT;
+    }
+    
+    /**
+     * <p>Returns the number of elements of a vertex.</p>
+     * 
+     * @return The number of elements of a vertex.
+     */
+    public int getElementsCount() {
+        return this.elements.length;
+    }
+    
+    /**
+     * <p>Returns an element of a vertex.</p>
+     * 
+     * @param index The index of the element, in the range {@code [0, getElementsCount())}.
+     * @return The element.
+     */
+    public OOVertexElement getElement(int index) {
+        return this.elements[index];
+    }
+    
+    /**
+     * <p>Returns the offset of an element inside a vertex, in bytes.</p>
+     * 
+     * @param index The index of the element, in the range {@code [0, getElementsCount())}.
+     * @return The offset of the element, in bytes.
+     */
+    public int getOffset(int index) {
+        return this.offsets[index];
+    }
+    
+    /**
+     * <p>Returns the size of a vertex, in bytes.</p>
+     * 
+     * @return The size of a vertex, in bytes.
+     */
+    public int getStride() {
+        return this.stride;
+    }
+    
+    int[] resolve(OOProgram program) {
+        if (this.knownDeletionsCount != OOProgram.deletionsCount) {
+            this.removeDeletedPrograms();
+        }
+        int[] locations = this.locations.get(program.getHandle());
+        if (locations != null && locations[this.elements.length] == program.linkGeneration) {
+            return locations;
+        }
+        if (locations == null) {
+            if (this.programsCount == this.programHandles.length) {
+                this.programHandles = Arrays.copyOf(this.programHandles, Math.max(4, 2 * this.programsCount));
+            }
+            this.programHandles[this.programsCount++] = program.getHandle();
+        }
+        locations = new int[this.elements.length + 1];
+        for (int i = 0; i < this.elements.length; ++i) {
+            int slot = program.getVectorAttributeSlot(this.elements[i].getName());
+            locations[i] = slot < 0 ? -1 : program.getVectorAttribute(slot).getHandle();
+        }
+        locations[this.elements.length] = program.linkGeneration;
+        this.locations.put(program.getHandle(), locations);
+        return locations;
+    }
+    
+    private void removeDeletedPrograms() {
+        this.knownDeletionsCount = OOProgram.deletionsCount;
+        int count = 0;
+        for (int i = 0; i < this.programsCount; ++i) {
+            int handle = this.programHandles[i];
+            if (OOProgram.getProgram(handle) == null) {
+                this.locations.remove(handle);
+            } else {
+                this.programHandles[count++] = handle;
+            }
+        }
+        this.programsCount = count;
+    }
+    
+    /**
+     * <p>Applies the layout to the vertex attributes of a program. The vertices are read from the buffer object
+     * currently bound to {@link OOGLES20#arrayBuffer}, starting at {@code baseOffset}. Elements that are not active
+     * attributes of the program are ignored, and every other attribute array known to be enabled is disabled.</p>
+     * 
+     * @param program A successfully linked program object.
+     * @param baseOffset The offset of the first vertex inside the buffer object, in bytes.
+     * @see OOAttribute#enableArray
+     * @see OOAttribute#setBuffer(int, OOAttributeClientDataType, boolean, int, int)
+     */
+    public void bind(OOProgram program, int baseOffset) {
+        int[] locations = this.resolve(program);
+        OOVertexAttributeCache cache = OOGLES20.vertexAttributes;
+        for (int i = 0; i < this.elements.length; ++i) {
+            int location = locations[i];
+            if (location < 0) {
+                continue;
+            }
+            OOVertexElement element = this.elements[i];
+            if (!cache.isPointerCached(location, element.getSize(), element.getType().getGLConstant(),
+                    element.isNormalized(), this.stride, baseOffset + this.offsets[i])) {
+                OOGLES20.backEnd.glVertexAttribPointer(location, element.getSize(),
+                        element.getType().getGLConstant(), element.isNormalized(), this.stride,
+                        baseOffset + this.offsets[i]);
+            }
+            if (!cache.isArrayCached(location, true)) {
+                OOGLES20.backEnd.glEnableVertexAttribArray(location);
+            }
+        }
+        int locationsCount = cache.getLocationsCount();
+        for (int location = 0; location < locationsCount; ++location) {
+            if (cache.isArrayEnabled(location) && !OOVertexFormat.contains(locations, this.elements.length, location)
+                    && !cache.isArrayCached(location, false)) {
+                OOGLES20.backEnd.glDisableVertexAttribArray(location);
+            }
+        }
+    }
+    
+    private static boolean contains(int[] locations, int count, int location) {
+        for (int i = 0; i < count; ++i) {
+            if (locations[i] == location) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
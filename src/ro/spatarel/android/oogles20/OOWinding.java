@@ -49,13 +49,18 @@ public enum OOWinding {
     
     private final int glConstant;
     
-    static OOWinding valueOf(int value) {
+    private static final OOIntObjectMap<OOWinding> glConstants = new OOIntObjectMap<OOWinding>();
+    
+    static {
         for (OOWinding someValue : OOWinding.values()) {
-            if (someValue.getGLConstant() == value) {
-                return someValue;
+            if (!OOWinding.glConstants.containsKey(someValue.getGLConstant())) {
+                OOWinding.glConstants.put(someValue.getGLConstant(), someValue);
             }
         }
-        return null;
+    }
+    
+    static OOWinding valueOf(int value) {
+        return OOWinding.glConstants.get(value);
     }
     
     OOWinding(int value) {
@@ -0,0 +1,64 @@
+package ro.spatarel.android.oogles20;
+
+import java.nio.IntBuffer;
+
+/**
+ * <p>Interface modeling the {@code OES_vertex_array_object} extension. A back end implementing {@link OpenGLES20}
+ * may also implement this interface; {@link OOVertexArray} uses it when the extension is reported by
+ * {@link OOGLES20Implementation#getExtensions}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public interface OpenGLES20VertexArrayObject {
+    
+    /**
+     * Symbolic constant GL_VERTEX_ARRAY_BINDING_OES
+     */
+    public final int GL_VERTEX_ARRAY_BINDING_OES                     = 0x85B5;
+    
+    /**
+     * C function void glBindVertexArrayOES(GLuint array)
+     * 
+     * @param array GLuint array
+     */
+    public void glBindVertexArrayOES(int array);
+    
+    /**
+     * C function void glDeleteVertexArraysOES(GLsizei n, const GLuint *arrays)
+     * 
+     * @param n GLsizei n
+     * @param arrays const GLuint *arrays
+     */
+    public void glDeleteVertexArraysOES(int n, IntBuffer arrays);
+    
+    /**
+     * C function void glGenVertexArraysOES(GLsizei n, GLuint *arrays)
+     * 
+     * @param n GLsizei n
+     * @param arrays GLuint *arrays
+     */
+    public void glGenVertexArraysOES(int n, IntBuffer arrays);
+    
+    /**
+     * C function GLboolean glIsVertexArrayOES(GLuint array)
+     * 
+     * @param array GLuint array
+     * @return GLboolean
+     */
+    public boolean glIsVertexArrayOES(int array);
+}
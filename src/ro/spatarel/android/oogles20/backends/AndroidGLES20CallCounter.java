@@ -0,0 +1,90 @@
+package ro.spatarel.android.oogles20.backends;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import ro.spatarel.android.oogles20.OpenGLES20;
+
+/**
+ * <p>Decorator for {@link OpenGLES20} counting the calls made to every method. It may be used to measure how many
+ * calls reach the back end for a given sequence of library calls.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class AndroidGLES20CallCounter extends AndroidGLES20Decorator {
+    
+    private final Map<String, Integer> counts = new TreeMap<String, Integer>();
+    
+    private int totalCount = 0;
+    
+    /**
+     * <p>Creates a decorator for a specified {@link OpenGLES20} object that counts the calls made to every method.</p>
+     * 
+     * @param base The decorated {@link OpenGLES20} object.
+     */
+    public AndroidGLES20CallCounter(OpenGLES20 base) {
+        super(base);
+    }
+    
+    @Override
+    protected void before() {
+        // There is nothing here.
+    }
+    
+    @Override
+    protected void after() {
+        // There is nothing here.
+    }
+    
+    @Override
+    protected void call(String methodName, Object[] arguments) {
+        Integer count = this.counts.get(methodName);
+        this.counts.put(methodName, count == null ? 1 : count + 1);
+        ++this.totalCount;
+    }
+    
+    /**
+     * <p>Returns the number of calls made to a specified method since the creation of the decorator or the last call
+     * to {@link #reset}.</p>
+     * 
+     * @param methodName The name of the method, for example {@code "glActiveTexture"}.
+     * @return The number of calls made to the method.
+     */
+    public int getCallsCount(String methodName) {
+        Integer count = this.counts.get(methodName);
+        return count == null ? 0 : count;
+    }
+    
+    /**
+     * <p>Returns the number of calls made to all the methods since the creation of the decorator or the last call to
+     * {@link #reset}.</p>
+     * 
+     * @return The number of calls made.
+     */
+    public int getCallsCount() {
+        return this.totalCount;
+    }
+    
+    /**
+     * <p>Resets all the counters to zero.</p>
+     */
+    public void reset() {
+        this.counts.clear();
+        this.totalCount = 0;
+    }
+}
@@ -0,0 +1,1896 @@
+package ro.spatarel.android.oogles20.backends;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+import ro.spatarel.android.oogles20.OpenGLES20;
+
+/**
+ * <p>Class implementing the {@link OpenGLES20} by recording the calls into a command buffer instead of executing them.
+ * The recorded calls are executed later, in the same order, by {@link #replay}.</p>
+ * 
+ * <p>Every call is encoded as an opcode followed by its operands in a growable {@code int[]}; {@code float} operands
+ * are stored as their raw bits and {@code boolean} operands as {@code 0} or {@code 1}, so recording does not box or
+ * allocate, except when the command buffer grows.</p>
+ * 
+ * <p>Operands are captured as follows:</p>
+ * 
+ * <ul>
+ *     <li>the contents of the {@link FloatBuffer} and {@link IntBuffer} operands (uniform and vertex attribute values,
+ *     texture parameters, names to delete) are copied into the command buffer at the time of the call;</li>
+ *     <li>the client-side indices of {@link #glDrawElements(int, int, int, Buffer)} are copied into the command buffer
+ *     when they are given as a {@link ByteBuffer} or a {@link ShortBuffer};</li>
+ *     <li>all the other {@link Buffer} operands (buffer data, texture images, client-side vertex arrays) and the
+ *     {@link String} operands are recorded by reference; their contents are read at replay time and must not change
+ *     in between.</li>
+ * </ul>
+ * 
+ * <p>Calls that return a value or write into an output parameter ({@code glGet*}, {@code glIs*}, {@code glGen*},
+ * {@code glCreate*}, {@link #glCheckFramebufferStatus}, {@link #glGetError} and {@link #glReadPixels}) cannot be
+ * deferred and throw an {@link UnsupportedOperationException}.</p>
+ * 
+ * <h5>Threads</h5>
+ * 
+ * <p>A recorder is not synchronized. Since it does not touch any OpenGL ES context, any thread may record into its own
+ * recorder by calling its {@link OpenGLES20} methods directly, while only the thread owning the context replays.
+ * Recording through the library wrappers instead (for example with {@link ro.spatarel.android.oogles20.OOCommandList})
+ * goes through the global back end of {@link ro.spatarel.android.oogles20.OOGLES20}, its client-side state and its
+ * static scratch buffers, so it must happen on the thread owning the context. A recorder must not be replayed by two
+ * threads at the same time, since the replays share the buffers the operands are decoded into.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class AndroidGLES20Recorder implements OpenGLES20 {
+    
+    /**
+     * <p>Offset of the first value of a recorded {@code glUniform1f} to {@code glUniform4f} or {@code glUniform1i} to
+     * {@code glUniform4i} call, relative to the size returned by {@link #getSize} just before the call. The values
+     * follow each other, so value {@code i} may be patched at {@code size + UNIFORM_VALUE_OFFSET + i}.</p>
+     */
+    public static final int UNIFORM_VALUE_OFFSET = 2;
+    
+    /**
+     * <p>Offset of the first element of a recorded {@code glUniformMatrix2fv} to {@code glUniformMatrix4fv} call,
+     * relative to the size returned by {@link #getSize} just before the call. The elements follow each other in the
+     * order of the recorded buffer.</p>
+     */
+    public static final int UNIFORM_MATRIX_VALUE_OFFSET = 5;
+    
+    private static final int OP_GL_ACTIVE_TEXTURE = 0;
+    private static final int OP_GL_ATTACH_SHADER = 1;
+    private static final int OP_GL_BIND_ATTRIB_LOCATION = 2;
+    private static final int OP_GL_BIND_BUFFER = 3;
+    private static final int OP_GL_BIND_FRAMEBUFFER = 4;
+    private static final int OP_GL_BIND_RENDERBUFFER = 5;
+    private static final int OP_GL_BIND_TEXTURE = 6;
+    private static final int OP_GL_BLEND_COLOR = 7;
+    private static final int OP_GL_BLEND_EQUATION = 8;
+    private static final int OP_GL_BLEND_EQUATION_SEPARATE = 9;
+    private static final int OP_GL_BLEND_FUNC = 10;
+    private static final int OP_GL_BLEND_FUNC_SEPARATE = 11;
+    private static final int OP_GL_BUFFER_DATA = 12;
+    private static final int OP_GL_BUFFER_SUB_DATA = 13;
+    private static final int OP_GL_CLEAR = 14;
+    private static final int OP_GL_CLEAR_COLOR = 15;
+    private static final int OP_GL_CLEAR_DEPTHF = 16;
+    private static final int OP_GL_CLEAR_STENCIL = 17;
+    private static final int OP_GL_COLOR_MASK = 18;
+    private static final int OP_GL_COMPILE_SHADER = 19;
+    private static final int OP_GL_COMPRESSED_TEX_IMAGE2_D = 20;
+    private static final int OP_GL_COMPRESSED_TEX_SUB_IMAGE2_D = 21;
+    private static final int OP_GL_COPY_TEX_IMAGE2_D = 22;
+    private static final int OP_GL_COPY_TEX_SUB_IMAGE2_D = 23;
+    private static final int OP_GL_CULL_FACE = 24;
+    private static final int OP_GL_DELETE_BUFFERS = 25;
+    private static final int OP_GL_DELETE_FRAMEBUFFERS = 26;
+    private static final int OP_GL_DELETE_PROGRAM = 27;
+    private static final int OP_GL_DELETE_RENDERBUFFERS = 28;
+    private static final int OP_GL_DELETE_SHADER = 29;
+    private static final int OP_GL_DELETE_TEXTURES = 30;
+    private static final int OP_GL_DEPTH_FUNC = 31;
+    private static final int OP_GL_DEPTH_MASK = 32;
+    private static final int OP_GL_DEPTH_RANGEF = 33;
+    private static final int OP_GL_DETACH_SHADER = 34;
+    private static final int OP_GL_DISABLE = 35;
+    private static final int OP_GL_DISABLE_VERTEX_ATTRIB_ARRAY = 36;
+    private static final int OP_GL_DRAW_ARRAYS = 37;
+    private static final int OP_GL_DRAW_ELEMENTS = 38;
+    private static final int OP_GL_DRAW_ELEMENTS_BUFFER = 39;
+    private static final int OP_GL_ENABLE = 40;
+    private static final int OP_GL_ENABLE_VERTEX_ATTRIB_ARRAY = 41;
+    private static final int OP_GL_FINISH = 42;
+    private static final int OP_GL_FLUSH = 43;
+    private static final int OP_GL_FRAMEBUFFER_RENDERBUFFER = 44;
+    private static final int OP_GL_FRAMEBUFFER_TEXTURE2_D = 45;
+    private static final int OP_GL_FRONT_FACE = 46;
+    private static final int OP_GL_GENERATE_MIPMAP = 47;
+    private static final int OP_GL_HINT = 48;
+    private static final int OP_GL_LINE_WIDTH = 49;
+    private static final int OP_GL_LINK_PROGRAM = 50;
+    private static final int OP_GL_PIXEL_STOREI = 51;
+    private static final int OP_GL_POLYGON_OFFSET = 52;
+    private static final int OP_GL_RELEASE_SHADER_COMPILER = 53;
+    private static final int OP_GL_RENDERBUFFER_STORAGE = 54;
+    private static final int OP_GL_SAMPLE_COVERAGE = 55;
+    private static final int OP_GL_SCISSOR = 56;
+    private static final int OP_GL_SHADER_BINARY = 57;
+    private static final int OP_GL_SHADER_SOURCE = 58;
+    private static final int OP_GL_STENCIL_FUNC = 59;
+    private static final int OP_GL_STENCIL_FUNC_SEPARATE = 60;
+    private static final int OP_GL_STENCIL_MASK = 61;
+    private static final int OP_GL_STENCIL_MASK_SEPARATE = 62;
+    private static final int OP_GL_STENCIL_OP = 63;
+    private static final int OP_GL_STENCIL_OP_SEPARATE = 64;
+    private static final int OP_GL_TEX_IMAGE2_D = 65;
+    private static final int OP_GL_TEX_PARAMETERF = 66;
+    private static final int OP_GL_TEX_PARAMETERFV = 67;
+    private static final int OP_GL_TEX_PARAMETERI = 68;
+    private static final int OP_GL_TEX_PARAMETERIV = 69;
+    private static final int OP_GL_TEX_SUB_IMAGE2_D = 70;
+    private static final int OP_GL_UNIFORM1F = 71;
+    private static final int OP_GL_UNIFORM1FV = 72;
+    private static final int OP_GL_UNIFORM1I = 73;
+    private static final int OP_GL_UNIFORM1IV = 74;
+    private static final int OP_GL_UNIFORM2F = 75;
+    private static final int OP_GL_UNIFORM2FV = 76;
+    private static final int OP_GL_UNIFORM2I = 77;
+    private static final int OP_GL_UNIFORM2IV = 78;
+    private static final int OP_GL_UNIFORM3F = 79;
+    private static final int OP_GL_UNIFORM3FV = 80;
+    private static final int OP_GL_UNIFORM3I = 81;
+    private static final int OP_GL_UNIFORM3IV = 82;
+    private static final int OP_GL_UNIFORM4F = 83;
+    private static final int OP_GL_UNIFORM4FV = 84;
+    private static final int OP_GL_UNIFORM4I = 85;
+    private static final int OP_GL_UNIFORM4IV = 86;
+    private static final int OP_GL_UNIFORM_MATRIX2FV = 87;
+    private static final int OP_GL_UNIFORM_MATRIX3FV = 88;
+    private static final int OP_GL_UNIFORM_MATRIX4FV = 89;
+    private static final int OP_GL_USE_PROGRAM = 90;
+    private static final int OP_GL_VALIDATE_PROGRAM = 91;
+    private static final int OP_GL_VERTEX_ATTRIB1F = 92;
+    private static final int OP_GL_VERTEX_ATTRIB1FV = 93;
+    private static final int OP_GL_VERTEX_ATTRIB2F = 94;
+    private static final int OP_GL_VERTEX_ATTRIB2FV = 95;
+    private static final int OP_GL_VERTEX_ATTRIB3F = 96;
+    private static final int OP_GL_VERTEX_ATTRIB3FV = 97;
+    private static final int OP_GL_VERTEX_ATTRIB4F = 98;
+    private static final int OP_GL_VERTEX_ATTRIB4FV = 99;
+    private static final int OP_GL_VERTEX_ATTRIB_POINTER = 100;
+    private static final int OP_GL_VERTEX_ATTRIB_POINTER_BUFFER = 101;
+    private static final int OP_GL_VIEWPORT = 102;
+
+    
+    private static final int INDICES_BYTE = 0;
+    private static final int INDICES_SHORT = 1;
+    private static final int INDICES_REFERENCE = 2;
+    
+    private int[] commands = new int[256];
+    private int commandsCount = 0;
+    private Object[] references = new Object[16];
+    private int referencesCount = 0;
+    private int callsCount = 0;
+    
+    private FloatBuffer floatBuffer = null;
+    private IntBuffer intBuffer = null;
+    private ByteBuffer byteBuffer = null;
+    private ShortBuffer shortBuffer = null;
+    
+    /**
+     * <p>Returns the number of calls recorded since the creation of the recorder or the last call to {@link #reset}.
+     * </p>
+     * 
+     * @return The number of calls recorded.
+     */
+    public int getCallsCount() {
+        return this.callsCount;
+    }
+    
+    /**
+     * <p>Returns the number of {@code int} words used by the recorded calls. The words recorded by a call start at the
+     * size returned just before the call.</p>
+     * 
+     * @return The number of {@code int} words used by the recorded calls.
+     * 
+     * @see #setInt
+     * @see #setFloat
+     */
+    public int getSize() {
+        return this.commandsCount;
+    }
+    
+    /**
+     * <p>Overwrites a recorded {@code int} operand.</p>
+     * 
+     * <p>It allows a few values (for example uniform values) to be patched between replays without recording the
+     * calls again. Only the operands of calls that were recorded with a known layout may be patched safely; the
+     * layouts of the uniform calls are given by {@link #UNIFORM_VALUE_OFFSET} and
+     * {@link #UNIFORM_MATRIX_VALUE_OFFSET}.</p>
+     * 
+     * @param index The index of the word in the command buffer, in the range {@code [0, getSize())}.
+     * @param value The new value of the operand.
+     */
+    public void setInt(int index, int value) {
+        if (index < 0 || index >= this.commandsCount) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.commands[index] = value;
+    }
+    
+    /**
+     * <p>Overwrites a recorded {@code float} operand.</p>
+     * 
+     * @param index The index of the word in the command buffer, in the range {@code [0, getSize())}.
+     * @param value The new value of the operand.
+     * 
+     * @see #setInt
+     */
+    public void setFloat(int index, float value) {
+        this.setInt(index, Float.floatToRawIntBits(value));
+    }
+    
+    /**
+     * <p>Discards all the recorded calls.</p>
+     */
+    public void reset() {
+        this.commandsCount = 0;
+        Arrays.fill(this.references, 0, this.referencesCount, null);
+        this.referencesCount = 0;
+        this.callsCount = 0;
+    }
+    
+    /**
+     * <p>Executes all the recorded calls, in the order in which they were recorded, on a specified {@link OpenGLES20}
+     * object. The recorded calls are kept, so they may be replayed any number of times.</p>
+     * 
+     * <p>Must be called on the thread owning the OpenGL ES context of {@code target}.</p>
+     * 
+     * @param target The {@link OpenGLES20} object executing the calls.
+     */
+    public void replay(OpenGLES20 target) {
+        int[] commands = this.commands;
+        Object[] references = this.references;
+        int i = 0;
+        while (i < this.commandsCount) {
+            switch (commands[i++]) {
+            case AndroidGLES20Recorder.OP_GL_ACTIVE_TEXTURE:
+                target.glActiveTexture(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_ATTACH_SHADER:
+                target.glAttachShader(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BIND_ATTRIB_LOCATION:
+                target.glBindAttribLocation(commands[i++], commands[i++], (String) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BIND_BUFFER:
+                target.glBindBuffer(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BIND_FRAMEBUFFER:
+                target.glBindFramebuffer(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BIND_RENDERBUFFER:
+                target.glBindRenderbuffer(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BIND_TEXTURE:
+                target.glBindTexture(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BLEND_COLOR:
+                target.glBlendColor(Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_BLEND_EQUATION:
+                target.glBlendEquation(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BLEND_EQUATION_SEPARATE:
+                target.glBlendEquationSeparate(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BLEND_FUNC:
+                target.glBlendFunc(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BLEND_FUNC_SEPARATE:
+                target.glBlendFuncSeparate(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BUFFER_DATA:
+                target.glBufferData(commands[i++], commands[i++], (Buffer) references[commands[i++]], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_BUFFER_SUB_DATA:
+                target.glBufferSubData(commands[i++], commands[i++], commands[i++], (Buffer) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_CLEAR:
+                target.glClear(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_CLEAR_COLOR:
+                target.glClearColor(Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_CLEAR_DEPTHF:
+                target.glClearDepthf(Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_CLEAR_STENCIL:
+                target.glClearStencil(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_COLOR_MASK:
+                target.glColorMask(commands[i++] != 0, commands[i++] != 0, commands[i++] != 0, commands[i++] != 0);
+                break;
+            case AndroidGLES20Recorder.OP_GL_COMPILE_SHADER:
+                target.glCompileShader(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_COMPRESSED_TEX_IMAGE2_D:
+                target.glCompressedTexImage2D(commands[i++], commands[i++], commands[i++], commands[i++], commands[i++],
+                        commands[i++], commands[i++], (Buffer) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_COMPRESSED_TEX_SUB_IMAGE2_D:
+                target.glCompressedTexSubImage2D(commands[i++], commands[i++], commands[i++], commands[i++],
+                        commands[i++], commands[i++], commands[i++], commands[i++],
+                        (Buffer) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_COPY_TEX_IMAGE2_D:
+                target.glCopyTexImage2D(commands[i++], commands[i++], commands[i++], commands[i++], commands[i++],
+                        commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_COPY_TEX_SUB_IMAGE2_D:
+                target.glCopyTexSubImage2D(commands[i++], commands[i++], commands[i++], commands[i++], commands[i++],
+                        commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_CULL_FACE:
+                target.glCullFace(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DELETE_BUFFERS:
+                target.glDeleteBuffers(commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_DELETE_FRAMEBUFFERS:
+                target.glDeleteFramebuffers(commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_DELETE_PROGRAM:
+                target.glDeleteProgram(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DELETE_RENDERBUFFERS:
+                target.glDeleteRenderbuffers(commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_DELETE_SHADER:
+                target.glDeleteShader(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DELETE_TEXTURES:
+                target.glDeleteTextures(commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_DEPTH_FUNC:
+                target.glDepthFunc(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DEPTH_MASK:
+                target.glDepthMask(commands[i++] != 0);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DEPTH_RANGEF:
+                target.glDepthRangef(Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_DETACH_SHADER:
+                target.glDetachShader(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DISABLE:
+                target.glDisable(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DISABLE_VERTEX_ATTRIB_ARRAY:
+                target.glDisableVertexAttribArray(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DRAW_ARRAYS:
+                target.glDrawArrays(commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DRAW_ELEMENTS:
+                target.glDrawElements(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_DRAW_ELEMENTS_BUFFER:
+                target.glDrawElements(commands[i++], commands[i++], commands[i++], this.indices(commands, i));
+                i += AndroidGLES20Recorder.getIndicesLength(commands, i);
+                break;
+            case AndroidGLES20Recorder.OP_GL_ENABLE:
+                target.glEnable(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_ENABLE_VERTEX_ATTRIB_ARRAY:
+                target.glEnableVertexAttribArray(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_FINISH:
+                target.glFinish();
+                break;
+            case AndroidGLES20Recorder.OP_GL_FLUSH:
+                target.glFlush();
+                break;
+            case AndroidGLES20Recorder.OP_GL_FRAMEBUFFER_RENDERBUFFER:
+                target.glFramebufferRenderbuffer(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_FRAMEBUFFER_TEXTURE2_D:
+                target.glFramebufferTexture2D(commands[i++], commands[i++], commands[i++], commands[i++],
+                        commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_FRONT_FACE:
+                target.glFrontFace(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_GENERATE_MIPMAP:
+                target.glGenerateMipmap(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_HINT:
+                target.glHint(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_LINE_WIDTH:
+                target.glLineWidth(Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_LINK_PROGRAM:
+                target.glLinkProgram(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_PIXEL_STOREI:
+                target.glPixelStorei(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_POLYGON_OFFSET:
+                target.glPolygonOffset(Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_RELEASE_SHADER_COMPILER:
+                target.glReleaseShaderCompiler();
+                break;
+            case AndroidGLES20Recorder.OP_GL_RENDERBUFFER_STORAGE:
+                target.glRenderbufferStorage(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_SAMPLE_COVERAGE:
+                target.glSampleCoverage(Float.intBitsToFloat(commands[i++]), commands[i++] != 0);
+                break;
+            case AndroidGLES20Recorder.OP_GL_SCISSOR:
+                target.glScissor(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_SHADER_BINARY: {
+                int n = commands[i++];
+                IntBuffer shaders = this.ints(commands, i);
+                i += 1 + commands[i];
+                target.glShaderBinary(n, shaders, commands[i++], (Buffer) references[commands[i++]], commands[i++]);
+                break;
+            }
+            case AndroidGLES20Recorder.OP_GL_SHADER_SOURCE:
+                target.glShaderSource(commands[i++], (String) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_STENCIL_FUNC:
+                target.glStencilFunc(commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_STENCIL_FUNC_SEPARATE:
+                target.glStencilFuncSeparate(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_STENCIL_MASK:
+                target.glStencilMask(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_STENCIL_MASK_SEPARATE:
+                target.glStencilMaskSeparate(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_STENCIL_OP:
+                target.glStencilOp(commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_STENCIL_OP_SEPARATE:
+                target.glStencilOpSeparate(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_TEX_IMAGE2_D:
+                target.glTexImage2D(commands[i++], commands[i++], commands[i++], commands[i++], commands[i++],
+                        commands[i++], commands[i++], commands[i++], (Buffer) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_TEX_PARAMETERF:
+                target.glTexParameterf(commands[i++], commands[i++], Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_TEX_PARAMETERFV:
+                target.glTexParameterfv(commands[i++], commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_TEX_PARAMETERI:
+                target.glTexParameteri(commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_TEX_PARAMETERIV:
+                target.glTexParameteriv(commands[i++], commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_TEX_SUB_IMAGE2_D:
+                target.glTexSubImage2D(commands[i++], commands[i++], commands[i++], commands[i++], commands[i++],
+                        commands[i++], commands[i++], commands[i++], (Buffer) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM1F:
+                target.glUniform1f(commands[i++], Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM1FV:
+                target.glUniform1fv(commands[i++], commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM1I:
+                target.glUniform1i(commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM1IV:
+                target.glUniform1iv(commands[i++], commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM2F:
+                target.glUniform2f(commands[i++], Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM2FV:
+                target.glUniform2fv(commands[i++], commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM2I:
+                target.glUniform2i(commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM2IV:
+                target.glUniform2iv(commands[i++], commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM3F:
+                target.glUniform3f(commands[i++], Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM3FV:
+                target.glUniform3fv(commands[i++], commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM3I:
+                target.glUniform3i(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM3IV:
+                target.glUniform3iv(commands[i++], commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM4F:
+                target.glUniform4f(commands[i++], Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM4FV:
+                target.glUniform4fv(commands[i++], commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM4I:
+                target.glUniform4i(commands[i++], commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM4IV:
+                target.glUniform4iv(commands[i++], commands[i++], this.ints(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM_MATRIX2FV:
+                target.glUniformMatrix2fv(commands[i++], commands[i++], commands[i++] != 0, this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM_MATRIX3FV:
+                target.glUniformMatrix3fv(commands[i++], commands[i++], commands[i++] != 0, this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_UNIFORM_MATRIX4FV:
+                target.glUniformMatrix4fv(commands[i++], commands[i++], commands[i++] != 0, this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_USE_PROGRAM:
+                target.glUseProgram(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_VALIDATE_PROGRAM:
+                target.glValidateProgram(commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB1F:
+                target.glVertexAttrib1f(commands[i++], Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB1FV:
+                target.glVertexAttrib1fv(commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB2F:
+                target.glVertexAttrib2f(commands[i++], Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB2FV:
+                target.glVertexAttrib2fv(commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB3F:
+                target.glVertexAttrib3f(commands[i++], Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB3FV:
+                target.glVertexAttrib3fv(commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB4F:
+                target.glVertexAttrib4f(commands[i++], Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]), Float.intBitsToFloat(commands[i++]),
+                        Float.intBitsToFloat(commands[i++]));
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB4FV:
+                target.glVertexAttrib4fv(commands[i++], this.floats(commands, i));
+                i += 1 + commands[i];
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB_POINTER:
+                target.glVertexAttribPointer(commands[i++], commands[i++], commands[i++], commands[i++] != 0,
+                        commands[i++], commands[i++]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB_POINTER_BUFFER:
+                target.glVertexAttribPointer(commands[i++], commands[i++], commands[i++], commands[i++] != 0,
+                        commands[i++], (Buffer) references[commands[i++]]);
+                break;
+            case AndroidGLES20Recorder.OP_GL_VIEWPORT:
+                target.glViewport(commands[i++], commands[i++], commands[i++], commands[i++]);
+                break;
+            default:
+                throw new IllegalStateException();
+            }
+        }
+    }
+    
+    private static UnsupportedOperationException unsupported(String methodName) {
+        return new UnsupportedOperationException(methodName + " cannot be recorded.");
+    }
+    
+    private void reserve(int count) {
+        if (this.commandsCount + count > this.commands.length) {
+            this.commands = Arrays.copyOf(this.commands,
+                    Math.max(this.commandsCount + count, 2 * this.commands.length));
+        }
+    }
+    
+    private void putOpcode(int opcode) {
+        this.putInt(opcode);
+    }
+    
+    private void putInt(int value) {
+        this.reserve(1);
+        this.commands[this.commandsCount++] = value;
+    }
+    
+    private void putFloat(float value) {
+        this.putInt(Float.floatToRawIntBits(value));
+    }
+    
+    private void putBoolean(boolean value) {
+        this.putInt(value ? 1 : 0);
+    }
+    
+    private void putReference(Object value) {
+        if (this.referencesCount == this.references.length) {
+            this.references = Arrays.copyOf(this.references, 2 * this.references.length);
+        }
+        this.references[this.referencesCount] = value;
+        this.putInt(this.referencesCount++);
+    }
+    
+    private void putFloats(FloatBuffer values, int count) {
+        this.reserve(count + 1);
+        this.commands[this.commandsCount++] = count;
+        int start = values.position();
+        for (int i = 0; i < count; ++i) {
+            this.commands[this.commandsCount++] = Float.floatToRawIntBits(values.get(start + i));
+        }
+    }
+    
+    private void putInts(IntBuffer values, int count) {
+        this.reserve(count + 1);
+        this.commands[this.commandsCount++] = count;
+        int start = values.position();
+        for (int i = 0; i < count; ++i) {
+            this.commands[this.commandsCount++] = values.get(start + i);
+        }
+    }
+    
+    private void putIndices(Buffer indices, int count) {
+        if (indices instanceof ByteBuffer) {
+            ByteBuffer byteIndices = (ByteBuffer) indices;
+            this.reserve(count + 2);
+            this.commands[this.commandsCount++] = AndroidGLES20Recorder.INDICES_BYTE;
+            this.commands[this.commandsCount++] = count;
+            int start = byteIndices.position();
+            for (int i = 0; i < count; ++i) {
+                this.commands[this.commandsCount++] = byteIndices.get(start + i);
+            }
+        } else if (indices instanceof ShortBuffer) {
+            ShortBuffer shortIndices = (ShortBuffer) indices;
+            this.reserve(count + 2);
+            this.commands[this.commandsCount++] = AndroidGLES20Recorder.INDICES_SHORT;
+            this.commands[this.commandsCount++] = count;
+            int start = shortIndices.position();
+            for (int i = 0; i < count; ++i) {
+                this.commands[this.commandsCount++] = shortIndices.get(start + i);
+            }
+        } else {
+            this.putInt(AndroidGLES20Recorder.INDICES_REFERENCE);
+            this.putReference(indices);
+        }
+    }
+    
+    private static ByteBuffer allocate(int bytes) {
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(bytes);
+        byteBuffer.order(ByteOrder.nativeOrder());
+        return byteBuffer;
+    }
+    
+    // The operands of variable length are stored as a count followed by the values, starting at position.
+    private FloatBuffer floats(int[] commands, int position) {
+        int count = commands[position];
+        if (this.floatBuffer == null || this.floatBuffer.capacity() < count) {
+            this.floatBuffer = AndroidGLES20Recorder.allocate(4 * Math.max(count, 16)).asFloatBuffer();
+        }
+        this.floatBuffer.clear();
+        for (int i = 0; i < count; ++i) {
+            this.floatBuffer.put(i, Float.intBitsToFloat(commands[position + 1 + i]));
+        }
+        this.floatBuffer.limit(count);
+        return this.floatBuffer;
+    }
+    
+    private IntBuffer ints(int[] commands, int position) {
+        int count = commands[position];
+        if (this.intBuffer == null || this.intBuffer.capacity() < count) {
+            this.intBuffer = AndroidGLES20Recorder.allocate(4 * Math.max(count, 16)).asIntBuffer();
+        }
+        this.intBuffer.clear();
+        this.intBuffer.put(commands, position + 1, count);
+        this.intBuffer.flip();
+        return this.intBuffer;
+    }
+    
+    private static int getIndicesLength(int[] commands, int position) {
+        return commands[position] == AndroidGLES20Recorder.INDICES_REFERENCE ? 2 : 2 + commands[position + 1];
+    }
+    
+    private Buffer indices(int[] commands, int position) {
+        int kind = commands[position];
+        if (kind == AndroidGLES20Recorder.INDICES_REFERENCE) {
+            return (Buffer) this.references[commands[position + 1]];
+        }
+        int count = commands[position + 1];
+        if (kind == AndroidGLES20Recorder.INDICES_BYTE) {
+            if (this.byteBuffer == null || this.byteBuffer.capacity() < count) {
+                this.byteBuffer = AndroidGLES20Recorder.allocate(Math.max(count, 64));
+            }
+            this.byteBuffer.clear();
+            for (int i = 0; i < count; ++i) {
+                this.byteBuffer.put(i, (byte) commands[position + 2 + i]);
+            }
+            this.byteBuffer.limit(count);
+            return this.byteBuffer;
+        } else {
+            if (this.shortBuffer == null || this.shortBuffer.capacity() < count) {
+                this.shortBuffer = AndroidGLES20Recorder.allocate(2 * Math.max(count, 64)).asShortBuffer();
+            }
+            this.shortBuffer.clear();
+            for (int i = 0; i < count; ++i) {
+                this.shortBuffer.put(i, (short) commands[position + 2 + i]);
+            }
+            this.shortBuffer.limit(count);
+            return this.shortBuffer;
+        }
+    }
+    
+    @Override
+    public void glActiveTexture(int texture) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_ACTIVE_TEXTURE);
+        this.putInt(texture);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_ATTACH_SHADER);
+        this.putInt(program);
+        this.putInt(shader);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BIND_ATTRIB_LOCATION);
+        this.putInt(program);
+        this.putInt(index);
+        this.putReference(name);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BIND_BUFFER);
+        this.putInt(target);
+        this.putInt(buffer);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBindFramebuffer(int target, int framebuffer) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BIND_FRAMEBUFFER);
+        this.putInt(target);
+        this.putInt(framebuffer);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBindRenderbuffer(int target, int renderbuffer) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BIND_RENDERBUFFER);
+        this.putInt(target);
+        this.putInt(renderbuffer);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BIND_TEXTURE);
+        this.putInt(target);
+        this.putInt(texture);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBlendColor(float red, float green, float blue, float alpha) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BLEND_COLOR);
+        this.putFloat(red);
+        this.putFloat(green);
+        this.putFloat(blue);
+        this.putFloat(alpha);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBlendEquation(int mode) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BLEND_EQUATION);
+        this.putInt(mode);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBlendEquationSeparate(int modeRGB, int modeAlpha) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BLEND_EQUATION_SEPARATE);
+        this.putInt(modeRGB);
+        this.putInt(modeAlpha);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BLEND_FUNC);
+        this.putInt(sfactor);
+        this.putInt(dfactor);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBlendFuncSeparate(int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BLEND_FUNC_SEPARATE);
+        this.putInt(srcRGB);
+        this.putInt(dstRGB);
+        this.putInt(srcAlpha);
+        this.putInt(dstAlpha);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BUFFER_DATA);
+        this.putInt(target);
+        this.putInt(size);
+        this.putReference(data);
+        this.putInt(usage);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_BUFFER_SUB_DATA);
+        this.putInt(target);
+        this.putInt(offset);
+        this.putInt(size);
+        this.putReference(data);
+        ++this.callsCount;
+    }
+
+    @Override
+    public int glCheckFramebufferStatus(int target) {
+        throw AndroidGLES20Recorder.unsupported("glCheckFramebufferStatus");
+    }
+
+    @Override
+    public void glClear(int mask) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_CLEAR);
+        this.putInt(mask);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_CLEAR_COLOR);
+        this.putFloat(red);
+        this.putFloat(green);
+        this.putFloat(blue);
+        this.putFloat(alpha);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glClearDepthf(float depth) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_CLEAR_DEPTHF);
+        this.putFloat(depth);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glClearStencil(int s) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_CLEAR_STENCIL);
+        this.putInt(s);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glColorMask(boolean red, boolean green, boolean blue, boolean alpha) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_COLOR_MASK);
+        this.putBoolean(red);
+        this.putBoolean(green);
+        this.putBoolean(blue);
+        this.putBoolean(alpha);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glCompileShader(int shader) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_COMPILE_SHADER);
+        this.putInt(shader);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glCompressedTexImage2D(int target, int level, int internalformat, int width, int height, int border, int imageSize, Buffer data) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_COMPRESSED_TEX_IMAGE2_D);
+        this.putInt(target);
+        this.putInt(level);
+        this.putInt(internalformat);
+        this.putInt(width);
+        this.putInt(height);
+        this.putInt(border);
+        this.putInt(imageSize);
+        this.putReference(data);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glCompressedTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int imageSize, Buffer data) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_COMPRESSED_TEX_SUB_IMAGE2_D);
+        this.putInt(target);
+        this.putInt(level);
+        this.putInt(xoffset);
+        this.putInt(yoffset);
+        this.putInt(width);
+        this.putInt(height);
+        this.putInt(format);
+        this.putInt(imageSize);
+        this.putReference(data);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glCopyTexImage2D(int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_COPY_TEX_IMAGE2_D);
+        this.putInt(target);
+        this.putInt(level);
+        this.putInt(internalformat);
+        this.putInt(x);
+        this.putInt(y);
+        this.putInt(width);
+        this.putInt(height);
+        this.putInt(border);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glCopyTexSubImage2D(int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_COPY_TEX_SUB_IMAGE2_D);
+        this.putInt(target);
+        this.putInt(level);
+        this.putInt(xoffset);
+        this.putInt(yoffset);
+        this.putInt(x);
+        this.putInt(y);
+        this.putInt(width);
+        this.putInt(height);
+        ++this.callsCount;
+    }
+
+    @Override
+    public int glCreateProgram() {
+        throw AndroidGLES20Recorder.unsupported("glCreateProgram");
+    }
+
+    @Override
+    public int glCreateShader(int type) {
+        throw AndroidGLES20Recorder.unsupported("glCreateShader");
+    }
+
+    @Override
+    public void glCullFace(int mode) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_CULL_FACE);
+        this.putInt(mode);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, IntBuffer buffers) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DELETE_BUFFERS);
+        this.putInt(n);
+        this.putInts(buffers, n);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDeleteFramebuffers(int n, IntBuffer framebuffers) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DELETE_FRAMEBUFFERS);
+        this.putInt(n);
+        this.putInts(framebuffers, n);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DELETE_PROGRAM);
+        this.putInt(program);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDeleteRenderbuffers(int n, IntBuffer renderbuffers) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DELETE_RENDERBUFFERS);
+        this.putInt(n);
+        this.putInts(renderbuffers, n);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDeleteShader(int shader) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DELETE_SHADER);
+        this.putInt(shader);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDeleteTextures(int n, IntBuffer textures) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DELETE_TEXTURES);
+        this.putInt(n);
+        this.putInts(textures, n);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDepthFunc(int func) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DEPTH_FUNC);
+        this.putInt(func);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDepthMask(boolean flag) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DEPTH_MASK);
+        this.putBoolean(flag);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDepthRangef(float zNear, float zFar) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DEPTH_RANGEF);
+        this.putFloat(zNear);
+        this.putFloat(zFar);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDetachShader(int program, int shader) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DETACH_SHADER);
+        this.putInt(program);
+        this.putInt(shader);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDisable(int cap) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DISABLE);
+        this.putInt(cap);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DISABLE_VERTEX_ATTRIB_ARRAY);
+        this.putInt(index);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DRAW_ARRAYS);
+        this.putInt(mode);
+        this.putInt(first);
+        this.putInt(count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int offset) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DRAW_ELEMENTS);
+        this.putInt(mode);
+        this.putInt(count);
+        this.putInt(type);
+        this.putInt(offset);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, Buffer indices) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_DRAW_ELEMENTS_BUFFER);
+        this.putInt(mode);
+        this.putInt(count);
+        this.putInt(type);
+        this.putIndices(indices, count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glEnable(int cap) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_ENABLE);
+        this.putInt(cap);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_ENABLE_VERTEX_ATTRIB_ARRAY);
+        this.putInt(index);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glFinish() {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_FINISH);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glFlush() {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_FLUSH);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glFramebufferRenderbuffer(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_FRAMEBUFFER_RENDERBUFFER);
+        this.putInt(target);
+        this.putInt(attachment);
+        this.putInt(renderbuffertarget);
+        this.putInt(renderbuffer);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glFramebufferTexture2D(int target, int attachment, int textarget, int texture, int level) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_FRAMEBUFFER_TEXTURE2_D);
+        this.putInt(target);
+        this.putInt(attachment);
+        this.putInt(textarget);
+        this.putInt(texture);
+        this.putInt(level);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glFrontFace(int mode) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_FRONT_FACE);
+        this.putInt(mode);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glGenBuffers(int n, IntBuffer buffers) {
+        throw AndroidGLES20Recorder.unsupported("glGenBuffers");
+    }
+
+    @Override
+    public void glGenerateMipmap(int target) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_GENERATE_MIPMAP);
+        this.putInt(target);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glGenFramebuffers(int n, IntBuffer framebuffers) {
+        throw AndroidGLES20Recorder.unsupported("glGenFramebuffers");
+    }
+
+    @Override
+    public void glGenRenderbuffers(int n, IntBuffer renderbuffers) {
+        throw AndroidGLES20Recorder.unsupported("glGenRenderbuffers");
+    }
+
+    @Override
+    public void glGenTextures(int n, IntBuffer textures) {
+        throw AndroidGLES20Recorder.unsupported("glGenTextures");
+    }
+
+    @Override
+    public void glGetActiveAttrib(int program, int index, int bufsize, int[] length, int lengthOffset, int[] size, int sizeOffset, int[] type, int typeOffset, byte[] name, int nameOffset) {
+        throw AndroidGLES20Recorder.unsupported("glGetActiveAttrib");
+    }
+
+    @Override
+    public void glGetActiveUniform(int program, int index, int bufsize, int[] length, int lengthOffset, int[] size, int sizeOffset, int[] type, int typeOffset, byte[] name, int nameOffset) {
+        throw AndroidGLES20Recorder.unsupported("glGetActiveUniform");
+    }
+
+    @Override
+    public void glGetAttachedShaders(int program, int maxcount, IntBuffer count, IntBuffer shaders) {
+        throw AndroidGLES20Recorder.unsupported("glGetAttachedShaders");
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name) {
+        throw AndroidGLES20Recorder.unsupported("glGetAttribLocation");
+    }
+
+    @Override
+    public void glGetBooleanv(int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetBooleanv");
+    }
+
+    @Override
+    public void glGetBufferParameteriv(int target, int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetBufferParameteriv");
+    }
+
+    @Override
+    public int glGetError() {
+        throw AndroidGLES20Recorder.unsupported("glGetError");
+    }
+
+    @Override
+    public void glGetFloatv(int pname, FloatBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetFloatv");
+    }
+
+    @Override
+    public void glGetFramebufferAttachmentParameteriv(int target, int attachment, int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetFramebufferAttachmentParameteriv");
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetIntegerv");
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetProgramiv");
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program) {
+        throw AndroidGLES20Recorder.unsupported("glGetProgramInfoLog");
+    }
+
+    @Override
+    public void glGetRenderbufferParameteriv(int target, int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetRenderbufferParameteriv");
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetShaderiv");
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) {
+        throw AndroidGLES20Recorder.unsupported("glGetShaderInfoLog");
+    }
+
+    @Override
+    public void glGetShaderPrecisionFormat(int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+        throw AndroidGLES20Recorder.unsupported("glGetShaderPrecisionFormat");
+    }
+
+    @Override
+    public void glGetShaderSource(int shader, int bufsize, int[] length, int lengthOffset, byte[] source, int sourceOffset) {
+        throw AndroidGLES20Recorder.unsupported("glGetShaderSource");
+    }
+
+    @Override
+    public String glGetString(int name) {
+        throw AndroidGLES20Recorder.unsupported("glGetString");
+    }
+
+    @Override
+    public void glGetTexParameterfv(int target, int pname, FloatBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetTexParameterfv");
+    }
+
+    @Override
+    public void glGetTexParameteriv(int target, int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetTexParameteriv");
+    }
+
+    @Override
+    public void glGetUniformfv(int program, int location, FloatBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetUniformfv");
+    }
+
+    @Override
+    public void glGetUniformiv(int program, int location, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetUniformiv");
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name) {
+        throw AndroidGLES20Recorder.unsupported("glGetUniformLocation");
+    }
+
+    @Override
+    public void glGetVertexAttribfv(int index, int pname, FloatBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetVertexAttribfv");
+    }
+
+    @Override
+    public void glGetVertexAttribiv(int index, int pname, IntBuffer params) {
+        throw AndroidGLES20Recorder.unsupported("glGetVertexAttribiv");
+    }
+
+    @Override
+    public void glHint(int target, int mode) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_HINT);
+        this.putInt(target);
+        this.putInt(mode);
+        ++this.callsCount;
+    }
+
+    @Override
+    public boolean glIsBuffer(int buffer) {
+        throw AndroidGLES20Recorder.unsupported("glIsBuffer");
+    }
+
+    @Override
+    public boolean glIsEnabled(int cap) {
+        throw AndroidGLES20Recorder.unsupported("glIsEnabled");
+    }
+
+    @Override
+    public boolean glIsFramebuffer(int framebuffer) {
+        throw AndroidGLES20Recorder.unsupported("glIsFramebuffer");
+    }
+
+    @Override
+    public boolean glIsProgram(int program) {
+        throw AndroidGLES20Recorder.unsupported("glIsProgram");
+    }
+
+    @Override
+    public boolean glIsRenderbuffer(int renderbuffer) {
+        throw AndroidGLES20Recorder.unsupported("glIsRenderbuffer");
+    }
+
+    @Override
+    public boolean glIsShader(int shader) {
+        throw AndroidGLES20Recorder.unsupported("glIsShader");
+    }
+
+    @Override
+    public boolean glIsTexture(int texture) {
+        throw AndroidGLES20Recorder.unsupported("glIsTexture");
+    }
+
+    @Override
+    public void glLineWidth(float width) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_LINE_WIDTH);
+        this.putFloat(width);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glLinkProgram(int program) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_LINK_PROGRAM);
+        this.putInt(program);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glPixelStorei(int pname, int param) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_PIXEL_STOREI);
+        this.putInt(pname);
+        this.putInt(param);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glPolygonOffset(float factor, float units) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_POLYGON_OFFSET);
+        this.putFloat(factor);
+        this.putFloat(units);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glReadPixels(int x, int y, int width, int height, int format, int type, Buffer pixels) {
+        throw AndroidGLES20Recorder.unsupported("glReadPixels");
+    }
+
+    @Override
+    public void glReleaseShaderCompiler() {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_RELEASE_SHADER_COMPILER);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glRenderbufferStorage(int target, int internalformat, int width, int height) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_RENDERBUFFER_STORAGE);
+        this.putInt(target);
+        this.putInt(internalformat);
+        this.putInt(width);
+        this.putInt(height);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glSampleCoverage(float value, boolean invert) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_SAMPLE_COVERAGE);
+        this.putFloat(value);
+        this.putBoolean(invert);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glScissor(int x, int y, int width, int height) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_SCISSOR);
+        this.putInt(x);
+        this.putInt(y);
+        this.putInt(width);
+        this.putInt(height);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glShaderBinary(int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_SHADER_BINARY);
+        this.putInt(n);
+        this.putInts(shaders, n);
+        this.putInt(binaryformat);
+        this.putReference(binary);
+        this.putInt(length);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glShaderSource(int shader, String string) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_SHADER_SOURCE);
+        this.putInt(shader);
+        this.putReference(string);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glStencilFunc(int func, int ref, int mask) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_STENCIL_FUNC);
+        this.putInt(func);
+        this.putInt(ref);
+        this.putInt(mask);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glStencilFuncSeparate(int face, int func, int ref, int mask) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_STENCIL_FUNC_SEPARATE);
+        this.putInt(face);
+        this.putInt(func);
+        this.putInt(ref);
+        this.putInt(mask);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glStencilMask(int mask) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_STENCIL_MASK);
+        this.putInt(mask);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glStencilMaskSeparate(int face, int mask) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_STENCIL_MASK_SEPARATE);
+        this.putInt(face);
+        this.putInt(mask);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glStencilOp(int fail, int zfail, int zpass) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_STENCIL_OP);
+        this.putInt(fail);
+        this.putInt(zfail);
+        this.putInt(zpass);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glStencilOpSeparate(int face, int fail, int zfail, int zpass) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_STENCIL_OP_SEPARATE);
+        this.putInt(face);
+        this.putInt(fail);
+        this.putInt(zfail);
+        this.putInt(zpass);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_TEX_IMAGE2_D);
+        this.putInt(target);
+        this.putInt(level);
+        this.putInt(internalformat);
+        this.putInt(width);
+        this.putInt(height);
+        this.putInt(border);
+        this.putInt(format);
+        this.putInt(type);
+        this.putReference(pixels);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glTexParameterf(int target, int pname, float param) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_TEX_PARAMETERF);
+        this.putInt(target);
+        this.putInt(pname);
+        this.putFloat(param);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glTexParameterfv(int target, int pname, FloatBuffer params) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_TEX_PARAMETERFV);
+        this.putInt(target);
+        this.putInt(pname);
+        this.putFloats(params, 1);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_TEX_PARAMETERI);
+        this.putInt(target);
+        this.putInt(pname);
+        this.putInt(param);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glTexParameteriv(int target, int pname, IntBuffer params) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_TEX_PARAMETERIV);
+        this.putInt(target);
+        this.putInt(pname);
+        this.putInts(params, 1);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Buffer pixels) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_TEX_SUB_IMAGE2_D);
+        this.putInt(target);
+        this.putInt(level);
+        this.putInt(xoffset);
+        this.putInt(yoffset);
+        this.putInt(width);
+        this.putInt(height);
+        this.putInt(format);
+        this.putInt(type);
+        this.putReference(pixels);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform1f(int location, float x) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM1F);
+        this.putInt(location);
+        this.putFloat(x);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform1fv(int location, int count, FloatBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM1FV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putFloats(v, 1 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform1i(int location, int x) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM1I);
+        this.putInt(location);
+        this.putInt(x);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform1iv(int location, int count, IntBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM1IV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putInts(v, 1 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform2f(int location, float x, float y) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM2F);
+        this.putInt(location);
+        this.putFloat(x);
+        this.putFloat(y);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform2fv(int location, int count, FloatBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM2FV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putFloats(v, 2 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform2i(int location, int x, int y) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM2I);
+        this.putInt(location);
+        this.putInt(x);
+        this.putInt(y);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform2iv(int location, int count, IntBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM2IV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putInts(v, 2 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM3F);
+        this.putInt(location);
+        this.putFloat(x);
+        this.putFloat(y);
+        this.putFloat(z);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, FloatBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM3FV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putFloats(v, 3 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform3i(int location, int x, int y, int z) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM3I);
+        this.putInt(location);
+        this.putInt(x);
+        this.putInt(y);
+        this.putInt(z);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform3iv(int location, int count, IntBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM3IV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putInts(v, 3 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform4f(int location, float x, float y, float z, float w) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM4F);
+        this.putInt(location);
+        this.putFloat(x);
+        this.putFloat(y);
+        this.putFloat(z);
+        this.putFloat(w);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform4fv(int location, int count, FloatBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM4FV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putFloats(v, 4 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform4i(int location, int x, int y, int z, int w) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM4I);
+        this.putInt(location);
+        this.putInt(x);
+        this.putInt(y);
+        this.putInt(z);
+        this.putInt(w);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniform4iv(int location, int count, IntBuffer v) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM4IV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putInts(v, 4 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniformMatrix2fv(int location, int count, boolean transpose, FloatBuffer value) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM_MATRIX2FV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putBoolean(transpose);
+        this.putFloats(value, 4 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniformMatrix3fv(int location, int count, boolean transpose, FloatBuffer value) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM_MATRIX3FV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putBoolean(transpose);
+        this.putFloats(value, 9 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, FloatBuffer value) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_UNIFORM_MATRIX4FV);
+        this.putInt(location);
+        this.putInt(count);
+        this.putBoolean(transpose);
+        this.putFloats(value, 16 * count);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glUseProgram(int program) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_USE_PROGRAM);
+        this.putInt(program);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glValidateProgram(int program) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VALIDATE_PROGRAM);
+        this.putInt(program);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib1f(int indx, float x) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB1F);
+        this.putInt(indx);
+        this.putFloat(x);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib1fv(int indx, FloatBuffer values) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB1FV);
+        this.putInt(indx);
+        this.putFloats(values, 1);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib2f(int indx, float x, float y) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB2F);
+        this.putInt(indx);
+        this.putFloat(x);
+        this.putFloat(y);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib2fv(int indx, FloatBuffer values) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB2FV);
+        this.putInt(indx);
+        this.putFloats(values, 2);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib3f(int indx, float x, float y, float z) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB3F);
+        this.putInt(indx);
+        this.putFloat(x);
+        this.putFloat(y);
+        this.putFloat(z);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib3fv(int indx, FloatBuffer values) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB3FV);
+        this.putInt(indx);
+        this.putFloats(values, 3);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib4f(int indx, float x, float y, float z, float w) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB4F);
+        this.putInt(indx);
+        this.putFloat(x);
+        this.putFloat(y);
+        this.putFloat(z);
+        this.putFloat(w);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttrib4fv(int indx, FloatBuffer values) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB4FV);
+        this.putInt(indx);
+        this.putFloats(values, 4);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, int offset) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB_POINTER);
+        this.putInt(indx);
+        this.putInt(size);
+        this.putInt(type);
+        this.putBoolean(normalized);
+        this.putInt(stride);
+        this.putInt(offset);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, Buffer ptr) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VERTEX_ATTRIB_POINTER_BUFFER);
+        this.putInt(indx);
+        this.putInt(size);
+        this.putInt(type);
+        this.putBoolean(normalized);
+        this.putInt(stride);
+        this.putReference(ptr);
+        ++this.callsCount;
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height) {
+        this.putOpcode(AndroidGLES20Recorder.OP_GL_VIEWPORT);
+        this.putInt(x);
+        this.putInt(y);
+        this.putInt(width);
+        this.putInt(height);
+        ++this.callsCount;
+    }
+}
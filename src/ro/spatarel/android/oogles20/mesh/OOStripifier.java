@@ -0,0 +1,343 @@
+package ro.spatarel.android.oogles20.mesh;
+
+import java.util.Arrays;
+
+import ro.spatarel.android.oogles20.OODrawPrimitive;
+import ro.spatarel.android.oogles20.OOGLES20Framebuffer;
+
+/**
+ * <p>Class converting indexed triangle lists into a single triangle strip for
+ * {@link OOGLES20Framebuffer#drawElements} with {@link OODrawPrimitive#TRIANGLE_STRIP}, and choosing, for every mesh,
+ * between the strip and the cache-optimized list.</p>
+ * 
+ * <p>The triangles are first reordered by an {@link OOVertexCacheOptimizer}. Strips are then grown greedily, in that
+ * order, across edges shared by consistently wound triangles, and stitched together with degenerate triangles; the
+ * stitching emulates primitive restart, which OpenGL ES 2.0 lacks. The winding of every triangle is preserved and
+ * degenerate input triangles are dropped.</p>
+ * 
+ * <p>{@link #optimize} grows strips with several window sizes (see {@link #stripify(short[], int, int, int)}) and
+ * takes the shortest one whose ACMR is not worse than the ACMR of the list by more than {@link #getACMRTolerance}. It
+ * keeps that strip when it has fewer indices than the list, and the list otherwise.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOStripifier {
+    
+    private static final int EMPTY = -1;
+    
+    private static final int[] WINDOW_SIZES = { 8, 16, 32, Integer.MAX_VALUE };
+    
+    private final OOVertexCacheOptimizer optimizer;
+    
+    private float acmrTolerance = 0.05f;
+    
+    private OODrawPrimitive primitive = OODrawPrimitive.TRIANGLES;
+    private short[] indices = new short[0];
+    private int listIndicesCount = 0;
+    private int stripIndicesCount = 0;
+    private float listACMR = 0.0f;
+    private float stripACMR = 0.0f;
+    
+    /**
+     * <p>Creates a stripifier measuring the ACMR on a FIFO cache of
+     * {@link OOVertexCacheOptimizer#DEFAULT_CACHE_SIZE} entries.</p>
+     */
+    public OOStripifier() {
+        this(new OOVertexCacheOptimizer());
+    }
+    
+    /**
+     * <p>Creates a stripifier.</p>
+     * 
+     * @param optimizer The optimizer reordering the triangles and measuring the ACMR.
+     */
+    public OOStripifier(OOVertexCacheOptimizer optimizer) {
+        this.optimizer = optimizer;
+    }
+    
+    /**
+     * <p>Returns the relative ACMR increase accepted in exchange for fewer indices; the default is {@code 0.05}.</p>
+     * 
+     * @return The relative ACMR increase accepted in exchange for fewer indices.
+     */
+    public float getACMRTolerance() {
+        return this.acmrTolerance;
+    }
+    
+    /**
+     * <p>Sets the relative ACMR increase accepted in exchange for fewer indices.</p>
+     * 
+     * @param acmrTolerance The relative ACMR increase; {@code 0} keeps the strip only if its ACMR is not worse.
+     */
+    public void setACMRTolerance(float acmrTolerance) {
+        this.acmrTolerance = acmrTolerance;
+    }
+    
+    /**
+     * <p>Cache-optimizes an indexed triangle list, converts it into a stitched strip and keeps the better of the two.
+     * The result is available through {@link #getPrimitive} and {@link #getIndices}; the input is not changed.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param offset The offset of the first index.
+     * @param count The number of indices; a multiple of {@code 3}.
+     * @param verticesCount The number of vertices; every index must be smaller.
+     * @return The primitive of the kept form.
+     */
+    public OODrawPrimitive optimize(short[] indices, int offset, int count, int verticesCount) {
+        short[] list = Arrays.copyOfRange(indices, offset, offset + count);
+        this.optimizer.optimizeTriangles(list, 0, count, verticesCount);
+        int cacheSize = this.optimizer.getCacheSize();
+        int trianglesCount = Math.max(1, count / 3);
+        this.listIndicesCount = count;
+        this.listACMR = (float) OOVertexCacheOptimizer.computeMissesCount(list, 0, count, cacheSize)
+                / trianglesCount;
+        float maximumACMR = this.listACMR * (1.0f + this.acmrTolerance);
+        short[] strip = null;
+        for (int windowSize : OOStripifier.WINDOW_SIZES) {
+            short[] candidate = OOStripifier.stripify(list, 0, count, windowSize);
+            float acmr = (float) OOVertexCacheOptimizer.computeMissesCount(candidate, 0, candidate.length,
+                    cacheSize) / trianglesCount;
+            boolean acceptable = acmr <= maximumACMR;
+            boolean accepted = strip != null && this.stripACMR <= maximumACMR;
+            if (strip == null || (acceptable && (!accepted || candidate.length < strip.length))
+                    || (!acceptable && !accepted && acmr < this.stripACMR)) {
+                strip = candidate;
+                this.stripACMR = acmr;
+            }
+        }
+        this.stripIndicesCount = strip.length;
+        if (strip.length < count && this.stripACMR <= maximumACMR) {
+            this.primitive = OODrawPrimitive.TRIANGLE_STRIP;
+            this.indices = strip;
+        } else {
+            this.primitive = OODrawPrimitive.TRIANGLES;
+            this.indices = list;
+        }
+        return this.primitive;
+    }
+    
+    /**
+     * <p>Returns the primitive chosen by the last {@link #optimize} call.</p>
+     * 
+     * @return {@link OODrawPrimitive#TRIANGLE_STRIP} or {@link OODrawPrimitive#TRIANGLES}.
+     */
+    public OODrawPrimitive getPrimitive() {
+        return this.primitive;
+    }
+    
+    /**
+     * <p>Returns the indices chosen by the last {@link #optimize} call.</p>
+     * 
+     * @return The indices, to be drawn with {@link #getPrimitive}.
+     */
+    public short[] getIndices() {
+        return this.indices;
+    }
+    
+    /**
+     * <p>Returns the number of indices of the cache-optimized list of the last {@link #optimize} call.</p>
+     * 
+     * @return The number of indices of the list.
+     */
+    public int getListIndicesCount() {
+        return this.listIndicesCount;
+    }
+    
+    /**
+     * <p>Returns the number of indices of the strip of the last {@link #optimize} call.</p>
+     * 
+     * @return The number of indices of the strip.
+     */
+    public int getStripIndicesCount() {
+        return this.stripIndicesCount;
+    }
+    
+    /**
+     * <p>Returns the ACMR of the cache-optimized list of the last {@link #optimize} call.</p>
+     * 
+     * @return The ACMR of the list.
+     */
+    public float getListACMR() {
+        return this.listACMR;
+    }
+    
+    /**
+     * <p>Returns the ACMR of the strip of the last {@link #optimize} call, per triangle of the list.</p>
+     * 
+     * @return The ACMR of the strip.
+     */
+    public float getStripACMR() {
+        return this.stripACMR;
+    }
+    
+    /**
+     * <p>Converts an indexed triangle list into a single strip stitched with degenerate triangles, growing every strip
+     * as long as possible.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param offset The offset of the first index.
+     * @param count The number of indices; a multiple of {@code 3}.
+     * @return The indices of the strip.
+     * @see #stripify(short[], int, int, int)
+     */
+    public static short[] stripify(short[] indices, int offset, int count) {
+        return OOStripifier.stripify(indices, offset, count, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * <p>Converts an indexed triangle list into a single strip stitched with degenerate triangles. The strips are
+     * started in the order of the list, and a strip is only grown with triangles among the next {@code windowSize}
+     * triangles not yet emitted; a small window keeps the cache locality of a cache-optimized list at the price of
+     * more stitching indices.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param offset The offset of the first index.
+     * @param count The number of indices; a multiple of {@code 3}.
+     * @param windowSize The number of list triangles a strip may be grown with.
+     * @return The indices of the strip.
+     */
+    public static short[] stripify(short[] indices, int offset, int count, int windowSize) {
+        if (count % 3 != 0) {
+            throw new IllegalArgumentException("count is not a multiple of 3");
+        }
+        int trianglesCount = count / 3;
+        int capacity = Integer.highestOneBit(Math.max(1, 6 * trianglesCount)) << 1;
+        int[] edgeKeys = new int[capacity];
+        int[] edgeTriangles = new int[capacity];
+        Arrays.fill(edgeKeys, OOStripifier.EMPTY);
+        boolean[] visited = new boolean[trianglesCount];
+        for (int triangle = 0; triangle < trianglesCount; ++triangle) {
+            int i = offset + 3 * triangle;
+            int a = indices[i] & 0xFFFF;
+            int b = indices[i + 1] & 0xFFFF;
+            int c = indices[i + 2] & 0xFFFF;
+            if (a == b || b == c || c == a) {
+                visited[triangle] = true;
+                continue;
+            }
+            OOStripifier.putEdge(edgeKeys, edgeTriangles, a, b, triangle);
+            OOStripifier.putEdge(edgeKeys, edgeTriangles, b, c, triangle);
+            OOStripifier.putEdge(edgeKeys, edgeTriangles, c, a, triangle);
+        }
+        
+        short[] strip = new short[6 * trianglesCount + 3];
+        int length = 0;
+        int cursor = 0;
+        while (true) {
+            while (cursor < trianglesCount && visited[cursor]) {
+                ++cursor;
+            }
+            if (cursor == trianglesCount) {
+                break;
+            }
+            int triangle = cursor;
+            visited[triangle] = true;
+            int i = offset + 3 * triangle;
+            int rotation = 0;
+            for (int k = 0; k < 3; ++k) {
+                int y = indices[i + (k + 1) % 3] & 0xFFFF;
+                int z = indices[i + (k + 2) % 3] & 0xFFFF;
+                int neighbour = OOStripifier.getEdge(edgeKeys, edgeTriangles, z, y);
+                if (neighbour != OOStripifier.EMPTY && !visited[neighbour]) {
+                    rotation = k;
+                    break;
+                }
+            }
+            if (length > 0) {
+                short last = strip[length - 1];
+                strip[length++] = last;
+                if (length % 2 == 0) {
+                    strip[length++] = last;
+                }
+                strip[length++] = indices[i + rotation];
+            }
+            strip[length++] = indices[i + rotation];
+            strip[length++] = indices[i + (rotation + 1) % 3];
+            strip[length++] = indices[i + (rotation + 2) % 3];
+            while (true) {
+                int p = strip[length - 2] & 0xFFFF;
+                int q = strip[length - 1] & 0xFFFF;
+                boolean even = length % 2 == 0;
+                int neighbour = even ? OOStripifier.getEdge(edgeKeys, edgeTriangles, p, q)
+                        : OOStripifier.getEdge(edgeKeys, edgeTriangles, q, p);
+                if (neighbour == OOStripifier.EMPTY || visited[neighbour] || neighbour - cursor >= windowSize) {
+                    break;
+                }
+                visited[neighbour] = true;
+                int j = offset + 3 * neighbour;
+                int x = even ? p : q;
+                int k = 0;
+                while ((indices[j + k] & 0xFFFF) != x) {
+                    ++k;
+                }
+                strip[length++] = indices[j + (k + 2) % 3];
+            }
+        }
+        return Arrays.copyOf(strip, length);
+    }
+    
+    /**
+     * <p>Converts a triangle strip back into a triangle list, restoring the winding of the odd triangles and dropping
+     * the degenerate triangles.</p>
+     * 
+     * @param strip The unsigned short indices of the strip.
+     * @param offset The offset of the first index.
+     * @param count The number of indices.
+     * @return The indices of the triangle list.
+     */
+    public static short[] unstripify(short[] strip, int offset, int count) {
+        short[] list = new short[3 * Math.max(0, count - 2)];
+        int length = 0;
+        for (int i = offset; i < offset + count - 2; ++i) {
+            short a = strip[i];
+            short b = strip[i + 1];
+            short c = strip[i + 2];
+            if (a == b || b == c || c == a) {
+                continue;
+            }
+            boolean even = (i - offset) % 2 == 0;
+            list[length++] = even ? a : b;
+            list[length++] = even ? b : a;
+            list[length++] = c;
+        }
+        return Arrays.copyOf(list, length);
+    }
+    
+    private static int getSlot(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 7 & mask;
+        while (keys[slot] != OOStripifier.EMPTY && keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+    
+    private static void putEdge(int[] keys, int[] triangles, int from, int to, int triangle) {
+        int key = from << 16 | to;
+        int slot = OOStripifier.getSlot(keys, key);
+        if (keys[slot] == OOStripifier.EMPTY) {
+            keys[slot] = key;
+            triangles[slot] = triangle;
+        }
+    }
+    
+    private static int getEdge(int[] keys, int[] triangles, int from, int to) {
+        int slot = OOStripifier.getSlot(keys, from << 16 | to);
+        return keys[slot] == OOStripifier.EMPTY ? OOStripifier.EMPTY : triangles[slot];
+    }
+}
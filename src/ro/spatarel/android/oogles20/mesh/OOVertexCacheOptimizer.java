@@ -0,0 +1,419 @@
+package ro.spatarel.android.oogles20.mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+import ro.spatarel.android.oogles20.OOGLES20Framebuffer;
+
+/**
+ * <p>Class reordering indexed triangle lists for the post-transform vertex cache of the GPU, and the vertex data for
+ * the resulting vertex fetch order. The index data is the one consumed by {@link OOGLES20Framebuffer#drawElements}
+ * with unsigned short indices.</p>
+ * 
+ * <p>The triangles are reordered with Tom Forsyth's <i>Linear-Speed Vertex Cache Optimisation</i>: every vertex is
+ * scored by its position in a simulated LRU cache and by the number of triangles still using it, and the next emitted
+ * triangle is the best scored triangle touching the cache. The cost is linear in the number of indices.</p>
+ * 
+ * <p>The quality of an ordering is reported as the ACMR (average cache miss ratio): the number of vertex shader
+ * invocations per triangle, measured on a FIFO cache of {@link #getCacheSize} entries. It ranges from about
+ * {@code 0.5} for a perfect ordering of a regular mesh to {@code 3.0} when no vertex is ever reused.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOVertexCacheOptimizer {
+    
+    /**
+     * <p>The default size of the FIFO cache used to measure the ACMR.</p>
+     */
+    public static final int DEFAULT_CACHE_SIZE = 16;
+    
+    private static final int LRU_CACHE_SIZE = 32;
+    private static final int MAXIMUM_VALENCE = 64;
+    
+    private static final float[] cacheScores = new float[OOVertexCacheOptimizer.LRU_CACHE_SIZE];
+    private static final float[] valenceScores = new float[OOVertexCacheOptimizer.MAXIMUM_VALENCE];
+    
+    static {
+        for (int i = 0; i < OOVertexCacheOptimizer.LRU_CACHE_SIZE; ++i) {
+            OOVertexCacheOptimizer.cacheScores[i] = i < 3 ? 0.75f
+                    : (float) Math.pow(1.0 - (i - 3) / (double) (OOVertexCacheOptimizer.LRU_CACHE_SIZE - 3), 1.5);
+        }
+        for (int i = 1; i < OOVertexCacheOptimizer.MAXIMUM_VALENCE; ++i) {
+            OOVertexCacheOptimizer.valenceScores[i] = 2.0f * (float) Math.pow(i, -0.5);
+        }
+    }
+    
+    private final int cacheSize;
+    
+    private float acmrBefore = 0.0f;
+    private float acmrAfter = 0.0f;
+    
+    /**
+     * <p>Creates an optimizer measuring the ACMR on a FIFO cache of {@link #DEFAULT_CACHE_SIZE} entries.</p>
+     */
+    public OOVertexCacheOptimizer() {
+        this(OOVertexCacheOptimizer.DEFAULT_CACHE_SIZE);
+    }
+    
+    /**
+     * <p>Creates an optimizer.</p>
+     * 
+     * @param cacheSize The number of entries of the FIFO cache used to measure the ACMR.
+     */
+    public OOVertexCacheOptimizer(int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("cacheSize < 1");
+        }
+        this.cacheSize = cacheSize;
+    }
+    
+    /**
+     * <p>Returns the number of entries of the FIFO cache used to measure the ACMR.</p>
+     * 
+     * @return The number of entries of the FIFO cache used to measure the ACMR.
+     */
+    public int getCacheSize() {
+        return this.cacheSize;
+    }
+    
+    /**
+     * <p>Returns the ACMR of the triangles passed to the last {@link #optimizeTriangles} call, before reordering.</p>
+     * 
+     * @return The ACMR before reordering.
+     */
+    public float getACMRBefore() {
+        return this.acmrBefore;
+    }
+    
+    /**
+     * <p>Returns the ACMR of the triangles passed to the last {@link #optimizeTriangles} call, after reordering.</p>
+     * 
+     * @return The ACMR after reordering.
+     */
+    public float getACMRAfter() {
+        return this.acmrAfter;
+    }
+    
+    /**
+     * <p>Reorders the triangles of an indexed triangle list, in place, for post-transform vertex cache locality. The
+     * winding of every triangle is preserved.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param offset The offset of the first index.
+     * @param count The number of indices; a multiple of {@code 3}.
+     * @param verticesCount The number of vertices; every index must be smaller.
+     * @see #getACMRBefore
+     * @see #getACMRAfter
+     */
+    public void optimizeTriangles(short[] indices, int offset, int count, int verticesCount) {
+        OOVertexCacheOptimizer.checkIndices(indices, offset, count, verticesCount);
+        this.acmrBefore = OOVertexCacheOptimizer.computeACMR(indices, offset, count, this.cacheSize);
+        OOVertexCacheOptimizer.reorderTriangles(indices, offset, count, verticesCount);
+        this.acmrAfter = OOVertexCacheOptimizer.computeACMR(indices, offset, count, this.cacheSize);
+    }
+    
+    /**
+     * <p>Reorders the triangles of an indexed triangle list, in place, for post-transform vertex cache locality. The
+     * indices are those between the position and the limit of the buffer; the position is not changed.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param verticesCount The number of vertices; every index must be smaller.
+     * @see #optimizeTriangles(short[], int, int, int)
+     */
+    public void optimizeTriangles(ShortBuffer indices, int verticesCount) {
+        short[] array = OOVertexCacheOptimizer.toArray(indices);
+        this.optimizeTriangles(array, 0, array.length, verticesCount);
+        indices.duplicate().put(array);
+    }
+    
+    /**
+     * <p>Renumbers the vertices in the order they are first referenced by the indices, which are rewritten in place.
+     * Vertices not referenced by any index are moved after all the referenced ones. The returned table is meant for
+     * {@link #remapVertices}.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param offset The offset of the first index.
+     * @param count The number of indices.
+     * @param verticesCount The number of vertices; every index must be smaller.
+     * @return The table mapping the old index of every vertex to its new index.
+     */
+    public static int[] optimizeVertices(short[] indices, int offset, int count, int verticesCount) {
+        OOVertexCacheOptimizer.checkIndices(indices, offset, count, verticesCount);
+        int[] remap = new int[verticesCount];
+        Arrays.fill(remap, -1);
+        int next = 0;
+        for (int i = offset; i < offset + count; ++i) {
+            int vertex = indices[i] & 0xFFFF;
+            if (remap[vertex] < 0) {
+                remap[vertex] = next++;
+            }
+            indices[i] = (short) remap[vertex];
+        }
+        for (int vertex = 0; vertex < verticesCount; ++vertex) {
+            if (remap[vertex] < 0) {
+                remap[vertex] = next++;
+            }
+        }
+        return remap;
+    }
+    
+    /**
+     * <p>Renumbers the vertices in the order they are first referenced by the indices between the position and the
+     * limit of the buffer, which are rewritten in place; the position is not changed.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param verticesCount The number of vertices; every index must be smaller.
+     * @return The table mapping the old index of every vertex to its new index.
+     * @see #optimizeVertices(short[], int, int, int)
+     */
+    public static int[] optimizeVertices(ShortBuffer indices, int verticesCount) {
+        short[] array = OOVertexCacheOptimizer.toArray(indices);
+        int[] remap = OOVertexCacheOptimizer.optimizeVertices(array, 0, array.length, verticesCount);
+        indices.duplicate().put(array);
+        return remap;
+    }
+    
+    /**
+     * <p>Moves interleaved vertex data, in place, to the order given by a table returned by
+     * {@link #optimizeVertices}. The vertices start at the position of the buffer; the position is not changed.</p>
+     * 
+     * @param vertices The vertex data.
+     * @param stride The size of a vertex, in bytes.
+     * @param remap The table mapping the old index of every vertex to its new index.
+     */
+    public static void remapVertices(ByteBuffer vertices, int stride, int[] remap) {
+        int base = vertices.position();
+        byte[] data = new byte[remap.length * stride];
+        vertices.duplicate().get(data);
+        ByteBuffer target = vertices.duplicate();
+        for (int vertex = 0; vertex < remap.length; ++vertex) {
+            target.position(base + remap[vertex] * stride);
+            target.put(data, vertex * stride, stride);
+        }
+    }
+    
+    /**
+     * <p>Moves vertex data, in place, to the order given by a table returned by {@link #optimizeVertices}.</p>
+     * 
+     * @param vertices The vertex data.
+     * @param components The number of floats of a vertex.
+     * @param remap The table mapping the old index of every vertex to its new index.
+     */
+    public static void remapVertices(float[] vertices, int components, int[] remap) {
+        float[] data = vertices.clone();
+        for (int vertex = 0; vertex < remap.length; ++vertex) {
+            System.arraycopy(data, vertex * components, vertices, remap[vertex] * components, components);
+        }
+    }
+    
+    /**
+     * <p>Computes the ACMR of an indexed triangle list on a FIFO cache.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param offset The offset of the first index.
+     * @param count The number of indices; a multiple of {@code 3}.
+     * @param cacheSize The number of entries of the cache.
+     * @return The number of cache misses per triangle, or {@code 0} for no triangles.
+     */
+    public static float computeACMR(short[] indices, int offset, int count, int cacheSize) {
+        if (count < 3) {
+            return 0.0f;
+        }
+        return (float) OOVertexCacheOptimizer.computeMissesCount(indices, offset, count, cacheSize) / (count / 3);
+    }
+    
+    /**
+     * <p>Computes the number of FIFO cache misses (vertex shader invocations) needed to fetch a sequence of indices;
+     * the sequence may be a triangle list or a triangle strip.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param offset The offset of the first index.
+     * @param count The number of indices.
+     * @param cacheSize The number of entries of the cache.
+     * @return The number of cache misses.
+     */
+    public static int computeMissesCount(short[] indices, int offset, int count, int cacheSize) {
+        int[] timestamps = new int[0x10000];
+        Arrays.fill(timestamps, -cacheSize - 1);
+        int missesCount = 0;
+        for (int i = offset; i < offset + count; ++i) {
+            int vertex = indices[i] & 0xFFFF;
+            if (missesCount - timestamps[vertex] >= cacheSize) {
+                timestamps[vertex] = missesCount;
+                ++missesCount;
+            }
+        }
+        return missesCount;
+    }
+    
+    /**
+     * <p>Computes the ACMR of the indexed triangle list between the position and the limit of the buffer on a FIFO
+     * cache.</p>
+     * 
+     * @param indices The unsigned short indices.
+     * @param cacheSize The number of entries of the cache.
+     * @return The number of cache misses per triangle, or {@code 0} for no triangles.
+     * @see #computeACMR(short[], int, int, int)
+     */
+    public static float computeACMR(ShortBuffer indices, int cacheSize) {
+        short[] array = OOVertexCacheOptimizer.toArray(indices);
+        return OOVertexCacheOptimizer.computeACMR(array, 0, array.length, cacheSize);
+    }
+    
+    private static short[] toArray(ShortBuffer buffer) {
+        short[] array = new short[buffer.remaining()];
+        buffer.duplicate().get(array);
+        return array;
+    }
+    
+    private static void checkIndices(short[] indices, int offset, int count, int verticesCount) {
+        if (count % 3 != 0) {
+            throw new IllegalArgumentException("count is not a multiple of 3");
+        }
+        if (verticesCount > 0x10000) {
+            throw new IllegalArgumentException("verticesCount > 65536");
+        }
+        for (int i = offset; i < offset + count; ++i) {
+            if ((indices[i] & 0xFFFF) >= verticesCount) {
+                throw new IllegalArgumentException("index " + (indices[i] & 0xFFFF) + " >= verticesCount");
+            }
+        }
+    }
+    
+    private static float getVertexScore(int cachePosition, int valence) {
+        if (valence == 0) {
+            return -1.0f;
+        }
+        float score = cachePosition < 0 ? 0.0f : OOVertexCacheOptimizer.cacheScores[cachePosition];
+        int valenceIndex = Math.min(valence, OOVertexCacheOptimizer.MAXIMUM_VALENCE - 1);
+        return score + OOVertexCacheOptimizer.valenceScores[valenceIndex];
+    }
+    
+    private static void reorderTriangles(short[] indices, int offset, int count, int verticesCount) {
+        int trianglesCount = count / 3;
+        if (trianglesCount < 2) {
+            return;
+        }
+        int[] valences = new int[verticesCount];
+        for (int i = offset; i < offset + count; ++i) {
+            ++valences[indices[i] & 0xFFFF];
+        }
+        int[] adjacencyOffsets = new int[verticesCount + 1];
+        for (int vertex = 0; vertex < verticesCount; ++vertex) {
+            adjacencyOffsets[vertex + 1] = adjacencyOffsets[vertex] + valences[vertex];
+        }
+        int[] adjacency = new int[count];
+        int[] adjacencyCursors = adjacencyOffsets.clone();
+        for (int i = 0; i < count; ++i) {
+            adjacency[adjacencyCursors[indices[offset + i] & 0xFFFF]++] = i / 3;
+        }
+        
+        float[] vertexScores = new float[verticesCount];
+        int[] cachePositions = new int[verticesCount];
+        for (int vertex = 0; vertex < verticesCount; ++vertex) {
+            cachePositions[vertex] = -1;
+            vertexScores[vertex] = OOVertexCacheOptimizer.getVertexScore(-1, valences[vertex]);
+        }
+        float[] triangleScores = new float[trianglesCount];
+        int bestTriangle = -1;
+        float bestScore = -1.0f;
+        for (int triangle = 0; triangle < trianglesCount; ++triangle) {
+            int i = offset + 3 * triangle;
+            triangleScores[triangle] = vertexScores[indices[i] & 0xFFFF] + vertexScores[indices[i + 1] & 0xFFFF]
+                    + vertexScores[indices[i + 2] & 0xFFFF];
+            if (triangleScores[triangle] > bestScore) {
+                bestScore = triangleScores[triangle];
+                bestTriangle = triangle;
+            }
+        }
+        
+        boolean[] emitted = new boolean[trianglesCount];
+        short[] output = new short[count];
+        int[] cache = new int[OOVertexCacheOptimizer.LRU_CACHE_SIZE + 3];
+        int[] newCache = new int[OOVertexCacheOptimizer.LRU_CACHE_SIZE + 3];
+        int cacheCount = 0;
+        int cursor = 0;
+        for (int emittedCount = 0; emittedCount < trianglesCount; ++emittedCount) {
+            if (bestTriangle < 0) {
+                while (emitted[cursor]) {
+                    ++cursor;
+                }
+                bestTriangle = cursor;
+            }
+            int triangle = bestTriangle;
+            emitted[triangle] = true;
+            int i = offset + 3 * triangle;
+            System.arraycopy(indices, i, output, 3 * emittedCount, 3);
+            
+            int newCacheCount = 0;
+            for (int k = 0; k < 3; ++k) {
+                int vertex = indices[i + k] & 0xFFFF;
+                int start = adjacencyOffsets[vertex];
+                int end = start + valences[vertex] - 1;
+                for (int j = start; j <= end; ++j) {
+                    if (adjacency[j] == triangle) {
+                        adjacency[j] = adjacency[end];
+                        adjacency[end] = triangle;
+                        break;
+                    }
+                }
+                --valences[vertex];
+                if (cachePositions[vertex] != -2) {
+                    cachePositions[vertex] = -2;
+                    newCache[newCacheCount++] = vertex;
+                }
+            }
+            for (int j = 0; j < cacheCount; ++j) {
+                if (cachePositions[cache[j]] != -2) {
+                    newCache[newCacheCount++] = cache[j];
+                }
+            }
+            
+            for (int j = 0; j < newCacheCount; ++j) {
+                int vertex = newCache[j];
+                cachePositions[vertex] = j < OOVertexCacheOptimizer.LRU_CACHE_SIZE ? j : -1;
+                float score = OOVertexCacheOptimizer.getVertexScore(cachePositions[vertex], valences[vertex]);
+                float delta = score - vertexScores[vertex];
+                vertexScores[vertex] = score;
+                int start = adjacencyOffsets[vertex];
+                for (int k = start; k < start + valences[vertex]; ++k) {
+                    triangleScores[adjacency[k]] += delta;
+                }
+            }
+            cacheCount = Math.min(newCacheCount, OOVertexCacheOptimizer.LRU_CACHE_SIZE);
+            
+            bestTriangle = -1;
+            bestScore = -1.0f;
+            for (int j = 0; j < cacheCount; ++j) {
+                int vertex = newCache[j];
+                int start = adjacencyOffsets[vertex];
+                for (int k = start; k < start + valences[vertex]; ++k) {
+                    if (triangleScores[adjacency[k]] > bestScore) {
+                        bestScore = triangleScores[adjacency[k]];
+                        bestTriangle = adjacency[k];
+                    }
+                }
+            }
+            int[] swap = cache;
+            cache = newCache;
+            newCache = swap;
+        }
+        System.arraycopy(output, 0, indices, offset, count);
+    }
+}
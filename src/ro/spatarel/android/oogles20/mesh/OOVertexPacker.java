@@ -0,0 +1,399 @@
+package ro.spatarel.android.oogles20.mesh;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import ro.spatarel.android.oogles20.OOAttribute;
+import ro.spatarel.android.oogles20.OOAttributeClientDataType;
+import ro.spatarel.android.oogles20.OOGLES20;
+import ro.spatarel.android.oogles20.OOVertexElement;
+import ro.spatarel.android.oogles20.OOVertexFormat;
+
+/**
+ * <p>Class packing float vertex streams into one interleaved vertex buffer of quantized, normalized attributes.</p>
+ * 
+ * <p>Every component of an attribute is mapped, with a per-mesh scale and bias, onto the range of the normalized
+ * integer type: {@code [0, 1]} for {@link OOAttributeClientDataType#UNSIGNED_BYTE} and
+ * {@link OOAttributeClientDataType#UNSIGNED_SHORT}, {@code [-1, 1]} for {@link OOAttributeClientDataType#BYTE} and
+ * {@link OOAttributeClientDataType#SHORT}. The vertex shader restores the original value as
+ * {@code attribute * scale + bias}, with the values returned by {@link #getScale} and {@link #getBias}.
+ * {@link OOAttributeClientDataType#FLOAT} attributes are copied as they are.</p>
+ * 
+ * <p>Unit normals may instead be octahedral-encoded into two signed components ({@link #addNormals}); the vertex
+ * shader decodes them as:</p>
+ * 
+ * <pre>
+ * vec3 n = vec3(e.xy, 1.0 - abs(e.x) - abs(e.y));
+ * if (n.z &lt; 0.0) n.xy = (1.0 - abs(n.yx)) * vec2(n.x &gt;= 0.0 ? 1.0 : -1.0, n.y &gt;= 0.0 ? 1.0 : -1.0);
+ * n = normalize(n);</pre>
+ * 
+ * <p>The resulting layout is an {@link OOVertexFormat} ({@link #getFormat}) whose {@link OOVertexFormat#bind} issues
+ * the matching {@link OOAttribute#setBuffer(int, OOAttributeClientDataType, boolean, int, int)} calls.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOVertexPacker {
+    
+    private static class Stream {
+        
+        private OOVertexElement element;
+        private int components;
+        private int[] codes;
+        private float[] values;
+        private float[] scale;
+        private float[] bias;
+        private float maximumError;
+        private int floatComponents;
+    }
+    
+    private final int verticesCount;
+    
+    private final List<Stream> streams = new ArrayList<Stream>();
+    
+    private OOVertexFormat format = null;
+    
+    /**
+     * <p>Creates a vertex packer.</p>
+     * 
+     * @param verticesCount The number of vertices of every stream.
+     */
+    public OOVertexPacker(int verticesCount) {
+        this.verticesCount = verticesCount;
+    }
+    
+    /**
+     * <p>Returns the number of vertices of every stream.</p>
+     * 
+     * @return The number of vertices of every stream.
+     */
+    public int getVerticesCount() {
+        return this.verticesCount;
+    }
+    
+    private static int getBits(OOAttributeClientDataType type) {
+        switch (type) {
+            case BYTE:
+            case UNSIGNED_BYTE:
+                return 8;
+            case SHORT:
+            case UNSIGNED_SHORT:
+                return 16;
+            case FLOAT:
+                return 32;
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+    }
+    
+    private static boolean isSigned(OOAttributeClientDataType type) {
+        return type == OOAttributeClientDataType.BYTE || type == OOAttributeClientDataType.SHORT;
+    }
+    
+    private static int clamp(int code, OOAttributeClientDataType type) {
+        int maximum = (1 << OOVertexPacker.getBits(type)) - 1;
+        if (OOVertexPacker.isSigned(type)) {
+            return Math.max(-(maximum + 1) / 2, Math.min((maximum - 1) / 2, code));
+        }
+        return Math.max(0, Math.min(maximum, code));
+    }
+    
+    private static int encode(float value, OOAttributeClientDataType type) {
+        int maximum = (1 << OOVertexPacker.getBits(type)) - 1;
+        if (OOVertexPacker.isSigned(type)) {
+            return OOVertexPacker.clamp(Math.round((value * maximum - 1.0f) * 0.5f), type);
+        }
+        return OOVertexPacker.clamp(Math.round(value * maximum), type);
+    }
+    
+    private static float decode(int code, OOAttributeClientDataType type) {
+        int maximum = (1 << OOVertexPacker.getBits(type)) - 1;
+        if (OOVertexPacker.isSigned(type)) {
+            return (2.0f * code + 1.0f) / maximum;
+        }
+        return (float) code / maximum;
+    }
+    
+    private Stream addStream(String name, int components, int floatComponents, OOAttributeClientDataType type) {
+        OOVertexPacker.getBits(type);
+        Stream stream = new Stream();
+        stream.element = new OOVertexElement(name, components, type, type != OOAttributeClientDataType.FLOAT);
+        stream.components = components;
+        stream.floatComponents = floatComponents;
+        stream.scale = new float[components];
+        stream.bias = new float[components];
+        this.streams.add(stream);
+        this.format = null;
+        return stream;
+    }
+    
+    /**
+     * <p>Adds an attribute quantized with a per-mesh scale and bias for every component.</p>
+     * 
+     * @param name The name of the vertex attribute variable.
+     * @param values The values, {@code components} floats per vertex.
+     * @param components The number of components; {@code 1}, {@code 2}, {@code 3} or {@code 4}.
+     * @param type The data type of the packed components; any type except {@link OOAttributeClientDataType#FIXED}.
+     * @return The index of the attribute.
+     */
+    public int addAttribute(String name, float[] values, int components, OOAttributeClientDataType type) {
+        if (values.length < components * this.verticesCount) {
+            throw new IllegalArgumentException("values.length < components * verticesCount");
+        }
+        Stream stream = this.addStream(name, components, components, type);
+        if (type == OOAttributeClientDataType.FLOAT) {
+            stream.values = values.clone();
+            for (int component = 0; component < components; ++component) {
+                stream.scale[component] = 1.0f;
+            }
+            return this.streams.size() - 1;
+        }
+        boolean signed = OOVertexPacker.isSigned(type);
+        stream.codes = new int[components * this.verticesCount];
+        for (int component = 0; component < components; ++component) {
+            float minimum = Float.POSITIVE_INFINITY;
+            float maximum = Float.NEGATIVE_INFINITY;
+            for (int vertex = 0; vertex < this.verticesCount; ++vertex) {
+                float value = values[vertex * components + component];
+                minimum = Math.min(minimum, value);
+                maximum = Math.max(maximum, value);
+            }
+            if (this.verticesCount == 0) {
+                minimum = maximum = 0.0f;
+            }
+            float scale = signed ? (maximum - minimum) * 0.5f : maximum - minimum;
+            float bias = signed ? (maximum + minimum) * 0.5f : minimum;
+            stream.scale[component] = scale;
+            stream.bias[component] = bias;
+            for (int vertex = 0; vertex < this.verticesCount; ++vertex) {
+                int index = vertex * components + component;
+                float normalized = scale == 0.0f ? 0.0f : (values[index] - bias) / scale;
+                int code = OOVertexPacker.encode(normalized, type);
+                stream.codes[index] = code;
+                float error = Math.abs(OOVertexPacker.decode(code, type) * scale + bias - values[index]);
+                stream.maximumError = Math.max(stream.maximumError, error);
+            }
+        }
+        return this.streams.size() - 1;
+    }
+    
+    /**
+     * <p>Adds unit normals, octahedral-encoded into two signed normalized components. The scale is {@code 1} and the
+     * bias is {@code 0}; the reported error is the largest difference between a component of a normal and of its
+     * decoded, normalized counterpart.</p>
+     * 
+     * @param name The name of the vertex attribute variable.
+     * @param normals The unit normals, {@code 3} floats per vertex.
+     * @param type {@link OOAttributeClientDataType#BYTE} or {@link OOAttributeClientDataType#SHORT}.
+     * @return The index of the attribute.
+     */
+    public int addNormals(String name, float[] normals, OOAttributeClientDataType type) {
+        if (!OOVertexPacker.isSigned(type)) {
+            throw new IllegalArgumentException("Octahedral normals need a signed type");
+        }
+        if (normals.length < 3 * this.verticesCount) {
+            throw new IllegalArgumentException("normals.length < 3 * verticesCount");
+        }
+        Stream stream = this.addStream(name, 2, 3, type);
+        stream.scale[0] = stream.scale[1] = 1.0f;
+        stream.codes = new int[2 * this.verticesCount];
+        float[] decoded = new float[3];
+        for (int vertex = 0; vertex < this.verticesCount; ++vertex) {
+            float x = normals[3 * vertex];
+            float y = normals[3 * vertex + 1];
+            float z = normals[3 * vertex + 2];
+            float length = (float) Math.sqrt(x * x + y * y + z * z);
+            if (length > 0.0f) {
+                x /= length;
+                y /= length;
+                z /= length;
+            }
+            float sum = Math.abs(x) + Math.abs(y) + Math.abs(z);
+            float u = sum == 0.0f ? 0.0f : x / sum;
+            float v = sum == 0.0f ? 0.0f : y / sum;
+            if (z < 0.0f) {
+                float wrappedU = (1.0f - Math.abs(v)) * OOVertexPacker.signNotZero(u);
+                float wrappedV = (1.0f - Math.abs(u)) * OOVertexPacker.signNotZero(v);
+                u = wrappedU;
+                v = wrappedV;
+            }
+            int baseU = OOVertexPacker.encode(u, type);
+            int baseV = OOVertexPacker.encode(v, type);
+            int stepU = OOVertexPacker.decode(baseU, type) < u ? 1 : -1;
+            int stepV = OOVertexPacker.decode(baseV, type) < v ? 1 : -1;
+            float bestError = Float.POSITIVE_INFINITY;
+            for (int candidate = 0; candidate < 4; ++candidate) {
+                int codeU = OOVertexPacker.clamp(baseU + (candidate & 1) * stepU, type);
+                int codeV = OOVertexPacker.clamp(baseV + (candidate >> 1) * stepV, type);
+                float decodedU = OOVertexPacker.decode(codeU, type);
+                float decodedV = OOVertexPacker.decode(codeV, type);
+                OOVertexPacker.decodeOctahedral(decodedU, decodedV, decoded);
+                float error = Math.max(Math.abs(decoded[0] - x), Math.max(Math.abs(decoded[1] - y),
+                        Math.abs(decoded[2] - z)));
+                if (error < bestError) {
+                    bestError = error;
+                    stream.codes[2 * vertex] = codeU;
+                    stream.codes[2 * vertex + 1] = codeV;
+                }
+            }
+            stream.maximumError = Math.max(stream.maximumError, bestError);
+        }
+        return this.streams.size() - 1;
+    }
+    
+    private static float signNotZero(float value) {
+        return value >= 0.0f ? 1.0f : -1.0f;
+    }
+    
+    private static void decodeOctahedral(float u, float v, float[] normal) {
+        float x = u;
+        float y = v;
+        float z = 1.0f - Math.abs(u) - Math.abs(v);
+        if (z < 0.0f) {
+            x = (1.0f - Math.abs(v)) * OOVertexPacker.signNotZero(u);
+            y = (1.0f - Math.abs(u)) * OOVertexPacker.signNotZero(v);
+        }
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        normal[0] = x / length;
+        normal[1] = y / length;
+        normal[2] = z / length;
+    }
+    
+    /**
+     * <p>Returns the number of attributes added.</p>
+     * 
+     * @return The number of attributes added.
+     */
+    public int getAttributesCount() {
+        return this.streams.size();
+    }
+    
+    /**
+     * <p>Returns the scale of every component of an attribute.</p>
+     * 
+     * @param attribute The index of the attribute.
+     * @return A new array with the scale of every component.
+     */
+    public float[] getScale(int attribute) {
+        return this.streams.get(attribute).scale.clone();
+    }
+    
+    /**
+     * <p>Returns the bias of every component of an attribute.</p>
+     * 
+     * @param attribute The index of the attribute.
+     * @return A new array with the bias of every component.
+     */
+    public float[] getBias(int attribute) {
+        return this.streams.get(attribute).bias.clone();
+    }
+    
+    /**
+     * <p>Returns the largest absolute difference between a component of an original value and of its decoded
+     * counterpart.</p>
+     * 
+     * @param attribute The index of the attribute.
+     * @return The maximum error of the attribute.
+     */
+    public float getMaximumError(int attribute) {
+        return this.streams.get(attribute).maximumError;
+    }
+    
+    /**
+     * <p>Returns the interleaved layout of the packed vertices.</p>
+     * 
+     * @return The interleaved layout of the packed vertices.
+     */
+    public OOVertexFormat getFormat() {
+        if (this.format == null) {
+            OOVertexElement[] elements = new OOVertexElement[this.streams.size()];
+            for (int i = 0; i < elements.length; ++i) {
+                elements[i] = this.streams.get(i).element;
+            }
+            this.format = new OOVertexFormat(elements);
+        }
+        return this.format;
+    }
+    
+    /**
+     * <p>Returns the size of the packed vertices, in bytes.</p>
+     * 
+     * @return The size of the packed vertices, in bytes.
+     */
+    public int getPackedBytesCount() {
+        return this.verticesCount * this.getFormat().getStride();
+    }
+    
+    /**
+     * <p>Returns the size the vertices would have as 32-bit floats, in bytes.</p>
+     * 
+     * @return The size of the unpacked vertices, in bytes.
+     */
+    public int getFloatBytesCount() {
+        int floatComponents = 0;
+        for (Stream stream : this.streams) {
+            floatComponents += stream.floatComponents;
+        }
+        return this.verticesCount * floatComponents * 4;
+    }
+    
+    /**
+     * <p>Returns the number of bytes saved by packing.</p>
+     * 
+     * @return {@link #getFloatBytesCount} minus {@link #getPackedBytesCount}.
+     */
+    public int getSavedBytesCount() {
+        return this.getFloatBytesCount() - this.getPackedBytesCount();
+    }
+    
+    /**
+     * <p>Writes the packed, interleaved vertices into a new direct buffer.</p>
+     * 
+     * @return A buffer of {@link #getPackedBytesCount} bytes, in native byte order, with the position {@code 0}.
+     */
+    public ByteBuffer pack() {
+        OOVertexFormat format = this.getFormat();
+        ByteBuffer buffer = OOGLES20.createByteBuffer(this.getPackedBytesCount());
+        int stride = format.getStride();
+        for (int i = 0; i < this.streams.size(); ++i) {
+            Stream stream = this.streams.get(i);
+            OOAttributeClientDataType type = stream.element.getType();
+            int offset = format.getOffset(i);
+            for (int vertex = 0; vertex < this.verticesCount; ++vertex) {
+                int position = vertex * stride + offset;
+                for (int component = 0; component < stream.components; ++component) {
+                    int index = vertex * stream.components + component;
+                    switch (type) {
+                        case BYTE:
+                        case UNSIGNED_BYTE:
+                            buffer.put(position + component, (byte) stream.codes[index]);
+                            break;
+                        case SHORT:
+                        case UNSIGNED_SHORT:
+                            buffer.putShort(position + 2 * component, (short) stream.codes[index]);
+                            break;
+                        default:
+                            buffer.putFloat(position + 4 * component, stream.values[index]);
+                            break;
+                    }
+                }
+            }
+        }
+        return buffer;
+    }
+}
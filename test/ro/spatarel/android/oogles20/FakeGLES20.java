@@ -0,0 +1,307 @@
+package ro.spatarel.android.oogles20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A back end that logs every call and simulates the vertex array state: the attribute arrays and the element array
+ * buffer binding, per vertex array object when {@link OpenGLES20VertexArrayObject} is simulated. The data passed to
+ * {@link OpenGLES20#glBufferData} and {@link OpenGLES20#glBufferSubData} is copied, so that it can be inspected.
+ * Programs given active attributes through {@link #setActiveAttributes} link successfully and report them.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+class FakeGLES20 implements InvocationHandler {
+    
+    private interface VertexArrayObjectGLES20 extends OpenGLES20, OpenGLES20VertexArrayObject {
+        // There is nothing here.
+    }
+    
+    private static final int LOCATIONS_COUNT = 8;
+    
+    private final boolean vertexArrayObjects;
+    private final OpenGLES20 backEnd;
+    private final List<String> calls = new ArrayList<String>();
+    private final List<ByteBuffer> uploads = new ArrayList<ByteBuffer>();
+    
+    private final Map<Integer, int[][]> vertexArrays = new HashMap<Integer, int[][]>();
+    private final Map<Integer, String[]> attributeNames = new HashMap<Integer, String[]>();
+    private final Map<Integer, int[]> attributeLocations = new HashMap<Integer, int[]>();
+    private final List<Integer> deletedNames = new ArrayList<Integer>();
+    private final List<Integer> freeNames = new ArrayList<Integer>();
+    private boolean reusingNames = false;
+    private int namesCount = 0;
+    private int vertexArraysCount = 0;
+    private int bindedVertexArray = 0;
+    private int arrayBuffer = 0;
+    private int unpackAlignment = 4;
+    
+    /**
+     * <p>Creates a back end.</p>
+     * 
+     * @param vertexArrayObjects Whether {@link OpenGLES20VertexArrayObject} is implemented and reported.
+     */
+    FakeGLES20(boolean vertexArrayObjects) {
+        this.vertexArrayObjects = vertexArrayObjects;
+        this.backEnd = (OpenGLES20) Proxy.newProxyInstance(FakeGLES20.class.getClassLoader(),
+                new Class<?>[] { vertexArrayObjects ? VertexArrayObjectGLES20.class : OpenGLES20.class }, this);
+        this.vertexArrays.put(0, FakeGLES20.createVertexArray());
+    }
+    
+    private static int[][] createVertexArray() {
+        // Per location: enabled, buffer, size, type, normalized, stride, offset; the last row holds the element buffer.
+        return new int[FakeGLES20.LOCATIONS_COUNT + 1][7];
+    }
+    
+    OpenGLES20 getBackEnd() {
+        return this.backEnd;
+    }
+    
+    List<String> getCalls() {
+        return this.calls;
+    }
+    
+    /**
+     * <p>Returns the names deleted by {@code glDelete*}, other than vertex array objects, in call order.</p>
+     */
+    List<Integer> getDeletedNames() {
+        return this.deletedNames;
+    }
+    
+    /**
+     * <p>Makes {@code glGen*} and {@code glCreate*} hand out the most recently deleted names first, as drivers do,
+     * instead of always new names.</p>
+     */
+    void reuseDeletedNames() {
+        this.reusingNames = true;
+    }
+    
+    private int generateName() {
+        if (this.reusingNames && !this.freeNames.isEmpty()) {
+            return this.freeNames.remove(this.freeNames.size() - 1);
+        }
+        return ++this.namesCount;
+    }
+    
+    /**
+     * <p>Returns copies, in native byte order, of the non-{@code null} data uploaded by {@link OpenGLES20#glBufferData}
+     * and {@link OpenGLES20#glBufferSubData}, in call order.</p>
+     */
+    List<ByteBuffer> getUploads() {
+        return this.uploads;
+    }
+    
+    private static ByteBuffer copy(Buffer data) {
+        ByteBuffer copy;
+        if (data instanceof ByteBuffer) {
+            ByteBuffer source = ((ByteBuffer) data).duplicate();
+            copy = ByteBuffer.allocate(source.remaining()).order(ByteOrder.nativeOrder());
+            copy.put(source);
+        } else if (data instanceof ShortBuffer) {
+            ShortBuffer source = ((ShortBuffer) data).duplicate();
+            copy = ByteBuffer.allocate(2 * source.remaining()).order(ByteOrder.nativeOrder());
+            copy.asShortBuffer().put(source);
+        } else if (data instanceof IntBuffer) {
+            IntBuffer source = ((IntBuffer) data).duplicate();
+            copy = ByteBuffer.allocate(4 * source.remaining()).order(ByteOrder.nativeOrder());
+            copy.asIntBuffer().put(source);
+        } else {
+            FloatBuffer source = ((FloatBuffer) data).duplicate();
+            copy = ByteBuffer.allocate(4 * source.remaining()).order(ByteOrder.nativeOrder());
+            copy.asFloatBuffer().put(source);
+        }
+        copy.clear();
+        return copy;
+    }
+    
+    /**
+     * <p>Makes a program link successfully and report, as {@code vec4}s, the specified active attributes bound to the
+     * specified locations.</p>
+     */
+    void setActiveAttributes(int program, String[] names, int[] locations) {
+        this.attributeNames.put(program, names.clone());
+        this.attributeLocations.put(program, locations.clone());
+    }
+    
+    int getUnpackAlignment() {
+        return this.unpackAlignment;
+    }
+    
+    /**
+     * <p>Returns the calls logged so far, without the {@link OpenGLES20VertexArrayObject#glBindVertexArrayOES} calls,
+     * and clears the log.</p>
+     */
+    List<String> takeCallsWithoutVertexArrayBindings() {
+        List<String> result = new ArrayList<String>();
+        for (String call : this.calls) {
+            if (!call.startsWith("glBindVertexArrayOES")) {
+                result.add(call);
+            }
+        }
+        this.calls.clear();
+        return result;
+    }
+    
+    /**
+     * <p>Describes the vertex state a draw call would see: the enabled attribute arrays with their pointers and the
+     * element array buffer binding.</p>
+     */
+    String getVertexState() {
+        int[][] state = this.vertexArrays.get(this.bindedVertexArray);
+        StringBuilder builder = new StringBuilder();
+        for (int location = 0; location < FakeGLES20.LOCATIONS_COUNT; ++location) {
+            if (state[location][0] != 0) {
+                builder.append(location).append(':');
+                for (int i = 1; i < 7; ++i) {
+                    builder.append(' ').append(state[location][i]);
+                }
+                builder.append("; ");
+            }
+        }
+        return builder.append("elements: ").append(state[FakeGLES20.LOCATIONS_COUNT][0]).toString();
+    }
+    
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] arguments) {
+        String name = method.getName();
+        StringBuilder call = new StringBuilder(name).append('(');
+        for (int i = 0; arguments != null && i < arguments.length; ++i) {
+            Object argument = arguments[i];
+            call.append(i == 0 ? "" : ", ").append(argument instanceof Number || argument instanceof Boolean
+                    ? argument : argument == null ? "null" : argument.getClass().getSimpleName());
+        }
+        this.calls.add(call.append(')').toString());
+        
+        int[][] state = this.vertexArrays.get(this.bindedVertexArray);
+        if (name.equals("glGetString")) {
+            return this.vertexArrayObjects ? "GL_OES_rgb8_rgba8 GL_OES_vertex_array_object" : "GL_OES_rgb8_rgba8";
+        } else if (name.equals("glGenVertexArraysOES")) {
+            IntBuffer names = (IntBuffer) arguments[1];
+            for (int i = 0; i < (Integer) arguments[0]; ++i) {
+                int handle = 1000 + ++this.vertexArraysCount;
+                this.vertexArrays.put(handle, FakeGLES20.createVertexArray());
+                names.put(names.position() + i, handle);
+            }
+        } else if (name.startsWith("glGen")) {
+            IntBuffer names = (IntBuffer) arguments[1];
+            for (int i = 0; i < (Integer) arguments[0]; ++i) {
+                names.put(names.position() + i, this.generateName());
+            }
+        } else if (name.equals("glCreateProgram") || name.equals("glCreateShader")) {
+            return this.generateName();
+        } else if (name.equals("glDeleteProgram") || name.equals("glDeleteShader")) {
+            this.deletedNames.add((Integer) arguments[0]);
+            this.freeNames.add((Integer) arguments[0]);
+        } else if (name.startsWith("glDelete") && !name.equals("glDeleteVertexArraysOES")) {
+            IntBuffer names = (IntBuffer) arguments[1];
+            for (int i = 0; i < (Integer) arguments[0]; ++i) {
+                this.deletedNames.add(names.get(names.position() + i));
+                this.freeNames.add(names.get(names.position() + i));
+            }
+        } else if (name.equals("glPixelStorei") && (Integer) arguments[0] == OpenGLES20.GL_UNPACK_ALIGNMENT) {
+            this.unpackAlignment = (Integer) arguments[1];
+        } else if (name.equals("glGetIntegerv") && (Integer) arguments[0] == OpenGLES20.GL_UNPACK_ALIGNMENT) {
+            IntBuffer values = (IntBuffer) arguments[1];
+            values.put(values.position(), this.unpackAlignment);
+        } else if (name.equals("glBufferData") || name.equals("glBufferSubData")) {
+            Buffer data = (Buffer) (name.equals("glBufferData") ? arguments[2] : arguments[3]);
+            if (data != null) {
+                this.uploads.add(FakeGLES20.copy(data));
+            }
+        } else if (name.equals("glGetProgramiv") && this.attributeNames.containsKey(arguments[0])) {
+            String[] names = this.attributeNames.get(arguments[0]);
+            int pname = (Integer) arguments[1];
+            int value = 0;
+            if (pname == OpenGLES20.GL_LINK_STATUS) {
+                value = OpenGLES20.GL_TRUE;
+            } else if (pname == OpenGLES20.GL_ACTIVE_ATTRIBUTES) {
+                value = names.length;
+            } else if (pname == OpenGLES20.GL_ACTIVE_ATTRIBUTE_MAX_LENGTH) {
+                for (String attributeName : names) {
+                    value = Math.max(value, attributeName.length() + 1);
+                }
+            }
+            IntBuffer params = (IntBuffer) arguments[2];
+            params.put(params.position(), value);
+        } else if (name.equals("glGetActiveAttrib")) {
+            byte[] attributeName = this.attributeNames.get(arguments[0])[(Integer) arguments[1]].getBytes();
+            ((int[]) arguments[3])[(Integer) arguments[4]] = attributeName.length;
+            ((int[]) arguments[5])[(Integer) arguments[6]] = 1;
+            ((int[]) arguments[7])[(Integer) arguments[8]] = OpenGLES20.GL_FLOAT_VEC4;
+            System.arraycopy(attributeName, 0, (byte[]) arguments[9], (Integer) arguments[10], attributeName.length);
+        } else if (name.equals("glGetAttribLocation") && this.attributeNames.containsKey(arguments[0])) {
+            String[] names = this.attributeNames.get(arguments[0]);
+            for (int i = 0; i < names.length; ++i) {
+                if (names[i].equals(arguments[1])) {
+                    return this.attributeLocations.get(arguments[0])[i];
+                }
+            }
+            return -1;
+        } else if (name.equals("glBindVertexArrayOES")) {
+            this.bindedVertexArray = (Integer) arguments[0];
+        } else if (name.equals("glDeleteVertexArraysOES")) {
+            IntBuffer names = (IntBuffer) arguments[1];
+            for (int i = 0; i < (Integer) arguments[0]; ++i) {
+                int handle = names.get(names.position() + i);
+                this.vertexArrays.remove(handle);
+                if (this.bindedVertexArray == handle) {
+                    this.bindedVertexArray = 0;
+                }
+            }
+        } else if (name.equals("glBindBuffer")) {
+            if ((Integer) arguments[0] == OpenGLES20.GL_ARRAY_BUFFER) {
+                this.arrayBuffer = (Integer) arguments[1];
+            } else {
+                state[FakeGLES20.LOCATIONS_COUNT][0] = (Integer) arguments[1];
+            }
+        } else if (name.equals("glEnableVertexAttribArray")) {
+            state[(Integer) arguments[0]][0] = 1;
+        } else if (name.equals("glDisableVertexAttribArray")) {
+            state[(Integer) arguments[0]][0] = 0;
+        } else if (name.equals("glVertexAttribPointer")) {
+            int[] pointer = state[(Integer) arguments[0]];
+            pointer[1] = this.arrayBuffer;
+            pointer[2] = (Integer) arguments[1];
+            pointer[3] = (Integer) arguments[2];
+            pointer[4] = (Boolean) arguments[3] ? 1 : 0;
+            pointer[5] = (Integer) arguments[4];
+            pointer[6] = arguments[5] instanceof Integer ? (Integer) arguments[5] : -1;
+        }
+        
+        Class<?> returnType = method.getReturnType();
+        if (returnType == int.class) {
+            return 0;
+        } else if (returnType == boolean.class) {
+            return false;
+        } else if (returnType == float.class) {
+            return 0.0f;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * <p>Tests for {@link OOCommandList}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOCommandListTest {
+    
+    @Test
+    public void theRecordedStateIsKeptAfterReplay() {
+        FakeGLES20 fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        OOGLES20.enableBindingCache();
+        OOGLES20.pixelProcessing.enableStateShadowing();
+        OOBuffer before = new OOBuffer();
+        OOBuffer recorded = new OOBuffer();
+        OOGLES20.arrayBuffer.bind(before);
+        
+        OOCommandList list = new OOCommandList();
+        list.begin();
+        OOGLES20.arrayBuffer.bind(recorded);
+        OOGLES20.pixelProcessing.enableBlending();
+        list.end();
+        
+        // The state from before the recording is restored, since nothing reached the back end.
+        fake.getCalls().clear();
+        OOGLES20.arrayBuffer.bind(before);
+        assertEquals(0, fake.getCalls().size());
+        
+        list.replay();
+        assertEquals(2, fake.getCalls().size());
+        fake.getCalls().clear();
+        OOGLES20.arrayBuffer.bind(recorded);
+        OOGLES20.pixelProcessing.enableBlending();
+        assertEquals(0, fake.getCalls().size());
+        OOGLES20.arrayBuffer.bind(before);
+        assertEquals(1, fake.getCalls().size());
+        
+        OOGLES20.pixelProcessing.disableStateShadowing();
+        OOGLES20.disableBindingCache();
+    }
+    
+    @Test
+    public void lazilyQueriedValuesAreNotQueriedWhileRecording() {
+        FakeGLES20 fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        OOTextureAtlas atlas = new OOTextureAtlas(64, 64, 1, OOTexelFormat.LUMINANCE, OOPixelDataType.UNSIGNED_BYTE,
+                1);
+        // creates the page, which cannot be recorded
+        atlas.add(3, 3, ByteBuffer.allocateDirect(9));
+        
+        OOCommandList list = new OOCommandList();
+        list.begin();
+        fake.getCalls().clear();
+        OOGLES20.textureUnit(7);
+        assertNotNull(atlas.add(3, 3, ByteBuffer.allocateDirect(9)));
+        list.end();
+        assertEquals(Collections.emptyList(), fake.getCalls());
+        
+        // the list sets the alignment it relies on instead of the one it was recorded with
+        OOGLES20.setPixelAlignment(OOPixelStorage.UNPACK_ALIGNMENT, 8);
+        fake.getCalls().clear();
+        list.replay();
+        assertTrue(fake.getCalls().contains("glPixelStorei(" + OpenGLES20.GL_UNPACK_ALIGNMENT + ", 1)"));
+        assertFalse(fake.getCalls().toString().contains("glGet"));
+        assertEquals(1, fake.getUnpackAlignment());
+    }
+}
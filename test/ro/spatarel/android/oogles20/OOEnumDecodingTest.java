@@ -0,0 +1,89 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+/**
+ * <p>Tests that the {@code valueOf(int)} decoders of the enums map the GL constant of every value back to the value.
+ * </p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOEnumDecodingTest {
+    
+    private static final Class<?>[] ENUMS = {
+            OOAttributeClientDataType.class,
+            OOAttributeDataType.class,
+            OOBlendingDestinationFunction.class,
+            OOBlendingEquation.class,
+            OOBlendingSourceFunction.class,
+            OOBoolean.class,
+            OOBufferUsage.class,
+            OODepthTestFunction.class,
+            OOError.class,
+            OOFramebufferAttachmentObjectType.class,
+            OOFramebufferState.class,
+            OOHintMode.class,
+            OOPixelDataType.class,
+            OOPixelFormat.class,
+            OOPrimitiveOrientation.class,
+            OORenderbufferFormat.class,
+            OOShaderType.class,
+            OOStencilAction.class,
+            OOStencilTestFunction.class,
+            OOTextureCubeMapFace.class,
+            OOTextureImageTarget.class,
+            OOTextureMagnificationFilter.class,
+            OOTextureMinificationFilter.class,
+            OOTextureWrapMode.class,
+            OOUniformDataType.class,
+            OOWinding.class
+    };
+    
+    private static int getGLConstant(Method getGLConstant, Object value) throws Exception {
+        return (Integer) getGLConstant.invoke(value);
+    }
+    
+    @Test
+    public void everyValueIsDecodedFromItsGLConstant() throws Exception {
+        for (Class<?> type : OOEnumDecodingTest.ENUMS) {
+            Method valueOf = type.getDeclaredMethod("valueOf", int.class);
+            Method getGLConstant = type.getDeclaredMethod("getGLConstant");
+            valueOf.setAccessible(true);
+            getGLConstant.setAccessible(true);
+            Object[] values = type.getEnumConstants();
+            for (Object value : values) {
+                int glConstant = OOEnumDecodingTest.getGLConstant(getGLConstant, value);
+                // When several values share a GL constant, the first declared one is decoded.
+                Object expected = value;
+                for (Object other : values) {
+                    if (OOEnumDecodingTest.getGLConstant(getGLConstant, other) == glConstant) {
+                        expected = other;
+                        break;
+                    }
+                }
+                assertSame(type.getSimpleName() + " " + value, expected, valueOf.invoke(null, glConstant));
+            }
+            assertNull(type.getSimpleName(), valueOf.invoke(null, 0x7FFFFFFF));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for {@link OOGLES20#deleteLeakedObjects}. The references of the leaked objects are enqueued explicitly, as
+ * the garbage collector would, so that the tests do not depend on when it runs.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOGLES20LeakedObjectsTest {
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        // the objects leaked by the previous tests belong to the previous back end
+        OOGLES20.deleteLeakedObjects();
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        OOGLES20.bufferNames.setBlockSize(1);
+    }
+    
+    @After
+    public void tearDown() {
+        OOGLES20.bufferNames.setBlockSize(OOGLES20NamePool.DEFAULT_BLOCK_SIZE);
+    }
+    
+    private List<String> getDeleteCalls() {
+        List<String> calls = new ArrayList<String>();
+        for (String call : this.fake.getCalls()) {
+            if (call.startsWith("glDelete")) {
+                calls.add(call.substring(0, call.indexOf("(")));
+            }
+        }
+        return calls;
+    }
+    
+    @Test
+    public void leakedObjectsAreDeletedWithOneCall() {
+        int[] handles = new int[3];
+        for (int i = 0; i < handles.length; ++i) {
+            handles[i] = new OOBuffer().getHandle();
+        }
+        for (int handle : handles) {
+            assertTrue(OOBuffer.getReference(handle).enqueue());
+        }
+        
+        assertTrue(OOGLES20.deleteLeakedObjects() >= 3);
+        assertEquals(Arrays.asList("glDeleteBuffers"), this.getDeleteCalls());
+        for (int handle : handles) {
+            assertTrue(this.fake.getDeletedNames().contains(handle));
+            assertNull(OOBuffer.getReference(handle));
+        }
+        
+        // the queue was drained
+        this.fake.getCalls().clear();
+        assertEquals(0, OOGLES20.deleteLeakedObjects());
+        assertEquals(Collections.emptyList(), this.getDeleteCalls());
+    }
+    
+    @Test
+    public void aReusedNameIsNotDeletedTwice() {
+        this.fake.reuseDeletedNames();
+        OOBuffer buffer = new OOBuffer();
+        int handle = buffer.getHandle();
+        OOObjectReference<OOBuffer> reference = OOBuffer.getReference(handle);
+        buffer.delete();
+        // the garbage collector queued the reference while the buffer was being deleted
+        reference.enqueue();
+        OOBuffer reused = new OOBuffer();
+        assertEquals(handle, reused.getHandle());
+        
+        OOGLES20.deleteLeakedObjects();
+        assertEquals(1, Collections.frequency(this.fake.getDeletedNames(), handle));
+        assertSame(reused, OOBuffer.getBuffer(handle));
+    }
+}
@@ -0,0 +1,137 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for {@link OOGLES20NamePool}: the {@code glGen*} and {@code glDelete*} calls reaching the back end are
+ * counted.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOGLES20NamePoolTest {
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        OOGLES20.bufferNames.resetCounters();
+        OOGLES20.textureNames.resetCounters();
+    }
+    
+    @After
+    public void tearDown() {
+        OOGLES20.bufferNames.setBlockSize(OOGLES20NamePool.DEFAULT_BLOCK_SIZE);
+    }
+    
+    /**
+     * <p>Returns the logged calls starting with a prefix, without their name buffer argument.</p>
+     */
+    private static List<String> getCalls(FakeGLES20 fake, String prefix) {
+        List<String> calls = new ArrayList<String>();
+        for (String call : fake.getCalls()) {
+            if (call.startsWith(prefix)) {
+                calls.add(call.substring(0, call.indexOf(", ")) + ")");
+            }
+        }
+        return calls;
+    }
+    
+    @Test
+    public void namesAreGeneratedInBlocks() {
+        assertEquals(16, OOGLES20.bufferNames.getBlockSize());
+        Set<Integer> handles = new HashSet<Integer>();
+        for (int i = 0; i < 40; ++i) {
+            handles.add(new OOBuffer().getHandle());
+        }
+        
+        assertEquals(40, handles.size());
+        assertEquals(Collections.nCopies(3, "glGenBuffers(16)"),
+                OOGLES20NamePoolTest.getCalls(this.fake, "glGen"));
+        assertEquals(3, OOGLES20.bufferNames.getMissesCount());
+        assertEquals(37, OOGLES20.bufferNames.getHitsCount());
+        assertEquals(8, OOGLES20.bufferNames.getAvailableCount());
+        OOGLES20.bufferNames.resetCounters();
+        assertEquals(0, OOGLES20.bufferNames.getMissesCount());
+        assertEquals(0, OOGLES20.bufferNames.getHitsCount());
+    }
+    
+    @Test
+    public void aBlockSizeOfOneGeneratesEveryNameOnItsOwn() {
+        OOGLES20.bufferNames.setBlockSize(1);
+        for (int i = 0; i < 3; ++i) {
+            new OOBuffer();
+        }
+        assertEquals(Collections.nCopies(3, "glGenBuffers(1)"),
+                OOGLES20NamePoolTest.getCalls(this.fake, "glGen"));
+        assertEquals(0, OOGLES20.bufferNames.getAvailableCount());
+    }
+    
+    @Test
+    public void refillOnlyTopsUpAndTrimDeletesTheRest() {
+        for (int i = 0; i < 5; ++i) {
+            new OOBuffer();
+        }
+        OOGLES20.bufferNames.refill();
+        OOGLES20.bufferNames.refill();
+        assertEquals(Arrays.asList("glGenBuffers(16)", "glGenBuffers(5)"),
+                OOGLES20NamePoolTest.getCalls(this.fake, "glGen"));
+        assertEquals(16, OOGLES20.bufferNames.getAvailableCount());
+        
+        OOGLES20.bufferNames.trim();
+        OOGLES20.bufferNames.trim();
+        assertEquals(Arrays.asList("glDeleteBuffers(16)"),
+                OOGLES20NamePoolTest.getCalls(this.fake, "glDelete"));
+        assertEquals(0, OOGLES20.bufferNames.getAvailableCount());
+        
+        // an empty pool is refilled by the next object
+        new OOBuffer();
+        assertEquals(3, OOGLES20NamePoolTest.getCalls(this.fake, "glGen").size());
+    }
+    
+    @Test
+    public void aNewBackEndDiscardsTheNamesOfTheOldOne() {
+        new OOTexture();
+        assertEquals(15, OOGLES20.textureNames.getAvailableCount());
+        
+        FakeGLES20 other = new FakeGLES20(false);
+        OOGLES20.setBackEnd(other.getBackEnd());
+        assertEquals(0, OOGLES20.textureNames.getAvailableCount());
+        new OOTexture();
+        
+        // the discarded names belong to the old context, so they are neither reused nor deleted through the new one
+        assertEquals(Arrays.asList("glGenTextures(16)"),
+                OOGLES20NamePoolTest.getCalls(other, "glGen"));
+        assertEquals(Collections.emptyList(), OOGLES20NamePoolTest.getCalls(other, "glDelete"));
+        assertEquals(Collections.emptyList(), OOGLES20NamePoolTest.getCalls(this.fake, "glDelete"));
+        assertEquals(1, OOGLES20NamePoolTest.getCalls(this.fake, "glGen").size());
+        assertEquals(15, OOGLES20.textureNames.getAvailableCount());
+    }
+}
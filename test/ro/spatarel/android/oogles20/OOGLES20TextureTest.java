@@ -0,0 +1,76 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the tracking of the active texture unit by {@link OOGLES20Texture}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOGLES20TextureTest {
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        OOGLES20.disableBindingCache();
+    }
+    
+    private int countActiveTextureCalls() {
+        int count = 0;
+        for (String call : this.fake.getCalls()) {
+            if (call.startsWith("glActiveTexture(")) {
+                ++count;
+            }
+        }
+        return count;
+    }
+    
+    private static void configure(OOGLES20Texture2D target) {
+        target.setMinificationFilter(OOTextureMinificationFilter.LINEAR);
+        target.setMagnificationFilter(OOTextureMagnificationFilter.LINEAR);
+        target.setWrapS(OOTextureWrapMode.REPEAT);
+        target.setWrapT(OOTextureWrapMode.REPEAT);
+    }
+    
+    @Test
+    public void theActiveTextureUnitIsOnlySentWhenItChangesEvenWithoutTheBindingCache() {
+        OOGLES20Texture2D first = OOGLES20.textureUnit(0).tex2D;
+        OOGLES20Texture2D second = OOGLES20.textureUnit(1).tex2D;
+        OOGLES20TextureTest.configure(first);
+        OOGLES20TextureTest.configure(first);
+        assertEquals(1, this.countActiveTextureCalls());
+        OOGLES20TextureTest.configure(second);
+        OOGLES20TextureTest.configure(first);
+        assertEquals(3, this.countActiveTextureCalls());
+    }
+    
+    @Test
+    public void invalidatingTheBindingCacheResendsTheActiveTextureUnit() {
+        OOGLES20Texture2D first = OOGLES20.textureUnit(0).tex2D;
+        OOGLES20TextureTest.configure(first);
+        OOGLES20.invalidateBindingCache();
+        OOGLES20TextureTest.configure(first);
+        assertEquals(2, this.countActiveTextureCalls());
+    }
+}
@@ -0,0 +1,166 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * <p>Tests for the backward-shift deletion of {@link OOIntObjectMap}, in particular for probe sequences that wrap
+ * around the end of the table.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOIntObjectMapTest {
+    
+    /**
+     * <p>Expected size giving a table of {@link #CAPACITY} slots, which does not grow during the tests.</p>
+     */
+    private static final int EXPECTED_SIZE = 16;
+    private static final int CAPACITY = 32;
+    
+    /**
+     * <p>Returns the smallest key greater than {@code previous} whose probe sequence starts at {@code home}.</p>
+     */
+    private static int findKey(int home, int previous) {
+        int key = previous + 1;
+        while ((OOIntObjectMap.hash(key) & (OOIntObjectMapTest.CAPACITY - 1)) != home) {
+            ++key;
+        }
+        return key;
+    }
+    
+    /**
+     * <p>Returns keys laid out as {@code 30: a, 31: b, 0: c, 1: d, 2: e}, where {@code a}, {@code b} and {@code d}
+     * start at slot 30, {@code c} starts at slot 0 and {@code e} starts at slot 1; removing {@code a} shifts {@code b}
+     * to slot 30, {@code d} across the end of the table to slot 31 and {@code e} to slot 1, while {@code c} stays.</p>
+     */
+    private static int[] createWrappingCluster() {
+        int a = OOIntObjectMapTest.findKey(30, 0);
+        int b = OOIntObjectMapTest.findKey(30, a);
+        int c = OOIntObjectMapTest.findKey(0, 0);
+        int d = OOIntObjectMapTest.findKey(30, b);
+        int e = OOIntObjectMapTest.findKey(1, 0);
+        return new int[] { a, b, c, d, e };
+    }
+    
+    private static OOIntObjectMap<String> createMap(int[] keys) {
+        OOIntObjectMap<String> map = new OOIntObjectMap<String>(OOIntObjectMapTest.EXPECTED_SIZE);
+        for (int key : keys) {
+            map.put(key, Integer.toString(key));
+        }
+        return map;
+    }
+    
+    private static void assertContainsExactly(OOIntObjectMap<String> map, int[] keys, boolean[] removed) {
+        int size = 0;
+        for (int i = 0; i < keys.length; ++i) {
+            if (removed[i]) {
+                assertNull(map.get(keys[i]));
+            } else {
+                assertEquals(Integer.toString(keys[i]), map.get(keys[i]));
+                ++size;
+            }
+        }
+        assertEquals(size, map.size());
+    }
+    
+    private static void permute(int[] order, int count, List<int[]> permutations) {
+        if (count == order.length) {
+            permutations.add(order.clone());
+            return;
+        }
+        for (int i = count; i < order.length; ++i) {
+            int swap = order[count];
+            order[count] = order[i];
+            order[i] = swap;
+            OOIntObjectMapTest.permute(order, count + 1, permutations);
+            order[i] = order[count];
+            order[count] = swap;
+        }
+    }
+    
+    @Test
+    public void removingTheHeadOfAWrappingClusterShiftsItsEntriesAcrossTheEnd() {
+        int[] keys = OOIntObjectMapTest.createWrappingCluster();
+        OOIntObjectMap<String> map = OOIntObjectMapTest.createMap(keys);
+        map.remove(keys[0]);
+        OOIntObjectMapTest.assertContainsExactly(map, keys, new boolean[] { true, false, false, false, false });
+        
+        // the shifted entries are found again at their new slots: removing them leaves only c
+        map.remove(keys[3]);
+        map.remove(keys[4]);
+        map.remove(keys[1]);
+        OOIntObjectMapTest.assertContainsExactly(map, keys, new boolean[] { true, true, false, true, true });
+    }
+    
+    @Test
+    public void everyRemovalOrderOfAWrappingClusterKeepsTheOtherKeys() {
+        int[] keys = OOIntObjectMapTest.createWrappingCluster();
+        List<int[]> orders = new ArrayList<int[]>();
+        OOIntObjectMapTest.permute(new int[] { 0, 1, 2, 3, 4 }, 0, orders);
+        for (int[] order : orders) {
+            OOIntObjectMap<String> map = OOIntObjectMapTest.createMap(keys);
+            boolean[] removed = new boolean[keys.length];
+            for (int index : order) {
+                assertEquals(Integer.toString(keys[index]), map.remove(keys[index]));
+                assertNull(map.remove(keys[index]));
+                removed[index] = true;
+                OOIntObjectMapTest.assertContainsExactly(map, keys, removed);
+            }
+        }
+    }
+    
+    @Test
+    public void reinsertingAfterRemovalsReusesTheFreedSlots() {
+        int[] keys = OOIntObjectMapTest.createWrappingCluster();
+        OOIntObjectMap<String> map = OOIntObjectMapTest.createMap(keys);
+        map.remove(keys[1]);
+        map.remove(keys[2]);
+        map.put(keys[2], Integer.toString(keys[2]));
+        map.put(keys[1], Integer.toString(keys[1]));
+        OOIntObjectMapTest.assertContainsExactly(map, keys, new boolean[keys.length]);
+    }
+    
+    @Test
+    public void randomOperationsMatchAHashMap() {
+        Random random = new Random(7);
+        OOIntObjectMap<String> map = new OOIntObjectMap<String>();
+        Map<Integer, String> expected = new HashMap<Integer, String>();
+        for (int i = 0; i < 100000; ++i) {
+            int key = random.nextInt(64) - 8;
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(key), map.remove(key));
+            } else {
+                String value = Integer.toString(i);
+                assertSame(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -8; key < 56; ++key) {
+            assertSame(expected.get(key), map.get(key));
+        }
+    }
+}
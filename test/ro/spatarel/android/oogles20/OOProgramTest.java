@@ -0,0 +1,75 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the tracking of the current program by {@link OOGLES20#useProgram} and
+ * {@link OOGLES20#getCurrentProgram}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOProgramTest {
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        OOGLES20.disableBindingCache();
+    }
+    
+    @Test
+    public void theCurrentProgramIsTrackedEvenWithoutTheBindingCache() {
+        OOProgram program = new OOProgram();
+        this.fake.getCalls().clear();
+        OOGLES20.useProgram(program);
+        OOGLES20.useProgram(program);
+        assertSame(program, OOGLES20.getCurrentProgram());
+        assertEquals(Arrays.asList("glUseProgram(" + program.getHandle() + ")"), this.fake.getCalls());
+    }
+    
+    @Test
+    public void deletingTheCurrentProgramForgetsIt() {
+        OOProgram program = new OOProgram();
+        OOGLES20.useProgram(program);
+        program.delete();
+        this.fake.getCalls().clear();
+        assertNull(OOGLES20.getCurrentProgram());
+        assertEquals(1, this.fake.getCalls().size());
+        assertTrue(this.fake.getCalls().get(0).startsWith("glGetIntegerv(" + OpenGLES20.GL_CURRENT_PROGRAM + ", "));
+    }
+    
+    @Test
+    public void invalidatingTheBindingCacheResendsTheProgram() {
+        OOProgram program = new OOProgram();
+        OOGLES20.useProgram(program);
+        OOGLES20.invalidateBindingCache();
+        this.fake.getCalls().clear();
+        OOGLES20.useProgram(program);
+        assertEquals(1, this.fake.getCalls().size());
+    }
+}
@@ -0,0 +1,187 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the draw order and the state change counters of {@link OORenderQueue}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OORenderQueueTest {
+    
+    /**
+     * <p>{@link OORenderable} logging its name every time one of its packets is drawn.</p>
+     */
+    private static class Renderable implements OORenderable {
+        private final String name;
+        private final List<String> log;
+        
+        Renderable(String name, List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+        
+        @Override
+        public void bindVertices(OOProgram program) {
+        }
+        
+        @Override
+        public void setUniforms(OOProgram program) {
+            this.log.add(this.name);
+        }
+    }
+    
+    private List<String> log;
+    private OORenderQueue queue;
+    private OOProgram program;
+    private OOTexture texture;
+    
+    @Before
+    public void setUp() {
+        FakeGLES20 fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        this.log = new ArrayList<String>();
+        this.queue = new OORenderQueue();
+        this.program = new OOProgram();
+        this.texture = new OOTexture();
+    }
+    
+    private void add(String name, int layer, boolean translucent, float depth) {
+        this.add(name, OORenderQueue.createKey(layer, translucent, this.program, this.texture, depth), this.program,
+                this.texture);
+    }
+    
+    private void add(String name, long key, OOProgram program, OOTexture texture) {
+        this.queue.add(key, program, texture, new Renderable(name, this.log), OODrawPrimitive.TRIANGLES, 3,
+                OOBufferDataType.UNSIGNED_SHORT, 0);
+    }
+    
+    private List<String> submit() {
+        this.queue.submit();
+        return this.log;
+    }
+    
+    @Test
+    public void layersAreDrawnInOrderIncludingTheLayersSettingTheSignBit() {
+        this.add("15", 15, false, 0.5f);
+        this.add("8", 8, false, 0.5f);
+        this.add("7", 7, false, 0.5f);
+        this.add("0", 0, false, 0.5f);
+        this.add("9", 9, true, 0.5f);
+        this.add("1", 1, true, 0.5f);
+        assertEquals(Arrays.asList("0", "1", "7", "8", "9", "15"), this.submit());
+    }
+    
+    @Test
+    public void opaquePacketsAreDrawnFrontToBackBeforeTranslucentPacketsBackToFront() {
+        this.add("translucent near", 0, true, 0.2f);
+        this.add("opaque far", 0, false, 0.9f);
+        this.add("next layer", 1, false, 0.0f);
+        this.add("opaque near", 0, false, 0.1f);
+        this.add("translucent far", 0, true, 0.8f);
+        this.add("opaque middle", 0, false, 0.5f);
+        assertEquals(Arrays.asList("opaque near", "opaque middle", "opaque far", "translucent far", "translucent near",
+                "next layer"), this.submit());
+    }
+    
+    @Test
+    public void translucentPacketsOfDifferentMaterialsAreDrawnStrictlyFarToNear() {
+        OOProgram otherProgram = new OOProgram();
+        OOTexture otherTexture = new OOTexture();
+        OOProgram[] programs = { this.program, otherProgram, otherProgram, this.program, otherProgram, this.program };
+        OOTexture[] textures = { otherTexture, this.texture, otherTexture, this.texture, this.texture, otherTexture };
+        float[] depths = { 0.3f, 0.9f, 0.1f, 0.7f, 0.5f, 0.8f };
+        for (int i = 0; i < depths.length; ++i) {
+            this.add(Float.toString(depths[i]), OORenderQueue.createKey(0, true, programs[i], textures[i], depths[i]),
+                    programs[i], textures[i]);
+        }
+        assertEquals(Arrays.asList("0.9", "0.8", "0.7", "0.5", "0.3", "0.1"), this.submit());
+    }
+    
+    @Test
+    public void opaquePacketsAreGroupedByProgramAndTextureBeforeDepth() {
+        OOProgram otherProgram = new OOProgram();
+        OOTexture otherTexture = new OOTexture();
+        this.add("b", OORenderQueue.createKey(0, false, otherProgram, this.texture, 0.1f), otherProgram, this.texture);
+        this.add("a", OORenderQueue.createKey(0, false, this.program, otherTexture, 0.9f), this.program, otherTexture);
+        this.add("a", OORenderQueue.createKey(0, false, this.program, otherTexture, 0.2f), this.program, otherTexture);
+        this.add("b", OORenderQueue.createKey(0, false, otherProgram, this.texture, 0.3f), otherProgram, this.texture);
+        assertEquals(Arrays.asList("a", "a", "b", "b"), this.submit());
+        assertEquals(2, this.queue.getProgramChangesCount());
+        assertEquals(2, this.queue.getTextureChangesCount());
+        assertEquals(1, this.queue.getBlendingChangesCount());
+        assertEquals(16 - 2 - 2 - 1 - 4, this.queue.getAvoidedStateChangesCount());
+    }
+    
+    @Test
+    public void packetsWithEqualKeysKeepTheirOrder() {
+        List<String> expected = new ArrayList<String>();
+        List<String> expectedLater = new ArrayList<String>();
+        for (int i = 0; i < 600; ++i) {
+            String name = Integer.toString(i);
+            if (i % 3 == 0) {
+                this.add(name, 9, true, 0.75f);
+                expectedLater.add(name);
+            } else {
+                this.add(name, 9, false, 0.75f);
+                expected.add(name);
+            }
+        }
+        expected.addAll(expectedLater);
+        assertEquals(expected, this.submit());
+    }
+    
+    @Test
+    public void arbitraryKeysAreSortedAsUnsignedValuesAndStably() {
+        Random random = new Random(16);
+        final long[] keys = new long[5000];
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < keys.length; ++i) {
+            // few distinct values per byte, so that equal keys are common and every byte is sorted
+            keys[i] = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 8) {
+                keys[i] |= (long) (random.nextInt(3) * 0x7F) << shift;
+            }
+            this.add(Integer.toString(i), keys[i], this.program, this.texture);
+            expected.add(i);
+        }
+        Collections.sort(expected, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                long firstKey = keys[first] ^ Long.MIN_VALUE;
+                long secondKey = keys[second] ^ Long.MIN_VALUE;
+                return firstKey < secondKey ? -1 : (firstKey > secondKey ? 1 : 0);
+            }
+        });
+        List<String> expectedNames = new ArrayList<String>();
+        for (Integer index : expected) {
+            expectedNames.add(Integer.toString(index));
+        }
+        assertEquals(expectedNames, this.submit());
+    }
+}
@@ -0,0 +1,85 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests that the {@code xxx[]} overloads reuse the scratch buffers of {@link OOGLES20} instead of allocating a
+ * direct buffer on every call.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOScratchBufferTest {
+    
+    private static final int ITERATIONS = 1000;
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+    }
+    
+    private static void draw(OOUniform color, OOUniform bones, OOAttribute weights, float[] values, short[] indices) {
+        color.set4fv(1, values, 0);
+        bones.setMatrix4fv(4, values, 0);
+        bones.setMatrix4fv(1, values, 16);
+        weights.setForAll4fv(values, 4);
+        OOGLES20.framebuffer.drawElements(OODrawPrimitive.TRIANGLES, indices.length, indices, 0);
+    }
+    
+    @Test
+    public void theArrayOverloadsDoNotAllocateInTheSteadyState() {
+        OOUniform color = new OOUniform(1);
+        OOUniform bones = new OOUniform(2);
+        OOAttribute weights = new OOAttribute(3);
+        float[] values = new float[4 * 16];
+        short[] indices = new short[3 * 128];
+        OOScratchBufferTest.draw(color, bones, weights, values, indices);
+        int allocationsCount = OOGLES20.scratchAllocationsCount;
+        this.fake.getCalls().clear();
+        for (int i = 0; i < OOScratchBufferTest.ITERATIONS; ++i) {
+            values[i % values.length] = i;
+            indices[i % indices.length] = (short) i;
+            OOScratchBufferTest.draw(color, bones, weights, values, indices);
+        }
+        assertEquals(allocationsCount, OOGLES20.scratchAllocationsCount);
+        assertEquals(5 * OOScratchBufferTest.ITERATIONS, this.fake.getCalls().size());
+    }
+    
+    @Test
+    public void theScratchBuffersGrowGeometrically() {
+        int allocationsCount = OOGLES20.scratchAllocationsCount;
+        OOUniform bones = new OOUniform(2);
+        for (int count = 1; count <= 1024; ++count) {
+            bones.setMatrix4fv(count, new float[16 * count], 0);
+        }
+        assertTrue(OOGLES20.scratchAllocationsCount - allocationsCount <= 11);
+    }
+    
+    @Test
+    public void theScratchBuffersAreDirect() {
+        OOGLES20.framebuffer.drawElements(OODrawPrimitive.TRIANGLES, 3, new short[] { 0, 1, 2 }, 0);
+        assertTrue(OOGLES20.scratchShortBuffer(3).isDirect());
+        assertTrue(OOGLES20.scratchFloatBuffer(16).isDirect());
+    }
+}
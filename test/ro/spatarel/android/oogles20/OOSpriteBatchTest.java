@@ -0,0 +1,162 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the flushes, the counters and the uploaded data of {@link OOSpriteBatch}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOSpriteBatchTest {
+    
+    private FakeGLES20 fake;
+    private OOProgram program;
+    private OOAttribute position;
+    private OOAttribute textureCoordinates;
+    private OOAttribute color;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        this.program = new OOProgram();
+        this.position = new OOAttribute(0);
+        this.textureCoordinates = new OOAttribute(1);
+        this.color = new OOAttribute(2);
+    }
+    
+    private List<String> getDrawCalls() {
+        List<String> draws = new ArrayList<String>();
+        for (String call : this.fake.getCalls()) {
+            if (call.startsWith("glDrawElements(")) {
+                draws.add(call);
+            }
+        }
+        return draws;
+    }
+    
+    private static String drawCall(int sprites) {
+        return "glDrawElements(" + OpenGLES20.GL_TRIANGLES + ", " + 6 * sprites + ", " + OpenGLES20.GL_UNSIGNED_SHORT
+                + ", 0)";
+    }
+    
+    private static void draw(OOSpriteBatch batch, int count) {
+        for (int i = 0; i < count; ++i) {
+            batch.draw(i, 0.0f, 1.0f, 1.0f, 0.0f, 0.0f, 1.0f, 1.0f, 0xFFFFFFFF);
+        }
+    }
+    
+    @Test
+    public void theBatchFlushesOnlyOnStateChangesAndWhenFull() {
+        OOTexture first = new OOTexture();
+        OOTexture second = new OOTexture();
+        OOProgram otherProgram = new OOProgram();
+        OOSpriteBatch batch = new OOSpriteBatch(4);
+        batch.begin(this.program, this.position, this.textureCoordinates, this.color);
+        batch.setTexture(first);
+        OOSpriteBatchTest.draw(batch, 3);
+        batch.setTexture(first);
+        batch.setBlending(true);
+        batch.setProgram(this.program, this.position, this.textureCoordinates, this.color);
+        assertEquals(0, this.getDrawCalls().size());
+        OOSpriteBatchTest.draw(batch, 3);
+        assertEquals(1, this.getDrawCalls().size());
+        batch.setTexture(second);
+        batch.setBlending(false);
+        OOSpriteBatchTest.draw(batch, 1);
+        batch.setProgram(otherProgram, this.position, null, null);
+        OOSpriteBatchTest.draw(batch, 1);
+        batch.end();
+        
+        assertEquals(Arrays.asList(OOSpriteBatchTest.drawCall(4), OOSpriteBatchTest.drawCall(2),
+                OOSpriteBatchTest.drawCall(1), OOSpriteBatchTest.drawCall(1)), this.getDrawCalls());
+        assertEquals(4, batch.getFlushesCount());
+        assertEquals(8, batch.getSpritesCount());
+        assertEquals(32, batch.getVerticesCount());
+        assertEquals(8.0f, batch.getVerticesPerFlush(), 0.0f);
+        batch.resetCounters();
+        assertEquals(0, batch.getFlushesCount());
+        assertEquals(0.0f, batch.getVerticesPerFlush(), 0.0f);
+    }
+    
+    @Test
+    public void theUploadedDataHoldsTheQuadIndicesAndTheVertices() {
+        OOSpriteBatch batch = new OOSpriteBatch(2);
+        batch.begin(this.program, this.position, this.textureCoordinates, this.color);
+        batch.draw(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f, 0.25f, 0.5f, 0.75f, 1.0f, 0x80112233);
+        batch.end();
+        
+        List<ByteBuffer> uploads = this.fake.getUploads();
+        assertEquals(2, uploads.size());
+        ByteBuffer indices = uploads.get(0);
+        short[] expectedIndices = { 0, 1, 2, 2, 3, 0, 4, 5, 6, 6, 7, 4 };
+        assertEquals(2 * expectedIndices.length, indices.remaining());
+        for (int i = 0; i < expectedIndices.length; ++i) {
+            assertEquals(expectedIndices[i], indices.getShort(2 * i));
+        }
+        
+        ByteBuffer vertices = uploads.get(1);
+        assertEquals(4 * 20, vertices.remaining());
+        // Every corner is (x, y, u, v), followed by the color as the bytes R, G, B and A.
+        float[][] expectedCorners = {
+            { 1.0f, 2.0f, 0.25f, 0.5f },
+            { 3.0f, 4.0f, 0.75f, 0.5f },
+            { 5.0f, 6.0f, 0.75f, 1.0f },
+            { 7.0f, 8.0f, 0.25f, 1.0f } };
+        for (int corner = 0; corner < 4; ++corner) {
+            for (int i = 0; i < 4; ++i) {
+                assertEquals(expectedCorners[corner][i], vertices.getFloat(20 * corner + 4 * i), 0.0f);
+            }
+            assertEquals(0x11, vertices.get(20 * corner + 16));
+            assertEquals(0x22, vertices.get(20 * corner + 17));
+            assertEquals(0x33, vertices.get(20 * corner + 18));
+            assertEquals((byte) 0x80, vertices.get(20 * corner + 19));
+        }
+        
+        // Every enabled array reads the same vertex buffer: "location: buffer size type normalized stride offset".
+        String[] arrays = this.fake.getVertexState().split("; ");
+        assertEquals(4, arrays.length);
+        String vertexBuffer = arrays[0].split(" ")[1];
+        assertEquals("0: " + vertexBuffer + " 2 " + OpenGLES20.GL_FLOAT + " 0 20 0", arrays[0]);
+        assertEquals("1: " + vertexBuffer + " 2 " + OpenGLES20.GL_FLOAT + " 0 20 8", arrays[1]);
+        assertEquals("2: " + vertexBuffer + " 4 " + OpenGLES20.GL_UNSIGNED_BYTE + " 1 20 16", arrays[2]);
+    }
+    
+    @Test
+    public void theQuadIndicesAreUploadedAgainForANewBackEnd() {
+        OOSpriteBatch batch = new OOSpriteBatch(1);
+        batch.begin(this.program, this.position, null, null);
+        OOSpriteBatchTest.draw(batch, 1);
+        batch.end();
+        this.setUp();
+        batch = new OOSpriteBatch(1);
+        batch.begin(this.program, this.position, null, null);
+        OOSpriteBatchTest.draw(batch, 1);
+        batch.end();
+        assertEquals(2, this.fake.getUploads().size());
+        assertEquals(12, this.fake.getUploads().get(0).remaining());
+    }
+}
@@ -0,0 +1,198 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the state shadowing of {@link OOGLES20Rasterization}, {@link OOGLES20FragmentProcessing} and
+ * {@link OOGLES20PixelProcessing}: the calls reaching the back end are counted.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOStateShadowTest {
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        OOGLES20.enableStateShadowing();
+        OOGLES20.rasterization.resetDroppedCallsCount();
+        OOGLES20.fragmentProcessing.resetDroppedCallsCount();
+        OOGLES20.pixelProcessing.resetDroppedCallsCount();
+    }
+    
+    @After
+    public void tearDown() {
+        OOGLES20.disableStateShadowing();
+    }
+    
+    private List<String> takeCalls() {
+        List<String> calls = new ArrayList<String>(this.fake.getCalls());
+        this.fake.getCalls().clear();
+        return calls;
+    }
+    
+    @Test
+    public void redundantCallsAreDroppedOnlyWhileShadowing() {
+        OOGLES20.pixelProcessing.enableBlending();
+        OOGLES20.pixelProcessing.enableBlending();
+        OOGLES20.pixelProcessing.enableBlending();
+        OOGLES20.pixelProcessing.disableBlending();
+        OOGLES20.pixelProcessing.disableBlending();
+        assertEquals(Arrays.asList("glEnable(" + OpenGLES20.GL_BLEND + ")", "glDisable(" + OpenGLES20.GL_BLEND + ")"),
+                this.takeCalls());
+        assertEquals(3, OOGLES20.pixelProcessing.getDroppedCallsCount());
+        
+        OOGLES20.disableStateShadowing();
+        OOGLES20.pixelProcessing.disableBlending();
+        OOGLES20.pixelProcessing.disableBlending();
+        assertEquals(2, this.takeCalls().size());
+        assertEquals(3, OOGLES20.pixelProcessing.getDroppedCallsCount());
+        
+        // enabling the shadowing again starts from an empty shadow
+        OOGLES20.enableStateShadowing();
+        OOGLES20.pixelProcessing.disableBlending();
+        OOGLES20.pixelProcessing.disableBlending();
+        assertEquals(Arrays.asList("glDisable(" + OpenGLES20.GL_BLEND + ")"), this.takeCalls());
+        assertEquals(4, OOGLES20.pixelProcessing.getDroppedCallsCount());
+        OOGLES20.pixelProcessing.resetDroppedCallsCount();
+        assertEquals(0, OOGLES20.pixelProcessing.getDroppedCallsCount());
+    }
+    
+    @Test
+    public void everyValueOfAMultiValuedStateIsCompared() {
+        OOGLES20Rasterization rasterization = OOGLES20.rasterization;
+        rasterization.setPolygonOffset(1.0f, 2.0f);
+        rasterization.setPolygonOffset(1.0f, 2.0f);
+        rasterization.setPolygonOffset(1.0f, 3.0f);
+        rasterization.setLineWidth(2.0f);
+        rasterization.setLineWidth(2.0f);
+        rasterization.setFrontFaceWinding(OOWinding.CLOCKWISE);
+        rasterization.setFrontFaceWinding(OOWinding.CLOCKWISE);
+        rasterization.setFrontFaceWinding(OOWinding.COUNTERCLOCKWISE);
+        assertEquals(Arrays.asList("glPolygonOffset(1.0, 2.0)", "glPolygonOffset(1.0, 3.0)", "glLineWidth(2.0)",
+                "glFrontFace(" + OpenGLES20.GL_CW + ")", "glFrontFace(" + OpenGLES20.GL_CCW + ")"), this.takeCalls());
+        assertEquals(3, rasterization.getDroppedCallsCount());
+        
+        OOGLES20FragmentProcessing fragmentProcessing = OOGLES20.fragmentProcessing;
+        fragmentProcessing.setScissorBox(0, 0, 64, 32);
+        fragmentProcessing.setScissorBox(0, 0, 64, 32);
+        fragmentProcessing.setScissorBox(0, 0, 64, 16);
+        assertEquals(Arrays.asList("glScissor(0, 0, 64, 32)", "glScissor(0, 0, 64, 16)"), this.takeCalls());
+        
+        OOGLES20PixelProcessing pixelProcessing = OOGLES20.pixelProcessing;
+        pixelProcessing.setColorBufferWriteMask(true, true, true, false);
+        pixelProcessing.setColorBufferWriteMask(true, true, true, false);
+        pixelProcessing.setColorBufferWriteMask(true, true, true, true);
+        pixelProcessing.setBlendingColor(0.0f, 0.5f, 1.0f, 1.0f);
+        pixelProcessing.setBlendingColor(0.0f, 0.5f, 1.0f, 1.0f);
+        assertEquals(Arrays.asList("glColorMask(true, true, true, false)", "glColorMask(true, true, true, true)",
+                "glBlendColor(0.0, 0.5, 1.0, 1.0)"), this.takeCalls());
+        assertEquals(2, pixelProcessing.getDroppedCallsCount());
+    }
+    
+    @Test
+    public void theFacesOfTheStencilStateAreShadowedSeparately() {
+        OOGLES20FragmentProcessing fragmentProcessing = OOGLES20.fragmentProcessing;
+        fragmentProcessing.setStencilFunctionSeparately(OOPrimitiveOrientation.FRONT, OOStencilTestFunction.EQUAL, 1,
+                0xFF);
+        // the back face is still unknown
+        fragmentProcessing.setStencilFunction(OOStencilTestFunction.EQUAL, 1, 0xFF);
+        fragmentProcessing.setStencilFunctionSeparately(OOPrimitiveOrientation.BACK, OOStencilTestFunction.EQUAL, 1,
+                0xFF);
+        fragmentProcessing.setStencilFunctionSeparately(OOPrimitiveOrientation.FRONT_AND_BACK,
+                OOStencilTestFunction.EQUAL, 1, 0xFF);
+        fragmentProcessing.setStencilFunctionSeparately(OOPrimitiveOrientation.BACK, OOStencilTestFunction.EQUAL, 2,
+                0xFF);
+        fragmentProcessing.setStencilFunctionSeparately(OOPrimitiveOrientation.FRONT, OOStencilTestFunction.EQUAL, 1,
+                0xFF);
+        fragmentProcessing.setStencilFunction(OOStencilTestFunction.EQUAL, 1, 0xFF);
+        assertEquals(Arrays.asList(
+                "glStencilFuncSeparate(" + OpenGLES20.GL_FRONT + ", " + OpenGLES20.GL_EQUAL + ", 1, 255)",
+                "glStencilFunc(" + OpenGLES20.GL_EQUAL + ", 1, 255)",
+                "glStencilFuncSeparate(" + OpenGLES20.GL_BACK + ", " + OpenGLES20.GL_EQUAL + ", 2, 255)",
+                "glStencilFunc(" + OpenGLES20.GL_EQUAL + ", 1, 255)"), this.takeCalls());
+        assertEquals(3, fragmentProcessing.getDroppedCallsCount());
+        
+        OOGLES20PixelProcessing pixelProcessing = OOGLES20.pixelProcessing;
+        pixelProcessing.setStencilBufferWriteMask(0x0F);
+        pixelProcessing.setStencilBufferWriteMaskSeparately(OOPrimitiveOrientation.BACK, 0x0F);
+        pixelProcessing.setStencilBufferWriteMaskSeparately(OOPrimitiveOrientation.FRONT, 0xF0);
+        pixelProcessing.setStencilBufferWriteMask(0xF0);
+        assertEquals(Arrays.asList("glStencilMask(15)",
+                "glStencilMaskSeparate(" + OpenGLES20.GL_FRONT + ", 240)", "glStencilMask(240)"), this.takeCalls());
+    }
+    
+    @Test
+    public void invalidatingTheStateReissuesTheCalls() {
+        OOGLES20.rasterization.enableCullFace();
+        OOGLES20.fragmentProcessing.enableDepthTest();
+        OOGLES20.pixelProcessing.setDepthBufferWriteMask(false);
+        assertEquals(3, this.takeCalls().size());
+        OOGLES20.rasterization.enableCullFace();
+        OOGLES20.fragmentProcessing.enableDepthTest();
+        OOGLES20.pixelProcessing.setDepthBufferWriteMask(false);
+        assertEquals(Collections.emptyList(), this.takeCalls());
+        
+        OOGLES20.invalidateState();
+        OOGLES20.rasterization.enableCullFace();
+        OOGLES20.fragmentProcessing.enableDepthTest();
+        OOGLES20.pixelProcessing.setDepthBufferWriteMask(false);
+        assertEquals(Arrays.asList("glEnable(" + OpenGLES20.GL_CULL_FACE + ")",
+                "glEnable(" + OpenGLES20.GL_DEPTH_TEST + ")", "glDepthMask(false)"), this.takeCalls());
+        
+        // a single stage can be invalidated on its own
+        OOGLES20.fragmentProcessing.invalidate();
+        OOGLES20.rasterization.enableCullFace();
+        OOGLES20.fragmentProcessing.enableDepthTest();
+        assertEquals(Arrays.asList("glEnable(" + OpenGLES20.GL_DEPTH_TEST + ")"), this.takeCalls());
+        
+        // so does a new back end
+        FakeGLES20 other = new FakeGLES20(false);
+        OOGLES20.setBackEnd(other.getBackEnd());
+        OOGLES20.fragmentProcessing.enableDepthTest();
+        assertEquals(Arrays.asList("glEnable(" + OpenGLES20.GL_DEPTH_TEST + ")"), other.getCalls());
+    }
+    
+    @Test
+    public void aSavedShadowIsRestored() {
+        OOGLES20State state = new OOGLES20State();
+        OOGLES20.pixelProcessing.setBlendingFunction(OOBlendingSourceFunction.SOURCE_ALPHA,
+                OOBlendingDestinationFunction.ONE_MINUS_SOURCE_ALPHA);
+        OOGLES20.saveState(state);
+        OOGLES20.pixelProcessing.setBlendingFunction(OOBlendingSourceFunction.ONE, OOBlendingDestinationFunction.ONE);
+        this.takeCalls();
+        
+        OOGLES20.loadState(state);
+        OOGLES20.pixelProcessing.setBlendingFunction(OOBlendingSourceFunction.SOURCE_ALPHA,
+                OOBlendingDestinationFunction.ONE_MINUS_SOURCE_ALPHA);
+        OOGLES20.pixelProcessing.setBlendingFunction(OOBlendingSourceFunction.ONE, OOBlendingDestinationFunction.ONE);
+        assertEquals(Arrays.asList("glBlendFunc(" + OpenGLES20.GL_ONE + ", " + OpenGLES20.GL_ONE + ")"),
+                this.takeCalls());
+    }
+}
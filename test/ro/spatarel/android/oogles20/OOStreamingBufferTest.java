@@ -0,0 +1,166 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the offsets, the orphaning, the growth and the counters of {@link OOStreamingBuffer}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOStreamingBufferTest {
+    
+    private static final int ARRAY_BUFFER = OpenGLES20.GL_ARRAY_BUFFER;
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        OOGLES20.disableBindingCache();
+    }
+    
+    /**
+     * <p>Returns the buffer calls logged so far and clears the log.</p>
+     */
+    private List<String> takeBufferCalls() {
+        List<String> calls = new ArrayList<String>();
+        for (String call : this.fake.getCalls()) {
+            if (call.startsWith("glBindBuffer(") || call.startsWith("glBufferData(")
+                    || call.startsWith("glBufferSubData(")) {
+                calls.add(call);
+            }
+        }
+        this.fake.getCalls().clear();
+        return calls;
+    }
+    
+    private static String bind(OOBuffer buffer) {
+        return "glBindBuffer(" + OOStreamingBufferTest.ARRAY_BUFFER + ", " + buffer.getHandle() + ")";
+    }
+    
+    private static String orphan(int capacity) {
+        return "glBufferData(" + OOStreamingBufferTest.ARRAY_BUFFER + ", " + capacity + ", null, "
+                + OpenGLES20.GL_STREAM_DRAW + ")";
+    }
+    
+    private static String upload(int offset, int size) {
+        return "glBufferSubData(" + OOStreamingBufferTest.ARRAY_BUFFER + ", " + offset + ", " + size
+                + ", HeapByteBuffer)";
+    }
+    
+    @Test
+    public void writesAreAlignedAndOnlyAWrapOrphans() {
+        ByteBuffer data = ByteBuffer.allocate(64);
+        OOStreamingBuffer stream = new OOStreamingBuffer(OOGLES20.arrayBuffer, 2, 64);
+        
+        assertEquals(0, stream.write(10, data));
+        OOBuffer first = stream.getBuffer();
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(first), OOStreamingBufferTest.orphan(64),
+                OOStreamingBufferTest.upload(0, 10)), this.takeBufferCalls());
+        
+        assertEquals(12, stream.write(6, data));
+        assertEquals(20, stream.write(41, data));
+        assertSame(first, stream.getBuffer());
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(first), OOStreamingBufferTest.upload(12, 6),
+                OOStreamingBufferTest.bind(first), OOStreamingBufferTest.upload(20, 41)), this.takeBufferCalls());
+        assertEquals(1, stream.getOrphansCount());
+        
+        // 61 rounds up to 64, which leaves no room: the write wraps to the next buffer object of the ring
+        assertEquals(0, stream.write(1, data));
+        OOBuffer second = stream.getBuffer();
+        assertNotSame(first, second);
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(second), OOStreamingBufferTest.orphan(64),
+                OOStreamingBufferTest.upload(0, 1)), this.takeBufferCalls());
+        assertEquals(4, stream.write(60, data));
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(second), OOStreamingBufferTest.upload(4, 60)),
+                this.takeBufferCalls());
+        
+        // the ring wraps back to the first buffer object, whose data store is orphaned again
+        assertEquals(0, stream.write(4, data));
+        assertSame(first, stream.getBuffer());
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(first), OOStreamingBufferTest.orphan(64),
+                OOStreamingBufferTest.upload(0, 4)), this.takeBufferCalls());
+        assertEquals(3, stream.getOrphansCount());
+        assertEquals(64, stream.getCapacity());
+    }
+    
+    @Test
+    public void theCapacityGrowsGeometrically() {
+        ByteBuffer data = ByteBuffer.allocate(1000);
+        OOStreamingBuffer stream = new OOStreamingBuffer(OOGLES20.arrayBuffer, 2, 64);
+        stream.write(8, data);
+        this.takeBufferCalls();
+        
+        // a write larger than the capacity doubles it
+        assertEquals(0, stream.write(100, data));
+        assertEquals(128, stream.getCapacity());
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(stream.getBuffer()), OOStreamingBufferTest.orphan(128),
+                OOStreamingBufferTest.upload(0, 100)), this.takeBufferCalls());
+        
+        // a write larger than twice the capacity takes its own size
+        assertEquals(0, stream.write(1000, data));
+        assertEquals(1000, stream.getCapacity());
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(stream.getBuffer()), OOStreamingBufferTest.orphan(1000),
+                OOStreamingBufferTest.upload(0, 1000)), this.takeBufferCalls());
+        
+        // the buffer object still sized for 128 bytes is orphaned with the new capacity when the ring reaches it
+        assertEquals(0, stream.write(200, data));
+        assertEquals(1000, stream.getCapacity());
+        assertEquals(Arrays.asList(OOStreamingBufferTest.bind(stream.getBuffer()), OOStreamingBufferTest.orphan(1000),
+                OOStreamingBufferTest.upload(0, 200)), this.takeBufferCalls());
+        assertEquals(4, stream.getOrphansCount());
+    }
+    
+    @Test
+    public void theFrameCountersFollowEndFrame() {
+        ByteBuffer data = ByteBuffer.allocate(64);
+        OOStreamingBuffer stream = new OOStreamingBuffer(OOGLES20.arrayBuffer, 3, 64);
+        assertEquals(0, stream.getFrameBytesCount());
+        assertEquals(0, stream.getLastFrameBytesCount());
+        
+        stream.write(10, data);
+        stream.write(6, data);
+        assertEquals(16, stream.getFrameBytesCount());
+        assertEquals(0, stream.getLastFrameBytesCount());
+        stream.endFrame();
+        assertEquals(0, stream.getFrameBytesCount());
+        assertEquals(16, stream.getLastFrameBytesCount());
+        
+        // the alignment padding is not counted
+        stream.write(3, data);
+        stream.write(3, data);
+        stream.write(64, data);
+        assertEquals(70, stream.getFrameBytesCount());
+        assertEquals(16, stream.getLastFrameBytesCount());
+        stream.endFrame();
+        assertEquals(70, stream.getLastFrameBytesCount());
+        stream.endFrame();
+        assertEquals(0, stream.getLastFrameBytesCount());
+    }
+}
@@ -0,0 +1,60 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * <p>Tests for {@link OOTextureAtlas}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOTextureAtlasTest {
+    
+    private static final String UNPACK_1 = "glPixelStorei(" + OpenGLES20.GL_UNPACK_ALIGNMENT + ", 1)";
+    private static final String UNPACK_4 = "glPixelStorei(" + OpenGLES20.GL_UNPACK_ALIGNMENT + ", 4)";
+    
+    @Test
+    public void unalignedRowsAreUploadedWithByteAlignment() {
+        FakeGLES20 fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        OOTextureAtlas atlas = new OOTextureAtlas(64, 64, 1, OOTexelFormat.LUMINANCE, OOPixelDataType.UNSIGNED_BYTE,
+                1);
+        
+        fake.getCalls().clear();
+        assertNotNull(atlas.add(3, 3, ByteBuffer.allocateDirect(9)));
+        List<String> calls = fake.getCalls();
+        int upload = calls.indexOf("glTexSubImage2D(3553, 0, 0, 0, 3, 3, 6409, 5121, DirectByteBuffer)");
+        assertTrue(calls.toString(), upload >= 0);
+        assertTrue(calls.indexOf(OOTextureAtlasTest.UNPACK_1) < upload);
+        assertTrue(calls.indexOf(OOTextureAtlasTest.UNPACK_4) > upload);
+        assertEquals(4, fake.getUnpackAlignment());
+        
+        // Rows whose size is a multiple of the alignment are uploaded as they are, without querying it again.
+        fake.getCalls().clear();
+        assertNotNull(atlas.add(8, 2, ByteBuffer.allocateDirect(16)));
+        assertFalse(fake.getCalls().toString().contains("glPixelStorei"));
+        assertFalse(fake.getCalls().toString().contains("glGetIntegerv"));
+    }
+}
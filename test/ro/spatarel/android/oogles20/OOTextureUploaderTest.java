@@ -0,0 +1,71 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * <p>Tests for {@link OOTextureUploader}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOTextureUploaderTest {
+    
+    @Test
+    public void thePreviousUnpackAlignmentIsRestored() {
+        FakeGLES20 fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        OOGLES20.setPixelAlignment(OOPixelStorage.UNPACK_ALIGNMENT, 2);
+        OOTextureUploader uploader = new OOTextureUploader(1 << 20, Long.MAX_VALUE);
+        OOTextureUpload upload = uploader.submit(OOTexelFormat.LUMINANCE, OOPixelDataType.UNSIGNED_BYTE, 3, 3,
+                ByteBuffer.allocateDirect(9), null);
+        
+        fake.getCalls().clear();
+        uploader.process();
+        assertTrue(upload.isDone());
+        assertTrue(fake.getCalls().contains("glPixelStorei(" + OpenGLES20.GL_UNPACK_ALIGNMENT + ", 1)"));
+        assertEquals(2, fake.getUnpackAlignment());
+    }
+    
+    @Test
+    public void alignedRowsLeaveTheUnpackAlignmentAlone() {
+        FakeGLES20 fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        OOTextureUploader uploader = new OOTextureUploader(1 << 20, Long.MAX_VALUE);
+        uploader.submit(OOTexelFormat.RGBA, OOPixelDataType.UNSIGNED_BYTE, 3, 3, ByteBuffer.allocateDirect(36), null);
+        
+        fake.getCalls().clear();
+        uploader.process();
+        assertFalse(fake.getCalls().toString().contains("glPixelStorei"));
+        assertEquals(4, fake.getUnpackAlignment());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void aZeroByteBudgetIsRejected() {
+        new OOTextureUploader(0, Long.MAX_VALUE);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void aNegativeTimeBudgetIsRejected() {
+        new OOTextureUploader(1 << 20, 1000000L).setNanosBudget(-1L);
+    }
+}
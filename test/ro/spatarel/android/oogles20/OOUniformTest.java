@@ -0,0 +1,92 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the value cache of {@link OOUniform}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOUniformTest {
+    
+    private FakeGLES20 fake;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+    }
+    
+    private static OOUniform createUniform(int handle) {
+        OOUniform uniform = new OOUniform(handle);
+        uniform.enableValueCache();
+        return uniform;
+    }
+    
+    @Test
+    public void equalValuesAreSkipped() {
+        OOUniform uniform = OOUniformTest.createUniform(1);
+        uniform.set4f(1.0f, 2.0f, 3.0f, 4.0f);
+        uniform.set4f(1.0f, 2.0f, 3.0f, 4.0f);
+        uniform.set4fv(1, new float[] { 1.0f, 2.0f, 3.0f, 4.0f }, 0);
+        assertEquals(1, this.fake.getCalls().size());
+        assertEquals(2, uniform.getSkippedUploadsCount());
+    }
+    
+    @Test
+    public void negativeZeroIsNotZero() {
+        OOUniform uniform = OOUniformTest.createUniform(1);
+        uniform.set1f(0.0f);
+        uniform.set1f(-0.0f);
+        uniform.set2fv(1, new float[] { 1.0f, 0.0f }, 0);
+        uniform.set2fv(1, new float[] { 1.0f, -0.0f }, 0);
+        assertEquals(4, this.fake.getCalls().size());
+        assertEquals(0, uniform.getSkippedUploadsCount());
+    }
+    
+    @Test
+    public void theSetterIsPartOfTheValue() {
+        OOUniform uniform = OOUniformTest.createUniform(1);
+        float[] values = { 1.0f, 0.0f, 0.0f, 1.0f };
+        uniform.set4fv(1, values, 0);
+        uniform.setMatrix2fv(1, values, 0);
+        uniform.set2fv(2, values, 0);
+        uniform.set1fv(4, values, 0);
+        uniform.set1fv(4, values, 0);
+        assertEquals(4, this.fake.getCalls().size());
+        assertEquals(1, uniform.getSkippedUploadsCount());
+    }
+    
+    @Test
+    public void arrayElementsDoNotAliasTheCache() {
+        OOUniform array = OOUniformTest.createUniform(1);
+        OOUniform element = OOUniformTest.createUniform(2);
+        element.setArrayElement(array);
+        float[] values = { 1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f };
+        array.set4fv(2, values, 0);
+        element.set4f(0.0f, 0.0f, 0.0f, 0.0f);
+        element.set4f(0.0f, 0.0f, 0.0f, 0.0f);
+        array.set4fv(2, values, 0);
+        assertEquals(4, this.fake.getCalls().size());
+        assertEquals(0, array.getSkippedUploadsCount());
+        assertEquals(0, element.getSkippedUploadsCount());
+    }
+}
@@ -0,0 +1,159 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * <p>Tests for {@link OOVertexArray}: the vertex array object path and the client-side fallback must leave the same
+ * vertex state for every draw call.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOVertexArrayTest {
+    
+    /**
+     * <p>Runs the same sequence of vertex array operations and returns, for every bind, the calls issued (without the
+     * vertex array object bindings) followed by the vertex state a draw call would see.</p>
+     */
+    private static List<String> run(FakeGLES20 fake) {
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        OOGLES20.enableBindingCache();
+        OOBuffer vertices = new OOBuffer();
+        OOBuffer otherVertices = new OOBuffer();
+        OOBuffer indices = new OOBuffer();
+        OOAttribute position = new OOAttribute(0);
+        OOAttribute texture = new OOAttribute(1);
+        OOAttribute color = new OOAttribute(2);
+        
+        OOVertexArray first = new OOVertexArray();
+        first.setAttribute(position, vertices, 3, OOAttributeClientDataType.FLOAT, false, 20, 0);
+        first.setAttribute(texture, vertices, 2, OOAttributeClientDataType.FLOAT, false, 20, 12);
+        first.setElementBuffer(indices);
+        OOVertexArray second = new OOVertexArray();
+        second.setAttribute(position, otherVertices, 3, OOAttributeClientDataType.FLOAT, false, 16, 0);
+        second.setAttribute(color, otherVertices, 4, OOAttributeClientDataType.UNSIGNED_BYTE, true, 16, 12);
+        fake.getCalls().clear();
+        
+        List<String> log = new ArrayList<String>();
+        OOVertexArray[] order = { first, second, second, first, first };
+        for (OOVertexArray array : order) {
+            array.bind();
+            log.add(array == first ? "first" : "second");
+            log.add(fake.takeCallsWithoutVertexArrayBindings().toString());
+            log.add(fake.getVertexState());
+        }
+        first.disableAttribute(texture);
+        first.setElementBuffer(null);
+        first.bind();
+        log.add(fake.takeCallsWithoutVertexArrayBindings().toString());
+        log.add(fake.getVertexState());
+        second.bind();
+        fake.takeCallsWithoutVertexArrayBindings();
+        log.add(fake.getVertexState());
+        first.bind();
+        fake.takeCallsWithoutVertexArrayBindings();
+        log.add(fake.getVertexState());
+        
+        first.delete();
+        second.delete();
+        return log;
+    }
+    
+    @Test
+    public void bothPathsLeaveTheSameVertexState() {
+        FakeGLES20 hardware = new FakeGLES20(true);
+        List<String> hardwareLog = OOVertexArrayTest.run(hardware);
+        FakeGLES20 software = new FakeGLES20(false);
+        List<String> softwareLog = OOVertexArrayTest.run(software);
+        
+        for (int i = 2; i < 15; i += 3) {
+            assertEquals("state after bind " + i / 3, softwareLog.get(i), hardwareLog.get(i));
+        }
+        assertEquals(softwareLog.subList(16, softwareLog.size()), hardwareLog.subList(16, hardwareLog.size()));
+    }
+    
+    @Test
+    public void bothPathsIssueTheSameCallsForTheFirstBind() {
+        List<String> hardwareLog = OOVertexArrayTest.run(new FakeGLES20(true));
+        List<String> softwareLog = OOVertexArrayTest.run(new FakeGLES20(false));
+        assertEquals(softwareLog.get(1), hardwareLog.get(1));
+        // Updating the bound vertex array issues the same difference on both paths.
+        assertEquals(softwareLog.get(15), hardwareLog.get(15));
+    }
+    
+    @Test
+    public void hardwareRebindsIssueOnlyTheVertexArrayBinding() {
+        FakeGLES20 fake = new FakeGLES20(true);
+        List<String> log = OOVertexArrayTest.run(fake);
+        // Binding an array again, directly or after another array, issues no attribute calls.
+        assertEquals("[]", log.get(7));
+        assertEquals("[]", log.get(10));
+        assertEquals("[]", log.get(13));
+    }
+    
+    @Test
+    public void softwareRebindsIssueOnlyTheDifference() {
+        List<String> log = OOVertexArrayTest.run(new FakeGLES20(false));
+        assertEquals("[]", log.get(7));
+        assertEquals("[]", log.get(13));
+        assertFalse(log.get(4).contains("glVertexAttribPointer(1,"));
+        assertTrue(log.get(4).contains("glDisableVertexAttribArray(1)"));
+        assertTrue(log.get(10).contains("glDisableVertexAttribArray(2)"));
+    }
+    
+    @Test
+    public void softwareBindDisablesArraysEnabledOutsideTheLibrary() {
+        FakeGLES20 fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(fake.getBackEnd());
+        OOGLES20.enableBindingCache();
+        OOBuffer vertices = new OOBuffer();
+        new OOAttribute(0).enableArray();
+        fake.getBackEnd().glEnableVertexAttribArray(3);
+        OOGLES20.invalidateBindingCache();
+        
+        OOVertexArray array = new OOVertexArray();
+        array.setAttribute(new OOAttribute(0), vertices, 3, OOAttributeClientDataType.FLOAT, false, 16, 0);
+        array.setAttribute(new OOAttribute(4), vertices, 1, OOAttributeClientDataType.FLOAT, false, 16, 12);
+        array.bind();
+        assertEquals("0: " + vertices.getHandle() + " 3 5126 0 16 0; 4: " + vertices.getHandle()
+                + " 1 5126 0 16 12; elements: 0", fake.getVertexState());
+    }
+    
+    @Test
+    public void deleteAfterSwitchingToABackEndWithoutTheExtension() {
+        FakeGLES20 hardware = new FakeGLES20(true);
+        OOGLES20.setBackEnd(hardware.getBackEnd());
+        OOVertexArray array = new OOVertexArray();
+        assertTrue(array.isHardware());
+        array.bind();
+        
+        FakeGLES20 software = new FakeGLES20(false);
+        OOGLES20.setBackEnd(software.getBackEnd());
+        software.getCalls().clear();
+        array.delete();
+        assertEquals(Arrays.asList(new String[0]), software.getCalls());
+        array.delete();
+    }
+}
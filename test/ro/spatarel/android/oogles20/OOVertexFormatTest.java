@@ -0,0 +1,172 @@
+package ro.spatarel.android.oogles20;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Tests for the calls issued by {@link OOVertexFormat#bind} when layouts are switched, and for the resolution of
+ * the attribute locations of a program.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOVertexFormatTest {
+    
+    private static final int FLOAT = OpenGLES20.GL_FLOAT;
+    private static final int UNSIGNED_BYTE = OpenGLES20.GL_UNSIGNED_BYTE;
+    
+    private FakeGLES20 fake;
+    
+    // position, normal and texture coordinates; 32 bytes per vertex
+    private OOVertexFormat lit;
+    private OOProgram litProgram;
+    
+    // position and packed color; 16 bytes per vertex
+    private OOVertexFormat colored;
+    private OOProgram coloredProgram;
+    
+    @Before
+    public void setUp() {
+        this.fake = new FakeGLES20(false);
+        OOGLES20.setBackEnd(this.fake.getBackEnd());
+        OOGLES20.enableBindingCache();
+        
+        this.lit = new OOVertexFormat(new OOVertexElement("a_position", 3, OOAttributeClientDataType.FLOAT, false),
+                new OOVertexElement("a_normal", 3, OOAttributeClientDataType.FLOAT, false),
+                new OOVertexElement("a_uv", 2, OOAttributeClientDataType.FLOAT, false));
+        this.litProgram = new OOProgram();
+        this.fake.setActiveAttributes(this.litProgram.getHandle(), new String[] { "a_position", "a_normal", "a_uv" },
+                new int[] { 0, 1, 2 });
+        this.litProgram.link();
+        
+        this.colored = new OOVertexFormat(new OOVertexElement("a_position", 3, OOAttributeClientDataType.FLOAT, false),
+                new OOVertexElement("a_color", 4, OOAttributeClientDataType.UNSIGNED_BYTE, true));
+        this.coloredProgram = new OOProgram();
+        this.fake.setActiveAttributes(this.coloredProgram.getHandle(), new String[] { "a_color", "a_position" },
+                new int[] { 3, 0 });
+        this.coloredProgram.link();
+        
+        OOGLES20.arrayBuffer.bind(new OOBuffer());
+        this.fake.getCalls().clear();
+    }
+    
+    private List<String> takeCalls() {
+        List<String> calls = new ArrayList<String>(this.fake.getCalls());
+        this.fake.getCalls().clear();
+        return calls;
+    }
+    
+    private static String pointer(int location, int size, int type, boolean normalized, int stride, int offset) {
+        return "glVertexAttribPointer(" + location + ", " + size + ", " + type + ", " + normalized + ", " + stride
+                + ", " + offset + ")";
+    }
+    
+    private static String enable(int location) {
+        return "glEnableVertexAttribArray(" + location + ")";
+    }
+    
+    private static String disable(int location) {
+        return "glDisableVertexAttribArray(" + location + ")";
+    }
+    
+    @Test
+    public void theOffsetsAndTheStrideAreAligned() {
+        assertEquals(32, this.lit.getStride());
+        assertEquals(12, this.lit.getOffset(1));
+        assertEquals(24, this.lit.getOffset(2));
+        assertEquals(16, this.colored.getStride());
+        assertEquals(12, this.colored.getOffset(1));
+    }
+    
+    @Test
+    public void switchingLayoutsIssuesOnlyTheDifferences() {
+        this.lit.bind(this.litProgram, 0);
+        assertEquals(Arrays.asList(OOVertexFormatTest.pointer(0, 3, OOVertexFormatTest.FLOAT, false, 32, 0),
+                OOVertexFormatTest.enable(0), OOVertexFormatTest.pointer(1, 3, OOVertexFormatTest.FLOAT, false, 32, 12),
+                OOVertexFormatTest.enable(1), OOVertexFormatTest.pointer(2, 2, OOVertexFormatTest.FLOAT, false, 32, 24),
+                OOVertexFormatTest.enable(2)), this.takeCalls());
+        
+        // the same layout at the same offset issues nothing
+        this.lit.bind(this.litProgram, 0);
+        assertEquals(Collections.emptyList(), this.takeCalls());
+        
+        // a new base offset moves every pointer, the arrays stay enabled
+        this.lit.bind(this.litProgram, 320);
+        assertEquals(Arrays.asList(OOVertexFormatTest.pointer(0, 3, OOVertexFormatTest.FLOAT, false, 32, 320),
+                OOVertexFormatTest.pointer(1, 3, OOVertexFormatTest.FLOAT, false, 32, 332),
+                OOVertexFormatTest.pointer(2, 2, OOVertexFormatTest.FLOAT, false, 32, 344)), this.takeCalls());
+        
+        // only the arrays the other layout does not use are disabled
+        this.colored.bind(this.coloredProgram, 0);
+        assertEquals(Arrays.asList(OOVertexFormatTest.pointer(0, 3, OOVertexFormatTest.FLOAT, false, 16, 0),
+                OOVertexFormatTest.pointer(3, 4, OOVertexFormatTest.UNSIGNED_BYTE, true, 16, 12),
+                OOVertexFormatTest.enable(3), OOVertexFormatTest.disable(1), OOVertexFormatTest.disable(2)),
+                this.takeCalls());
+        
+        // disabling an array keeps its pointer, so only the shared location is specified again
+        this.lit.bind(this.litProgram, 320);
+        assertEquals(Arrays.asList(OOVertexFormatTest.pointer(0, 3, OOVertexFormatTest.FLOAT, false, 32, 320),
+                OOVertexFormatTest.enable(1), OOVertexFormatTest.enable(2), OOVertexFormatTest.disable(3)),
+                this.takeCalls());
+        
+        // the layouts the back end sees are the expected ones
+        this.colored.bind(this.coloredProgram, 0);
+        this.takeCalls();
+        int buffer = OOGLES20.arrayBuffer.getBindedHandle();
+        assertEquals("0: " + buffer + " 3 " + OOVertexFormatTest.FLOAT + " 0 16 0; 3: " + buffer + " 4 "
+                + OOVertexFormatTest.UNSIGNED_BYTE + " 1 16 12; elements: 0", this.fake.getVertexState());
+    }
+    
+    @Test
+    public void theLocationsAreResolvedOncePerLink() {
+        int[] litLocations = this.lit.resolve(this.litProgram);
+        assertEquals(Arrays.asList(0, 1, 2), Arrays.asList(litLocations[0], litLocations[1], litLocations[2]));
+        int[] coloredLocations = this.colored.resolve(this.coloredProgram);
+        assertEquals(Arrays.asList(0, 3), Arrays.asList(coloredLocations[0], coloredLocations[1]));
+        
+        // a layout bound to a program without some of its attributes skips them
+        int[] partialLocations = this.lit.resolve(this.coloredProgram);
+        assertEquals(Arrays.asList(0, -1, -1), Arrays.asList(partialLocations[0], partialLocations[1],
+                partialLocations[2]));
+        
+        for (int i = 0; i < 3; ++i) {
+            this.lit.bind(this.litProgram, 0);
+            this.colored.bind(this.coloredProgram, 0);
+        }
+        assertSame(litLocations, this.lit.resolve(this.litProgram));
+        assertSame(coloredLocations, this.colored.resolve(this.coloredProgram));
+        for (String call : this.takeCalls()) {
+            assertEquals(call, false, call.startsWith("glGet"));
+        }
+        
+        // linking again resolves the locations again
+        this.litProgram.link();
+        int[] relinkedLocations = this.lit.resolve(this.litProgram);
+        assertNotSame(litLocations, relinkedLocations);
+        assertSame(relinkedLocations, this.lit.resolve(this.litProgram));
+        assertSame(coloredLocations, this.colored.resolve(this.coloredProgram));
+    }
+}
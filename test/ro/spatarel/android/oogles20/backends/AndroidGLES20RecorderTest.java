@@ -0,0 +1,198 @@
+package ro.spatarel.android.oogles20.backends;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import ro.spatarel.android.oogles20.OpenGLES20;
+
+/**
+ * <p>Tests for {@link AndroidGLES20Recorder}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class AndroidGLES20RecorderTest {
+    
+    private static OpenGLES20 createLogger(final List<String> calls) {
+        return (OpenGLES20) Proxy.newProxyInstance(AndroidGLES20RecorderTest.class.getClassLoader(),
+                new Class<?>[] { OpenGLES20.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] arguments) {
+                        StringBuilder call = new StringBuilder(method.getName()).append('(');
+                        for (int i = 0; arguments != null && i < arguments.length; ++i) {
+                            call.append(i == 0 ? "" : ", ").append(AndroidGLES20RecorderTest.describe(arguments[i]));
+                        }
+                        calls.add(call.append(')').toString());
+                        return null;
+                    }
+                });
+    }
+    
+    private static String describe(Object argument) {
+        if (argument instanceof FloatBuffer) {
+            FloatBuffer values = ((FloatBuffer) argument).duplicate();
+            StringBuilder builder = new StringBuilder("floats[");
+            while (values.hasRemaining()) {
+                builder.append(' ').append(values.get());
+            }
+            return builder.append(" ]").toString();
+        } else if (argument instanceof IntBuffer) {
+            IntBuffer values = ((IntBuffer) argument).duplicate();
+            StringBuilder builder = new StringBuilder("ints[");
+            while (values.hasRemaining()) {
+                builder.append(' ').append(values.get());
+            }
+            return builder.append(" ]").toString();
+        } else if (argument instanceof ShortBuffer) {
+            ShortBuffer values = ((ShortBuffer) argument).duplicate();
+            StringBuilder builder = new StringBuilder("shorts[");
+            while (values.hasRemaining()) {
+                builder.append(' ').append(values.get());
+            }
+            return builder.append(" ]").toString();
+        } else if (argument instanceof ByteBuffer) {
+            ByteBuffer values = ((ByteBuffer) argument).duplicate();
+            StringBuilder builder = new StringBuilder("bytes[");
+            while (values.hasRemaining()) {
+                builder.append(' ').append(values.get());
+            }
+            return builder.append(" ]").toString();
+        }
+        return String.valueOf(argument);
+    }
+    
+    private static void issue(OpenGLES20 gl, Buffer image) {
+        FloatBuffer matrix = ByteBuffer.allocateDirect(64).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for (int i = 0; i < 16; ++i) {
+            matrix.put(i, i * 0.5f - 3.0f);
+        }
+        IntBuffer names = ByteBuffer.allocateDirect(12).order(ByteOrder.nativeOrder()).asIntBuffer();
+        names.put(0, 7).put(1, 8).put(2, 9);
+        IntBuffer vector = ByteBuffer.allocateDirect(16).order(ByteOrder.nativeOrder()).asIntBuffer();
+        vector.put(0, -1).put(1, 0).put(2, 1).put(3, Integer.MAX_VALUE);
+        ShortBuffer shortIndices = ByteBuffer.allocateDirect(8).order(ByteOrder.nativeOrder()).asShortBuffer();
+        shortIndices.put(0, (short) 0).put(1, (short) 1).put(2, (short) 40000).put(3, (short) 3);
+        ByteBuffer byteIndices = ByteBuffer.allocateDirect(3);
+        byteIndices.put(0, (byte) 2).put(1, (byte) 200).put(2, (byte) 1);
+        
+        gl.glBindBuffer(OpenGLES20.GL_ARRAY_BUFFER, 3);
+        gl.glBlendColor(0.25f, -0.0f, 1.0f, Float.NaN);
+        gl.glColorMask(true, false, true, false);
+        gl.glUniformMatrix4fv(5, 1, false, matrix);
+        gl.glDeleteTextures(3, names);
+        gl.glUniform2f(6, 1.5f, -2.5f);
+        gl.glDrawElements(OpenGLES20.GL_TRIANGLES, 4, OpenGLES20.GL_UNSIGNED_SHORT, shortIndices);
+        gl.glDrawElements(OpenGLES20.GL_TRIANGLES, 3, OpenGLES20.GL_UNSIGNED_BYTE, byteIndices);
+        gl.glShaderBinary(3, names, 0x1234, image, 16);
+        gl.glTexSubImage2D(OpenGLES20.GL_TEXTURE_2D, 0, 1, 2, 3, 4, OpenGLES20.GL_RGBA, OpenGLES20.GL_UNSIGNED_BYTE,
+                image);
+        gl.glVertexAttribPointer(1, 3, OpenGLES20.GL_FLOAT, true, 12, 24);
+        gl.glUniform4iv(7, 1, vector);
+    }
+    
+    @Test
+    public void replayIssuesTheRecordedCalls() {
+        Buffer image = ByteBuffer.allocateDirect(16);
+        List<String> direct = new ArrayList<String>();
+        AndroidGLES20RecorderTest.issue(AndroidGLES20RecorderTest.createLogger(direct), image);
+        
+        AndroidGLES20Recorder recorder = new AndroidGLES20Recorder();
+        AndroidGLES20RecorderTest.issue(recorder, image);
+        assertEquals(direct.size(), recorder.getCallsCount());
+        for (int replay = 0; replay < 2; ++replay) {
+            List<String> replayed = new ArrayList<String>();
+            recorder.replay(AndroidGLES20RecorderTest.createLogger(replayed));
+            assertEquals(direct, replayed);
+        }
+    }
+    
+    @Test
+    public void aReplayMayReplayTheSameRecorder() {
+        final List<String> calls = new ArrayList<String>();
+        final OpenGLES20 logger = AndroidGLES20RecorderTest.createLogger(calls);
+        final AndroidGLES20Recorder recorder = new AndroidGLES20Recorder();
+        recorder.glFlush();
+        recorder.glFinish();
+        recorder.replay(new AndroidGLES20Decorator(logger) {
+            private boolean nested = false;
+            
+            @Override
+            protected void before() {
+                // There is nothing here.
+            }
+            
+            @Override
+            protected void after() {
+                // There is nothing here.
+            }
+            
+            @Override
+            protected void call(String methodName, Object[] arguments) {
+                if (methodName.equals("glFlush") && !this.nested) {
+                    this.nested = true;
+                    recorder.replay(logger);
+                }
+            }
+        });
+        assertEquals("[glFlush(), glFinish(), glFlush(), glFinish()]", calls.toString());
+    }
+    
+    @Test
+    public void uniformValuesArePatchedAtTheDocumentedOffsets() {
+        FloatBuffer matrix = ByteBuffer.allocateDirect(64).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        AndroidGLES20Recorder recorder = new AndroidGLES20Recorder();
+        recorder.glUseProgram(1);
+        int vector = recorder.getSize();
+        recorder.glUniform4f(2, 0.0f, 0.0f, 0.0f, 0.0f);
+        int integer = recorder.getSize();
+        recorder.glUniform1i(3, 0);
+        int elements = recorder.getSize();
+        recorder.glUniformMatrix4fv(4, 1, false, matrix);
+        
+        for (int i = 0; i < 4; ++i) {
+            recorder.setFloat(vector + AndroidGLES20Recorder.UNIFORM_VALUE_OFFSET + i, i + 1.0f);
+        }
+        recorder.setInt(integer + AndroidGLES20Recorder.UNIFORM_VALUE_OFFSET, 5);
+        for (int i = 0; i < 16; ++i) {
+            recorder.setFloat(elements + AndroidGLES20Recorder.UNIFORM_MATRIX_VALUE_OFFSET + i, i);
+            matrix.put(i, i);
+        }
+        
+        List<String> direct = new ArrayList<String>();
+        OpenGLES20 logger = AndroidGLES20RecorderTest.createLogger(direct);
+        logger.glUseProgram(1);
+        logger.glUniform4f(2, 1.0f, 2.0f, 3.0f, 4.0f);
+        logger.glUniform1i(3, 5);
+        logger.glUniformMatrix4fv(4, 1, false, matrix);
+        List<String> replayed = new ArrayList<String>();
+        recorder.replay(AndroidGLES20RecorderTest.createLogger(replayed));
+        assertEquals(direct, replayed);
+    }
+}
@@ -0,0 +1,193 @@
+package ro.spatarel.android.oogles20.mesh;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ro.spatarel.android.oogles20.OODrawPrimitive;
+
+/**
+ * <p>Tests for {@link OOStripifier}: the strip and the list forms of a mesh are rasterized in software and their
+ * triangle sets compared.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOStripifierTest {
+    
+    private static final int GRID_SIZE = 24;
+    private static final int RASTER_SIZE = 64;
+    private static final int[] WINDOW_SIZES = { 1, 8, 16, 32, Integer.MAX_VALUE };
+    
+    private static float[] createPositions(Random random) {
+        float[] positions = new float[2 * OOStripifierTest.GRID_SIZE * OOStripifierTest.GRID_SIZE];
+        float step = (float) OOStripifierTest.RASTER_SIZE / OOStripifierTest.GRID_SIZE;
+        for (int y = 0; y < OOStripifierTest.GRID_SIZE; ++y) {
+            for (int x = 0; x < OOStripifierTest.GRID_SIZE; ++x) {
+                int vertex = y * OOStripifierTest.GRID_SIZE + x;
+                positions[2 * vertex] = (x + 0.3f * random.nextFloat()) * step;
+                positions[2 * vertex + 1] = (y + 0.3f * random.nextFloat()) * step;
+            }
+        }
+        return positions;
+    }
+    
+    private static short[] createGrid() {
+        int size = OOStripifierTest.GRID_SIZE;
+        short[] indices = new short[6 * (size - 1) * (size - 1)];
+        int index = 0;
+        for (int y = 0; y < size - 1; ++y) {
+            for (int x = 0; x < size - 1; ++x) {
+                int vertex = y * size + x;
+                indices[index++] = (short) vertex;
+                indices[index++] = (short) (vertex + 1);
+                indices[index++] = (short) (vertex + size);
+                indices[index++] = (short) (vertex + 1);
+                indices[index++] = (short) (vertex + size + 1);
+                indices[index++] = (short) (vertex + size);
+            }
+        }
+        return indices;
+    }
+    
+    private static short[] shuffle(short[] indices, Random random) {
+        short[] shuffled = indices.clone();
+        for (int i = shuffled.length / 3 - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            for (int k = 0; k < 3; ++k) {
+                short swap = shuffled[3 * i + k];
+                shuffled[3 * i + k] = shuffled[3 * j + k];
+                shuffled[3 * j + k] = swap;
+            }
+        }
+        return shuffled;
+    }
+    
+    /**
+     * Rasterizes a triangle list with edge functions; every covered pixel counts {@code 1} for a counter-clockwise
+     * triangle and {@code 1000} for a clockwise one, so that both coverage and winding are compared.
+     */
+    private static int[] rasterize(short[] triangles, float[] positions) {
+        int size = OOStripifierTest.RASTER_SIZE;
+        int[] image = new int[size * size];
+        for (int i = 0; i < triangles.length; i += 3) {
+            int a = triangles[i] & 0xFFFF;
+            int b = triangles[i + 1] & 0xFFFF;
+            int c = triangles[i + 2] & 0xFFFF;
+            float ax = positions[2 * a];
+            float ay = positions[2 * a + 1];
+            float bx = positions[2 * b];
+            float by = positions[2 * b + 1];
+            float cx = positions[2 * c];
+            float cy = positions[2 * c + 1];
+            float area = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+            if (area == 0.0f) {
+                continue;
+            }
+            int weight = area > 0.0f ? 1 : 1000;
+            for (int y = 0; y < size; ++y) {
+                for (int x = 0; x < size; ++x) {
+                    float px = x + 0.5f;
+                    float py = y + 0.5f;
+                    float w0 = (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+                    float w1 = (cx - bx) * (py - by) - (cy - by) * (px - bx);
+                    float w2 = (ax - cx) * (py - cy) - (ay - cy) * (px - cx);
+                    boolean inside = area > 0.0f ? w0 >= 0.0f && w1 >= 0.0f && w2 >= 0.0f
+                            : w0 <= 0.0f && w1 <= 0.0f && w2 <= 0.0f;
+                    if (inside) {
+                        image[y * size + x] += weight;
+                    }
+                }
+            }
+        }
+        return image;
+    }
+    
+    private static List<String> getTriangleSet(short[] triangles) {
+        List<String> set = new ArrayList<String>();
+        for (int i = 0; i < triangles.length; i += 3) {
+            int a = triangles[i] & 0xFFFF;
+            int b = triangles[i + 1] & 0xFFFF;
+            int c = triangles[i + 2] & 0xFFFF;
+            if (a < b && a < c) {
+                set.add(a + "," + b + "," + c);
+            } else if (b < c) {
+                set.add(b + "," + c + "," + a);
+            } else {
+                set.add(c + "," + a + "," + b);
+            }
+        }
+        Collections.sort(set);
+        return set;
+    }
+    
+    private static void assertEquivalent(short[] list, float[] positions, int windowSize) {
+        short[] strip = OOStripifier.stripify(list, 0, list.length, windowSize);
+        short[] unstripped = OOStripifier.unstripify(strip, 0, strip.length);
+        assertEquals("window " + windowSize, OOStripifierTest.getTriangleSet(list),
+                OOStripifierTest.getTriangleSet(unstripped));
+        assertArrayEquals("window " + windowSize, OOStripifierTest.rasterize(list, positions),
+                OOStripifierTest.rasterize(unstripped, positions));
+    }
+    
+    @Test
+    public void gridStripsRasterizeLikeTheList() {
+        Random random = new Random(1);
+        float[] positions = OOStripifierTest.createPositions(random);
+        short[] grid = OOStripifierTest.createGrid();
+        for (int windowSize : OOStripifierTest.WINDOW_SIZES) {
+            OOStripifierTest.assertEquivalent(grid, positions, windowSize);
+        }
+    }
+    
+    @Test
+    public void shuffledStripsRasterizeLikeTheList() {
+        Random random = new Random(2);
+        float[] positions = OOStripifierTest.createPositions(random);
+        short[] grid = OOStripifierTest.createGrid();
+        for (int mesh = 0; mesh < 4; ++mesh) {
+            short[] shuffled = OOStripifierTest.shuffle(grid, random);
+            for (int windowSize : OOStripifierTest.WINDOW_SIZES) {
+                OOStripifierTest.assertEquivalent(shuffled, positions, windowSize);
+            }
+        }
+    }
+    
+    @Test
+    public void optimizeKeepsTheTriangleSet() {
+        Random random = new Random(3);
+        float[] positions = OOStripifierTest.createPositions(random);
+        short[] shuffled = OOStripifierTest.shuffle(OOStripifierTest.createGrid(), random);
+        OOStripifier stripifier = new OOStripifier();
+        OODrawPrimitive primitive = stripifier.optimize(shuffled, 0, shuffled.length,
+                OOStripifierTest.GRID_SIZE * OOStripifierTest.GRID_SIZE);
+        short[] indices = stripifier.getIndices();
+        short[] list = primitive == OODrawPrimitive.TRIANGLE_STRIP
+                ? OOStripifier.unstripify(indices, 0, indices.length) : indices;
+        assertEquals(OOStripifierTest.getTriangleSet(shuffled), OOStripifierTest.getTriangleSet(list));
+        assertArrayEquals(OOStripifierTest.rasterize(shuffled, positions),
+                OOStripifierTest.rasterize(list, positions));
+        assertTrue(stripifier.getStripIndicesCount() > 0);
+    }
+}
@@ -0,0 +1,196 @@
+package ro.spatarel.android.oogles20.mesh;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * <p>Tests for {@link OOVertexCacheOptimizer}: a shuffled grid is reordered and its triangle set, winding included,
+ * is compared with the original one.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOVertexCacheOptimizerTest {
+    
+    private static final int GRID_SIZE = 32;
+    
+    private static float[] createPositions() {
+        float[] positions = new float[2 * OOVertexCacheOptimizerTest.GRID_SIZE * OOVertexCacheOptimizerTest.GRID_SIZE];
+        for (int y = 0; y < OOVertexCacheOptimizerTest.GRID_SIZE; ++y) {
+            for (int x = 0; x < OOVertexCacheOptimizerTest.GRID_SIZE; ++x) {
+                int vertex = y * OOVertexCacheOptimizerTest.GRID_SIZE + x;
+                positions[2 * vertex] = x;
+                positions[2 * vertex + 1] = y;
+            }
+        }
+        return positions;
+    }
+    
+    private static short[] createGrid() {
+        int size = OOVertexCacheOptimizerTest.GRID_SIZE;
+        short[] indices = new short[6 * (size - 1) * (size - 1)];
+        int index = 0;
+        for (int y = 0; y < size - 1; ++y) {
+            for (int x = 0; x < size - 1; ++x) {
+                int vertex = y * size + x;
+                indices[index++] = (short) vertex;
+                indices[index++] = (short) (vertex + 1);
+                indices[index++] = (short) (vertex + size);
+                indices[index++] = (short) (vertex + 1);
+                indices[index++] = (short) (vertex + size + 1);
+                indices[index++] = (short) (vertex + size);
+            }
+        }
+        return indices;
+    }
+    
+    private static short[] shuffle(short[] indices, Random random) {
+        short[] shuffled = indices.clone();
+        for (int i = shuffled.length / 3 - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            for (int k = 0; k < 3; ++k) {
+                short swap = shuffled[3 * i + k];
+                shuffled[3 * i + k] = shuffled[3 * j + k];
+                shuffled[3 * j + k] = swap;
+            }
+        }
+        return shuffled;
+    }
+    
+    /**
+     * <p>Returns the sorted triangles of a list, as position triples rotated to start at their smallest position, so
+     * that two lists drawing the same triangles with the same winding give the same result.</p>
+     */
+    private static List<String> getTriangles(short[] indices, float[] positions) {
+        List<String> triangles = new ArrayList<String>();
+        for (int i = 0; i < indices.length; i += 3) {
+            StringBuilder triangle = new StringBuilder();
+            int rotation = OOVertexCacheOptimizerTest.getRotation(indices, i, positions);
+            for (int k = 0; k < 3; ++k) {
+                int vertex = indices[i + (rotation + k) % 3] & 0xFFFF;
+                triangle.append('(').append(positions[2 * vertex]).append(", ").append(positions[2 * vertex + 1])
+                        .append(')');
+            }
+            triangles.add(triangle.toString());
+        }
+        Collections.sort(triangles);
+        return triangles;
+    }
+    
+    /**
+     * <p>Returns the corner of a triangle with the smallest position, compared by y and then by x; unlike the
+     * smallest index, it does not change when the vertices are renumbered.</p>
+     */
+    private static int getRotation(short[] indices, int offset, float[] positions) {
+        int first = 0;
+        for (int k = 1; k < 3; ++k) {
+            int vertex = indices[offset + k] & 0xFFFF;
+            int best = indices[offset + first] & 0xFFFF;
+            if (positions[2 * vertex + 1] < positions[2 * best + 1]
+                    || positions[2 * vertex + 1] == positions[2 * best + 1]
+                    && positions[2 * vertex] < positions[2 * best]) {
+                first = k;
+            }
+        }
+        return first;
+    }
+    
+    @Test
+    public void reorderingAShuffledGridLowersTheACMRAndKeepsTheTriangles() {
+        float[] positions = OOVertexCacheOptimizerTest.createPositions();
+        short[] shuffled = OOVertexCacheOptimizerTest.shuffle(OOVertexCacheOptimizerTest.createGrid(), new Random(7));
+        short[] optimized = shuffled.clone();
+        OOVertexCacheOptimizer optimizer = new OOVertexCacheOptimizer();
+        optimizer.optimizeTriangles(optimized, 0, optimized.length, positions.length / 2);
+        
+        assertEquals(OOVertexCacheOptimizer.computeACMR(shuffled, 0, shuffled.length, 16), optimizer.getACMRBefore(),
+                0.0f);
+        assertEquals(OOVertexCacheOptimizer.computeACMR(optimized, 0, optimized.length, 16), optimizer.getACMRAfter(),
+                0.0f);
+        assertTrue("ACMR " + optimizer.getACMRBefore() + " -> " + optimizer.getACMRAfter(),
+                optimizer.getACMRAfter() < optimizer.getACMRBefore());
+        // a shuffled grid misses on nearly every vertex, a good order on a 16-entry FIFO stays well under one miss per
+        // triangle
+        assertTrue("ACMR " + optimizer.getACMRBefore(), optimizer.getACMRBefore() > 2.0f);
+        assertTrue("ACMR " + optimizer.getACMRAfter(), optimizer.getACMRAfter() < 1.0f);
+        assertEquals(OOVertexCacheOptimizerTest.getTriangles(shuffled, positions),
+                OOVertexCacheOptimizerTest.getTriangles(optimized, positions));
+    }
+    
+    @Test
+    public void remappingTheVerticesKeepsTheGeometry() {
+        float[] positions = OOVertexCacheOptimizerTest.createPositions();
+        short[] shuffled = OOVertexCacheOptimizerTest.shuffle(OOVertexCacheOptimizerTest.createGrid(), new Random(11));
+        short[] optimized = shuffled.clone();
+        new OOVertexCacheOptimizer().optimizeTriangles(optimized, 0, optimized.length, positions.length / 2);
+        short[] remapped = optimized.clone();
+        int[] remap = OOVertexCacheOptimizer.optimizeVertices(remapped, 0, remapped.length, positions.length / 2);
+        float[] remappedPositions = positions.clone();
+        OOVertexCacheOptimizer.remapVertices(remappedPositions, 2, remap);
+        
+        // every old index is mapped to its new one, and the vertex data followed it
+        for (int i = 0; i < optimized.length; ++i) {
+            assertEquals(remap[optimized[i] & 0xFFFF], remapped[i] & 0xFFFF);
+        }
+        // the vertices are fetched in increasing order
+        int next = 0;
+        for (int i = 0; i < remapped.length; ++i) {
+            int vertex = remapped[i] & 0xFFFF;
+            assertTrue("index " + i, vertex <= next);
+            if (vertex == next) {
+                ++next;
+            }
+        }
+        assertEquals(positions.length / 2, next);
+        assertEquals(OOVertexCacheOptimizerTest.getTriangles(shuffled, positions),
+                OOVertexCacheOptimizerTest.getTriangles(remapped, remappedPositions));
+        // renumbering does not change which vertices hit the cache
+        assertEquals(OOVertexCacheOptimizer.computeACMR(optimized, 0, optimized.length, 16),
+                OOVertexCacheOptimizer.computeACMR(remapped, 0, remapped.length, 16), 0.0f);
+    }
+    
+    @Test
+    public void theBufferFormsMatchTheArrayForms() {
+        float[] positions = OOVertexCacheOptimizerTest.createPositions();
+        short[] shuffled = OOVertexCacheOptimizerTest.shuffle(OOVertexCacheOptimizerTest.createGrid(), new Random(13));
+        short[] expected = shuffled.clone();
+        new OOVertexCacheOptimizer().optimizeTriangles(expected, 0, expected.length, positions.length / 2);
+        int[] expectedRemap = OOVertexCacheOptimizer.optimizeVertices(expected, 0, expected.length,
+                positions.length / 2);
+        
+        ShortBuffer buffer = ShortBuffer.allocate(shuffled.length + 3);
+        buffer.put(new short[] { 1, 2, 3 }).put(shuffled);
+        buffer.position(3);
+        new OOVertexCacheOptimizer().optimizeTriangles(buffer, positions.length / 2);
+        int[] remap = OOVertexCacheOptimizer.optimizeVertices(buffer, positions.length / 2);
+        
+        assertEquals(3, buffer.position());
+        short[] actual = new short[shuffled.length];
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expectedRemap, remap);
+    }
+}
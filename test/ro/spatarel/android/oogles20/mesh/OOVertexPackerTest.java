@@ -0,0 +1,208 @@
+package ro.spatarel.android.oogles20.mesh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ro.spatarel.android.oogles20.OOAttributeClientDataType;
+import ro.spatarel.android.oogles20.OOVertexElement;
+import ro.spatarel.android.oogles20.OOVertexFormat;
+
+/**
+ * <p>Tests for {@link OOVertexPacker}.</p>
+ * 
+ * <h5>Copyright</h5>
+ * 
+ * <p><i>OOGLES20 - an Object Oriented wrapper for the Open Graphics Library for Embedded Systems 2.0</i><br/>
+ * Copyright &copy; 2013 Dan-Constantin Sp&#x103;t&#x103;rel</p>
+ * 
+ * <p>This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, version 3.</p>
+ * 
+ * <p>This program is distributed in the hope that it will be useful, but <b>without any warranty</b>; without even the
+ * implied warranty of <b>merchantability</b> or <b>fitness for a particular purpose</b>. See the GNU Lesser General
+ * Public License for more details.</p>
+ * 
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <a href="http://www.gnu.org/licenses/lgpl-3.0.html">http://www.gnu.org/licenses/</a>.</p>
+ * 
+ * @author Dan-Constantin Sp&#x103;t&#x103;rel
+ */
+public class OOVertexPackerTest {
+    
+    private static final float[] NORMALS = {
+        1.0f, 0.0f, 0.0f,
+        -1.0f, 0.0f, 0.0f,
+        0.0f, 1.0f, 0.0f,
+        0.0f, -1.0f, 0.0f,
+        0.0f, 0.0f, 1.0f,
+        0.0f, 0.0f, -1.0f,
+        0.0f, 0.6f, -0.8f,
+        0.0f, -0.6f, -0.8f,
+        0.6f, 0.0f, -0.8f,
+        -0.6f, 0.0f, -0.8f,
+        0.48f, 0.36f, -0.8f,
+        -0.48f, -0.36f, -0.8f,
+    };
+    
+    private static float decodeComponent(short code) {
+        return (2.0f * code + 1.0f) / 65535.0f;
+    }
+    
+    private static float signNotZero(float value) {
+        return value >= 0.0f ? 1.0f : -1.0f;
+    }
+    
+    private static float[] decode(ByteBuffer packed, int vertex, int stride) {
+        float u = OOVertexPackerTest.decodeComponent(packed.getShort(vertex * stride));
+        float v = OOVertexPackerTest.decodeComponent(packed.getShort(vertex * stride + 2));
+        float x = u;
+        float y = v;
+        float z = 1.0f - Math.abs(u) - Math.abs(v);
+        if (z < 0.0f) {
+            x = (1.0f - Math.abs(v)) * OOVertexPackerTest.signNotZero(u);
+            y = (1.0f - Math.abs(u)) * OOVertexPackerTest.signNotZero(v);
+        }
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        return new float[] { x / length, y / length, z / length };
+    }
+    
+    private static void assertRoundTrip(float[] normals) {
+        int verticesCount = normals.length / 3;
+        OOVertexPacker packer = new OOVertexPacker(verticesCount);
+        int attribute = packer.addNormals("aNormal", normals, OOAttributeClientDataType.SHORT);
+        assertTrue("maximum error " + packer.getMaximumError(attribute), packer.getMaximumError(attribute) < 1e-3f);
+        ByteBuffer packed = packer.pack();
+        int stride = packer.getFormat().getStride();
+        for (int vertex = 0; vertex < verticesCount; ++vertex) {
+            float[] decoded = OOVertexPackerTest.decode(packed, vertex, stride);
+            for (int component = 0; component < 3; ++component) {
+                assertEquals("normal " + vertex + ", component " + component, normals[3 * vertex + component],
+                        decoded[component], 1e-3f);
+            }
+        }
+    }
+    
+    @Test
+    public void octahedralNormalsOnTheAxesAndTheNegativeHemisphereRoundTrip() {
+        OOVertexPackerTest.assertRoundTrip(OOVertexPackerTest.NORMALS);
+    }
+    
+    @Test
+    public void randomNegativeHemisphereNormalsRoundTrip() {
+        Random random = new Random(1);
+        float[] normals = new float[3 * 1000];
+        for (int vertex = 0; vertex < 1000; ++vertex) {
+            float x = (float) random.nextGaussian();
+            float y = (float) random.nextGaussian();
+            float z = -Math.abs((float) random.nextGaussian());
+            float length = (float) Math.sqrt(x * x + y * y + z * z);
+            normals[3 * vertex] = x / length;
+            normals[3 * vertex + 1] = y / length;
+            normals[3 * vertex + 2] = z / length;
+        }
+        OOVertexPackerTest.assertRoundTrip(normals);
+    }
+    
+    private static float decodeScaleBias(ByteBuffer packed, int position, OOAttributeClientDataType type,
+            float scale, float bias) {
+        switch (type) {
+            case BYTE:
+                return (2.0f * packed.get(position) + 1.0f) / 255.0f * scale + bias;
+            case UNSIGNED_BYTE:
+                return (packed.get(position) & 0xFF) / 255.0f * scale + bias;
+            case SHORT:
+                return (2.0f * packed.getShort(position) + 1.0f) / 65535.0f * scale + bias;
+            default:
+                return (packed.getShort(position) & 0xFFFF) / 65535.0f * scale + bias;
+        }
+    }
+    
+    private static void assertScaleBiasPacking(OOAttributeClientDataType type, int componentBytes, int stride,
+            int maximumCode) {
+        int verticesCount = 100;
+        Random random = new Random(2);
+        float[] positions = new float[3 * verticesCount];
+        float[] coordinates = new float[2 * verticesCount];
+        for (int i = 0; i < positions.length; ++i) {
+            positions[i] = -3.0f + 8.0f * random.nextFloat();
+        }
+        for (int i = 0; i < coordinates.length; ++i) {
+            coordinates[i] = random.nextFloat();
+        }
+        OOVertexPacker packer = new OOVertexPacker(verticesCount);
+        int[] attributes = {
+            packer.addAttribute("aPosition", positions, 3, type),
+            packer.addAttribute("aTextureCoordinates", coordinates, 2, type),
+        };
+        float[][] values = { positions, coordinates };
+        
+        // the layout given to setBuffer: the elements start at multiples of four bytes
+        OOVertexFormat format = packer.getFormat();
+        assertEquals(stride, format.getStride());
+        assertEquals(0, format.getOffset(0));
+        assertEquals(stride - 4, format.getOffset(1));
+        for (int attribute : attributes) {
+            OOVertexElement element = format.getElement(attribute);
+            assertEquals(type, element.getType());
+            assertTrue(element.isNormalized());
+        }
+        assertEquals(verticesCount * 5 * 4, packer.getFloatBytesCount());
+        assertEquals(verticesCount * stride, packer.getPackedBytesCount());
+        assertEquals(verticesCount * (20 - stride), packer.getSavedBytesCount());
+        
+        // the reported error is the one of the packed data, and at most half a quantization step, give or take the
+        // rounding of the floats
+        ByteBuffer packed = packer.pack();
+        assertEquals(packer.getPackedBytesCount(), packed.capacity());
+        for (int attribute : attributes) {
+            int components = format.getElement(attribute).getSize();
+            float[] scale = packer.getScale(attribute);
+            float[] bias = packer.getBias(attribute);
+            float error = 0.0f;
+            float bound = 0.0f;
+            for (int component = 0; component < components; ++component) {
+                float range = OOVertexPackerTest.isSigned(type) ? 2.0f * scale[component] : scale[component];
+                float rounding = 4.0f * Math.ulp(Math.abs(bias[component]) + Math.abs(scale[component]));
+                bound = Math.max(bound, range / (2.0f * maximumCode) + rounding);
+                for (int vertex = 0; vertex < verticesCount; ++vertex) {
+                    int position = vertex * stride + format.getOffset(attribute) + component * componentBytes;
+                    float decoded = OOVertexPackerTest.decodeScaleBias(packed, position, type, scale[component],
+                            bias[component]);
+                    error = Math.max(error, Math.abs(decoded - values[attribute][vertex * components + component]));
+                }
+            }
+            assertEquals(error, packer.getMaximumError(attribute), 1e-6f);
+            assertTrue("maximum error " + error + ", bound " + bound, error <= bound);
+            assertTrue(error > 0.0f);
+        }
+    }
+    
+    private static boolean isSigned(OOAttributeClientDataType type) {
+        return type == OOAttributeClientDataType.BYTE || type == OOAttributeClientDataType.SHORT;
+    }
+    
+    @Test
+    public void bytesArePackedWithAScaleAndABias() {
+        OOVertexPackerTest.assertScaleBiasPacking(OOAttributeClientDataType.BYTE, 1, 8, 255);
+    }
+    
+    @Test
+    public void unsignedBytesArePackedWithAScaleAndABias() {
+        OOVertexPackerTest.assertScaleBiasPacking(OOAttributeClientDataType.UNSIGNED_BYTE, 1, 8, 255);
+    }
+    
+    @Test
+    public void shortsArePackedWithAScaleAndABias() {
+        OOVertexPackerTest.assertScaleBiasPacking(OOAttributeClientDataType.SHORT, 2, 12, 65535);
+    }
+    
+    @Test
+    public void unsignedShortsArePackedWithAScaleAndABias() {
+        OOVertexPackerTest.assertScaleBiasPacking(OOAttributeClientDataType.UNSIGNED_SHORT, 2, 12, 65535);
+    }
+}